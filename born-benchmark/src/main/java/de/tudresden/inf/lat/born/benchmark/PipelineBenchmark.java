@@ -0,0 +1,198 @@
+package de.tudresden.inf.lat.born.benchmark;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.tudresden.inf.lat.born.core.term.Clause;
+import de.tudresden.inf.lat.born.module.DefaultModuleExtractor;
+import de.tudresden.inf.lat.born.module.Module;
+import de.tudresden.inf.lat.born.owlapi.processor.AxiomRenderer;
+import de.tudresden.inf.lat.born.owlapi.processor.OntologySession;
+import de.tudresden.inf.lat.born.owlapi.processor.ProcessorCore;
+import de.tudresden.inf.lat.born.owlapi.processor.ProcessorExecutionResult;
+import de.tudresden.inf.lat.born.owlapi.processor.ProcessorExecutionResultImpl;
+import de.tudresden.inf.lat.born.problog.engine.NativeInferenceEngine;
+import de.tudresden.inf.lat.born.problog.parser.ProblogParser;
+import de.tudresden.inf.lat.born.problog.parser.Token;
+import de.tudresden.inf.lat.born.problog.parser.TokenCreator;
+import de.tudresden.inf.lat.born.problog.parser.TokenType;
+import de.tudresden.inf.lat.born.problog.type.BayesianNetwork;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
+import de.tudresden.inf.lat.jcel.ontology.normalization.OntologyNormalizer;
+
+/**
+ * This class contains the JMH benchmarks of the stages of the BORN pipeline.
+ * Each benchmark measures one stage, using the output of the previous stages
+ * computed in {@link PipelineState}. The last benchmark measures the whole
+ * pipeline with a query processor that does not reason, so that the time of
+ * ProbLog is not included.
+ *
+ * @author Julian Mendez
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+
+	static Module extractModule(OntologySession session, Set<Integer> setOfClasses) {
+		return (new DefaultModuleExtractor()).extractModule(session.getModuleIndex(), setOfClasses);
+	}
+
+	/**
+	 * Translates the OWL axioms to integer axioms.
+	 *
+	 * @param state
+	 *            state
+	 * @return the translated axioms
+	 */
+	@Benchmark
+	public Set<ComplexIntegerAxiom> translate(PipelineState state) {
+		return state.translate(new IntegerOntologyObjectFactoryImpl());
+	}
+
+	/**
+	 * Normalizes the translated axioms.
+	 *
+	 * @param state
+	 *            state
+	 * @return the normalized axioms
+	 */
+	@Benchmark
+	public Set<NormalizedIntegerAxiom> normalize(PipelineState state) {
+		return (new OntologyNormalizer()).normalize(state.translatedAxioms, state.factory);
+	}
+
+	/**
+	 * Extracts the module of the classes in the query.
+	 *
+	 * @param state
+	 *            state
+	 * @return the module of the classes in the query
+	 */
+	@Benchmark
+	public Module extractModule(PipelineState state) {
+		return extractModule(state.session, state.queryClasses);
+	}
+
+	/**
+	 * Renders the axioms of the module as clauses.
+	 *
+	 * @param state
+	 *            state
+	 * @return the clauses
+	 */
+	@Benchmark
+	public List<Clause> renderClauses(PipelineState state) {
+		AxiomRenderer renderer = new AxiomRenderer(state.session.getFactory());
+		List<Clause> ret = new ArrayList<>();
+		state.module.getAxioms().forEach(axiom -> ret.addAll(axiom.accept(renderer)));
+		return ret;
+	}
+
+	/**
+	 * Writes the ProbLog program as a string.
+	 *
+	 * @param state
+	 *            state
+	 * @return the ProbLog program as a string
+	 */
+	@Benchmark
+	public String writeProgram(PipelineState state) {
+		return state.program.asString();
+	}
+
+	/**
+	 * Evaluates the ProbLog program with the native inference engine.
+	 *
+	 * @param state
+	 *            state
+	 * @return the result of the queries
+	 */
+	@Benchmark
+	public String evaluateNatively(PipelineState state) {
+		return (new NativeInferenceEngine()).evaluate(state.program);
+	}
+
+	/**
+	 * Evaluates the compiled ProbLog program again, as it is done for
+	 * Bayesian networks that only differ in their probabilities.
+	 *
+	 * @param state
+	 *            state
+	 * @return the result of the queries
+	 */
+	@Benchmark
+	public String evaluateCompiledProgram(PipelineState state) {
+		return state.compiledProgram.evaluate();
+	}
+
+	/**
+	 * Parses the Bayesian network.
+	 *
+	 * @param state
+	 *            state
+	 * @return the parsed Bayesian network
+	 */
+	@Benchmark
+	public BayesianNetwork parseNetwork(PipelineState state) {
+		return (new ProblogParser()).parseBayesianNetwork(state.bayesianNetwork);
+	}
+
+	/**
+	 * Creates the tokens of the ProbLog program.
+	 *
+	 * @param state
+	 *            state
+	 * @return the tokens of the ProbLog program
+	 */
+	@Benchmark
+	public List<Token> createTokens(PipelineState state) {
+		return (new TokenCreator()).createTokens(new StringReader(state.programText));
+	}
+
+	/**
+	 * Reads the tokens of the ProbLog program without storing them, and counts
+	 * the identifiers.
+	 *
+	 * @param state
+	 *            state
+	 * @return the number of identifiers of the ProbLog program
+	 */
+	@Benchmark
+	public long lexTokens(PipelineState state) {
+		return (new TokenCreator()).stream(state.programText)
+				.filter(token -> token.getType().equals(TokenType.IDENTIFIER)).count();
+	}
+
+	/**
+	 * Runs the whole pipeline, from the OWL ontology to the query processor,
+	 * with a query processor that does not reason.
+	 *
+	 * @param state
+	 *            state
+	 * @return the execution result
+	 */
+	@Benchmark
+	public ProcessorExecutionResult run(PipelineState state) {
+		ProcessorExecutionResult ret = new ProcessorExecutionResultImpl();
+		(new ProcessorCore()).run(state.configuration, System.nanoTime(), ret);
+		return ret;
+	}
+
+}
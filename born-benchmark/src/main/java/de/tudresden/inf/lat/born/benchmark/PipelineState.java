@@ -0,0 +1,149 @@
+package de.tudresden.inf.lat.born.benchmark;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import de.tudresden.inf.lat.born.core.term.Symbol;
+import de.tudresden.inf.lat.born.module.Module;
+import de.tudresden.inf.lat.born.owlapi.example.ExampleConfiguration;
+import de.tudresden.inf.lat.born.owlapi.example.ExampleLoader;
+import de.tudresden.inf.lat.born.owlapi.generator.OntologyGeneratorConfiguration;
+import de.tudresden.inf.lat.born.owlapi.generator.OntologyGeneratorConfigurationImpl;
+import de.tudresden.inf.lat.born.owlapi.generator.OntologyGeneratorCore;
+import de.tudresden.inf.lat.born.owlapi.processor.OntologySession;
+import de.tudresden.inf.lat.born.owlapi.processor.ProblogInputCreator;
+import de.tudresden.inf.lat.born.owlapi.processor.ProcessorConfigurationImpl;
+import de.tudresden.inf.lat.born.owlapi.processor.ProcessorExecutionResultImpl;
+import de.tudresden.inf.lat.born.problog.engine.CompiledProgram;
+import de.tudresden.inf.lat.born.problog.engine.NativeInferenceEngine;
+import de.tudresden.inf.lat.born.problog.parser.TokenCreator;
+import de.tudresden.inf.lat.born.problog.type.ProblogProgram;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
+import de.tudresden.inf.lat.jcel.owlapi.translator.Translator;
+
+/**
+ * An object of this class keeps the input of each stage of the BORN pipeline
+ * for one ontology. The ontology is either one of the bundled examples, with
+ * the name of the example, or a synthetic ontology, with a name of the form
+ * <code>synthetic-<i>n</i></code>, where <i>n</i> is the number of classes.
+ * Synthetic ontologies are created by the {@link OntologyGeneratorCore} with
+ * its default configuration.
+ *
+ * @author Julian Mendez
+ *
+ */
+@State(Scope.Benchmark)
+public class PipelineState {
+
+	public static final String SYNTHETIC_PREFIX = "synthetic-";
+
+	/** Query processor that returns an empty result without reasoning. */
+	public static final Function<String, String> STUB_QUERY_PROCESSOR = program -> "";
+
+	@Param({ "example-0", "example-1", "example-2", "example-3", "example-4", "example-5", "synthetic-100",
+			"synthetic-1000", "synthetic-10000" })
+	public String ontologyName;
+
+	OWLOntology ontology;
+	String bayesianNetwork;
+	String query;
+	Set<OWLAxiom> axioms;
+	IntegerOntologyObjectFactory factory;
+	Set<ComplexIntegerAxiom> translatedAxioms;
+	OntologySession session;
+	Set<Integer> queryClasses;
+	Module module;
+	ProblogProgram program;
+	String programText;
+	CompiledProgram compiledProgram;
+	ProcessorConfigurationImpl configuration;
+
+	/**
+	 * Loads the ontology and computes the input of each stage.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something goes wrong with the ontology creation
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	@Setup
+	public void setUp() throws OWLOntologyCreationException, IOException {
+		if (this.ontologyName.startsWith(SYNTHETIC_PREFIX)) {
+			int numberOfClasses = Integer.parseInt(this.ontologyName.substring(SYNTHETIC_PREFIX.length()));
+			OntologyGeneratorConfiguration generatorConfiguration = new OntologyGeneratorConfigurationImpl();
+			generatorConfiguration.setNumberOfClasses(numberOfClasses);
+			OntologyGeneratorCore generator = new OntologyGeneratorCore();
+			this.ontology = generator.createOntology(generatorConfiguration);
+			StringBuilder network = new StringBuilder();
+			generator.createNetwork(generatorConfiguration).forEach(clause -> {
+				network.append(clause.asString());
+				network.append(Symbol.NEW_LINE_CHAR);
+			});
+			this.bayesianNetwork = network.toString();
+			this.query = "query(sub('" + generator.getClassName(numberOfClasses - 1) + "', '"
+					+ generator.getClassName(0) + "'))" + Symbol.POINT_CHAR;
+		} else {
+			Optional<ExampleConfiguration> example = (new ExampleLoader()).readExampleConfigurations().stream()
+					.filter(conf -> conf.getOntologyName().equals(this.ontologyName)).findFirst();
+			if (!example.isPresent()) {
+				throw new IllegalArgumentException("Unknown ontology: '" + this.ontologyName + "'.");
+			}
+			this.ontology = example.get().getOntology();
+			this.bayesianNetwork = example.get().getBayesianNetwork();
+			this.query = example.get().getQuery();
+		}
+
+		this.axioms = this.ontology.getAxioms();
+		this.factory = new IntegerOntologyObjectFactoryImpl();
+		this.translatedAxioms = translate(this.factory);
+		this.session = new OntologySession(this.ontology);
+		this.queryClasses = getQueryClasses();
+		this.module = PipelineBenchmark.extractModule(this.session, this.queryClasses);
+
+		ProblogInputCreator creator = new ProblogInputCreator();
+		this.program = creator.createProblogProgram(true, "", this.session, this.bayesianNetwork, this.query,
+				new ProcessorExecutionResultImpl(), new StringBuffer());
+		this.programText = this.program.asString();
+		this.compiledProgram = (new NativeInferenceEngine()).compile(this.program);
+
+		this.configuration = new ProcessorConfigurationImpl();
+		this.configuration.setOntology(this.ontology);
+		this.configuration.setBayesianNetwork(this.bayesianNetwork);
+		this.configuration.setQuery(this.query);
+		this.configuration.setQueryProcessor(STUB_QUERY_PROCESSOR);
+		this.configuration.setShowingLog(false);
+	}
+
+	Set<ComplexIntegerAxiom> translate(IntegerOntologyObjectFactory integerFactory) {
+		Translator translator = new Translator(this.ontology.getOWLOntologyManager().getOWLDataFactory(),
+				integerFactory);
+		return translator.translateSA(this.axioms);
+	}
+
+	Set<Integer> getQueryClasses() {
+		Set<Integer> ret = new TreeSet<>();
+		String expandedQuery = (new ProblogInputCreator()).expandPrefixes(this.ontology, this.query);
+		(new TokenCreator()).stream(expandedQuery).forEach(token -> {
+			String value = token.getValue();
+			if (value.length() > 1 && value.charAt(0) == Symbol.APOSTROPHE_CHAR
+					&& value.charAt(value.length() - 1) == Symbol.APOSTROPHE_CHAR) {
+				this.session.getIdentifier(value.substring(1, value.length() - 1)).ifPresent(ret::add);
+			}
+		});
+		return ret;
+	}
+
+}
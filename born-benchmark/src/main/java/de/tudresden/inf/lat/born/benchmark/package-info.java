@@ -0,0 +1,6 @@
+/**
+ * This package contains the JMH benchmarks of the stages of the BORN pipeline.
+ * The benchmarks are executed with
+ * <code>java -jar born-benchmark/target/born-benchmarks.jar</code>.
+ */
+package de.tudresden.inf.lat.born.benchmark;
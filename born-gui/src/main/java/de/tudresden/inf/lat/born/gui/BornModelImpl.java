@@ -26,9 +26,8 @@ public class BornModelImpl implements BornModel {
 	 * Constructs a new BORN model.
 	 */
 	public BornModelImpl() {
-		JProblog queryProcessor = new JProblog();
-		this.processorConfiguration.setQueryProcessor(queryProcessor);
-		this.multiProcessorConfiguration.setQueryProcessor(queryProcessor);
+		this.processorConfiguration.setQueryProcessor(new JProblog());
+		this.multiProcessorConfiguration.setQueryProcessorSupplier(JProblog::new);
 	}
 
 	@Override
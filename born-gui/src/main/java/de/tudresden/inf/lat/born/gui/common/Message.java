@@ -67,6 +67,9 @@ public interface Message {
 	/** Tooltip for combo box to select an example. */
 	String TOOLTIP_COMBO_BOX_EXAMPLE = "select example";
 
+	/** Tooltip for text field containing the number of explanations. */
+	String TOOLTIP_TEXT_FIELD_NUMBER_OF_EXPLANATIONS = "number of most probable contexts of each answer";
+
 	/** Tooltip for button to view the ontology. */
 	String TOOLTIP_BUTTON_VIEW_ONTOLOGY_FILE = "view ontology file";
 
@@ -91,6 +94,9 @@ public interface Message {
 	/** Label to indicate the examples. */
 	String LBL_EXAMPLES = "EXAMPLES";
 
+	/** Label to indicate the number of explanations. */
+	String LBL_EXPLANATIONS = "EXPLANATIONS";
+
 	/** Label to indicate that the system is running. */
 	String LBL_COMPUTING = "computing ...";
 
@@ -12,6 +12,7 @@ import javax.swing.JFileChooser;
 
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 
+import de.tudresden.inf.lat.born.core.term.Symbol;
 import de.tudresden.inf.lat.born.gui.common.TextViewer;
 import de.tudresden.inf.lat.born.owlapi.example.ExampleConfiguration;
 import de.tudresden.inf.lat.born.owlapi.example.ExampleLoader;
@@ -45,6 +46,9 @@ public class ProcessorController implements ActionListener {
 			core.run(getModel(), start, executionResult);
 
 			String resultText = executionResult.getResult();
+			if (!executionResult.getExplanations().isEmpty()) {
+				resultText = resultText + Symbol.NEW_LINE_CHAR + executionResult.getExplanations();
+			}
 			ProblogInputCreator problogInputCreator = new ProblogInputCreator();
 			String result = problogInputCreator.replaceByPrefixes(getModel().getOntology(), resultText);
 
@@ -214,8 +218,9 @@ public class ProcessorController implements ActionListener {
 		getView().setButtonsEnabled(false);
 		getView().setComputing(true);
 		getView().updateQuery();
+		getView().updateNumberOfExplanations();
 		getView().updateCompletionRules();
-		updatePreviousToLastUsedCompletionRules(getModel().getAdditionalCompletionRules());
+		updatePreviousToLastUsedCompletionRules(getView().getCompletionRules());
 		this.processorRunner = new ProcessorRunner();
 		this.processorRunner.start();
 	}
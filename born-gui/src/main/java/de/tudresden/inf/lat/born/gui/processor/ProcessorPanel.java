@@ -27,6 +27,7 @@ import de.tudresden.inf.lat.born.gui.common.BornIcon;
 import de.tudresden.inf.lat.born.gui.common.FormatTool;
 import de.tudresden.inf.lat.born.gui.common.Message;
 import de.tudresden.inf.lat.born.owlapi.example.ExampleConfiguration;
+import de.tudresden.inf.lat.born.owlapi.processor.ProblogInputCreator;
 import de.tudresden.inf.lat.born.owlapi.processor.ProcessorConfiguration;
 import de.tudresden.inf.lat.born.owlapi.processor.ProcessorConfigurationImpl;
 
@@ -52,6 +53,7 @@ public class ProcessorPanel extends JPanel implements ProcessorView {
 	private final JLabel labelProgress = new JLabel(Message.LBL_COMPUTING);
 	private final JTextField textOntologyFile = new JTextField();
 	private final JTextField textBayesianNetworkFile = new JTextField();
+	private final JTextField textNumberOfExplanations = new JTextField();
 	private final JTextArea textCompletionRules = new JTextArea();
 	private final JTextArea textConsoleInput = new JTextArea();
 	private final JTextArea textConsoleOutput = new JTextArea();
@@ -261,6 +263,21 @@ public class ProcessorPanel extends JPanel implements ProcessorView {
 		scrollConsoleInput.setViewportView(textConsoleInput);
 		add(scrollConsoleInput);
 
+		// explanations
+
+		JLabel lblExplanations = new JLabel(Message.LBL_EXPLANATIONS);
+		lblExplanations.setFont(BornIcon.TITLE_FONT);
+		lblExplanations.setForeground(BornIcon.FOREGROUND_COLOR);
+		lblExplanations.setBounds(552, 408, 128, 15);
+		add(lblExplanations);
+
+		textNumberOfExplanations.setBackground(BornIcon.TEXT_BACKGROUND_COLOR);
+		textNumberOfExplanations.setBounds(704, 400, 54, 28);
+		textNumberOfExplanations.setToolTipText(Message.TOOLTIP_TEXT_FIELD_NUMBER_OF_EXPLANATIONS);
+		textNumberOfExplanations.setAlignmentX(LEFT_ALIGNMENT);
+		textNumberOfExplanations.setText("" + model.getNumberOfExplanations());
+		add(textNumberOfExplanations);
+
 		// result
 
 		JLabel lblOutput = new JLabel(Message.LBL_RESULT);
@@ -453,7 +470,13 @@ public class ProcessorPanel extends JPanel implements ProcessorView {
 	public void updateCompletionRules() {
 		String completionRules = this.formatTool.trimText(textCompletionRules.getText());
 		if (Objects.nonNull(completionRules) && !completionRules.trim().isEmpty()) {
-			getModel().setAdditionalCompletionRules(completionRules);
+			if ((new ProblogInputCreator()).isDefaultCompletionRules(completionRules)) {
+				getModel().setUseOfDefaultCompletionRules(true);
+				getModel().setAdditionalCompletionRules("");
+			} else {
+				getModel().setUseOfDefaultCompletionRules(false);
+				getModel().setAdditionalCompletionRules(completionRules);
+			}
 		}
 	}
 
@@ -491,6 +514,18 @@ public class ProcessorPanel extends JPanel implements ProcessorView {
 		}
 	}
 
+	@Override
+	public void updateNumberOfExplanations() {
+		String numberOfExplanationsStr = this.textNumberOfExplanations.getText().trim();
+		int numberOfExplanations = 0;
+		try {
+			numberOfExplanations = Math.max(0, Integer.parseInt(numberOfExplanationsStr));
+		} catch (NumberFormatException e) {
+		}
+		this.textNumberOfExplanations.setText(this.formatTool.formatText("" + numberOfExplanations));
+		getModel().setNumberOfExplanations(numberOfExplanations);
+	}
+
 	@Override
 	public void setResult(String result) {
 		Objects.requireNonNull(result);
@@ -513,6 +548,7 @@ public class ProcessorPanel extends JPanel implements ProcessorView {
 		buttonConsoleInput.setEnabled(status);
 		buttonConsoleOutput.setEnabled(status);
 		buttonComputeInference.setEnabled(status);
+		textNumberOfExplanations.setEnabled(status);
 		comboBoxExample.setEnabled(status);
 	}
 
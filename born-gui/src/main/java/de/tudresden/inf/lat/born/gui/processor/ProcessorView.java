@@ -271,6 +271,11 @@ public interface ProcessorView extends JPanelView {
 	 */
 	void updateQuery();
 
+	/**
+	 * Updates the number of explanations.
+	 */
+	void updateNumberOfExplanations();
+
 	/**
 	 * Sets the result.
 	 * 
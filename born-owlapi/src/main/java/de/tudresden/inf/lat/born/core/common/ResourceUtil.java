@@ -2,6 +2,11 @@ package de.tudresden.inf.lat.born.core.common;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Objects;
 
 /**
@@ -12,6 +17,8 @@ import java.util.Objects;
  */
 public class ResourceUtil {
 
+	static final String TEMPORARY_FILE_SUFFIX = ".part";
+
 	/**
 	 * Creates a parent path for the given file name.
 	 * 
@@ -44,4 +51,28 @@ public class ResourceUtil {
 		return file;
 	}
 
+	/**
+	 * Replaces the content of the given file by the given text. The text is
+	 * first written to a temporary file in the same directory, which then
+	 * replaces the given file with an atomic move, so that the file never has
+	 * partial content. A parent path is created if necessary.
+	 * 
+	 * @param file
+	 *            file
+	 * @param text
+	 *            new content of the file
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 */
+	public static void replaceAtomically(File file, String text) throws IOException {
+		Objects.requireNonNull(file);
+		Objects.requireNonNull(text);
+		ensurePath(file);
+		Path temporary = new File(file.getPath() + TEMPORARY_FILE_SUFFIX).toPath();
+		try (Writer output = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+			output.write(text);
+		}
+		Files.move(temporary, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
 }
@@ -0,0 +1,85 @@
+package de.tudresden.inf.lat.born.core.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.tudresden.inf.lat.born.core.term.Clause;
+import de.tudresden.inf.lat.born.core.term.Term;
+
+/**
+ * This is a completion rule for ProbLog.
+ * <ul>
+ * <li>CR-5 : <b>if</b> X \u2291 &exist; r <i>.</i> Y &isin; R, r \u2291 s
+ * &isin; <i>T</i><br>
+ * <b>then</b> R := R &cup; {X \u2291 &exist; s <i>.</i> Y}</li>
+ * </ul>
+ * <br>
+ * 
+ * @author Julian Mendez
+ *
+ */
+public class CR5Rule implements CompletionRule {
+
+	private final Clause clause;
+
+	/**
+	 * Constructs a new CR-5 rule.
+	 */
+	public CR5Rule() {
+		FormulaConstructor c = new FormulaConstructor();
+
+		Term x = c.newVar("X");
+		Term y = c.newVar("Y");
+		Term r = c.newVar("R");
+		Term s = c.newVar("S");
+
+		Term head = c.subx(x, c.exists(s, y));
+		List<Term> body = new ArrayList<>();
+		body.add(c.ri(r, s));
+		body.add(c.subx(x, c.exists(r, y)));
+		body.add(c.coni(x));
+		body.add(c.coni(y));
+		body.add(c.role(r));
+		body.add(c.role(s));
+
+		this.clause = c.rule(head, body);
+	}
+
+	@Override
+	public Term getHead() {
+		return this.clause.getHead();
+	}
+
+	@Override
+	public List<Term> getBody() {
+		return this.clause.getBody();
+	}
+
+	@Override
+	public String asString() {
+		return this.clause.asString();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		} else if (!(obj instanceof CR5Rule)) {
+			return false;
+		} else {
+			CR5Rule other = (CR5Rule) obj;
+			return this.clause.equals(other.clause);
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return this.clause.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return this.clause.toString();
+	}
+
+}
@@ -0,0 +1,90 @@
+package de.tudresden.inf.lat.born.core.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.tudresden.inf.lat.born.core.term.Clause;
+import de.tudresden.inf.lat.born.core.term.Term;
+
+/**
+ * This is a completion rule for ProbLog.
+ * <ul>
+ * <li>CR-6 : <b>if</b> X \u2291 &exist; r <i>.</i> Y &isin; R, Y \u2291
+ * &exist; s <i>.</i> Z &isin; R, r \u2218 s \u2291 t &isin; <i>T</i><br>
+ * <b>then</b> R := R &cup; {X \u2291 &exist; t <i>.</i> Z}</li>
+ * </ul>
+ * <br>
+ * 
+ * @author Julian Mendez
+ *
+ */
+public class CR6Rule implements CompletionRule {
+
+	private final Clause clause;
+
+	/**
+	 * Constructs a new CR-6 rule.
+	 */
+	public CR6Rule() {
+		FormulaConstructor c = new FormulaConstructor();
+
+		Term x = c.newVar("X");
+		Term y = c.newVar("Y");
+		Term z = c.newVar("Z");
+		Term r = c.newVar("R");
+		Term s = c.newVar("S");
+		Term t = c.newVar("T");
+
+		Term head = c.subx(x, c.exists(t, z));
+		List<Term> body = new ArrayList<>();
+		body.add(c.ri(c.chain(r, s), t));
+		body.add(c.subx(x, c.exists(r, y)));
+		body.add(c.subx(y, c.exists(s, z)));
+		body.add(c.coni(x));
+		body.add(c.coni(y));
+		body.add(c.coni(z));
+		body.add(c.role(r));
+		body.add(c.role(s));
+		body.add(c.role(t));
+
+		this.clause = c.rule(head, body);
+	}
+
+	@Override
+	public Term getHead() {
+		return this.clause.getHead();
+	}
+
+	@Override
+	public List<Term> getBody() {
+		return this.clause.getBody();
+	}
+
+	@Override
+	public String asString() {
+		return this.clause.asString();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		} else if (!(obj instanceof CR6Rule)) {
+			return false;
+		} else {
+			CR6Rule other = (CR6Rule) obj;
+			return this.clause.equals(other.clause);
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return this.clause.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return this.clause.toString();
+	}
+
+}
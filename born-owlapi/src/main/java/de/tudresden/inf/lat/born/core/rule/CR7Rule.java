@@ -0,0 +1,80 @@
+package de.tudresden.inf.lat.born.core.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.tudresden.inf.lat.born.core.term.Clause;
+import de.tudresden.inf.lat.born.core.term.Term;
+
+/**
+ * This is a completion rule for ProbLog.
+ * <ul>
+ * <li>CR-7 : <b>if</b> X &isin; <i>C</i>, &epsilon; \u2291 r &isin;
+ * <i>T</i><br>
+ * <b>then</b> R := R &cup; {X \u2291 &exist; r <i>.</i> X}</li>
+ * </ul>
+ * <br>
+ * 
+ * @author Julian Mendez
+ *
+ */
+public class CR7Rule implements CompletionRule {
+
+	private final Clause clause;
+
+	/**
+	 * Constructs a new CR-7 rule.
+	 */
+	public CR7Rule() {
+		FormulaConstructor c = new FormulaConstructor();
+
+		Term x = c.newVar("X");
+		Term r = c.newVar("R");
+
+		Term head = c.subx(x, c.exists(r, x));
+		List<Term> body = new ArrayList<>();
+		body.add(c.ri(c.chain(), r));
+		body.add(c.coni(x));
+		body.add(c.role(r));
+
+		this.clause = c.rule(head, body);
+	}
+
+	@Override
+	public Term getHead() {
+		return this.clause.getHead();
+	}
+
+	@Override
+	public List<Term> getBody() {
+		return this.clause.getBody();
+	}
+
+	@Override
+	public String asString() {
+		return this.clause.asString();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		} else if (!(obj instanceof CR7Rule)) {
+			return false;
+		} else {
+			CR7Rule other = (CR7Rule) obj;
+			return this.clause.equals(other.clause);
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return this.clause.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return this.clause.toString();
+	}
+
+}
@@ -8,10 +8,13 @@ import java.util.Objects;
 import de.tudresden.inf.lat.born.core.term.Clause;
 import de.tudresden.inf.lat.born.core.term.ClauseImpl;
 import de.tudresden.inf.lat.born.core.term.Term;
-import de.tudresden.inf.lat.born.core.term.TermImpl;
+import de.tudresden.inf.lat.born.core.term.TermFactory;
 
 /**
- * An object that implements this class is a formula constructor.
+ * An object that implements this class is a formula constructor. The terms
+ * are created by a term factory, so that equal terms are shared. By default,
+ * each formula constructor has its own term factory, and formula constructors
+ * of the same ontology session can share the term factory of the session.
  * 
  * @author Julian Mendez
  *
@@ -54,13 +57,44 @@ public class FormulaConstructor {
 	/** Functor of the conjunction of two concepts. */
 	public static final String AND = "and";
 
+	/** Functor of a role inclusion taken from the ontology. */
+	public static final String RI = "ri";
+
+	/**
+	 * Functor of the composition of two roles, and constant of the empty
+	 * composition of roles.
+	 */
+	public static final String CHAIN = "chain";
+
 	/** Functor of a query. */
 	public static final String QUERY = "query";
 
+	private final TermFactory termFactory;
+
 	/**
-	 * Constructs a new formula constructor.
+	 * Constructs a new formula constructor with its own term factory.
 	 */
 	public FormulaConstructor() {
+		this(new TermFactory());
+	}
+
+	/**
+	 * Constructs a new formula constructor that uses the given term factory.
+	 * 
+	 * @param termFactory
+	 *            term factory
+	 */
+	public FormulaConstructor(TermFactory termFactory) {
+		this.termFactory = Objects.requireNonNull(termFactory);
+	}
+
+	/**
+	 * Returns the term factory.
+	 * 
+	 * @return the term factory
+	 */
+	public TermFactory getTermFactory() {
+		return this.termFactory;
 	}
 
 	/**
@@ -72,8 +106,7 @@ public class FormulaConstructor {
 	 */
 	public Term newCons(String name) {
 		Objects.requireNonNull(name);
-		List<Term> emptyList = Collections.emptyList();
-		return new TermImpl(name, emptyList);
+		return this.termFactory.newAtom(name);
 	}
 
 	/**
@@ -86,12 +119,7 @@ public class FormulaConstructor {
 
 	public Term newVar(String name) {
 		Objects.requireNonNull(name);
-		Term ret = new TermImpl(name);
-		if (!(ret.getType().equals(Term.Type.VARIABLE))) {
-			throw new IllegalArgumentException("Invalid variable name: '" + name
-					+ "'. A variable name must start with a capital letter or with an underscore ('_').");
-		}
-		return ret;
+		return this.termFactory.newVariable(name);
 	}
 
 	/**
@@ -108,7 +136,7 @@ public class FormulaConstructor {
 		Objects.requireNonNull(term);
 		List<Term> arguments = new ArrayList<>();
 		arguments.add(term);
-		return new TermImpl(name, arguments);
+		return this.termFactory.newTerm(name, arguments);
 	}
 
 	/**
@@ -129,7 +157,7 @@ public class FormulaConstructor {
 		List<Term> arguments = new ArrayList<>();
 		arguments.add(left);
 		arguments.add(right);
-		return new TermImpl(name, arguments);
+		return this.termFactory.newTerm(name, arguments);
 	}
 
 	/**
@@ -154,7 +182,7 @@ public class FormulaConstructor {
 		arguments.add(first);
 		arguments.add(second);
 		arguments.add(third);
-		return new TermImpl(name, arguments);
+		return this.termFactory.newTerm(name, arguments);
 	}
 
 	/**
@@ -331,6 +359,47 @@ public class FormulaConstructor {
 		return fun(EXISTS, property, clss);
 	}
 
+	/**
+	 * Returns the axiom denoting a role inclusion declared in the ontology.
+	 * The sub role can be a role, a composition of two roles, or the empty
+	 * composition of roles.
+	 * 
+	 * @param subRole
+	 *            sub role
+	 * @param superRole
+	 *            super role
+	 * @return the axiom denoting a role inclusion declared in the ontology
+	 */
+	public Term ri(Term subRole, Term superRole) {
+		Objects.requireNonNull(subRole);
+		Objects.requireNonNull(superRole);
+		return fun(RI, subRole, superRole);
+	}
+
+	/**
+	 * Returns the empty composition of roles.
+	 * 
+	 * @return the empty composition of roles
+	 */
+	public Term chain() {
+		return newCons(CHAIN);
+	}
+
+	/**
+	 * Returns the construction of the composition of two roles.
+	 * 
+	 * @param left
+	 *            first role
+	 * @param right
+	 *            second role
+	 * @return the construction of the composition of two roles
+	 */
+	public Term chain(Term left, Term right) {
+		Objects.requireNonNull(left);
+		Objects.requireNonNull(right);
+		return fun(CHAIN, left, right);
+	}
+
 	/**
 	 * Returns the construction of a rule.
 	 * 
@@ -357,11 +426,8 @@ public class FormulaConstructor {
 	 */
 	public Clause query(Term query) {
 		Objects.requireNonNull(query);
-		List<Term> list = new ArrayList<>();
-		list.add(query);
-		TermImpl term = new TermImpl(QUERY, list);
 		List<Term> emptyList = Collections.emptyList();
-		return new ClauseImpl(term, emptyList);
+		return new ClauseImpl(fun(QUERY, query), emptyList);
 	}
 
 }
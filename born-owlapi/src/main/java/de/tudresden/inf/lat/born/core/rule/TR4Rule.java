@@ -0,0 +1,70 @@
+package de.tudresden.inf.lat.born.core.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.tudresden.inf.lat.born.core.term.Clause;
+import de.tudresden.inf.lat.born.core.term.Term;
+
+/**
+ * This is a rule for ProbLog.
+ * 
+ * @author Julian Mendez
+ *
+ */
+public class TR4Rule implements CompletionRule {
+
+	private final Clause clause;
+
+	/**
+	 * Constructs a new TR-4 rule.
+	 */
+	public TR4Rule() {
+		FormulaConstructor c = new FormulaConstructor();
+
+		Term x = c.newCons("-");
+
+		Term head = c.ri(x, x);
+		List<Term> body = new ArrayList<>();
+
+		this.clause = c.rule(head, body);
+	}
+
+	@Override
+	public Term getHead() {
+		return this.clause.getHead();
+	}
+
+	@Override
+	public List<Term> getBody() {
+		return this.clause.getBody();
+	}
+
+	@Override
+	public String asString() {
+		return this.clause.asString();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		} else if (!(obj instanceof TR4Rule)) {
+			return false;
+		} else {
+			TR4Rule other = (TR4Rule) obj;
+			return this.clause.equals(other.clause);
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return this.clause.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return this.clause.toString();
+	}
+
+}
@@ -1,11 +1,15 @@
 package de.tudresden.inf.lat.born.core.term;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
 /**
- * Default implementation of a clause.
+ * Default implementation of a clause. A clause is immutable, and its hash
+ * code is computed only once.
  *
  * @author Julian Mendez
  */
@@ -17,13 +21,14 @@ public class ClauseImpl implements Clause {
 	public static final String TAB = "   ";
 
 	private final Term head;
-	private final List<Term> body = new ArrayList<>();
+	private final List<Term> body;
+	private final int hashCode;
 
 	/**
 	 * Constructs an empty clause.
 	 */
 	public ClauseImpl() {
-		this.head = new TermImpl();
+		this(new TermImpl(), Collections.emptyList());
 	}
 
 	/**
@@ -35,7 +40,8 @@ public class ClauseImpl implements Clause {
 	public ClauseImpl(Term head, List<Term> body) {
 		Objects.requireNonNull(body);
 		this.head = Objects.requireNonNull(head);
-		this.body.addAll(body);
+		this.body = body.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(body));
+		this.hashCode = this.head.hashCode() + 0x1F * this.body.hashCode();
 	}
 
 	@Override
@@ -50,34 +56,35 @@ public class ClauseImpl implements Clause {
 
 	@Override
 	public String asString() {
-		String result = "";
-		if (this.body.isEmpty()) {
-			result = this.head.asString() + Symbol.POINT_CHAR + Symbol.NEW_LINE_CHAR;
-		} else {
-			StringBuilder sb = new StringBuilder();
-			sb.append(this.head.asString() + Symbol.SPACE_CHAR + Symbol.IF_SYMBOL + Symbol.SPACE_CHAR);
-			if (this.body.size() == 1) {
-				sb.append(this.body.iterator().next().asString() + Symbol.POINT_CHAR + Symbol.NEW_LINE_CHAR);
-				return sb.toString();
-			} else {
-				boolean[] first = new boolean[1];
-				first[0] = true;
-				this.body.forEach(term -> {
-					if (first[0]) {
-						first[0] = false;
-					} else {
-						sb.append(Symbol.COMMA_CHAR);
-						sb.append(Symbol.SPACE_CHAR);
-					}
-					sb.append(term.asString());
-				});
-				sb.append(Symbol.POINT_CHAR);
-				sb.append(Symbol.NEW_LINE_CHAR);
-				result = sb.toString();
-			}
+		StringBuilder sb = new StringBuilder();
+		try {
+			appendTo(sb);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
 		}
+		return sb.toString();
+	}
 
-		return result;
+	@Override
+	public void appendTo(Appendable output) throws IOException {
+		this.head.appendTo(output);
+		if (!this.body.isEmpty()) {
+			output.append(Symbol.SPACE_CHAR);
+			output.append(Symbol.IF_SYMBOL);
+			output.append(Symbol.SPACE_CHAR);
+			boolean first = true;
+			for (Term term : this.body) {
+				if (first) {
+					first = false;
+				} else {
+					output.append(Symbol.COMMA_CHAR);
+					output.append(Symbol.SPACE_CHAR);
+				}
+				term.appendTo(output);
+			}
+		}
+		output.append(Symbol.POINT_CHAR);
+		output.append(Symbol.NEW_LINE_CHAR);
 	}
 
 	@Override
@@ -94,7 +101,7 @@ public class ClauseImpl implements Clause {
 
 	@Override
 	public int hashCode() {
-		return this.head.hashCode() + 0x1F * this.body.hashCode();
+		return this.hashCode;
 	}
 
 	@Override
@@ -1,5 +1,7 @@
 package de.tudresden.inf.lat.born.core.term;
 
+import java.io.IOException;
+
 /**
  * This interface models a formula.
  * 
@@ -16,4 +18,17 @@ public interface Formula {
 	 */
 	String asString();
 
+	/**
+	 * Appends this formula to the given output, without building an
+	 * intermediate string when possible.
+	 * 
+	 * @param output
+	 *            output
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	default void appendTo(Appendable output) throws IOException {
+		output.append(asString());
+	}
+
 }
@@ -1,5 +1,6 @@
 package de.tudresden.inf.lat.born.core.term;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 
@@ -64,6 +65,15 @@ public class ProbClauseImpl implements ProbClause {
 		}
 	}
 
+	@Override
+	public void appendTo(Appendable output) throws IOException {
+		if (!this.probability.equals(CERTAIN)) {
+			output.append(this.probability);
+			output.append(Symbol.COLON_COLON);
+		}
+		this.clause.appendTo(output);
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		boolean result = false;
@@ -27,10 +27,14 @@ public interface Symbol {
 	String COLON_COLON = "" + COLON_CHAR + COLON_CHAR;
 	char HYPHEN_CHAR = '-';
 	String IF_SYMBOL = "" + COLON_CHAR + HYPHEN_CHAR;
+	char BACKSLASH_CHAR = '\\';
+	char PLUS_CHAR = '+';
+	String NEGATION_SYMBOL = "" + BACKSLASH_CHAR + PLUS_CHAR;
 	char APOSTROPHE_CHAR = '\'';
 	char QUOTES_CHAR = '\"';
 	char NEW_LINE_CHAR = '\n';
 	char SPACE_CHAR = ' ';
+	char TAB_CHAR = '\t';
 
 	String SHORT_TAB = "    ";
 	String LONG_TAB = "\t" + SHORT_TAB;
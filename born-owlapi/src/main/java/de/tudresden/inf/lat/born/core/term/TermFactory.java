@@ -0,0 +1,123 @@
+package de.tudresden.inf.lat.born.core.term;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * An object of this class creates interned terms. Equal terms created by the
+ * same factory are the same instance, so that terms that occur many times,
+ * like the names of classes in the clauses of an ontology, are shared. Atoms
+ * and variables are found by name without creating a new term. The factory
+ * only keeps weak references to the terms, so that the terms that are not
+ * used anymore can be garbage collected. A factory can be shared by several
+ * threads.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class TermFactory {
+
+	private final Map<String, WeakReference<Term>> atoms = new WeakHashMap<>();
+	private final Map<String, WeakReference<Term>> variables = new WeakHashMap<>();
+	private final Map<Term, WeakReference<Term>> compoundTerms = new WeakHashMap<>();
+
+	/**
+	 * Constructs a new term factory.
+	 */
+	public TermFactory() {
+	}
+
+	Term get(Map<String, WeakReference<Term>> map, String name) {
+		WeakReference<Term> reference = map.get(name);
+		return Objects.isNull(reference) ? null : reference.get();
+	}
+
+	/**
+	 * Returns an atom, i.e. a constant, with the given name.
+	 *
+	 * @param name
+	 *            name
+	 * @return an atom with the given name
+	 * @throws IllegalArgumentException
+	 *             if the name is a number or a variable name
+	 */
+	public Term newAtom(String name) {
+		Objects.requireNonNull(name);
+		synchronized (this.atoms) {
+			Term ret = get(this.atoms, name);
+			if (Objects.isNull(ret)) {
+				List<Term> emptyList = Collections.emptyList();
+				ret = new TermImpl(name, emptyList);
+				this.atoms.put(ret.getName(), new WeakReference<>(ret));
+			}
+			return ret;
+		}
+	}
+
+	/**
+	 * Returns a variable with the given name.
+	 *
+	 * @param name
+	 *            name
+	 * @return a variable with the given name
+	 * @throws IllegalArgumentException
+	 *             if the name is not a variable name
+	 */
+	public Term newVariable(String name) {
+		Objects.requireNonNull(name);
+		synchronized (this.variables) {
+			Term ret = get(this.variables, name);
+			if (Objects.isNull(ret)) {
+				ret = new TermImpl(name);
+				if (!(ret.getType().equals(Term.Type.VARIABLE))) {
+					throw new IllegalArgumentException("Invalid variable name: '" + name
+							+ "'. A variable name must start with a capital letter or with an underscore ('_').");
+				}
+				this.variables.put(ret.getName(), new WeakReference<>(ret));
+			}
+			return ret;
+		}
+	}
+
+	/**
+	 * Returns the result of applying a functor to the given arguments. If the
+	 * list of arguments is empty, this is an atom.
+	 *
+	 * @param name
+	 *            functor name
+	 * @param arguments
+	 *            arguments
+	 * @return the result of applying a functor to the given arguments
+	 * @throws IllegalArgumentException
+	 *             if the functor name is a number or a variable name
+	 */
+	public Term newTerm(String name, List<Term> arguments) {
+		Objects.requireNonNull(name);
+		Objects.requireNonNull(arguments);
+		if (arguments.isEmpty()) {
+			return newAtom(name);
+		} else {
+			Term candidate = new TermImpl(name, arguments);
+			synchronized (this.compoundTerms) {
+				WeakReference<Term> reference = this.compoundTerms.get(candidate);
+				Term ret = Objects.isNull(reference) ? null : reference.get();
+				if (Objects.isNull(ret)) {
+					ret = candidate;
+					this.compoundTerms.put(ret, new WeakReference<>(ret));
+				}
+				return ret;
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "atoms=" + this.atoms.size() + ", variables=" + this.variables.size() + ", compound terms="
+				+ this.compoundTerms.size();
+	}
+
+}
@@ -1,12 +1,18 @@
 package de.tudresden.inf.lat.born.core.term;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 
 /**
- * Default implementation of a term.
+ * Default implementation of a term. A term is immutable, and it caches its
+ * hash code and its string representation. A term is appended to an output
+ * by rendering its arguments recursively, without building strings for
+ * them. Terms can be interned with a {@link TermFactory}.
  * 
  * @author Julian Mendez
  *
@@ -14,15 +20,19 @@ import java.util.Objects;
 public class TermImpl implements Term {
 
 	private final String name;
-	private final List<Term> arguments = new ArrayList<>();
+	private final List<Term> arguments;
 	private final Term.Type termType;
+	private final int hashCode;
+	private String string;
 
 	/**
 	 * Constructs an empty term.
 	 */
 	public TermImpl() {
 		this.name = "";
+		this.arguments = Collections.emptyList();
 		this.termType = Term.Type.ATOM;
+		this.hashCode = computeHashCode();
 	}
 
 	/**
@@ -43,6 +53,8 @@ public class TermImpl implements Term {
 			this.termType = Term.Type.ATOM;
 		}
 		this.name = name;
+		this.arguments = Collections.emptyList();
+		this.hashCode = computeHashCode();
 	}
 
 	/**
@@ -66,7 +78,9 @@ public class TermImpl implements Term {
 			this.termType = Term.Type.COMPOUND_TERM;
 		}
 		this.name = name;
-		this.arguments.addAll(arguments);
+		this.arguments = arguments.isEmpty() ? Collections.emptyList()
+				: Collections.unmodifiableList(new ArrayList<>(arguments));
+		this.hashCode = computeHashCode();
 	}
 
 	/**
@@ -84,9 +98,31 @@ public class TermImpl implements Term {
 		Objects.requireNonNull(leftTerm);
 		Objects.requireNonNull(rightTerm);
 		this.name = Objects.requireNonNull(infixOperator);
-		this.arguments.add(leftTerm);
-		this.arguments.add(rightTerm);
+		List<Term> list = new ArrayList<>();
+		list.add(leftTerm);
+		list.add(rightTerm);
+		this.arguments = Collections.unmodifiableList(list);
 		this.termType = Term.Type.INFIX_OPERATOR;
+		this.hashCode = computeHashCode();
+	}
+
+	int computeHashCode() {
+		return this.name.hashCode() + 0x1F * (this.arguments.hashCode() + 0x1F * this.termType.ordinal());
+	}
+
+	/**
+	 * Tells whether the given string could be parsed as a number, by looking
+	 * at its first character. This avoids parsing and throwing exceptions for
+	 * names that clearly are not numbers.
+	 * 
+	 * @param str
+	 *            string
+	 * @return <code>false</code> if the given string is not a number
+	 */
+	boolean mayBeNumber(String str) {
+		char firstChar = str.charAt(0);
+		return ('0' <= firstChar && firstChar <= '9') || firstChar == '-' || firstChar == '+' || firstChar == '.'
+				|| firstChar == 'N' || firstChar == 'I';
 	}
 
 	/**
@@ -119,7 +155,7 @@ public class TermImpl implements Term {
 	public boolean isLong(String str) {
 		Objects.requireNonNull(str);
 		boolean result = false;
-		if (Objects.isNull(str) || str.trim().isEmpty()) {
+		if (Objects.isNull(str) || str.trim().isEmpty() || !mayBeNumber(str.trim())) {
 			result = false;
 		} else {
 			try {
@@ -143,7 +179,7 @@ public class TermImpl implements Term {
 	public boolean isDouble(String str) {
 		Objects.requireNonNull(str);
 		boolean result = false;
-		if (Objects.isNull(str) || str.trim().isEmpty()) {
+		if (Objects.isNull(str) || str.trim().isEmpty() || !mayBeNumber(str.trim())) {
 			result = false;
 		} else {
 			try {
@@ -174,22 +210,40 @@ public class TermImpl implements Term {
 
 	@Override
 	public String asString() {
-		StringBuilder sb = new StringBuilder();
-		sb.append(this.name);
+		String ret = this.string;
+		if (Objects.isNull(ret)) {
+			StringBuilder sb = new StringBuilder();
+			try {
+				render(sb);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			ret = sb.toString();
+			this.string = ret;
+		}
+		return ret;
+	}
+
+	@Override
+	public void appendTo(Appendable output) throws IOException {
+		render(output);
+	}
+
+	void render(Appendable output) throws IOException {
+		output.append(this.name);
 		if (this.termType.equals(Term.Type.COMPOUND_TERM)) {
-			sb.append(Symbol.PAR_A_CHAR);
+			output.append(Symbol.PAR_A_CHAR);
 			Iterator<Term> it = this.arguments.iterator();
 			while (it.hasNext()) {
 				Term current = it.next();
-				sb.append(current);
+				current.appendTo(output);
 				if (it.hasNext()) {
-					sb.append(Symbol.COMMA_CHAR);
-					sb.append(Symbol.SPACE_CHAR);
+					output.append(Symbol.COMMA_CHAR);
+					output.append(Symbol.SPACE_CHAR);
 				}
 			}
-			sb.append(Symbol.PAR_B_CHAR);
+			output.append(Symbol.PAR_B_CHAR);
 		}
-		return sb.toString();
 	}
 
 	@Override
@@ -200,14 +254,14 @@ public class TermImpl implements Term {
 			return false;
 		} else {
 			Term other = (Term) obj;
-			return getType().equals(other.getType()) && getName().equals(other.getName())
-					&& getArguments().equals(other.getArguments());
+			return (hashCode() == other.hashCode()) && getType().equals(other.getType())
+					&& getName().equals(other.getName()) && getArguments().equals(other.getArguments());
 		}
 	}
 
 	@Override
 	public int hashCode() {
-		return this.name.hashCode() + 0x1F * (this.arguments.hashCode() + 0x1F * Term.Type.values().hashCode());
+		return this.hashCode;
 	}
 
 	@Override
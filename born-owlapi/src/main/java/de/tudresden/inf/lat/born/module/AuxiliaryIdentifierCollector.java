@@ -28,6 +28,7 @@ class AuxiliaryIdentifierCollector implements NormalizedIntegerAxiomVisitor<Bool
 	private final Set<Integer> classesOnTheRight = new TreeSet<>();
 	private final Set<Integer> objectPropertiesOnTheLeft = new TreeSet<>();
 	private final Set<Integer> objectPropertiesOnTheRight = new TreeSet<>();
+	private boolean roleAxiom = false;
 
 	AuxiliaryIdentifierCollector() {
 	}
@@ -76,6 +77,17 @@ class AuxiliaryIdentifierCollector implements NormalizedIntegerAxiomVisitor<Bool
 		return Collections.unmodifiableSet(this.objectPropertiesOnTheRight);
 	}
 
+	/**
+	 * Tells whether the given axiom is a role inclusion or a composition of
+	 * roles, i.e. an axiom that only has object properties.
+	 * 
+	 * @return <code>true</code> if and only if the given axiom is a role
+	 *         inclusion or a composition of roles
+	 */
+	public boolean isRoleAxiom() {
+		return this.roleAxiom;
+	}
+
 	@Override
 	public Boolean visit(FunctObjectPropAxiom axiom) {
 		this.objectPropertiesOnTheLeft.add(axiom.getProperty());
@@ -130,6 +142,7 @@ class AuxiliaryIdentifierCollector implements NormalizedIntegerAxiomVisitor<Bool
 	@Override
 	public Boolean visit(RI1Axiom axiom) {
 		this.objectPropertiesOnTheRight.add(axiom.getSuperProperty());
+		this.roleAxiom = true;
 		return true;
 	}
 
@@ -137,6 +150,7 @@ class AuxiliaryIdentifierCollector implements NormalizedIntegerAxiomVisitor<Bool
 	public Boolean visit(RI2Axiom axiom) {
 		this.objectPropertiesOnTheLeft.add(axiom.getSubProperty());
 		this.objectPropertiesOnTheRight.add(axiom.getSuperProperty());
+		this.roleAxiom = true;
 		return true;
 	}
 
@@ -145,6 +159,7 @@ class AuxiliaryIdentifierCollector implements NormalizedIntegerAxiomVisitor<Bool
 		this.objectPropertiesOnTheLeft.add(axiom.getLeftSubProperty());
 		this.objectPropertiesOnTheLeft.add(axiom.getRightSubProperty());
 		this.objectPropertiesOnTheRight.add(axiom.getSuperProperty());
+		this.roleAxiom = true;
 		return true;
 	}
 
@@ -25,7 +25,7 @@ public class DefaultIdentifierCollector {
 	 */
 	public DefaultIdentifierCollector(NormalizedIntegerAxiom axiom) {
 		this.axiom = Objects.requireNonNull(axiom);
-		axiom.accept(new AuxiliaryIdentifierCollector());
+		axiom.accept(this.collector);
 	}
 
 	/**
@@ -81,6 +81,17 @@ public class DefaultIdentifierCollector {
 		return this.collector.getObjectPropertiesOnTheRight();
 	}
 
+	/**
+	 * Tells whether the given axiom is a role inclusion or a composition of
+	 * roles, i.e. an axiom that only has object properties.
+	 * 
+	 * @return <code>true</code> if and only if the given axiom is a role
+	 *         inclusion or a composition of roles
+	 */
+	public boolean isRoleAxiom() {
+		return this.collector.isRoleAxiom();
+	}
+
 	@Override
 	public int hashCode() {
 		return this.axiom.hashCode();
@@ -1,22 +1,30 @@
-
 package de.tudresden.inf.lat.born.module;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
-import java.util.Optional;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
 
 import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
-import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerAxiom;
-import de.tudresden.inf.lat.util.map.OptMap;
-import de.tudresden.inf.lat.util.map.OptMapImpl;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
 
 /**
  * An object of this class is a module extractor, i.e. it can extract a subset
- * of axioms that are relevant to answer a query.
- * 
+ * of axioms that are relevant to answer a query. The module contains the
+ * axioms whose classes on the left side are reachable from the classes of the
+ * query, and the role axioms, i.e. role inclusions and compositions of roles,
+ * that share an object property with an axiom of the module. For a
+ * subsumption query, a smaller goal-directed module can be extracted, which
+ * only keeps the axioms of the module that can derive the superclass.
+ *
  * @author Julian Mendez
  */
 public class DefaultModuleExtractor {
@@ -27,106 +35,303 @@ public class DefaultModuleExtractor {
 	public DefaultModuleExtractor() {
 	}
 
+	void addAxiom(ModuleIndex index, int axiomIndex, Set<NormalizedIntegerAxiom> axioms, Set<Integer> entities) {
+		axioms.add(index.getAxiom(axiomIndex));
+		for (int entity : index.getEntities(axiomIndex)) {
+			entities.add(entity);
+		}
+	}
+
 	/**
-	 * Returns a map that relates a class with the set of axioms where this
-	 * class occurs on the left side of the axiom
-	 * 
-	 * @param normalizedAxioms
-	 *            normalized axioms
-	 * @return a map that relates a class with the set of axioms where this
-	 *         class occurs on the left side of the axiom
+	 * Returns a module, i.e. a subset of axioms relevant to answer a query.
+	 *
+	 * @param setOfAxioms
+	 *            set of axioms
+	 * @param setOfClasses
+	 *            set of classes
+	 * @return a module, i.e. a subset of axioms relevant to answer a query
 	 */
-	OptMap<Integer, Set<DefaultIdentifierCollector>> buildMapOfAxioms(
-			Set<DefaultIdentifierCollector> normalizedAxioms) {
-		OptMap<Integer, Set<DefaultIdentifierCollector>> map = new OptMapImpl<>(new HashMap<>());
-		normalizedAxioms.forEach(axiom -> {
-			Set<Integer> classesOnTheLeft = axiom.getClassesOnTheLeft();
-			classesOnTheLeft.forEach(classId -> {
-				Optional<Set<DefaultIdentifierCollector>> optValue = map.get(classId);
-				if (!optValue.isPresent()) {
-					optValue = Optional.of(new HashSet<>());
-					map.put(classId, optValue.get());
-				}
-				optValue.get().add(axiom);
-			});
-		});
-		return map;
+	public Module extractModule(Collection<NormalizedIntegerAxiom> setOfAxioms, Set<Integer> setOfClasses) {
+		Objects.requireNonNull(setOfAxioms);
+		Objects.requireNonNull(setOfClasses);
+		return extractModule(new ModuleIndex(setOfAxioms), setOfClasses);
 	}
 
-	Set<NormalizedIntegerAxiom> getAxiomsWithoutEntitiesOnTheLeft(Set<DefaultIdentifierCollector> axioms) {
-		Set<NormalizedIntegerAxiom> ret = new HashSet<>();
-		axioms.forEach(axiom -> {
-			if (axiom.getClassesOnTheLeft().isEmpty() && axiom.getObjectPropertiesOnTheLeft().isEmpty()) {
-				ret.add(axiom.getAxiom());
+	/**
+	 * Returns the positions of the axioms of the module of the given classes,
+	 * i.e. the axioms whose classes on the left side are reachable from the
+	 * given classes, the axioms without entities on the left side, and the
+	 * role axioms that share an object property with one of these axioms.
+	 *
+	 * @param index
+	 *            module index
+	 * @param setOfClasses
+	 *            set of classes
+	 * @return the positions of the axioms of the module of the given classes
+	 */
+	BitSet getReachableAxioms(ModuleIndex index, Set<Integer> setOfClasses) {
+		BitSet visitedClasses = new BitSet();
+		BitSet visitedAxioms = new BitSet();
+		int[] classesToVisit = new int[Math.max(setOfClasses.size(), 1) * 2];
+		int pending = 0;
+		BitSet visitedObjectProperties = new BitSet();
+		int[] objectPropertiesToVisit = new int[2];
+		int pendingObjectProperties = 0;
+
+		for (int axiomIndex : index.getAxiomsWithoutEntitiesOnTheLeft()) {
+			visitedAxioms.set(axiomIndex);
+		}
+
+		for (Integer classId : setOfClasses) {
+			if (!visitedClasses.get(classId)) {
+				visitedClasses.set(classId);
+				classesToVisit[pending] = classId;
+				pending++;
+			}
+		}
+
+		// the top class is implicitly a superclass of every class
+		if (!visitedClasses.get(IntegerEntityManager.topClassId)) {
+			visitedClasses.set(IntegerEntityManager.topClassId);
+			classesToVisit[pending] = IntegerEntityManager.topClassId;
+			pending++;
+		}
+
+		while (pending > 0 || pendingObjectProperties > 0) {
+			List<Integer> reachedAxioms = new ArrayList<>();
+			if (pending > 0) {
+				pending--;
+				int classId = classesToVisit[pending];
+				for (int axiomIndex : index.getAxiomsWithClassOnTheLeft(classId)) {
+					if (!visitedAxioms.get(axiomIndex)) {
+						visitedAxioms.set(axiomIndex);
+						reachedAxioms.add(axiomIndex);
+					}
+				}
+			} else {
+				pendingObjectProperties--;
+				int objectPropertyId = objectPropertiesToVisit[pendingObjectProperties];
+				for (int axiomIndex : index.getRoleAxiomsWithObjectProperty(objectPropertyId)) {
+					if (!visitedAxioms.get(axiomIndex)) {
+						visitedAxioms.set(axiomIndex);
+						reachedAxioms.add(axiomIndex);
+					}
+				}
 			}
-		});
-		return ret;
-	}
 
-	Set<DefaultIdentifierCollector> getAxiomsWithClassesOnTheLeft(Set<Integer> classesToVisit,
-			OptMap<Integer, Set<DefaultIdentifierCollector>> map) {
-		Set<DefaultIdentifierCollector> ret = new HashSet<>();
-		classesToVisit.forEach(classId -> {
-			Optional<Set<DefaultIdentifierCollector>> optNewAxioms = map.get(classId);
-			if (optNewAxioms.isPresent()) {
-				ret.addAll(optNewAxioms.get());
+			for (int axiomIndex : reachedAxioms) {
+				for (int newClassId : index.getClassesOnTheRight(axiomIndex)) {
+					if (!visitedClasses.get(newClassId)) {
+						visitedClasses.set(newClassId);
+						if (pending == classesToVisit.length) {
+							classesToVisit = Arrays.copyOf(classesToVisit, pending * 2);
+						}
+						classesToVisit[pending] = newClassId;
+						pending++;
+					}
+				}
+				for (int[] newObjectProperties : Arrays.asList(index.getObjectPropertiesOnTheLeft(axiomIndex),
+						index.getObjectPropertiesOnTheRight(axiomIndex))) {
+					for (int newObjectPropertyId : newObjectProperties) {
+						if (!visitedObjectProperties.get(newObjectPropertyId)) {
+							visitedObjectProperties.set(newObjectPropertyId);
+							if (pendingObjectProperties == objectPropertiesToVisit.length) {
+								objectPropertiesToVisit = Arrays.copyOf(objectPropertiesToVisit,
+										pendingObjectProperties * 2);
+							}
+							objectPropertiesToVisit[pendingObjectProperties] = newObjectPropertyId;
+							pendingObjectProperties++;
+						}
+					}
+				}
 			}
-		});
-		return ret;
+		}
+		return visitedAxioms;
 	}
 
-	Set<Integer> getEntities(IntegerAxiom axiom) {
-		Set<Integer> ret = new TreeSet<>();
-		ret.addAll(axiom.getClassesInSignature());
-		ret.addAll(axiom.getObjectPropertiesInSignature());
-		ret.addAll(axiom.getIndividualsInSignature());
-		ret.addAll(axiom.getDataPropertiesInSignature());
-		ret.addAll(axiom.getDatatypesInSignature());
-		return ret;
+	Module createModule(ModuleIndex index, Set<Integer> setOfClasses, BitSet axiomIndices) {
+		Set<NormalizedIntegerAxiom> newAxioms = new HashSet<>();
+		Set<Integer> entities = new TreeSet<>(setOfClasses);
+		for (int axiomIndex = axiomIndices.nextSetBit(0); axiomIndex >= 0; axiomIndex = axiomIndices
+				.nextSetBit(axiomIndex + 1)) {
+			addAxiom(index, axiomIndex, newAxioms, entities);
+		}
+		return new Module(entities, newAxioms);
 	}
 
 	/**
 	 * Returns a module, i.e. a subset of axioms relevant to answer a query.
-	 * 
-	 * @param setOfAxioms
-	 *            set of axioms
+	 * The axioms are taken from a module index, which can be reused for
+	 * several extractions. The cost of the extraction depends only on the size
+	 * of the module.
+	 *
+	 * @param index
+	 *            module index
 	 * @param setOfClasses
 	 *            set of classes
 	 * @return a module, i.e. a subset of axioms relevant to answer a query
 	 */
-	public Module extractModule(Collection<NormalizedIntegerAxiom> setOfAxioms, Set<Integer> setOfClasses) {
+	public Module extractModule(ModuleIndex index, Set<Integer> setOfClasses) {
+		Objects.requireNonNull(index);
+		Objects.requireNonNull(setOfClasses);
+		return createModule(index, setOfClasses, getReachableAxioms(index, setOfClasses));
+	}
 
-		Set<NormalizedIntegerAxiom> newAxioms = new HashSet<>();
+	/**
+	 * Returns a goal-directed module, i.e. a subset of axioms relevant to
+	 * answer whether a class is subsumed by another class. The module is the
+	 * subset of the module of the subclass that contains the axioms that can
+	 * take part in the derivation of the superclass. These are found backwards
+	 * from the superclass: an axiom is included if it derives a class or an
+	 * object property that is needed, and then the classes and object
+	 * properties on its left side are also needed. Thus, an axiom
+	 * <code>\u2203 r . A \u2291 B</code> is only followed backwards to
+	 * <code>r</code> and <code>A</code> if <code>B</code> is needed, and an
+	 * axiom <code>A \u2291 \u2203 r . B</code> is only included if
+	 * <code>r</code> is needed.
+	 *
+	 * @param index
+	 *            module index
+	 * @param subClass
+	 *            subclass
+	 * @param superClass
+	 *            superclass
+	 * @return a goal-directed module, i.e. a subset of axioms relevant to
+	 *         answer whether a class is subsumed by another class
+	 */
+	public Module extractModule(ModuleIndex index, int subClass, int superClass) {
+		Objects.requireNonNull(index);
+		Set<Integer> setOfClasses = new TreeSet<>(Arrays.asList(subClass, superClass));
+		BitSet reachableAxioms = getReachableAxioms(index, Collections.singleton(subClass));
+		BitSet relevantAxioms = new BitSet();
+		BitSet neededClasses = new BitSet();
+		Deque<Integer> classesToVisit = new ArrayDeque<>();
+		BitSet neededObjectProperties = new BitSet();
+		Deque<Integer> objectPropertiesToVisit = new ArrayDeque<>();
+		neededClasses.set(superClass);
+		classesToVisit.add(superClass);
 
-		Set<DefaultIdentifierCollector> axioms = new HashSet<>();
-		setOfAxioms.forEach(axiom -> axioms.add(new DefaultIdentifierCollector(axiom)));
+		while (!classesToVisit.isEmpty() || !objectPropertiesToVisit.isEmpty()) {
+			List<Integer> derivingAxioms = new ArrayList<>();
+			if (!classesToVisit.isEmpty()) {
+				for (int axiomIndex : index.getAxiomsWithClassOnTheRight(classesToVisit.poll())) {
+					// an axiom with an object property on the right side derives
+					// an existential restriction, which is needed only if its
+					// object property is needed
+					if (index.getObjectPropertiesOnTheRight(axiomIndex).length == 0) {
+						derivingAxioms.add(axiomIndex);
+					}
+				}
+			} else {
+				for (int axiomIndex : index.getAxiomsWithObjectPropertyOnTheRight(objectPropertiesToVisit.poll())) {
+					derivingAxioms.add(axiomIndex);
+				}
+			}
 
-		newAxioms.addAll(getAxiomsWithoutEntitiesOnTheLeft(axioms));
+			for (int axiomIndex : derivingAxioms) {
+				if (reachableAxioms.get(axiomIndex) && !relevantAxioms.get(axiomIndex)) {
+					relevantAxioms.set(axiomIndex);
+					for (int classId : index.getClassesOnTheLeft(axiomIndex)) {
+						if (!neededClasses.get(classId)) {
+							neededClasses.set(classId);
+							classesToVisit.add(classId);
+						}
+					}
+					for (int objectPropertyId : index.getObjectPropertiesOnTheLeft(axiomIndex)) {
+						if (!neededObjectProperties.get(objectPropertyId)) {
+							neededObjectProperties.set(objectPropertyId);
+							objectPropertiesToVisit.add(objectPropertyId);
+						}
+					}
+				}
+			}
+		}
+		return createModule(index, setOfClasses, relevantAxioms);
+	}
 
-		OptMap<Integer, Set<DefaultIdentifierCollector>> map = buildMapOfAxioms(axioms);
+	/**
+	 * Returns the classes whose module, extracted from the given index,
+	 * contains at least one of the given axioms. These are the classes that
+	 * reach a class on the left side of one of the axioms. If one of the axioms
+	 * belongs to every module, or it is a role axiom, i.e. a role inclusion or
+	 * a composition of roles, all the given classes are returned.
+	 *
+	 * @param index
+	 *            module index
+	 * @param setOfClasses
+	 *            classes to check
+	 * @param changedAxioms
+	 *            axioms
+	 * @return the classes whose module contains at least one of the given
+	 *         axioms
+	 */
+	public Set<Integer> getAffectedClasses(ModuleIndex index, Set<Integer> setOfClasses,
+			Collection<NormalizedIntegerAxiom> changedAxioms) {
+		Objects.requireNonNull(index);
+		Objects.requireNonNull(setOfClasses);
+		Objects.requireNonNull(changedAxioms);
 
-		Set<Integer> visitedClasses = new TreeSet<>();
-		Set<Integer> classesToVisit = new TreeSet<>();
-		classesToVisit.addAll(setOfClasses);
-		int resultSize = -1;
-		while (newAxioms.size() > resultSize) {
-			resultSize = newAxioms.size();
+		BitSet reachedClasses = new BitSet();
+		int[] classesToVisit = new int[Math.max(changedAxioms.size(), 1) * 2];
+		int pending = 0;
+		for (NormalizedIntegerAxiom axiom : changedAxioms) {
+			DefaultIdentifierCollector collector = new DefaultIdentifierCollector(axiom);
+			if (collector.isRoleAxiom()
+					|| (collector.getClassesOnTheLeft().isEmpty() && collector.getObjectPropertiesOnTheLeft().isEmpty())) {
+				return new TreeSet<>(setOfClasses);
+			}
+			for (Integer classId : collector.getClassesOnTheLeft()) {
+				if (!reachedClasses.get(classId)) {
+					reachedClasses.set(classId);
+					if (pending == classesToVisit.length) {
+						classesToVisit = Arrays.copyOf(classesToVisit, pending * 2);
+					}
+					classesToVisit[pending] = classId;
+					pending++;
+				}
+			}
+		}
 
-			Set<DefaultIdentifierCollector> axiomsToVisit = getAxiomsWithClassesOnTheLeft(classesToVisit, map);
-			visitedClasses.addAll(classesToVisit);
-			classesToVisit.clear();
+		List<List<Integer>> classesOnTheLeftByClassOnTheRight = new ArrayList<>();
+		for (int axiomIndex = 0; axiomIndex < index.size(); axiomIndex++) {
+			for (int right : index.getClassesOnTheRight(axiomIndex)) {
+				while (classesOnTheLeftByClassOnTheRight.size() <= right) {
+					classesOnTheLeftByClassOnTheRight.add(new ArrayList<>());
+				}
+				for (int left : index.getClassesOnTheLeft(axiomIndex)) {
+					classesOnTheLeftByClassOnTheRight.get(right).add(left);
+				}
+			}
+		}
 
-			axiomsToVisit.forEach(axiom -> {
-				classesToVisit.addAll(axiom.getClassesOnTheRight());
-				newAxioms.add(axiom.getAxiom());
-			});
-			classesToVisit.removeAll(visitedClasses);
+		while (pending > 0) {
+			pending--;
+			int classId = classesToVisit[pending];
+			if (classId < classesOnTheLeftByClassOnTheRight.size()) {
+				for (int newClassId : classesOnTheLeftByClassOnTheRight.get(classId)) {
+					if (!reachedClasses.get(newClassId)) {
+						reachedClasses.set(newClassId);
+						if (pending == classesToVisit.length) {
+							classesToVisit = Arrays.copyOf(classesToVisit, pending * 2);
+						}
+						classesToVisit[pending] = newClassId;
+						pending++;
+					}
+				}
+			}
 		}
 
-		Set<Integer> entities = new TreeSet<>();
-		entities.addAll(visitedClasses);
-		newAxioms.forEach(axiom -> entities.addAll(getEntities(axiom)));
-		return new Module(entities, newAxioms);
+		// the top class is implicitly a superclass of every class
+		if (reachedClasses.get(IntegerEntityManager.topClassId)) {
+			return new TreeSet<>(setOfClasses);
+		}
+		Set<Integer> ret = new TreeSet<>();
+		setOfClasses.forEach(classId -> {
+			if (reachedClasses.get(classId)) {
+				ret.add(classId);
+			}
+		});
+		return ret;
 	}
 
 }
@@ -0,0 +1,437 @@
+package de.tudresden.inf.lat.born.module;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+
+/**
+ * An object of this class is an index of normalized axioms used to extract
+ * modules. It relates each class with the axioms where this class occurs on
+ * the left side, and each object property with the role axioms, i.e. role
+ * inclusions and compositions of roles, where this object property occurs.
+ * The relation of each class and object property with the axioms where it
+ * occurs on the right side, which is only needed by goal-directed
+ * extractions, is computed when it is requested for the first time. The index
+ * is built once for a set of axioms and is not modified afterwards, so that it
+ * can be shared by several module extractions. An index for a modified set
+ * of axioms is obtained with {@link #update(Collection, Collection)}, which
+ * reuses the information already computed for the axioms that are kept.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class ModuleIndex {
+
+	static final int[] EMPTY = new int[0];
+
+	private final NormalizedIntegerAxiom[] axioms;
+	private final int[][] axiomsByClassOnTheLeft;
+	private final int[][] classesOnTheLeft;
+	private final int[][] classesOnTheRight;
+	private final int[][] entities;
+	private final int[][] objectPropertiesOnTheLeft;
+	private final int[][] objectPropertiesOnTheRight;
+	private final boolean[] roleAxioms;
+	private final int[][] roleAxiomsByObjectProperty;
+	private final int[] axiomsWithoutEntitiesOnTheLeft;
+	private int[][] axiomsByClassOnTheRight = null;
+	private int[][] axiomsByObjectPropertyOnTheRight = null;
+
+	/**
+	 * An object of this class keeps the identifiers of one indexed axiom.
+	 */
+	static class Entry {
+
+		final NormalizedIntegerAxiom axiom;
+		final int[] classesOnTheLeft;
+		final int[] classesOnTheRight;
+		final int[] entities;
+		final int[] objectPropertiesOnTheLeft;
+		final int[] objectPropertiesOnTheRight;
+		final boolean roleAxiom;
+		final boolean withoutEntitiesOnTheLeft;
+
+		Entry(NormalizedIntegerAxiom axiom, int[] classesOnTheLeft, int[] classesOnTheRight, int[] entities,
+				int[] objectPropertiesOnTheLeft, int[] objectPropertiesOnTheRight, boolean roleAxiom,
+				boolean withoutEntitiesOnTheLeft) {
+			this.axiom = axiom;
+			this.classesOnTheLeft = classesOnTheLeft;
+			this.classesOnTheRight = classesOnTheRight;
+			this.entities = entities;
+			this.objectPropertiesOnTheLeft = objectPropertiesOnTheLeft;
+			this.objectPropertiesOnTheRight = objectPropertiesOnTheRight;
+			this.roleAxiom = roleAxiom;
+			this.withoutEntitiesOnTheLeft = withoutEntitiesOnTheLeft;
+		}
+
+		Entry(NormalizedIntegerAxiom axiom) {
+			DefaultIdentifierCollector collector = new DefaultIdentifierCollector(axiom);
+			this.axiom = axiom;
+			this.classesOnTheLeft = toArray(collector.getClassesOnTheLeft());
+			this.classesOnTheRight = toArray(collector.getClassesOnTheRight());
+			this.entities = toArray(ModuleIndex.getEntities(axiom));
+			this.objectPropertiesOnTheLeft = toArray(collector.getObjectPropertiesOnTheLeft());
+			this.objectPropertiesOnTheRight = toArray(collector.getObjectPropertiesOnTheRight());
+			this.roleAxiom = collector.isRoleAxiom();
+			this.withoutEntitiesOnTheLeft = !this.roleAxiom && collector.getClassesOnTheLeft().isEmpty()
+					&& collector.getObjectPropertiesOnTheLeft().isEmpty();
+		}
+
+	}
+
+	/**
+	 * Constructs a new module index.
+	 *
+	 * @param setOfAxioms
+	 *            normalized axioms
+	 */
+	public ModuleIndex(Collection<NormalizedIntegerAxiom> setOfAxioms) {
+		this(toEntries(Objects.requireNonNull(setOfAxioms)));
+	}
+
+	ModuleIndex(List<Entry> entries) {
+		int size = entries.size();
+		this.axioms = new NormalizedIntegerAxiom[size];
+		this.classesOnTheLeft = new int[size][];
+		this.classesOnTheRight = new int[size][];
+		this.entities = new int[size][];
+		this.objectPropertiesOnTheLeft = new int[size][];
+		this.objectPropertiesOnTheRight = new int[size][];
+		this.roleAxioms = new boolean[size];
+		int[][] objectPropertiesOfRoleAxioms = new int[size][];
+		List<Integer> withoutEntitiesOnTheLeft = new ArrayList<>();
+
+		int index = 0;
+		for (Entry entry : entries) {
+			this.axioms[index] = entry.axiom;
+			this.classesOnTheLeft[index] = entry.classesOnTheLeft;
+			this.classesOnTheRight[index] = entry.classesOnTheRight;
+			this.entities[index] = entry.entities;
+			this.objectPropertiesOnTheLeft[index] = entry.objectPropertiesOnTheLeft;
+			this.objectPropertiesOnTheRight[index] = entry.objectPropertiesOnTheRight;
+			this.roleAxioms[index] = entry.roleAxiom;
+			objectPropertiesOfRoleAxioms[index] = entry.roleAxiom
+					? concat(entry.objectPropertiesOnTheLeft, entry.objectPropertiesOnTheRight) : EMPTY;
+			if (entry.withoutEntitiesOnTheLeft) {
+				withoutEntitiesOnTheLeft.add(index);
+			}
+			index++;
+		}
+		this.axiomsWithoutEntitiesOnTheLeft = toArray(withoutEntitiesOnTheLeft);
+		this.axiomsByClassOnTheLeft = invert(this.classesOnTheLeft, IntegerEntityManager.topClassId);
+		this.roleAxiomsByObjectProperty = invert(objectPropertiesOfRoleAxioms, -1);
+	}
+
+	/**
+	 * Returns an array that relates each identifier with the positions of the
+	 * axioms whose array of identifiers contains it.
+	 *
+	 * @param identifiersByAxiom
+	 *            identifiers of each axiom
+	 * @param minimumIdentifier
+	 *            identifier that the returned array covers even if it does
+	 *            not occur in any axiom
+	 * @return an array that relates each identifier with the positions of the
+	 *         axioms whose array of identifiers contains it
+	 */
+	static int[][] invert(int[][] identifiersByAxiom, int minimumIdentifier) {
+		int maxIdentifier = minimumIdentifier;
+		for (int[] identifiers : identifiersByAxiom) {
+			for (int identifier : identifiers) {
+				maxIdentifier = Math.max(maxIdentifier, identifier);
+			}
+		}
+
+		int[] count = new int[maxIdentifier + 1];
+		for (int[] identifiers : identifiersByAxiom) {
+			for (int identifier : identifiers) {
+				count[identifier]++;
+			}
+		}
+		int[][] ret = new int[maxIdentifier + 1][];
+		for (int identifier = 0; identifier <= maxIdentifier; identifier++) {
+			ret[identifier] = count[identifier] == 0 ? EMPTY : new int[count[identifier]];
+		}
+		int[] position = new int[maxIdentifier + 1];
+		for (int axiomIndex = 0; axiomIndex < identifiersByAxiom.length; axiomIndex++) {
+			for (int identifier : identifiersByAxiom[axiomIndex]) {
+				ret[identifier][position[identifier]] = axiomIndex;
+				position[identifier]++;
+			}
+		}
+		return ret;
+	}
+
+	static int[] concat(int[] first, int[] second) {
+		if (first.length == 0) {
+			return second;
+		} else if (second.length == 0) {
+			return first;
+		} else {
+			int[] ret = Arrays.copyOf(first, first.length + second.length);
+			System.arraycopy(second, 0, ret, first.length, second.length);
+			return ret;
+		}
+	}
+
+	static List<Entry> toEntries(Collection<NormalizedIntegerAxiom> setOfAxioms) {
+		List<Entry> ret = new ArrayList<>(setOfAxioms.size());
+		setOfAxioms.forEach(axiom -> ret.add(new Entry(axiom)));
+		return ret;
+	}
+
+	/**
+	 * Returns a new module index for the axioms of this index, without the
+	 * removed axioms and with the added axioms. This index is not modified.
+	 * Only the added axioms are analyzed, the identifiers of the other axioms
+	 * are shared with this index.
+	 *
+	 * @param addedAxioms
+	 *            axioms to add
+	 * @param removedAxioms
+	 *            axioms to remove
+	 * @return a new module index for the axioms of this index, without the
+	 *         removed axioms and with the added axioms
+	 */
+	public ModuleIndex update(Collection<NormalizedIntegerAxiom> addedAxioms,
+			Collection<NormalizedIntegerAxiom> removedAxioms) {
+		Objects.requireNonNull(addedAxioms);
+		Objects.requireNonNull(removedAxioms);
+		Set<NormalizedIntegerAxiom> removed = new HashSet<>(removedAxioms);
+		Set<NormalizedIntegerAxiom> kept = new HashSet<>();
+		BitSet withoutEntitiesOnTheLeft = new BitSet();
+		for (int axiomIndex : this.axiomsWithoutEntitiesOnTheLeft) {
+			withoutEntitiesOnTheLeft.set(axiomIndex);
+		}
+		List<Entry> entries = new ArrayList<>(this.axioms.length + addedAxioms.size());
+		for (int axiomIndex = 0; axiomIndex < this.axioms.length; axiomIndex++) {
+			NormalizedIntegerAxiom axiom = this.axioms[axiomIndex];
+			if (!removed.contains(axiom)) {
+				kept.add(axiom);
+				entries.add(new Entry(axiom, this.classesOnTheLeft[axiomIndex], this.classesOnTheRight[axiomIndex],
+						this.entities[axiomIndex], this.objectPropertiesOnTheLeft[axiomIndex],
+						this.objectPropertiesOnTheRight[axiomIndex], this.roleAxioms[axiomIndex],
+						withoutEntitiesOnTheLeft.get(axiomIndex)));
+			}
+		}
+		addedAxioms.forEach(axiom -> {
+			if (kept.add(axiom)) {
+				entries.add(new Entry(axiom));
+			}
+		});
+		return new ModuleIndex(entries);
+	}
+
+	static int[] toArray(Collection<Integer> collection) {
+		if (collection.isEmpty()) {
+			return EMPTY;
+		}
+		int[] ret = new int[collection.size()];
+		int index = 0;
+		for (Integer element : collection) {
+			ret[index] = element;
+			index++;
+		}
+		return ret;
+	}
+
+	static Set<Integer> getEntities(IntegerAxiom axiom) {
+		Set<Integer> ret = new TreeSet<>();
+		ret.addAll(axiom.getClassesInSignature());
+		ret.addAll(axiom.getObjectPropertiesInSignature());
+		ret.addAll(axiom.getIndividualsInSignature());
+		ret.addAll(axiom.getDataPropertiesInSignature());
+		ret.addAll(axiom.getDatatypesInSignature());
+		return ret;
+	}
+
+	/**
+	 * Returns the number of indexed axioms.
+	 *
+	 * @return the number of indexed axioms
+	 */
+	public int size() {
+		return this.axioms.length;
+	}
+
+	/**
+	 * Returns the axiom with the given position in the index.
+	 *
+	 * @param axiomIndex
+	 *            position of the axiom
+	 * @return the axiom with the given position in the index
+	 */
+	NormalizedIntegerAxiom getAxiom(int axiomIndex) {
+		return this.axioms[axiomIndex];
+	}
+
+	/**
+	 * Returns the positions of the axioms where the given class occurs on the
+	 * left side. The returned array must not be modified.
+	 *
+	 * @param classId
+	 *            class
+	 * @return the positions of the axioms where the given class occurs on the
+	 *         left side
+	 */
+	int[] getAxiomsWithClassOnTheLeft(int classId) {
+		if (classId < 0 || classId >= this.axiomsByClassOnTheLeft.length) {
+			return EMPTY;
+		} else {
+			return this.axiomsByClassOnTheLeft[classId];
+		}
+	}
+
+	/**
+	 * Returns the classes on the left side of the axiom with the given
+	 * position. The returned array must not be modified.
+	 *
+	 * @param axiomIndex
+	 *            position of the axiom
+	 * @return the classes on the left side of the axiom with the given
+	 *         position
+	 */
+	int[] getClassesOnTheLeft(int axiomIndex) {
+		return this.classesOnTheLeft[axiomIndex];
+	}
+
+	/**
+	 * Returns the classes on the right side of the axiom with the given
+	 * position. The returned array must not be modified.
+	 *
+	 * @param axiomIndex
+	 *            position of the axiom
+	 * @return the classes on the right side of the axiom with the given
+	 *         position
+	 */
+	int[] getClassesOnTheRight(int axiomIndex) {
+		return this.classesOnTheRight[axiomIndex];
+	}
+
+	/**
+	 * Returns the entities in the signature of the axiom with the given
+	 * position. The returned array must not be modified.
+	 *
+	 * @param axiomIndex
+	 *            position of the axiom
+	 * @return the entities in the signature of the axiom with the given
+	 *         position
+	 */
+	int[] getEntities(int axiomIndex) {
+		return this.entities[axiomIndex];
+	}
+
+	/**
+	 * Returns the object properties on the left side of the axiom with the
+	 * given position. The returned array must not be modified.
+	 *
+	 * @param axiomIndex
+	 *            position of the axiom
+	 * @return the object properties on the left side of the axiom with the
+	 *         given position
+	 */
+	int[] getObjectPropertiesOnTheLeft(int axiomIndex) {
+		return this.objectPropertiesOnTheLeft[axiomIndex];
+	}
+
+	/**
+	 * Returns the object properties on the right side of the axiom with the
+	 * given position. The returned array must not be modified.
+	 *
+	 * @param axiomIndex
+	 *            position of the axiom
+	 * @return the object properties on the right side of the axiom with the
+	 *         given position
+	 */
+	int[] getObjectPropertiesOnTheRight(int axiomIndex) {
+		return this.objectPropertiesOnTheRight[axiomIndex];
+	}
+
+	synchronized void buildIndexOnTheRight() {
+		if (Objects.isNull(this.axiomsByClassOnTheRight)) {
+			this.axiomsByClassOnTheRight = invert(this.classesOnTheRight, -1);
+			this.axiomsByObjectPropertyOnTheRight = invert(this.objectPropertiesOnTheRight, -1);
+		}
+	}
+
+	/**
+	 * Returns the positions of the axioms where the given class occurs on the
+	 * right side. The returned array must not be modified.
+	 *
+	 * @param classId
+	 *            class
+	 * @return the positions of the axioms where the given class occurs on the
+	 *         right side
+	 */
+	int[] getAxiomsWithClassOnTheRight(int classId) {
+		buildIndexOnTheRight();
+		if (classId < 0 || classId >= this.axiomsByClassOnTheRight.length) {
+			return EMPTY;
+		} else {
+			return this.axiomsByClassOnTheRight[classId];
+		}
+	}
+
+	/**
+	 * Returns the positions of the axioms where the given object property
+	 * occurs on the right side. The returned array must not be modified.
+	 *
+	 * @param objectPropertyId
+	 *            object property
+	 * @return the positions of the axioms where the given object property
+	 *         occurs on the right side
+	 */
+	int[] getAxiomsWithObjectPropertyOnTheRight(int objectPropertyId) {
+		buildIndexOnTheRight();
+		if (objectPropertyId < 0 || objectPropertyId >= this.axiomsByObjectPropertyOnTheRight.length) {
+			return EMPTY;
+		} else {
+			return this.axiomsByObjectPropertyOnTheRight[objectPropertyId];
+		}
+	}
+
+	/**
+	 * Returns the positions of the role axioms, i.e. role inclusions and
+	 * compositions of roles, where the given object property occurs. The
+	 * returned array must not be modified.
+	 *
+	 * @param objectPropertyId
+	 *            object property
+	 * @return the positions of the role axioms where the given object
+	 *         property occurs
+	 */
+	int[] getRoleAxiomsWithObjectProperty(int objectPropertyId) {
+		if (objectPropertyId < 0 || objectPropertyId >= this.roleAxiomsByObjectProperty.length) {
+			return EMPTY;
+		} else {
+			return this.roleAxiomsByObjectProperty[objectPropertyId];
+		}
+	}
+
+	/**
+	 * Returns the positions of the axioms that do not have entities on the
+	 * left side. The returned array must not be modified.
+	 *
+	 * @return the positions of the axioms that do not have entities on the
+	 *         left side
+	 */
+	int[] getAxiomsWithoutEntitiesOnTheLeft() {
+		return this.axiomsWithoutEntitiesOnTheLeft;
+	}
+
+	@Override
+	public String toString() {
+		return "axioms=" + this.axioms.length + ", classes=" + this.axiomsByClassOnTheLeft.length;
+	}
+
+}
@@ -1,9 +1,9 @@
 package de.tudresden.inf.lat.born.owlapi.annotator;
 
-import java.io.StringReader;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -63,7 +63,7 @@ import org.semanticweb.owlapi.model.OWLTransitiveObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.SWRLRule;
 
 import de.tudresden.inf.lat.born.core.term.Symbol;
-import de.tudresden.inf.lat.born.problog.parser.Token;
+import de.tudresden.inf.lat.born.problog.parser.SourceToken;
 import de.tudresden.inf.lat.born.problog.parser.TokenCreator;
 import de.tudresden.inf.lat.util.map.OptMap;
 import de.tudresden.inf.lat.util.map.OptMapImpl;
@@ -119,21 +119,19 @@ public class AnnotationCreator implements OWLAxiomVisitorEx<Boolean> {
 
 	public static Set<String> extractVariables(String bayesianNetwork) {
 		Set<String> variables = new TreeSet<>();
-		StringReader reader = new StringReader(bayesianNetwork);
-		TokenCreator instance = new TokenCreator();
-		List<Token> tokens = instance.createTokens(reader);
-		int[] colons = new int[1];
-		colons[0] = 0;
-		tokens.forEach(token -> {
-			if (colons[0] == 2) {
+		Iterator<SourceToken> tokens = (new TokenCreator()).iterator(bayesianNetwork);
+		int colons = 0;
+		while (tokens.hasNext()) {
+			SourceToken token = tokens.next();
+			if (colons == 2) {
 				variables.add(token.getValue());
-				colons[0] = 0;
-			} else if (token.getValue().equals("" + Symbol.COLON_CHAR)) {
-				colons[0] = colons[0] + 1;
+				colons = 0;
+			} else if (token.hasValue(Symbol.COLON_CHAR)) {
+				colons++;
 			} else {
-				colons[0] = 0;
+				colons = 0;
 			}
-		});
+		}
 		return variables;
 	}
 
@@ -0,0 +1,171 @@
+package de.tudresden.inf.lat.born.owlapi.generator;
+
+import java.io.OutputStream;
+
+/**
+ * This interface models the configuration of an ontology generator.
+ * 
+ * @author Julian Mendez
+ *
+ */
+public interface OntologyGeneratorConfiguration {
+
+	/**
+	 * Returns the number of classes.
+	 * 
+	 * @return the number of classes
+	 */
+	int getNumberOfClasses();
+
+	/**
+	 * Sets the number of classes.
+	 * 
+	 * @param numberOfClasses
+	 *            number of classes
+	 */
+	void setNumberOfClasses(int numberOfClasses);
+
+	/**
+	 * Returns the number of roles.
+	 * 
+	 * @return the number of roles
+	 */
+	int getNumberOfRoles();
+
+	/**
+	 * Sets the number of roles.
+	 * 
+	 * @param numberOfRoles
+	 *            number of roles
+	 */
+	void setNumberOfRoles(int numberOfRoles);
+
+	/**
+	 * Returns the maximum depth of the class hierarchy.
+	 * 
+	 * @return the maximum depth of the class hierarchy
+	 */
+	int getDepth();
+
+	/**
+	 * Sets the maximum depth of the class hierarchy.
+	 * 
+	 * @param depth
+	 *            maximum depth of the class hierarchy
+	 */
+	void setDepth(int depth);
+
+	/**
+	 * Returns the number of subclasses of each class in the class hierarchy.
+	 * 
+	 * @return the number of subclasses of each class in the class hierarchy
+	 */
+	int getBranching();
+
+	/**
+	 * Sets the number of subclasses of each class in the class hierarchy.
+	 * 
+	 * @param branching
+	 *            number of subclasses of each class in the class hierarchy
+	 */
+	void setBranching(int branching);
+
+	/**
+	 * Returns the probability that a class has an axiom with an existential
+	 * restriction, which is between 0 and 1.
+	 * 
+	 * @return the probability that a class has an axiom with an existential
+	 *         restriction
+	 */
+	double getExistentialDensity();
+
+	/**
+	 * Sets the probability that a class has an axiom with an existential
+	 * restriction.
+	 * 
+	 * @param existentialDensity
+	 *            probability that a class has an axiom with an existential
+	 *            restriction
+	 */
+	void setExistentialDensity(double existentialDensity);
+
+	/**
+	 * Returns the probability that an axiom is annotated with a variable of the
+	 * Bayesian network, which is between 0 and 1.
+	 * 
+	 * @return the probability that an axiom is annotated with a variable of the
+	 *         Bayesian network
+	 */
+	double getAnnotatedFraction();
+
+	/**
+	 * Sets the probability that an axiom is annotated with a variable of the
+	 * Bayesian network.
+	 * 
+	 * @param annotatedFraction
+	 *            probability that an axiom is annotated with a variable of the
+	 *            Bayesian network
+	 */
+	void setAnnotatedFraction(double annotatedFraction);
+
+	/**
+	 * Returns the number of variables of the Bayesian network.
+	 * 
+	 * @return the number of variables of the Bayesian network
+	 */
+	int getNumberOfVariables();
+
+	/**
+	 * Sets the number of variables of the Bayesian network.
+	 * 
+	 * @param numberOfVariables
+	 *            number of variables of the Bayesian network
+	 */
+	void setNumberOfVariables(int numberOfVariables);
+
+	/**
+	 * Returns the seed used by the pseudorandom number generator.
+	 * 
+	 * @return the seed used by the pseudorandom number generator
+	 */
+	int getSeed();
+
+	/**
+	 * Sets the seed used by the pseudorandom number generator.
+	 * 
+	 * @param seed
+	 *            seed used by the pseudorandom number generator
+	 */
+	void setSeed(int seed);
+
+	/**
+	 * Returns the output stream of the generated ontology.
+	 * 
+	 * @return the output stream of the generated ontology
+	 */
+	OutputStream getOutputOntology();
+
+	/**
+	 * Sets the output stream of the generated ontology.
+	 * 
+	 * @param outputOntology
+	 *            output stream of the generated ontology
+	 */
+	void setOutputOntology(OutputStream outputOntology);
+
+	/**
+	 * Returns the output stream of the generated Bayesian network.
+	 * 
+	 * @return the output stream of the generated Bayesian network
+	 */
+	OutputStream getOutputBayesianNetwork();
+
+	/**
+	 * Sets the output stream of the generated Bayesian network.
+	 * 
+	 * @param outputBayesianNetwork
+	 *            output stream of the generated Bayesian network
+	 */
+	void setOutputBayesianNetwork(OutputStream outputBayesianNetwork);
+
+}
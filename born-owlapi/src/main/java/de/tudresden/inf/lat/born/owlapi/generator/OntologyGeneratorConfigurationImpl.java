@@ -0,0 +1,171 @@
+package de.tudresden.inf.lat.born.owlapi.generator;
+
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ *
+ * @author Julian Mendez
+ *
+ */
+public class OntologyGeneratorConfigurationImpl implements OntologyGeneratorConfiguration {
+
+	private int numberOfClasses = 100;
+	private int numberOfRoles = 4;
+	private int depth = 8;
+	private int branching = 3;
+	private double existentialDensity = 0.3;
+	private double annotatedFraction = 0.5;
+	private int numberOfVariables = 16;
+	private int seed = 1;
+	private OutputStream outputOntology;
+	private OutputStream outputBayesianNetwork;
+
+	int checkPositive(String name, int value) {
+		if (value < 1) {
+			throw new IllegalArgumentException("Invalid " + name + ": '" + value + "'.");
+		}
+		return value;
+	}
+
+	double checkProbability(String name, double value) {
+		if (!(0 <= value && value <= 1)) {
+			throw new IllegalArgumentException("Invalid " + name + ": '" + value + "'.");
+		}
+		return value;
+	}
+
+	@Override
+	public int getNumberOfClasses() {
+		return numberOfClasses;
+	}
+
+	@Override
+	public void setNumberOfClasses(int numberOfClasses) {
+		this.numberOfClasses = checkPositive("number of classes", numberOfClasses);
+	}
+
+	@Override
+	public int getNumberOfRoles() {
+		return numberOfRoles;
+	}
+
+	@Override
+	public void setNumberOfRoles(int numberOfRoles) {
+		this.numberOfRoles = checkPositive("number of roles", numberOfRoles);
+	}
+
+	@Override
+	public int getDepth() {
+		return depth;
+	}
+
+	@Override
+	public void setDepth(int depth) {
+		this.depth = checkPositive("depth", depth);
+	}
+
+	@Override
+	public int getBranching() {
+		return branching;
+	}
+
+	@Override
+	public void setBranching(int branching) {
+		this.branching = checkPositive("branching", branching);
+	}
+
+	@Override
+	public double getExistentialDensity() {
+		return existentialDensity;
+	}
+
+	@Override
+	public void setExistentialDensity(double existentialDensity) {
+		this.existentialDensity = checkProbability("existential density", existentialDensity);
+	}
+
+	@Override
+	public double getAnnotatedFraction() {
+		return annotatedFraction;
+	}
+
+	@Override
+	public void setAnnotatedFraction(double annotatedFraction) {
+		this.annotatedFraction = checkProbability("annotated fraction", annotatedFraction);
+	}
+
+	@Override
+	public int getNumberOfVariables() {
+		return numberOfVariables;
+	}
+
+	@Override
+	public void setNumberOfVariables(int numberOfVariables) {
+		this.numberOfVariables = checkPositive("number of variables", numberOfVariables);
+	}
+
+	@Override
+	public int getSeed() {
+		return seed;
+	}
+
+	@Override
+	public void setSeed(int seed) {
+		this.seed = seed;
+	}
+
+	@Override
+	public OutputStream getOutputOntology() {
+		return outputOntology;
+	}
+
+	@Override
+	public void setOutputOntology(OutputStream outputOntology) {
+		this.outputOntology = Objects.requireNonNull(outputOntology);
+	}
+
+	@Override
+	public OutputStream getOutputBayesianNetwork() {
+		return outputBayesianNetwork;
+	}
+
+	@Override
+	public void setOutputBayesianNetwork(OutputStream outputBayesianNetwork) {
+		this.outputBayesianNetwork = Objects.requireNonNull(outputBayesianNetwork);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		} else if (!(obj instanceof OntologyGeneratorConfiguration)) {
+			return false;
+		} else {
+			OntologyGeneratorConfiguration other = (OntologyGeneratorConfiguration) obj;
+			return (getNumberOfClasses() == other.getNumberOfClasses())
+					&& (getNumberOfRoles() == other.getNumberOfRoles()) && (getDepth() == other.getDepth())
+					&& (getBranching() == other.getBranching())
+					&& (getExistentialDensity() == other.getExistentialDensity())
+					&& (getAnnotatedFraction() == other.getAnnotatedFraction())
+					&& (getNumberOfVariables() == other.getNumberOfVariables()) && (getSeed() == other.getSeed())
+					&& Objects.equals(getOutputOntology(), other.getOutputOntology())
+					&& Objects.equals(getOutputBayesianNetwork(), other.getOutputBayesianNetwork());
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return toString().hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "number of classes=" + this.numberOfClasses + ", number of roles=" + this.numberOfRoles + ", depth="
+				+ this.depth + ", branching=" + this.branching + ", existential density=" + this.existentialDensity
+				+ ", annotated fraction=" + this.annotatedFraction + ", number of variables="
+				+ this.numberOfVariables + ", seed=" + this.seed + " " + this.outputOntology + " "
+				+ this.outputBayesianNetwork;
+	}
+
+}
@@ -0,0 +1,260 @@
+package de.tudresden.inf.lat.born.owlapi.generator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.io.AbstractOWLRenderer;
+import org.semanticweb.owlapi.io.OWLRendererException;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.owlxml.renderer.OWLXMLRenderer;
+
+import de.tudresden.inf.lat.born.core.term.ProbClause;
+import de.tudresden.inf.lat.born.core.term.ProbClauseImpl;
+import de.tudresden.inf.lat.born.core.term.Term;
+import de.tudresden.inf.lat.born.core.term.TermImpl;
+import de.tudresden.inf.lat.born.owlapi.annotator.AnnotationCreator;
+import de.tudresden.inf.lat.born.owlapi.multiprocessor.PseudorandomNumberGenerator;
+import de.tudresden.inf.lat.born.problog.connector.BayesianNetworkCreatorCore;
+
+/**
+ * An object of this class generates a synthetic probabilistic ontology and a
+ * matching Bayesian network. The classes form a hierarchy with the given
+ * depth and branching. Each class can have an additional axiom with an
+ * existential restriction, either on the right side, on the left side, or in
+ * a conjunction on the left side. Each axiom can be annotated with a variable
+ * of the Bayesian network. The result only depends on the configuration, so
+ * that the same seed always produces the same ontology and Bayesian network.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class OntologyGeneratorCore {
+
+	public static final String NAMESPACE = "https://lat.inf.tu-dresden.de/systems/born/born-generated#";
+	public static final String CLASS_PREFIX = "C";
+	public static final String ROLE_PREFIX = "r";
+
+	static final int PRECISION = 1000;
+	static final int PROBABILITY_PRECISION = 100;
+	static final int NUMBER_OF_EXISTENTIAL_AXIOM_TYPES = 3;
+
+	/**
+	 * Constructs a new ontology generator core.
+	 */
+	public OntologyGeneratorCore() {
+	}
+
+	boolean choose(PseudorandomNumberGenerator generator, double probability) {
+		return generator.nextInt(PRECISION) < probability * PRECISION;
+	}
+
+	/**
+	 * Returns the name of the class with the given index.
+	 *
+	 * @param index
+	 *            index of the class
+	 * @return the name of the class with the given index
+	 */
+	public String getClassName(int index) {
+		return NAMESPACE + CLASS_PREFIX + index;
+	}
+
+	String getRoleName(int index) {
+		return NAMESPACE + ROLE_PREFIX + index;
+	}
+
+	/**
+	 * Returns the parent of each class in the class hierarchy. The root class
+	 * has index 0 and parent -1. The parent of the other classes is chosen in
+	 * breadth-first order, and when the maximum depth is reached, the parent
+	 * is chosen among the classes that are not at the maximum depth.
+	 *
+	 * @param conf
+	 *            configuration
+	 * @param generator
+	 *            pseudorandom number generator
+	 * @return the parent of each class in the class hierarchy
+	 */
+	int[] createParents(OntologyGeneratorConfiguration conf, PseudorandomNumberGenerator generator) {
+		int numberOfClasses = conf.getNumberOfClasses();
+		int[] ret = new int[numberOfClasses];
+		int[] depth = new int[numberOfClasses];
+		List<Integer> innerClasses = new ArrayList<>();
+		ret[0] = -1;
+		innerClasses.add(0);
+		for (int index = 1; index < numberOfClasses; index++) {
+			int parent = (index - 1) / conf.getBranching();
+			if (depth[parent] >= conf.getDepth()) {
+				parent = innerClasses.get(generator.nextInt(innerClasses.size()));
+			}
+			ret[index] = parent;
+			depth[index] = depth[parent] + 1;
+			if (depth[index] < conf.getDepth()) {
+				innerClasses.add(index);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns a new synthetic ontology.
+	 *
+	 * @param conf
+	 *            configuration
+	 * @return a new synthetic ontology
+	 * @throws OWLOntologyCreationException
+	 *             if something goes wrong with the ontology creation
+	 */
+	public OWLOntology createOntology(OntologyGeneratorConfiguration conf) throws OWLOntologyCreationException {
+		Objects.requireNonNull(conf);
+		PseudorandomNumberGenerator generator = new PseudorandomNumberGenerator(conf.getSeed());
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory factory = manager.getOWLDataFactory();
+		OWLOntology ret = manager.createOntology();
+		OWLAnnotationProperty annotationProperty = factory
+				.getOWLAnnotationProperty(IRI.create(AnnotationCreator.PROBABILITY_URI));
+
+		List<OWLClass> classes = new ArrayList<>();
+		for (int index = 0; index < conf.getNumberOfClasses(); index++) {
+			OWLClass cls = factory.getOWLClass(IRI.create(getClassName(index)));
+			classes.add(cls);
+			manager.addAxiom(ret, factory.getOWLDeclarationAxiom(cls));
+		}
+		List<OWLObjectProperty> roles = new ArrayList<>();
+		for (int index = 0; index < conf.getNumberOfRoles(); index++) {
+			OWLObjectProperty role = factory.getOWLObjectProperty(IRI.create(getRoleName(index)));
+			roles.add(role);
+			manager.addAxiom(ret, factory.getOWLDeclarationAxiom(role));
+		}
+
+		int[] parents = createParents(conf, generator);
+		for (int index = 0; index < classes.size(); index++) {
+			OWLClass cls = classes.get(index);
+			if (parents[index] >= 0) {
+				manager.addAxiom(ret, factory.getOWLSubClassOfAxiom(cls, classes.get(parents[index]),
+						createAnnotations(conf, generator, factory, annotationProperty)));
+			}
+			if (choose(generator, conf.getExistentialDensity())) {
+				OWLClassExpression existential = factory.getOWLObjectSomeValuesFrom(
+						roles.get(generator.nextInt(roles.size())), classes.get(generator.nextInt(classes.size())));
+				int axiomType = generator.nextInt(NUMBER_OF_EXISTENTIAL_AXIOM_TYPES);
+				OWLClassExpression subClass = cls;
+				OWLClassExpression superClass = existential;
+				if (axiomType == 1) {
+					subClass = existential;
+					superClass = cls;
+				} else if (axiomType == 2) {
+					subClass = factory.getOWLObjectIntersectionOf(existential,
+							classes.get(generator.nextInt(classes.size())));
+					superClass = cls;
+				}
+				manager.addAxiom(ret, factory.getOWLSubClassOfAxiom(subClass, superClass,
+						createAnnotations(conf, generator, factory, annotationProperty)));
+			}
+		}
+		return ret;
+	}
+
+	Set<OWLAnnotation> createAnnotations(OntologyGeneratorConfiguration conf, PseudorandomNumberGenerator generator,
+			OWLDataFactory factory, OWLAnnotationProperty annotationProperty) {
+		if (choose(generator, conf.getAnnotatedFraction())) {
+			String variable = BayesianNetworkCreatorCore.VARIABLE_PREFIX
+					+ generator.nextInt(conf.getNumberOfVariables());
+			return Collections.singleton(factory.getOWLAnnotation(annotationProperty, factory.getOWLLiteral(variable)));
+		} else {
+			return Collections.emptySet();
+		}
+	}
+
+	String createProbability(PseudorandomNumberGenerator generator) {
+		return "" + ((1 + generator.nextInt(PROBABILITY_PRECISION - 1)) / (double) PROBABILITY_PRECISION);
+	}
+
+	Term newTerm(int variableIndex, boolean isNegative) {
+		return new TermImpl((isNegative ? BayesianNetworkCreatorCore.NEGATION_PREFIX : "")
+				+ BayesianNetworkCreatorCore.VARIABLE_PREFIX + variableIndex);
+	}
+
+	/**
+	 * Returns a new Bayesian network for the synthetic ontology. Each variable
+	 * is either independent or depends on one of the previous variables.
+	 *
+	 * @param conf
+	 *            configuration
+	 * @return a new Bayesian network for the synthetic ontology
+	 */
+	public List<ProbClause> createNetwork(OntologyGeneratorConfiguration conf) {
+		Objects.requireNonNull(conf);
+		PseudorandomNumberGenerator generator = new PseudorandomNumberGenerator(conf.getSeed());
+		List<ProbClause> ret = new ArrayList<>();
+		for (int index = 0; index < conf.getNumberOfVariables(); index++) {
+			Term head = newTerm(index, false);
+			if (index > 0 && generator.nextInt(2) == 0) {
+				int parent = generator.nextInt(index);
+				ret.add(new ProbClauseImpl(head, Collections.singletonList(newTerm(parent, false)),
+						createProbability(generator)));
+				ret.add(new ProbClauseImpl(head, Collections.singletonList(newTerm(parent, true)),
+						createProbability(generator)));
+			} else {
+				ret.add(new ProbClauseImpl(head, Collections.emptyList(), createProbability(generator)));
+			}
+		}
+		return ret;
+	}
+
+	void storeOWLOntology(OWLOntology ontology, OutputStream ontologyOutputStream)
+			throws IOException, OWLRendererException {
+		AbstractOWLRenderer renderer = new OWLXMLRenderer();
+		renderer.render(ontology, ontologyOutputStream);
+		ontologyOutputStream.flush();
+	}
+
+	void storeNetwork(List<ProbClause> network, OutputStream networkOutputStream) throws IOException {
+		BufferedWriter output = new BufferedWriter(new OutputStreamWriter(networkOutputStream));
+		for (ProbClause clause : network) {
+			output.append(clause.asString());
+			output.newLine();
+		}
+		output.flush();
+	}
+
+	/**
+	 * Runs the ontology generator with the given configuration.
+	 *
+	 * @param conf
+	 *            configuration
+	 */
+	public void run(OntologyGeneratorConfiguration conf) {
+		Objects.requireNonNull(conf);
+		Objects.requireNonNull(conf.getOutputOntology());
+		Objects.requireNonNull(conf.getOutputBayesianNetwork());
+		try {
+			storeOWLOntology(createOntology(conf), conf.getOutputOntology());
+			storeNetwork(createNetwork(conf), conf.getOutputBayesianNetwork());
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		} catch (OWLRendererException e) {
+			throw new RuntimeException(e);
+		} catch (OWLOntologyCreationException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+}
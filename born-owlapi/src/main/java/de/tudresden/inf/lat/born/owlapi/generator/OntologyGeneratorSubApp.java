@@ -0,0 +1,107 @@
+package de.tudresden.inf.lat.born.owlapi.generator;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+import de.tudresden.inf.lat.born.core.common.ResourceUtil;
+import de.tudresden.inf.lat.born.core.term.SubApp;
+
+/**
+ * An object of this class generates a synthetic probabilistic ontology and a
+ * matching Bayesian network.
+ *
+ * @see OntologyGeneratorCore
+ *
+ * @author Julian Mendez
+ *
+ */
+public class OntologyGeneratorSubApp implements SubApp {
+
+	public static final String COMMAND = "generate";
+	static final int NUMBER_OF_PARAMETERS = 10;
+	static final String HELP = ""
+			+ "\nParameters: <number of classes> <number of roles> <depth> <branching> <existential density> <annotated fraction> <number of variables> <seed> <output ontology> <output Bayesian network>"
+			+ "\n"
+			+ "\n  <number of classes>        : number of classes of the ontology"
+			+ "\n  <number of roles>          : number of roles of the ontology"
+			+ "\n  <depth>                    : maximum depth of the class hierarchy"
+			+ "\n  <branching>                : number of subclasses of each class in the class hierarchy"
+			+ "\n  <existential density>      : probability that a class has an axiom with an existential restriction, between 0 and 1"
+			+ "\n  <annotated fraction>       : probability that an axiom is annotated with a variable, between 0 and 1"
+			+ "\n  <number of variables>      : number of variables of the Bayesian network"
+			+ "\n  <seed>                     : seed used by the pseudorandom number generator"
+			+ "\n  <output ontology>          : file to write the ontology"
+			+ "\n  <output Bayesian network>  : file to write the Bayesian network" + "\n" + "\nExample:"
+			+ "\n  java -jar born.jar " + COMMAND + " 10000 10 12 4 0.3 0.5 64 127 ontology.owl network.pl"
+			+ "\n";
+
+	/**
+	 * Constructs a new ontology generator.
+	 */
+	public OntologyGeneratorSubApp() {
+	}
+
+	@Override
+	public String getHelp() {
+		return HELP;
+	}
+
+	@Override
+	public boolean isValid(String[] args) {
+		Objects.requireNonNull(args);
+		if (args.length == NUMBER_OF_PARAMETERS) {
+			try {
+				createConfiguration(args);
+				return true;
+			} catch (IllegalArgumentException e) {
+				return false;
+			}
+		} else {
+			return false;
+		}
+	}
+
+	OntologyGeneratorConfiguration createConfiguration(String[] args) {
+		OntologyGeneratorConfiguration ret = new OntologyGeneratorConfigurationImpl();
+		ret.setNumberOfClasses(Integer.parseInt(args[0]));
+		ret.setNumberOfRoles(Integer.parseInt(args[1]));
+		ret.setDepth(Integer.parseInt(args[2]));
+		ret.setBranching(Integer.parseInt(args[3]));
+		ret.setExistentialDensity(Double.parseDouble(args[4]));
+		ret.setAnnotatedFraction(Double.parseDouble(args[5]));
+		ret.setNumberOfVariables(Integer.parseInt(args[6]));
+		ret.setSeed(Integer.parseInt(args[7]));
+		return ret;
+	}
+
+	@Override
+	public String run(String[] args) {
+		Objects.requireNonNull(args);
+		String result = "";
+		if (isValid(args)) {
+			OntologyGeneratorConfiguration conf = createConfiguration(args);
+			try {
+				OutputStream outputOntology = new FileOutputStream(ResourceUtil.ensurePath(args[8]));
+				conf.setOutputOntology(outputOntology);
+				OutputStream outputBayesianNetwork = new FileOutputStream(ResourceUtil.ensurePath(args[9]));
+				conf.setOutputBayesianNetwork(outputBayesianNetwork);
+
+				OntologyGeneratorCore core = new OntologyGeneratorCore();
+				core.run(conf);
+
+				outputOntology.close();
+				outputBayesianNetwork.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			result = "Done.";
+		} else {
+			result = getHelp();
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,5 @@
+/**
+ * This package contains classes and interfaces to generate synthetic
+ * probabilistic ontologies and their Bayesian networks.
+ */
+package de.tudresden.inf.lat.born.owlapi.generator;
@@ -7,6 +7,7 @@ import java.util.TreeMap;
 import de.tudresden.inf.lat.born.core.term.SubApp;
 import de.tudresden.inf.lat.born.core.term.Symbol;
 import de.tudresden.inf.lat.born.owlapi.annotator.AnnotatorSubApp;
+import de.tudresden.inf.lat.born.owlapi.generator.OntologyGeneratorSubApp;
 import de.tudresden.inf.lat.born.owlapi.multiprocessor.MultiProcessorSubApp;
 import de.tudresden.inf.lat.born.owlapi.processor.ProcessorSubApp;
 import de.tudresden.inf.lat.born.owlapi.splitter.SplitterSubApp;
@@ -38,6 +39,7 @@ public class BornMain implements SubApp {
 		this.subAppMap.put(AnnotatorSubApp.COMMAND, new AnnotatorSubApp());
 		this.subAppMap.put(SplitterSubApp.COMMAND, new SplitterSubApp());
 		this.subAppMap.put(BayesianNetworkCreatorSubApp.COMMAND, new BayesianNetworkCreatorSubApp());
+		this.subAppMap.put(OntologyGeneratorSubApp.COMMAND, new OntologyGeneratorSubApp());
 	}
 
 	@Override
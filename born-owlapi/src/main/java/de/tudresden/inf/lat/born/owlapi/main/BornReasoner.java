@@ -6,19 +6,28 @@
 
 package de.tudresden.inf.lat.born.owlapi.main;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLDataProperty;
 import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
 import org.semanticweb.owlapi.model.OWLLiteral;
@@ -27,6 +36,7 @@ import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 import org.semanticweb.owlapi.reasoner.AxiomNotInProfileException;
 import org.semanticweb.owlapi.reasoner.BufferingMode;
 import org.semanticweb.owlapi.reasoner.ClassExpressionNotInProfileException;
@@ -43,11 +53,25 @@ import org.semanticweb.owlapi.reasoner.ReasonerInterruptedException;
 import org.semanticweb.owlapi.reasoner.ReasonerProgressMonitor;
 import org.semanticweb.owlapi.reasoner.TimeOutException;
 import org.semanticweb.owlapi.reasoner.UnsupportedEntailmentTypeException;
+import org.semanticweb.owlapi.reasoner.impl.OWLClassNode;
+import org.semanticweb.owlapi.reasoner.impl.OWLClassNodeSet;
+import org.semanticweb.owlapi.reasoner.impl.OWLNamedIndividualNodeSet;
 import org.semanticweb.owlapi.util.Version;
 
+import de.tudresden.inf.lat.born.owlapi.processor.OntologySession;
+import de.tudresden.inf.lat.born.owlapi.processor.ProbabilisticClassifier;
+import de.tudresden.inf.lat.born.owlapi.processor.ProbabilisticInstance;
+import de.tudresden.inf.lat.born.owlapi.processor.ProbabilisticInstanceRetriever;
+import de.tudresden.inf.lat.born.owlapi.processor.ProbabilisticTaxonomy;
+import de.tudresden.inf.lat.born.owlapi.processor.ProcessorExecutionResultImpl;
+import de.tudresden.inf.lat.born.problog.engine.InferenceEngine;
+import de.tudresden.inf.lat.jproblog.JProblog;
+
 /**
  * This class is the connection with the OWL API. It implements some functions,
- * and throws an exception for the unimplemented ones.
+ * and throws an exception for the unimplemented ones. The class hierarchy is
+ * computed from a probabilistic taxonomy: a class is a subclass of another
+ * class if the subsumption holds with probability at least the threshold.
  * 
  * @author Julian Mendez
  */
@@ -56,13 +80,35 @@ public class BornReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	private static final Logger logger = Logger.getLogger(BornReasoner.class.getName());
 
 	public static final String REASONER_NAME = "BORN";
-	private final boolean buffering = false;
+
+	/**
+	 * IRI of the ontology annotation whose value is the Bayesian network of
+	 * the ontology.
+	 */
+	public static final URI BAYESIAN_NETWORK_URI = URI
+			.create("https://lat.inf.tu-dresden.de/systems/born#bayesianNetwork");
+
+	/** Default minimum probability of the subsumptions in the hierarchy. */
+	public static final double DEFAULT_THRESHOLD = 0.5;
+
+	private final boolean buffering;
 	private OWLReasonerConfiguration reasonerConfiguration = null;
 	private final OWLOntology rootOntology;
 	private long timeOut = 0x100000000L;
+	private String bayesianNetwork = "";
+	private Function<String, String> queryProcessor = new JProblog();
+	private Optional<InferenceEngine> inferenceEngine = Optional.empty();
+	private double threshold = DEFAULT_THRESHOLD;
+	private final List<OWLOntologyChange> pendingChanges = new ArrayList<>();
+	private OntologySession session;
+	private Optional<ProbabilisticTaxonomy> taxonomy = Optional.empty();
+	private final Set<String> outdatedClasses = new HashSet<>();
+	private boolean taxonomyOutdated = false;
 
 	/**
-	 * Constructs a new BORN reasoner.
+	 * Constructs a new BORN reasoner. The Bayesian network is the value of
+	 * the annotation {@link #BAYESIAN_NETWORK_URI} of the root ontology, if
+	 * the ontology has this annotation.
 	 * 
 	 * @param rootOntology
 	 *            root ontology
@@ -73,12 +119,20 @@ public class BornReasoner implements OWLReasoner, OWLOntologyChangeListener {
 		Objects.requireNonNull(rootOntology);
 		logger.fine("configuring BORN reasoner ...");
 		this.rootOntology = rootOntology;
+		this.buffering = buffering;
+		this.session = new OntologySession(rootOntology);
+		this.bayesianNetwork = getBayesianNetworkAnnotation(rootOntology).orElse("");
+		rootOntology.getOWLOntologyManager().addOntologyChangeListener(this);
 
 		logger.fine("BORN reasoner configured.");
 	}
 
 	/**
-	 * Constructs a new BORN reasoner.
+	 * Constructs a new BORN reasoner. If the configuration is a
+	 * {@link BornReasonerConfiguration}, its Bayesian network is used.
+	 * Otherwise, the Bayesian network is the value of the annotation
+	 * {@link #BAYESIAN_NETWORK_URI} of the root ontology, if the ontology has
+	 * this annotation.
 	 * 
 	 * @param rootOntology
 	 *            root ontology
@@ -90,6 +144,250 @@ public class BornReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	public BornReasoner(OWLOntology rootOntology, boolean buffering, OWLReasonerConfiguration configuration) {
 		this(rootOntology, buffering);
 		this.reasonerConfiguration = Objects.requireNonNull(configuration);
+		if (configuration instanceof BornReasonerConfiguration) {
+			this.bayesianNetwork = ((BornReasonerConfiguration) configuration).getBayesianNetwork();
+		}
+	}
+
+	/**
+	 * Returns the Bayesian network stored in the annotation
+	 * {@link #BAYESIAN_NETWORK_URI} of the given ontology, if the ontology has
+	 * this annotation with a literal value.
+	 * 
+	 * @param ontology
+	 *            ontology
+	 * @return the Bayesian network stored in the annotation of the given
+	 *         ontology
+	 */
+	static Optional<String> getBayesianNetworkAnnotation(OWLOntology ontology) {
+		IRI annotationIri = IRI.create(BAYESIAN_NETWORK_URI);
+		return ontology.getAnnotations().stream()
+				.filter(annotation -> annotation.getProperty().getIRI().equals(annotationIri))
+				.map(annotation -> annotation.getValue()).filter(value -> value instanceof OWLLiteral)
+				.map(value -> ((OWLLiteral) value).getLiteral()).findFirst();
+	}
+
+	/**
+	 * Returns the Bayesian network.
+	 * 
+	 * @return the Bayesian network
+	 */
+	public String getBayesianNetwork() {
+		return this.bayesianNetwork;
+	}
+
+	/**
+	 * Sets the Bayesian network. This discards the computed taxonomy.
+	 * 
+	 * @param bayesianNetwork
+	 *            Bayesian network
+	 */
+	public void setBayesianNetwork(String bayesianNetwork) {
+		this.bayesianNetwork = Objects.requireNonNull(bayesianNetwork);
+		discardTaxonomy();
+	}
+
+	/**
+	 * Returns the query processor.
+	 * 
+	 * @return the query processor
+	 */
+	public Function<String, String> getQueryProcessor() {
+		return this.queryProcessor;
+	}
+
+	/**
+	 * Sets the query processor, which is used instead of the inference
+	 * engine. This discards the computed taxonomy.
+	 * 
+	 * @param queryProcessor
+	 *            query processor
+	 */
+	public void setQueryProcessor(Function<String, String> queryProcessor) {
+		this.queryProcessor = Objects.requireNonNull(queryProcessor);
+		this.inferenceEngine = Optional.empty();
+		discardTaxonomy();
+	}
+
+	/**
+	 * Returns the inference engine, if the ProbLog programs are evaluated
+	 * with an inference engine instead of the query processor.
+	 * 
+	 * @return the inference engine, if the ProbLog programs are evaluated
+	 *         with an inference engine
+	 */
+	public Optional<InferenceEngine> getInferenceEngine() {
+		return this.inferenceEngine;
+	}
+
+	/**
+	 * Sets the inference engine, which is used instead of the query
+	 * processor. This discards the computed taxonomy.
+	 * 
+	 * @param inferenceEngine
+	 *            inference engine
+	 */
+	public void setInferenceEngine(InferenceEngine inferenceEngine) {
+		this.inferenceEngine = Optional.of(inferenceEngine);
+		discardTaxonomy();
+	}
+
+	/**
+	 * Returns the minimum probability of the subsumptions in the hierarchy.
+	 * 
+	 * @return the minimum probability of the subsumptions in the hierarchy
+	 */
+	public double getThreshold() {
+		return this.threshold;
+	}
+
+	/**
+	 * Sets the minimum probability of the subsumptions in the hierarchy. The
+	 * computed taxonomy does not depend on the threshold, and therefore it is
+	 * kept.
+	 * 
+	 * @param threshold
+	 *            minimum probability of the subsumptions in the hierarchy
+	 */
+	public void setThreshold(double threshold) {
+		if (!(threshold > 0 && threshold <= 1)) {
+			throw new IllegalArgumentException("Invalid threshold: '" + threshold + "'.");
+		}
+		this.threshold = threshold;
+	}
+
+	void discardTaxonomy() {
+		this.taxonomy = Optional.empty();
+		this.outdatedClasses.clear();
+		this.taxonomyOutdated = false;
+	}
+
+	/**
+	 * Returns the probabilistic taxonomy, which is computed if it has not been
+	 * computed yet. If the ontology has changed since the taxonomy was
+	 * computed, only the classes whose module has changed and the new classes
+	 * are classified again.
+	 * 
+	 * @return the probabilistic taxonomy
+	 */
+	public ProbabilisticTaxonomy getTaxonomy() {
+		if (!this.taxonomy.isPresent() || this.taxonomyOutdated) {
+			logger.finer("classifying ontology ...");
+			Date start = new Date();
+			try {
+				ProbabilisticClassifier classifier = this.inferenceEngine.isPresent()
+						? new ProbabilisticClassifier(this.session, this.bayesianNetwork, this.inferenceEngine.get())
+						: new ProbabilisticClassifier(this.session, this.bayesianNetwork, this.queryProcessor);
+				if (this.taxonomy.isPresent()) {
+					this.taxonomy = Optional.of(classifier.update(this.taxonomy.get(), this.outdatedClasses,
+							new ProcessorExecutionResultImpl()));
+				} else {
+					this.taxonomy = Optional.of(classifier.classify(new ProcessorExecutionResultImpl()));
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			this.outdatedClasses.clear();
+			this.taxonomyOutdated = false;
+			logger.finer("BORN classified the ontology in " + ((new Date()).getTime() - start.getTime()) + "ms");
+		}
+		return this.taxonomy.get();
+	}
+
+	/**
+	 * Applies the given changes to the ontology session. The classes whose
+	 * module is modified by the changes are marked to be classified again.
+	 * 
+	 * @param changes
+	 *            changes of the root ontology
+	 */
+	void apply(List<OWLOntologyChange> changes) {
+		Set<OWLAxiom> addedAxioms = new HashSet<>();
+		Set<OWLAxiom> removedAxioms = new HashSet<>();
+		changes.forEach(change -> {
+			if (change.isAddAxiom()) {
+				if (!removedAxioms.remove(change.getAxiom())) {
+					addedAxioms.add(change.getAxiom());
+				}
+			} else if (change.isRemoveAxiom()) {
+				if (!addedAxioms.remove(change.getAxiom())) {
+					removedAxioms.add(change.getAxiom());
+				}
+			}
+		});
+		if (!addedAxioms.isEmpty() || !removedAxioms.isEmpty()) {
+			OntologySession previous = this.session;
+			this.session = previous.update(addedAxioms, removedAxioms);
+			if (this.taxonomy.isPresent()) {
+				this.outdatedClasses.addAll(this.session.getClassesWithChangedModules(previous));
+				this.taxonomyOutdated = true;
+			}
+			logger.finer("BORN applied " + changes.size() + " changes, outdated classes: " + this.outdatedClasses);
+		}
+	}
+
+	OWLClass getOWLClass(String name) {
+		return getDataFactory().getOWLClass(IRI.create(name));
+	}
+
+	OWLDataFactory getDataFactory() {
+		return this.rootOntology.getOWLOntologyManager().getOWLDataFactory();
+	}
+
+	String getName(OWLClassExpression classExpression) {
+		if (classExpression.isAnonymous()) {
+			throw new UnsupportedReasonerOperationInBornException(
+					"Unsupported operation : only named classes are supported, found '" + classExpression + "'.");
+		}
+		return classExpression.asOWLClass().getIRI().toString();
+	}
+
+	Node<OWLClass> getNode(Set<String> names) {
+		return new OWLClassNode(names.stream().map(this::getOWLClass).collect(Collectors.toSet()));
+	}
+
+	NodeSet<OWLClass> getNodeSet(Set<String> names) {
+		ProbabilisticTaxonomy taxonomy = getTaxonomy();
+		OWLClassNodeSet result = new OWLClassNodeSet();
+		Set<String> visited = new HashSet<>();
+		names.forEach(name -> {
+			if (!visited.contains(name)) {
+				Set<String> equivalentClasses = taxonomy.getEquivalentClasses(name, this.threshold);
+				equivalentClasses.retainAll(names);
+				visited.addAll(equivalentClasses);
+				result.addNode(getNode(equivalentClasses));
+			}
+		});
+		return result;
+	}
+
+	boolean isTop(OWLClassExpression classExpression) {
+		return !classExpression.isAnonymous() && classExpression.isOWLThing();
+	}
+
+	boolean isBottom(OWLClassExpression classExpression) {
+		return !classExpression.isAnonymous() && classExpression.isOWLNothing();
+	}
+
+	/**
+	 * Returns the probability that a class is subsumed by another class.
+	 * 
+	 * @param subClass
+	 *            subclass
+	 * @param superClass
+	 *            superclass
+	 * @return the probability that a class is subsumed by another class
+	 */
+	public double getProbability(OWLClassExpression subClass, OWLClassExpression superClass) {
+		Objects.requireNonNull(subClass);
+		Objects.requireNonNull(superClass);
+		if (isBottom(subClass) || isTop(superClass) || subClass.equals(superClass)) {
+			return 1;
+		} else if (isTop(subClass) || isBottom(superClass)) {
+			return 0;
+		} else {
+			return getTaxonomy().getProbability(getName(subClass), getName(superClass));
+		}
 	}
 
 	@Override
@@ -101,12 +399,16 @@ public class BornReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	@Override
 	public void flush() {
 		logger.finer("flush()");
+		apply(this.pendingChanges);
+		this.pendingChanges.clear();
 	}
 
 	@Override
 	public Node<OWLClass> getBottomClassNode() {
 		logger.finer("getBottomClassNode()");
-		throw new UnsupportedReasonerOperationInBornException("Unsupported operation : getBottomClassNode()");
+		Node<OWLClass> ret = new OWLClassNode(getDataFactory().getOWLNothing());
+		logger.finer("" + ret);
+		return ret;
 	}
 
 	@Override
@@ -193,8 +495,14 @@ public class BornReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	public Node<OWLClass> getEquivalentClasses(OWLClassExpression classExpression) {
 		Objects.requireNonNull(classExpression);
 		logger.finer("getEquivalentClasses(" + classExpression + ")");
-		throw new UnsupportedReasonerOperationInBornException(
-				"Unsupported operation :  getEquivalentClasses(OWLClassExpression)");
+		Node<OWLClass> ret = null;
+		if (isTop(classExpression) || isBottom(classExpression)) {
+			ret = new OWLClassNode(classExpression.asOWLClass());
+		} else {
+			ret = getNode(getTaxonomy().getEquivalentClasses(getName(classExpression), this.threshold));
+		}
+		logger.finer("" + ret);
+		return ret;
 	}
 
 	@Override
@@ -235,8 +543,42 @@ public class BornReasoner implements OWLReasoner, OWLOntologyChangeListener {
 			ReasonerInterruptedException, TimeOutException {
 		Objects.requireNonNull(classExpression);
 		logger.finer("getInstances(" + classExpression + ", " + direct + ")");
-		throw new UnsupportedReasonerOperationInBornException(
-				"Unsupported operation : getInstances(OWLClassExpression, boolean)");
+		if (direct) {
+			throw new UnsupportedReasonerOperationInBornException(
+					"Unsupported operation : getInstances(OWLClassExpression, true)");
+		}
+		OWLNamedIndividualNodeSet ret = new OWLNamedIndividualNodeSet();
+		getInstanceProbabilities(classExpression, this.threshold).forEach(instance -> ret
+				.addEntity(getDataFactory().getOWLNamedIndividual(IRI.create(instance.getIndividual()))));
+		return ret;
+	}
+
+	/**
+	 * Returns the instances of the given class expression whose probability
+	 * is at least the given threshold, sorted by decreasing probability. All
+	 * the instances are computed with a single ProbLog program.
+	 * 
+	 * @param classExpression
+	 *            class expression
+	 * @param threshold
+	 *            minimum probability of the returned instances
+	 * @return the instances of the given class expression whose probability
+	 *         is at least the given threshold, sorted by decreasing
+	 *         probability
+	 */
+	public List<ProbabilisticInstance> getInstanceProbabilities(OWLClassExpression classExpression,
+			double threshold) {
+		Objects.requireNonNull(classExpression);
+		try {
+			ProbabilisticInstanceRetriever retriever = this.inferenceEngine.isPresent()
+					? new ProbabilisticInstanceRetriever(this.session, this.bayesianNetwork,
+							this.inferenceEngine.get())
+					: new ProbabilisticInstanceRetriever(this.session, this.bayesianNetwork, this.queryProcessor);
+			return retriever.retrieve(classExpression, threshold, new ProcessorExecutionResultImpl())
+					.collect(Collectors.toList());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
 	}
 
 	@Override
@@ -284,6 +626,8 @@ public class BornReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	public Set<OWLAxiom> getPendingAxiomAdditions() {
 		logger.finer("getPendingAxiomAdditions()");
 		Set<OWLAxiom> ret = new HashSet<>();
+		this.pendingChanges.stream().filter(change -> change.isAddAxiom())
+				.forEach(change -> ret.add(change.getAxiom()));
 		logger.finer("" + ret);
 		return Collections.unmodifiableSet(ret);
 	}
@@ -292,6 +636,8 @@ public class BornReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	public Set<OWLAxiom> getPendingAxiomRemovals() {
 		logger.finer("getPendingAxiomRemovals()");
 		Set<OWLAxiom> ret = new HashSet<>();
+		this.pendingChanges.stream().filter(change -> change.isRemoveAxiom())
+				.forEach(change -> ret.add(change.getAxiom()));
 		logger.finer("" + ret);
 		return Collections.unmodifiableSet(ret);
 	}
@@ -299,7 +645,7 @@ public class BornReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	@Override
 	public List<OWLOntologyChange> getPendingChanges() {
 		logger.finer("getPendingChanges()");
-		List<OWLOntologyChange> ret = new ArrayList<>();
+		List<OWLOntologyChange> ret = new ArrayList<>(this.pendingChanges);
 		logger.finer("" + ret);
 		return Collections.unmodifiableList(ret);
 	}
@@ -365,8 +711,33 @@ public class BornReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	public NodeSet<OWLClass> getSubClasses(OWLClassExpression classExpression, boolean direct) {
 		Objects.requireNonNull(classExpression);
 		logger.finer("getSubClasses(" + classExpression + ", " + direct + ")");
-		throw new UnsupportedReasonerOperationInBornException(
-				"Unsupported operation : getSubClasses(OWLClassExpression, boolean)");
+		ProbabilisticTaxonomy taxonomy = getTaxonomy();
+		NodeSet<OWLClass> ret = null;
+		if (isBottom(classExpression)) {
+			ret = new OWLClassNodeSet();
+		} else {
+			Set<String> subClasses = new HashSet<>();
+			if (isTop(classExpression)) {
+				subClasses.addAll(taxonomy.getClasses());
+				if (direct) {
+					subClasses.removeIf(cls -> !taxonomy.getSuperClasses(cls, this.threshold).stream()
+							.allMatch(other -> taxonomy.getProbability(other, cls) >= this.threshold));
+				}
+			} else if (direct) {
+				subClasses.addAll(taxonomy.getDirectSubClasses(getName(classExpression), this.threshold));
+			} else {
+				subClasses.addAll(taxonomy.getSubClasses(getName(classExpression), this.threshold));
+				subClasses.removeAll(taxonomy.getEquivalentClasses(getName(classExpression), this.threshold));
+			}
+			OWLClassNodeSet nodeSet = new OWLClassNodeSet();
+			getNodeSet(subClasses).forEach(nodeSet::addNode);
+			if (subClasses.isEmpty() || !direct) {
+				nodeSet.addNode(getBottomClassNode());
+			}
+			ret = nodeSet;
+		}
+		logger.finer("" + ret);
+		return ret;
 	}
 
 	@Override
@@ -395,8 +766,33 @@ public class BornReasoner implements OWLReasoner, OWLOntologyChangeListener {
 			ReasonerInterruptedException, TimeOutException {
 		Objects.requireNonNull(classExpression);
 		logger.finer("getSuperClasses(" + classExpression + ", " + direct + ")");
-		throw new UnsupportedReasonerOperationInBornException(
-				"Unsupported operation : getSuperClasses(OWLClassExpression, boolean)");
+		ProbabilisticTaxonomy taxonomy = getTaxonomy();
+		NodeSet<OWLClass> ret = null;
+		if (isTop(classExpression)) {
+			ret = new OWLClassNodeSet();
+		} else {
+			Set<String> superClasses = new HashSet<>();
+			if (isBottom(classExpression)) {
+				superClasses.addAll(taxonomy.getClasses());
+				if (direct) {
+					superClasses.removeIf(cls -> !taxonomy.getSubClasses(cls, this.threshold).stream()
+							.allMatch(other -> taxonomy.getProbability(cls, other) >= this.threshold));
+				}
+			} else if (direct) {
+				superClasses.addAll(taxonomy.getDirectSuperClasses(getName(classExpression), this.threshold));
+			} else {
+				superClasses.addAll(taxonomy.getSuperClasses(getName(classExpression), this.threshold));
+				superClasses.removeAll(taxonomy.getEquivalentClasses(getName(classExpression), this.threshold));
+			}
+			OWLClassNodeSet nodeSet = new OWLClassNodeSet();
+			getNodeSet(superClasses).forEach(nodeSet::addNode);
+			if (superClasses.isEmpty() || !direct) {
+				nodeSet.addNode(getTopClassNode());
+			}
+			ret = nodeSet;
+		}
+		logger.finer("" + ret);
+		return ret;
 	}
 
 	@Override
@@ -430,7 +826,9 @@ public class BornReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	@Override
 	public Node<OWLClass> getTopClassNode() {
 		logger.finer("getTopClassNode()");
-		throw new UnsupportedReasonerOperationInBornException("Unsupported operation :  getTopClassNode() ");
+		Node<OWLClass> ret = new OWLClassNode(getDataFactory().getOWLThing());
+		logger.finer("" + ret);
+		return ret;
 	}
 
 	@Override
@@ -478,7 +876,13 @@ public class BornReasoner implements OWLReasoner, OWLOntologyChangeListener {
 			TimeOutException, AxiomNotInProfileException, FreshEntitiesException {
 		Objects.requireNonNull(axiom);
 		logger.finer("isEntailed((OWLAxiom) " + axiom + ")");
-		throw new UnsupportedReasonerOperationInBornException("Unsupported operation :  isEntailed(OWLAxiom)");
+		if (!isEntailmentCheckingSupported(axiom.getAxiomType())) {
+			throw new UnsupportedEntailmentTypeException(axiom);
+		}
+		OWLSubClassOfAxiom subClassOfAxiom = (OWLSubClassOfAxiom) axiom;
+		boolean ret = getProbability(subClassOfAxiom.getSubClass(), subClassOfAxiom.getSuperClass()) >= this.threshold;
+		logger.finer("" + ret);
+		return ret;
 	}
 
 	@Override
@@ -486,23 +890,28 @@ public class BornReasoner implements OWLReasoner, OWLOntologyChangeListener {
 			UnsupportedEntailmentTypeException, TimeOutException, AxiomNotInProfileException, FreshEntitiesException {
 		Objects.requireNonNull(axiomSet);
 		logger.finer("isEntailed((Set<? extends OWLAxiom>) " + axiomSet + ")");
-		throw new UnsupportedReasonerOperationInBornException(
-				"Unsupported operation : isEntailed(Set<? extends OWLAxiom>)");
+		boolean ret = axiomSet.stream().allMatch(this::isEntailed);
+		logger.finer("" + ret);
+		return ret;
 	}
 
 	@Override
 	public boolean isEntailmentCheckingSupported(AxiomType<?> axiomType) {
 		Objects.requireNonNull(axiomType);
 		logger.finer("isEntailmentCheckingSupported(" + axiomType + ")");
-		throw new UnsupportedReasonerOperationInBornException(
-				"Unsupported operation : isEntailmentCheckingSupported(AxiomType<?>)");
+		boolean ret = axiomType.equals(AxiomType.SUBCLASS_OF);
+		logger.finer("" + ret);
+		return ret;
 	}
 
 	@Override
 	public boolean isPrecomputed(InferenceType inferenceType) {
 		Objects.requireNonNull(inferenceType);
 		logger.finer("isPrecomputed(" + inferenceType + ")");
-		throw new UnsupportedReasonerOperationInBornException("Unsupported operation : isPrecomputed()");
+		boolean ret = inferenceType.equals(InferenceType.CLASS_HIERARCHY) && this.taxonomy.isPresent()
+				&& !this.taxonomyOutdated;
+		logger.finer("" + ret);
+		return ret;
 	}
 
 	@Override
@@ -516,7 +925,17 @@ public class BornReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	@Override
 	public void ontologiesChanged(List<? extends OWLOntologyChange> changes) {
 		Objects.requireNonNull(changes);
-		// TODO not implemented
+		List<OWLOntologyChange> relevantChanges = new ArrayList<>();
+		changes.forEach(change -> {
+			if (change.isAxiomChange() && change.getOntology().equals(this.rootOntology)) {
+				relevantChanges.add(change);
+			}
+		});
+		if (this.buffering) {
+			this.pendingChanges.addAll(relevantChanges);
+		} else {
+			apply(relevantChanges);
+		}
 	}
 
 	@Override
@@ -529,9 +948,9 @@ public class BornReasoner implements OWLReasoner, OWLOntologyChangeListener {
 			this.reasonerConfiguration.getProgressMonitor().reasonerTaskBusy();
 		}
 
-		logger.finer("preparing ontology ...");
-		Date start = new Date();
-		logger.finer("BORN prepared the ontology in " + ((new Date()).getTime() - start.getTime()) + "ms");
+		if (inferenceTypes.length == 0 || Arrays.asList(inferenceTypes).contains(InferenceType.CLASS_HIERARCHY)) {
+			getTaxonomy();
+		}
 
 		if (Objects.nonNull(this.reasonerConfiguration)) {
 			this.reasonerConfiguration.getProgressMonitor().reasonerTaskStopped();
@@ -0,0 +1,55 @@
+package de.tudresden.inf.lat.born.owlapi.main;
+
+import java.util.Objects;
+
+import org.semanticweb.owlapi.reasoner.ReasonerProgressMonitor;
+import org.semanticweb.owlapi.reasoner.SimpleConfiguration;
+
+/**
+ * An object of this class is a configuration of a BORN reasoner that carries
+ * the Bayesian network of the ontology. A reasoner created with this
+ * configuration uses this Bayesian network instead of the one given by the
+ * annotation {@link BornReasoner#BAYESIAN_NETWORK_URI} of the ontology.
+ *
+ * @author Julian Mendez
+ */
+public class BornReasonerConfiguration extends SimpleConfiguration {
+
+	private static final long serialVersionUID = -4726159312093215873L;
+
+	private final String bayesianNetwork;
+
+	/**
+	 * Constructs a new BORN reasoner configuration.
+	 *
+	 * @param bayesianNetwork
+	 *            Bayesian network
+	 */
+	public BornReasonerConfiguration(String bayesianNetwork) {
+		super();
+		this.bayesianNetwork = Objects.requireNonNull(bayesianNetwork);
+	}
+
+	/**
+	 * Constructs a new BORN reasoner configuration.
+	 *
+	 * @param progressMonitor
+	 *            progress monitor
+	 * @param bayesianNetwork
+	 *            Bayesian network
+	 */
+	public BornReasonerConfiguration(ReasonerProgressMonitor progressMonitor, String bayesianNetwork) {
+		super(Objects.requireNonNull(progressMonitor));
+		this.bayesianNetwork = Objects.requireNonNull(bayesianNetwork);
+	}
+
+	/**
+	 * Returns the Bayesian network.
+	 *
+	 * @return the Bayesian network
+	 */
+	public String getBayesianNetwork() {
+		return this.bayesianNetwork;
+	}
+
+}
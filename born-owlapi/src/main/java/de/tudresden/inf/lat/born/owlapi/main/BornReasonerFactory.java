@@ -7,6 +7,7 @@
 package de.tudresden.inf.lat.born.owlapi.main;
 
 import java.util.Objects;
+import java.util.Optional;
 
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.reasoner.IllegalConfigurationException;
@@ -15,7 +16,11 @@ import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
 
 /**
  * This factory creates an instance of a BORN reasoner based on an ontology and
- * a optional configuration.
+ * a optional configuration. The Bayesian network of the reasoner is taken,
+ * in this order, from the configuration if it is a
+ * {@link BornReasonerConfiguration}, from the factory if it was constructed
+ * with a Bayesian network, or from the annotation
+ * {@link BornReasoner#BAYESIAN_NETWORK_URI} of the ontology.
  * 
  * @author Julian Mendez
  */
@@ -24,10 +29,40 @@ public class BornReasonerFactory implements OWLReasonerFactory {
 	// private static final Logger logger = Logger
 	// .getLogger("de.tudresden.inf.lat.born");
 
+	private final Optional<String> bayesianNetwork;
+
+	/**
+	 * Constructs a new BORN reasoner factory. The Bayesian network of each
+	 * reasoner is taken from its configuration or from its ontology.
+	 */
+	public BornReasonerFactory() {
+		this.bayesianNetwork = Optional.empty();
+	}
+
+	/**
+	 * Constructs a new BORN reasoner factory that creates reasoners with the
+	 * given Bayesian network, unless the configuration of the reasoner is a
+	 * {@link BornReasonerConfiguration}.
+	 * 
+	 * @param bayesianNetwork
+	 *            Bayesian network
+	 */
+	public BornReasonerFactory(String bayesianNetwork) {
+		this.bayesianNetwork = Optional.of(Objects.requireNonNull(bayesianNetwork));
+	}
+
+	BornReasoner configure(BornReasoner reasoner, Optional<OWLReasonerConfiguration> configuration) {
+		if (this.bayesianNetwork.isPresent() && !(configuration.isPresent()
+				&& configuration.get() instanceof BornReasonerConfiguration)) {
+			reasoner.setBayesianNetwork(this.bayesianNetwork.get());
+		}
+		return reasoner;
+	}
+
 	@Override
 	public BornReasoner createNonBufferingReasoner(OWLOntology ontology) {
 		Objects.requireNonNull(ontology);
-		return new BornReasoner(ontology, false);
+		return configure(new BornReasoner(ontology, false), Optional.empty());
 	}
 
 	@Override
@@ -35,13 +70,13 @@ public class BornReasonerFactory implements OWLReasonerFactory {
 			throws IllegalConfigurationException {
 		Objects.requireNonNull(ontology);
 		Objects.requireNonNull(configuration);
-		return new BornReasoner(ontology, false, configuration);
+		return configure(new BornReasoner(ontology, false, configuration), Optional.of(configuration));
 	}
 
 	@Override
 	public BornReasoner createReasoner(OWLOntology ontology) {
 		Objects.requireNonNull(ontology);
-		return new BornReasoner(ontology, true);
+		return configure(new BornReasoner(ontology, true), Optional.empty());
 	}
 
 	@Override
@@ -49,7 +84,7 @@ public class BornReasonerFactory implements OWLReasonerFactory {
 			throws IllegalConfigurationException {
 		Objects.requireNonNull(ontology);
 		Objects.requireNonNull(configuration);
-		return new BornReasoner(ontology, true, configuration);
+		return configure(new BornReasoner(ontology, true, configuration), Optional.of(configuration));
 	}
 
 	@Override
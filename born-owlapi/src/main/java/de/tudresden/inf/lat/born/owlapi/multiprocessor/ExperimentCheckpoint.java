@@ -0,0 +1,220 @@
+package de.tudresden.inf.lat.born.owlapi.multiprocessor;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import de.tudresden.inf.lat.born.core.common.ResourceUtil;
+import de.tudresden.inf.lat.born.core.term.Symbol;
+
+/**
+ * An object of this class is the checkpoint of the experiment of one
+ * ontology. It records the result line of each completed query, identified by
+ * its index in the list of queries of the ontology. The first line of the file
+ * identifies the run, i.e. the seed and the number of queries, because the
+ * queries are only the same if they are generated with the same seed.
+ * <p>
+ * Each record ends with the checksum of the rest of the record, so that a
+ * record that was partially written by an interrupted run is detected, even
+ * if it was cut in its last field. When the checkpoint is opened for
+ * resuming, the valid records of an existing file are kept, and the file is
+ * replaced atomically by a file that only has those records. New records are
+ * written through a buffered writer, and they are only written to disk when
+ * the checkpoint is flushed.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class ExperimentCheckpoint implements Closeable {
+
+	private static final Logger logger = Logger.getLogger(ExperimentCheckpoint.class.getName());
+
+	/** Extension of checkpoint files. */
+	public static final String CHECKPOINT_EXTENSION = ".checkpoint";
+
+	static final String HEADER_PREFIX = "# seed=";
+	static final String HEADER_SEPARATOR = " queries=";
+	static final String TAB = "" + MultiProcessorCore.TAB_CHAR;
+
+	private final Map<Integer, String> completed = new TreeMap<>();
+	private final Writer output;
+	private final int numberOfColumns;
+
+	/**
+	 * Opens a checkpoint.
+	 *
+	 * @param file
+	 *            checkpoint file
+	 * @param seed
+	 *            seed used to generate the queries
+	 * @param numberOfQueries
+	 *            number of queries
+	 * @param numberOfColumns
+	 *            number of columns of a valid result line
+	 * @param resuming
+	 *            <code>true</code> if the lines of an existing checkpoint of
+	 *            the same run are kept, <code>false</code> if an existing
+	 *            checkpoint is discarded
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 */
+	public ExperimentCheckpoint(File file, int seed, int numberOfQueries, int numberOfColumns, boolean resuming)
+			throws IOException {
+		Objects.requireNonNull(file);
+		this.numberOfColumns = numberOfColumns;
+		String header = HEADER_PREFIX + seed + HEADER_SEPARATOR + numberOfQueries;
+		if (resuming && file.exists()) {
+			read(file, header, numberOfQueries);
+		}
+
+		StringBuilder sb = new StringBuilder();
+		sb.append(header + Symbol.LINE_SEPARATOR);
+		this.completed.forEach((index, line) -> sb.append(toRecord(index, line) + Symbol.LINE_SEPARATOR));
+		ResourceUtil.replaceAtomically(file, sb.toString());
+		this.output = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+	}
+
+	void read(File file, String header, int numberOfQueries) throws IOException {
+		try (BufferedReader input = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			String firstLine = input.readLine();
+			if (Objects.isNull(firstLine) || !firstLine.equals(header)) {
+				logger.warning("Checkpoint '" + file + "' belongs to another run and is discarded.");
+			} else {
+				input.lines().forEach(record -> {
+					Optional<String> line = getLine(record);
+					int pos = line.isPresent() ? line.get().indexOf(TAB) : -1;
+					if (pos > 0 && line.get().split(TAB, -1).length == this.numberOfColumns + 1) {
+						try {
+							int index = Integer.parseInt(line.get().substring(0, pos));
+							if (index >= 0 && index < numberOfQueries) {
+								this.completed.put(index, line.get().substring(pos + 1));
+							}
+						} catch (NumberFormatException e) {
+							logger.fine("Invalid record in checkpoint '" + file + "': '" + record + "'.");
+						}
+					} else {
+						logger.fine("Incomplete record in checkpoint '" + file + "': '" + record + "'.");
+					}
+				});
+			}
+		}
+	}
+
+	/**
+	 * Returns the checksum of the given text.
+	 *
+	 * @param text
+	 *            text
+	 * @return the checksum of the given text
+	 */
+	static String getChecksum(String text) {
+		CRC32 checksum = new CRC32();
+		checksum.update(text.getBytes(StandardCharsets.UTF_8));
+		return Long.toHexString(checksum.getValue());
+	}
+
+	/**
+	 * Returns the record of the result line of the query with the given
+	 * index. The record has the index, the result line, and the checksum of
+	 * both, separated by tabs.
+	 *
+	 * @param index
+	 *            index of the query
+	 * @param line
+	 *            result line
+	 * @return the record of the result line of the query with the given index
+	 */
+	static String toRecord(int index, String line) {
+		String ret = index + TAB + line;
+		return ret + TAB + getChecksum(ret);
+	}
+
+	/**
+	 * Returns the index and result line of the given record, if its checksum
+	 * is correct.
+	 *
+	 * @param record
+	 *            record
+	 * @return the index and result line of the given record, if its checksum
+	 *         is correct
+	 */
+	static Optional<String> getLine(String record) {
+		int pos = record.lastIndexOf(TAB);
+		if (pos > 0 && record.substring(pos + 1).equals(getChecksum(record.substring(0, pos)))) {
+			return Optional.of(record.substring(0, pos));
+		} else {
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Returns the result line of the query with the given index, if the query
+	 * was completed.
+	 *
+	 * @param index
+	 *            index of the query
+	 * @return the result line of the query with the given index, if the query
+	 *         was completed
+	 */
+	public Optional<String> getResult(int index) {
+		return Optional.ofNullable(this.completed.get(index));
+	}
+
+	/**
+	 * Returns the number of completed queries.
+	 *
+	 * @return the number of completed queries
+	 */
+	public int getNumberOfCompletedQueries() {
+		return this.completed.size();
+	}
+
+	/**
+	 * Records the result line of a completed query. The line is written to
+	 * disk when the checkpoint is flushed.
+	 *
+	 * @param index
+	 *            index of the query
+	 * @param line
+	 *            result line, without line separator
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 */
+	public void add(int index, String line) throws IOException {
+		Objects.requireNonNull(line);
+		this.completed.put(index, line);
+		this.output.write(toRecord(index, line) + Symbol.LINE_SEPARATOR);
+	}
+
+	/**
+	 * Writes the recorded result lines to disk.
+	 *
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 */
+	public void flush() throws IOException {
+		this.output.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.output.close();
+	}
+
+	@Override
+	public String toString() {
+		return this.completed.size() + " completed queries";
+	}
+
+}
@@ -1,7 +1,11 @@
 package de.tudresden.inf.lat.born.owlapi.multiprocessor;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Supplier;
+
+import de.tudresden.inf.lat.born.problog.engine.InferenceEngine;
 
 /**
  * This interface models the configuration of a multi-processor.
@@ -72,19 +76,201 @@ public interface MultiProcessorConfiguration {
 	void setSeed(int seed);
 
 	/**
-	 * Returns the query processor.
+	 * Returns the number of threads used to process the queries.
+	 * 
+	 * @return the number of threads used to process the queries
+	 */
+	int getNumberOfThreads();
+
+	/**
+	 * Sets the number of threads used to process the queries. If this number
+	 * is greater than one, the query processor must support concurrent calls.
+	 * 
+	 * @param numberOfThreads
+	 *            number of threads
+	 */
+	void setNumberOfThreads(int numberOfThreads);
+
+	/**
+	 * Returns the maximum number of queries of the same ontology that are
+	 * evaluated together with a single ProbLog program.
+	 * 
+	 * @return the maximum number of queries of the same ontology that are
+	 *         evaluated together with a single ProbLog program
+	 */
+	int getBatchSize();
+
+	/**
+	 * Sets the maximum number of queries of the same ontology that are
+	 * evaluated together with a single ProbLog program. If this number is 1,
+	 * each query is evaluated with its own ProbLog program and its own
+	 * module.
+	 * 
+	 * @param batchSize
+	 *            maximum number of queries evaluated together
+	 */
+	void setBatchSize(int batchSize);
+
+	/**
+	 * Returns the maximum number of ontology-network pairs that are loaded at
+	 * the same time.
+	 * 
+	 * @return the maximum number of ontology-network pairs that are loaded at
+	 *         the same time
+	 */
+	int getMaxLoadedOntologies();
+
+	/**
+	 * Sets the maximum number of ontology-network pairs that are loaded at
+	 * the same time. If this number is 1, each ontology is loaded after the
+	 * queries of the previous one have been processed. The default is
+	 * {@link MultiProcessorCore#DEFAULT_MAX_LOADED_ONTOLOGIES}.
+	 * 
+	 * @param maxLoadedOntologies
+	 *            maximum number of ontology-network pairs that are loaded at
+	 *            the same time
+	 */
+	void setMaxLoadedOntologies(int maxLoadedOntologies);
+
+	/**
+	 * Returns the name of the file used to store the query results between
+	 * executions, or an empty string if the query results are not stored.
+	 * 
+	 * @return the name of the file used to store the query results between
+	 *         executions, or an empty string if the query results are not
+	 *         stored
+	 */
+	String getCacheFileName();
+
+	/**
+	 * Sets the name of the file used to store the query results between
+	 * executions. If this name is not empty, the queries whose results are
+	 * already in the file are not processed again.
+	 * 
+	 * @param cacheFileName
+	 *            name of the file used to store the query results
+	 */
+	void setCacheFileName(String cacheFileName);
+
+	/**
+	 * Tells whether the execution resumes a previous execution, i.e. whether
+	 * the queries completed in the checkpoint files of the output directory
+	 * are not processed again.
+	 * 
+	 * @return <code>true</code> if and only if the execution resumes a
+	 *         previous execution
+	 */
+	boolean isResuming();
+
+	/**
+	 * Sets whether the execution resumes a previous execution. A previous
+	 * execution can only be resumed if it has the same seed and number of
+	 * queries.
+	 * 
+	 * @param resuming
+	 *            <code>true</code> if and only if the execution resumes a
+	 *            previous execution
+	 */
+	void setResuming(boolean resuming);
+
+	/**
+	 * Tells whether the ontology sessions are restored from snapshots of the
+	 * ontology files, and the snapshots are written when they do not exist
+	 * or are outdated.
+	 * 
+	 * @return <code>true</code> if and only if snapshots of the ontology
+	 *         files are used
+	 */
+	boolean isUsingSnapshots();
+
+	/**
+	 * Sets whether the ontology sessions are restored from snapshots of the
+	 * ontology files. Snapshots are used by default.
+	 * 
+	 * @param usingSnapshots
+	 *            <code>true</code> if and only if snapshots of the ontology
+	 *            files are used
+	 */
+	void setUsingSnapshots(boolean usingSnapshots);
+
+	/**
+	 * Returns the directory where the snapshots are written, or an empty
+	 * string if they are written next to the ontology files.
+	 * 
+	 * @return the directory where the snapshots are written, or an empty
+	 *         string if they are written next to the ontology files
+	 */
+	String getSnapshotDirectory();
+
+	/**
+	 * Sets the directory where the snapshots are written. If the directory
+	 * is an empty string, which is the default, the snapshots are written
+	 * next to the ontology files.
+	 * 
+	 * @param snapshotDirectory
+	 *            directory where the snapshots are written, or an empty
+	 *            string
+	 */
+	void setSnapshotDirectory(String snapshotDirectory);
+
+	/**
+	 * Tells whether goal-directed modules are extracted for the subsumption
+	 * queries.
+	 * 
+	 * @return <code>true</code> if and only if goal-directed modules are
+	 *         extracted for the subsumption queries
+	 */
+	boolean hasGoalDirectedModules();
+
+	/**
+	 * Sets whether goal-directed modules are extracted for the subsumption
+	 * queries. The size of the goal-directed module of each query is written
+	 * in the results, and it is -1 if no goal-directed module is extracted.
+	 * 
+	 * @param goalDirectedModules
+	 *            <code>true</code> if and only if goal-directed modules are
+	 *            extracted for the subsumption queries
+	 */
+	void setGoalDirectedModules(boolean goalDirectedModules);
+
+	/**
+	 * Returns the supplier of query processors. Each thread that processes
+	 * queries gets its own query processor from this supplier, so that query
+	 * processors do not need to be thread-safe.
+	 * 
+	 * @return the supplier of query processors
+	 */
+	Supplier<Function<String, String>> getQueryProcessorSupplier();
+
+	/**
+	 * Sets the supplier of query processors. Each thread that processes
+	 * queries gets its own query processor from this supplier.
+	 * 
+	 * @param queryProcessorSupplier
+	 *            supplier of query processors
+	 */
+	void setQueryProcessorSupplier(Supplier<Function<String, String>> queryProcessorSupplier);
+
+	/**
+	 * Returns the inference engine, if the ProbLog programs are evaluated
+	 * with an inference engine instead of query processors. The inference
+	 * engine is shared by all the threads.
 	 * 
-	 * @return the query processor
+	 * @return the inference engine, if the ProbLog programs are evaluated
+	 *         with an inference engine
 	 */
-	Function<String, String> getQueryProcessor();
+	Optional<InferenceEngine> getInferenceEngine();
 
 	/**
-	 * Sets the query processor.
+	 * Sets the inference engine. If the inference engine is set, the ProbLog
+	 * programs are evaluated with it, and the supplier of query processors is
+	 * not used. The inference engine must support concurrent calls if the
+	 * number of threads is greater than one.
 	 * 
-	 * @param queryProcessor
-	 *            query processor
+	 * @param inferenceEngine
+	 *            inference engine
 	 */
-	void setQueryProcessor(Function<String, String> queryProcessor);
+	void setInferenceEngine(InferenceEngine inferenceEngine);
 
 	/**
 	 * Tells whether the log is showing.
@@ -3,9 +3,11 @@ package de.tudresden.inf.lat.born.owlapi.multiprocessor;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
-import de.tudresden.inf.lat.born.owlapi.annotator.AnnotatorConfiguration;
+import de.tudresden.inf.lat.born.problog.engine.InferenceEngine;
 
 /**
  * 
@@ -16,10 +18,19 @@ public class MultiProcessorConfigurationImpl implements MultiProcessorConfigurat
 
 	private List<OntologyAndNetwork> ontologyList = new ArrayList<>();
 	private String outputDirectory;
-	private Function<String, String> queryProcessor;
+	private Supplier<Function<String, String>> queryProcessorSupplier;
+	private Optional<InferenceEngine> inferenceEngine = Optional.empty();
 	private boolean showingLog = true;
 	private int seed = 1;
 	private int numberOfQueries = 1;
+	private int numberOfThreads = 1;
+	private int batchSize = 1;
+	private int maxLoadedOntologies = MultiProcessorCore.DEFAULT_MAX_LOADED_ONTOLOGIES;
+	private String cacheFileName = "";
+	private boolean resuming = false;
+	private boolean usingSnapshots = true;
+	private String snapshotDirectory = "";
+	private boolean goalDirectedModules = false;
 
 	@Override
 	public List<OntologyAndNetwork> getOntologyList() {
@@ -62,13 +73,113 @@ public class MultiProcessorConfigurationImpl implements MultiProcessorConfigurat
 	}
 
 	@Override
-	public Function<String, String> getQueryProcessor() {
-		return queryProcessor;
+	public int getNumberOfThreads() {
+		return numberOfThreads;
 	}
 
 	@Override
-	public void setQueryProcessor(Function<String, String> queryProcessor) {
-		this.queryProcessor = Objects.requireNonNull(queryProcessor);
+	public void setNumberOfThreads(int numberOfThreads) {
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("Invalid number of threads: '" + numberOfThreads + "'.");
+		}
+		this.numberOfThreads = numberOfThreads;
+	}
+
+	@Override
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	@Override
+	public void setBatchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Invalid batch size: '" + batchSize + "'.");
+		}
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public int getMaxLoadedOntologies() {
+		return maxLoadedOntologies;
+	}
+
+	@Override
+	public void setMaxLoadedOntologies(int maxLoadedOntologies) {
+		if (maxLoadedOntologies < 1) {
+			throw new IllegalArgumentException(
+					"Invalid maximum number of loaded ontologies: '" + maxLoadedOntologies + "'.");
+		}
+		this.maxLoadedOntologies = maxLoadedOntologies;
+	}
+
+	@Override
+	public String getCacheFileName() {
+		return cacheFileName;
+	}
+
+	@Override
+	public void setCacheFileName(String cacheFileName) {
+		this.cacheFileName = Objects.requireNonNull(cacheFileName);
+	}
+
+	@Override
+	public boolean isResuming() {
+		return resuming;
+	}
+
+	@Override
+	public void setResuming(boolean resuming) {
+		this.resuming = resuming;
+	}
+
+	@Override
+	public boolean isUsingSnapshots() {
+		return usingSnapshots;
+	}
+
+	@Override
+	public void setUsingSnapshots(boolean usingSnapshots) {
+		this.usingSnapshots = usingSnapshots;
+	}
+
+	@Override
+	public String getSnapshotDirectory() {
+		return snapshotDirectory;
+	}
+
+	@Override
+	public void setSnapshotDirectory(String snapshotDirectory) {
+		this.snapshotDirectory = Objects.requireNonNull(snapshotDirectory);
+	}
+
+	@Override
+	public boolean hasGoalDirectedModules() {
+		return goalDirectedModules;
+	}
+
+	@Override
+	public void setGoalDirectedModules(boolean goalDirectedModules) {
+		this.goalDirectedModules = goalDirectedModules;
+	}
+
+	@Override
+	public Supplier<Function<String, String>> getQueryProcessorSupplier() {
+		return queryProcessorSupplier;
+	}
+
+	@Override
+	public void setQueryProcessorSupplier(Supplier<Function<String, String>> queryProcessorSupplier) {
+		this.queryProcessorSupplier = Objects.requireNonNull(queryProcessorSupplier);
+	}
+
+	@Override
+	public Optional<InferenceEngine> getInferenceEngine() {
+		return inferenceEngine;
+	}
+
+	@Override
+	public void setInferenceEngine(InferenceEngine inferenceEngine) {
+		this.inferenceEngine = Optional.of(inferenceEngine);
 	}
 
 	@Override
@@ -85,14 +196,22 @@ public class MultiProcessorConfigurationImpl implements MultiProcessorConfigurat
 	public boolean equals(Object obj) {
 		if (this == obj) {
 			return true;
-		} else if (!(obj instanceof AnnotatorConfiguration)) {
+		} else if (!(obj instanceof MultiProcessorConfiguration)) {
 			return false;
 		} else {
 			MultiProcessorConfiguration other = (MultiProcessorConfiguration) obj;
 			return getOntologyList().equals(other.getOntologyList())
 					&& (getNumberOfQueries() == other.getNumberOfQueries()) && (getSeed() == other.getSeed())
+					&& (getNumberOfThreads() == other.getNumberOfThreads())
+					&& (getBatchSize() == other.getBatchSize())
+					&& (getMaxLoadedOntologies() == other.getMaxLoadedOntologies())
+					&& getCacheFileName().equals(other.getCacheFileName()) && (isResuming() == other.isResuming())
+					&& (isUsingSnapshots() == other.isUsingSnapshots())
+					&& getSnapshotDirectory().equals(other.getSnapshotDirectory())
+					&& (hasGoalDirectedModules() == other.hasGoalDirectedModules())
 					&& getOutputDirectory().equals(other.getOutputDirectory())
-					&& getQueryProcessor().equals(other.getQueryProcessor())
+					&& Objects.equals(getQueryProcessorSupplier(), other.getQueryProcessorSupplier())
+					&& getInferenceEngine().equals(other.getInferenceEngine())
 					&& (isShowingLog() == other.isShowingLog());
 		}
 	}
@@ -105,7 +224,11 @@ public class MultiProcessorConfigurationImpl implements MultiProcessorConfigurat
 	@Override
 	public String toString() {
 		return this.ontologyList.size() + " ontologies, number of queries=" + this.numberOfQueries + ", seed="
-				+ this.seed + " " + this.outputDirectory + " " + this.queryProcessor + " " + this.showingLog;
+				+ this.seed + ", number of threads=" + this.numberOfThreads + ", batch size=" + this.batchSize
+				+ ", maximum loaded ontologies=" + this.maxLoadedOntologies + ", cache file=" + this.cacheFileName + ", resuming=" + this.resuming + ", using snapshots="
+				+ this.usingSnapshots + ", snapshot directory=" + this.snapshotDirectory + ", goal-directed modules="
+				+ this.goalDirectedModules + " " + this.outputDirectory + " " + this.queryProcessorSupplier + " "
+				+ this.inferenceEngine + " " + this.showingLog;
 	}
 
 }
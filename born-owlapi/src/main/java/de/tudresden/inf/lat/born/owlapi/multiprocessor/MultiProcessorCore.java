@@ -1,32 +1,43 @@
 package de.tudresden.inf.lat.born.owlapi.multiprocessor;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.io.Writer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
 import java.util.stream.IntStream;
 
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLOntology;
-import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 
 import de.tudresden.inf.lat.born.core.common.ResourceUtil;
 import de.tudresden.inf.lat.born.core.term.Symbol;
+import de.tudresden.inf.lat.born.owlapi.processor.OntologySession;
+import de.tudresden.inf.lat.born.owlapi.processor.OntologySnapshot;
 import de.tudresden.inf.lat.born.owlapi.processor.ProcessorConfiguration;
 import de.tudresden.inf.lat.born.owlapi.processor.ProcessorConfigurationImpl;
 import de.tudresden.inf.lat.born.owlapi.processor.ProcessorCore;
 import de.tudresden.inf.lat.born.owlapi.processor.ProcessorExecutionResult;
 import de.tudresden.inf.lat.born.owlapi.processor.ProcessorExecutionResultImpl;
+import de.tudresden.inf.lat.born.owlapi.processor.QueryResultCache;
 
 /**
  * An object of this class processed several ontologies with their respective
@@ -37,6 +48,8 @@ import de.tudresden.inf.lat.born.owlapi.processor.ProcessorExecutionResultImpl;
  */
 public class MultiProcessorCore {
 
+	private static final Logger logger = Logger.getLogger(MultiProcessorCore.class.getName());
+
 	public static final char TAB_CHAR = '\t';
 	public static final String LINE_SEPARATOR = Symbol.LINE_SEPARATOR;
 	public static final String FILE_SEPARATOR = Symbol.FILE_SEPARATOR;
@@ -48,21 +61,48 @@ public class MultiProcessorCore {
 
 	public static final String[] FIRST_LINE = { "ontology file name", "Bayesian network file name", "sub class",
 			"super class", "query", "result", "translation time", "normalization time", "module extraction time",
-			"ProbLog reasoning time", "total time", "ontology size", "normalized ontology size", "module size" };
+			"ProbLog reasoning time", "total time", "ontology size", "normalized ontology size", "module size",
+			"goal-directed module size", "retained network clauses", "dropped network clauses" };
 	public static final List<String> FIRST_LINE_LIST = Arrays.asList(FIRST_LINE);
 
+	/**
+	 * Default maximum number of ontology-network pairs that are loaded at the
+	 * same time.
+	 */
+	public static final int DEFAULT_MAX_LOADED_ONTOLOGIES = 2;
+
+	/**
+	 * An object of this class is an ontology-network pair whose queries have
+	 * been generated and submitted for processing.
+	 */
+	static class SubmittedOntology {
+
+		final OntologyAndNetwork ontPair;
+		final List<SubsumptionQuery> queries;
+		final ExperimentCheckpoint checkpoint;
+		final List<CompletableFuture<List<ProcessorExecutionResult>>> results;
+
+		SubmittedOntology(OntologyAndNetwork ontPair, List<SubsumptionQuery> queries,
+				ExperimentCheckpoint checkpoint, List<CompletableFuture<List<ProcessorExecutionResult>>> results) {
+			this.ontPair = ontPair;
+			this.queries = queries;
+			this.checkpoint = checkpoint;
+			this.results = results;
+		}
+
+	}
+
 	/**
 	 * Constructs a new multi processor core.
 	 */
 	public MultiProcessorCore() {
 	}
 
-	List<OWLClass> getClasses(OWLOntology ontology) {
-		Objects.requireNonNull(ontology);
+	List<OWLClass> getClasses(List<String> classNames) {
+		Objects.requireNonNull(classNames);
+		OWLDataFactory factory = OWLManager.getOWLDataFactory();
 		List<OWLClass> listOfClasses = new ArrayList<>();
-		Set<OWLClass> treeSet = new TreeSet<>();
-		treeSet.addAll(ontology.getClassesInSignature());
-		listOfClasses.addAll(treeSet);
+		classNames.forEach(className -> listOfClasses.add(factory.getOWLClass(IRI.create(className))));
 		return listOfClasses;
 	}
 
@@ -77,8 +117,27 @@ public class MultiProcessorCore {
 
 	List<SubsumptionQuery> getQueries(OWLOntology ontology, int numberOfQueries, PseudorandomNumberGenerator random) {
 		Objects.requireNonNull(ontology);
+		return getQueries(OntologySession.getClassNames(ontology), numberOfQueries, random);
+	}
+
+	/**
+	 * Returns pseudorandomly generated subsumption queries between the given
+	 * classes.
+	 * 
+	 * @param classNames
+	 *            sorted IRIs of the classes
+	 * @param numberOfQueries
+	 *            number of queries
+	 * @param random
+	 *            pseudorandom number generator
+	 * @return pseudorandomly generated subsumption queries between the given
+	 *         classes
+	 */
+	List<SubsumptionQuery> getQueries(List<String> classNames, int numberOfQueries,
+			PseudorandomNumberGenerator random) {
+		Objects.requireNonNull(classNames);
 		Objects.requireNonNull(random);
-		List<OWLClass> listOfClasses = getClasses(ontology);
+		List<OWLClass> listOfClasses = getClasses(classNames);
 		List<SubsumptionQuery> listOfQueries = new ArrayList<>();
 		IntStream.range(0, numberOfQueries).forEach(x -> {
 			listOfQueries.add(getNextQuery(listOfClasses, random));
@@ -107,14 +166,11 @@ public class MultiProcessorCore {
 	 * 
 	 * @param ontPair
 	 *            ontology-network pair
-	 * @param configuration
-	 *            configuration
 	 * @param query
 	 *            query
 	 * @return the conditions of one query as presented in the CSV file
 	 */
-	List<String> getConditions(OntologyAndNetwork ontPair, ProcessorConfiguration configuration,
-			SubsumptionQuery query) {
+	List<String> getConditions(OntologyAndNetwork ontPair, SubsumptionQuery query) {
 		List<String> ret = new ArrayList<>();
 		ret.add(ontPair.getOntologyName() + OWL_EXTENSION);
 		ret.add(ontPair.getOntologyName() + PL_EXTENSION);
@@ -148,65 +204,374 @@ public class MultiProcessorCore {
 		ret.add("" + executionResult.getOntologySize());
 		ret.add("" + executionResult.getNormalizedOntologySize());
 		ret.add("" + executionResult.getModuleSize());
+		ret.add("" + executionResult.getGoalDirectedModuleSize());
+		ret.add("" + executionResult.getRetainedNetworkClauses());
+		ret.add("" + executionResult.getDroppedNetworkClauses());
+		return ret;
+	}
+
+	ProcessorConfiguration createConfiguration(MultiProcessorConfiguration conf, OntologyAndNetwork ontPair,
+			SubsumptionQuery query, ThreadLocal<Function<String, String>> queryProcessors) {
+		String temporaryFileName = conf.getOutputDirectory() + FILE_SEPARATOR + ontPair.getOntologyName()
+				+ TEMP_FILE_SUFFIX;
+		ProcessorConfiguration configuration = new ProcessorConfigurationImpl();
+		configuration.setBayesianNetwork(ontPair.getBayesianNetwork());
+		configuration.setParsedBayesianNetwork(ontPair.getParsedBayesianNetwork());
+		configuration.setOutputFileName(temporaryFileName);
+		if (conf.getInferenceEngine().isPresent()) {
+			configuration.setInferenceEngine(conf.getInferenceEngine().get());
+		} else {
+			configuration.setQueryProcessor(queryProcessors.get());
+		}
+		configuration.setShowingLog(conf.isShowingLog());
+		configuration.setGoalDirectedModules(conf.hasGoalDirectedModules());
+		configuration.setQuery(query.asProblogString());
+		return configuration;
+	}
+
+	/**
+	 * Returns the given queries divided in consecutive batches of at most the
+	 * given size.
+	 * 
+	 * @param queries
+	 *            queries
+	 * @param batchSize
+	 *            maximum number of queries in each batch
+	 * @return the given queries divided in consecutive batches
+	 */
+	List<List<SubsumptionQuery>> getBatches(List<SubsumptionQuery> queries, int batchSize) {
+		List<List<SubsumptionQuery>> ret = new ArrayList<>();
+		for (int index = 0; index < queries.size(); index += batchSize) {
+			ret.add(queries.subList(index, Math.min(queries.size(), index + batchSize)));
+		}
 		return ret;
 	}
 
-	String write(Writer output, String str) {
+	/**
+	 * Processes a batch of queries of the same ontology. A batch with only one
+	 * query is processed with its own module, as a single query.
+	 * 
+	 * @param core
+	 *            processor core
+	 * @param conf
+	 *            configuration
+	 * @param queryProcessors
+	 *            query processor of each thread, used if there is no
+	 *            inference engine
+	 * @param ontPair
+	 *            ontology-network pair
+	 * @param session
+	 *            ontology session
+	 * @param batch
+	 *            queries
+	 * @param start
+	 *            starting point measured in nanoseconds
+	 * @return the execution result of each query of the batch
+	 */
+	List<ProcessorExecutionResult> process(ProcessorCore core, MultiProcessorConfiguration conf,
+			ThreadLocal<Function<String, String>> queryProcessors, OntologyAndNetwork ontPair,
+			OntologySession session, List<SubsumptionQuery> batch, long start) {
+		ProcessorConfiguration configuration = createConfiguration(conf, ontPair, batch.get(0), queryProcessors);
+		if (batch.size() == 1) {
+			ProcessorExecutionResult executionResult = new ProcessorExecutionResultImpl();
+			core.run(configuration, session, start, executionResult);
+			return Collections.singletonList(executionResult);
+		} else {
+			List<String> queries = new ArrayList<>();
+			batch.forEach(query -> queries.add(query.asProblogString()));
+			return core.run(configuration, session, queries, start);
+		}
+	}
+
+	<T> T join(CompletableFuture<T> future) {
 		try {
-			output.write(str);
-			output.flush();
-		} catch (IOException e) {
-			throw new UncheckedIOException(e);
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			} else {
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Returns the query result cache stored in the cache file of the given
+	 * configuration, or an empty optional if no cache file is configured.
+	 * 
+	 * @param conf
+	 *            configuration
+	 * @return the query result cache stored in the cache file of the given
+	 *         configuration
+	 */
+	Optional<QueryResultCache> loadCache(MultiProcessorConfiguration conf) {
+		if (conf.getCacheFileName().isEmpty()) {
+			return Optional.empty();
+		} else {
+			QueryResultCache cache = new QueryResultCache(Math.max(QueryResultCache.DEFAULT_CAPACITY,
+					conf.getOntologyList().size() * conf.getNumberOfQueries()));
+			try {
+				cache.load(new File(conf.getCacheFileName()));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return Optional.of(cache);
 		}
-		return str;
 	}
 
+	/**
+	 * Returns the checkpoint file of the given ontology-network pair.
+	 * 
+	 * @param conf
+	 *            configuration
+	 * @param ontPair
+	 *            ontology-network pair
+	 * @return the checkpoint file of the given ontology-network pair
+	 */
+	File getCheckpointFile(MultiProcessorConfiguration conf, OntologyAndNetwork ontPair) {
+		return new File(conf.getOutputDirectory() + FILE_SEPARATOR + ontPair.getOntologyName()
+				+ ExperimentCheckpoint.CHECKPOINT_EXTENSION);
+	}
+
+	/**
+	 * Generates the queries of the given ontology-network pair, and submits
+	 * the creation of its ontology session and the processing of its batches
+	 * of queries. Only the queries that are not completed in the checkpoint
+	 * are processed. If all the queries are completed, the ontology session
+	 * is not created. If the session is restored from a snapshot, it is
+	 * restored before generating the queries, which are generated from the
+	 * classes stored in the snapshot. In that case, the OWL ontology is not
+	 * parsed.
+	 * 
+	 * @param core
+	 *            processor core
+	 * @param conf
+	 *            configuration
+	 * @param ontPair
+	 *            ontology-network pair
+	 * @param random
+	 *            pseudorandom number generator used to generate the queries
+	 * @param executor
+	 *            executor
+	 * @param queryProcessors
+	 *            query processor of each thread of the executor, used if
+	 *            there is no inference engine
+	 * @param start
+	 *            starting point measured in nanoseconds
+	 * @return the submitted ontology-network pair
+	 * @throws IOException
+	 *             if something went wrong with the I/O of the checkpoint
+	 */
+	SubmittedOntology submit(ProcessorCore core, MultiProcessorConfiguration conf, OntologyAndNetwork ontPair,
+			PseudorandomNumberGenerator random, ExecutorService executor,
+			ThreadLocal<Function<String, String>> queryProcessors, long start) throws IOException {
+		Supplier<OntologySession> sessionSupplier;
+		List<String> classNames;
+		if (isUsingSnapshot(conf, ontPair)) {
+			OntologySession restoredSession = createSession(conf, ontPair);
+			sessionSupplier = () -> restoredSession;
+			classNames = restoredSession.getClassNames();
+		} else {
+			sessionSupplier = () -> createSession(conf, ontPair);
+			classNames = OntologySession.getClassNames(ontPair.getOntology());
+		}
+		List<SubsumptionQuery> queries = getQueries(classNames, conf.getNumberOfQueries(), random);
+		ExperimentCheckpoint checkpoint = new ExperimentCheckpoint(getCheckpointFile(conf, ontPair), conf.getSeed(),
+				conf.getNumberOfQueries(), FIRST_LINE.length, conf.isResuming());
+		List<SubsumptionQuery> pendingQueries = new ArrayList<>();
+		IntStream.range(0, queries.size()).filter(index -> !checkpoint.getResult(index).isPresent())
+				.forEach(index -> pendingQueries.add(queries.get(index)));
+		if (checkpoint.getNumberOfCompletedQueries() > 0) {
+			logger.info("Ontology '" + ontPair.getOntologyName() + "': " + checkpoint.getNumberOfCompletedQueries()
+					+ " of " + queries.size() + " queries restored from checkpoint.");
+		}
+
+		List<CompletableFuture<List<ProcessorExecutionResult>>> results = new ArrayList<>();
+		if (!pendingQueries.isEmpty()) {
+			CompletableFuture<OntologySession> session = CompletableFuture.supplyAsync(sessionSupplier, executor);
+			getBatches(pendingQueries, conf.getBatchSize()).forEach(batch -> results.add(session.thenApplyAsync(
+					currentSession -> process(core, conf, queryProcessors, ontPair, currentSession, batch, start),
+					executor)));
+		}
+		return new SubmittedOntology(ontPair, queries, checkpoint, results);
+	}
+
+	/**
+	 * Writes the results of a submitted ontology-network pair, waiting for
+	 * them in the order of the queries. The result of each processed query is
+	 * recorded in the checkpoint, which is flushed after each batch. The log
+	 * file is replaced atomically when all the results are written.
+	 * 
+	 * @param conf
+	 *            configuration
+	 * @param submitted
+	 *            submitted ontology-network pair
+	 * @return the written results
+	 * @throws IOException
+	 *             if something went wrong with the I/O
+	 */
+	String writeResults(MultiProcessorConfiguration conf, SubmittedOntology submitted) throws IOException {
+		OntologyAndNetwork ontPair = submitted.ontPair;
+		ExperimentCheckpoint checkpoint = submitted.checkpoint;
+		Iterator<CompletableFuture<List<ProcessorExecutionResult>>> results = submitted.results.iterator();
+		Iterator<ProcessorExecutionResult> batchResults = Collections.emptyIterator();
+
+		StringBuffer sbuf = new StringBuffer();
+		sbuf.append(makeLine(FIRST_LINE_LIST) + LINE_SEPARATOR);
+
+		try {
+			for (int index = 0; index < submitted.queries.size(); index++) {
+				Optional<String> completedLine = checkpoint.getResult(index);
+				if (completedLine.isPresent()) {
+					sbuf.append(completedLine.get() + LINE_SEPARATOR);
+				} else {
+					if (!batchResults.hasNext()) {
+						batchResults = join(results.next()).iterator();
+					}
+					String line = makeLine(getConditions(ontPair, submitted.queries.get(index)))
+							+ makeLine(getResult(batchResults.next())).trim();
+					checkpoint.add(index, line);
+					if (!batchResults.hasNext()) {
+						checkpoint.flush();
+					}
+					sbuf.append(line + LINE_SEPARATOR);
+				}
+			}
+		} finally {
+			checkpoint.close();
+		}
+
+		String result = sbuf.toString();
+		ResourceUtil.replaceAtomically(
+				new File(conf.getOutputDirectory() + FILE_SEPARATOR + ontPair.getOntologyName() + LOG_EXTENSION),
+				result);
+		return result;
+	}
+
+	/**
+	 * Runs the multi processor with the given configuration. The ontologies
+	 * are processed in order, and at most the maximum number of loaded
+	 * ontologies of the configuration (by default
+	 * {@link #DEFAULT_MAX_LOADED_ONTOLOGIES}) ontology-network pairs are
+	 * loaded at the same time: while the queries of one ontology are
+	 * processed, the next ones are loaded. A pair is
+	 * released when all its queries have been processed. The queries of each
+	 * ontology are generated when the ontology is loaded, in the order of the
+	 * ontologies, so that they do not depend on the number of threads. The
+	 * queries of each ontology are grouped in batches, and the queries of each
+	 * batch are evaluated with a single ProbLog program. The batches are
+	 * processed concurrently using the number of threads of the
+	 * configuration, but the results are written in the order of the queries.
+	 * Each thread uses its own query processor, obtained from the query
+	 * processor supplier of the configuration. The result of each query is
+	 * recorded in a checkpoint file. If the configuration is resuming, the
+	 * queries completed in the checkpoint of a previous run with the same seed
+	 * and number of queries are not processed again. If the run fails, the
+	 * checkpoints of all the submitted ontologies are closed.
+	 * 
+	 * @param conf
+	 *            configuration
+	 * @param start
+	 *            starting point measured in nanoseconds
+	 * @return a list with the results of each ontology
+	 */
 	public List<String> run(MultiProcessorConfiguration conf, long start) {
 		Objects.requireNonNull(conf);
 		List<String> ret = new ArrayList<>();
 		PseudorandomNumberGenerator random = new PseudorandomNumberGenerator(conf.getSeed());
-		ProcessorCore core = new ProcessorCore();
+		Optional<QueryResultCache> cache = loadCache(conf);
+		ProcessorCore core = cache.isPresent() ? new ProcessorCore(cache.get()) : new ProcessorCore();
 
-		conf.getOntologyList().forEach(ontPair -> {
-			try {
+		ExecutorService executor = Executors.newFixedThreadPool(conf.getNumberOfThreads());
+		ThreadLocal<Function<String, String>> queryProcessors = ThreadLocal
+				.withInitial(() -> conf.getQueryProcessorSupplier().get());
+		Deque<SubmittedOntology> submittedOntologies = new ArrayDeque<>();
+		try {
+			Iterator<OntologyAndNetwork> ontologyIt = conf.getOntologyList().iterator();
+			while (ontologyIt.hasNext() || !submittedOntologies.isEmpty()) {
+				while (ontologyIt.hasNext() && submittedOntologies.size() < conf.getMaxLoadedOntologies()) {
+					submittedOntologies
+							.add(submit(core, conf, ontologyIt.next(), random, executor, queryProcessors, start));
+				}
+				SubmittedOntology submitted = submittedOntologies.poll();
+				ret.add(writeResults(conf, submitted));
+				submitted.ontPair.release();
+			}
 
-				String resultFileName = conf.getOutputDirectory() + FILE_SEPARATOR + ontPair.getOntologyName()
-						+ LOG_EXTENSION;
-				Writer output = new FileWriter(ResourceUtil.ensurePath(resultFileName), true);
-
-				String temporaryFileName = conf.getOutputDirectory() + FILE_SEPARATOR + ontPair.getOntologyName()
-						+ TEMP_FILE_SUFFIX;
-				ProcessorConfiguration configuration = new ProcessorConfigurationImpl();
-				configuration.setOntology(ontPair.getOntology());
-				configuration.setBayesianNetwork(ontPair.getBayesianNetwork());
-				configuration.setOutputFileName(temporaryFileName);
-				configuration.setQueryProcessor(conf.getQueryProcessor());
-				configuration.setShowingLog(conf.isShowingLog());
-				List<SubsumptionQuery> queries = getQueries(ontPair.getOntology(), conf.getNumberOfQueries(), random);
-
-				StringBuffer sbuf = new StringBuffer();
-				sbuf.append(write(output, makeLine(FIRST_LINE_LIST) + LINE_SEPARATOR));
-
-				queries.forEach(query -> {
-					configuration.setQuery(query.asProblogString());
-					sbuf.append(write(output, makeLine(getConditions(ontPair, configuration, query))));
-					ProcessorExecutionResult executionResult = new ProcessorExecutionResultImpl();
-					core.run(configuration, start, executionResult);
-					sbuf.append(write(output, makeLine(getResult(executionResult)).trim() + LINE_SEPARATOR));
-				});
-				ret.add(sbuf.toString());
-				output.flush();
-				output.close();
+			if (cache.isPresent()) {
+				cache.get().store(ResourceUtil.ensurePath(new File(conf.getCacheFileName())));
+			}
+
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			executor.shutdownNow();
+			close(submittedOntologies);
+		}
+		return ret;
+	}
 
+	/**
+	 * Closes the checkpoints of the given submitted ontology-network pairs.
+	 * Problems when closing a checkpoint are logged, so that they do not hide
+	 * the exception that interrupted the run.
+	 * 
+	 * @param submittedOntologies
+	 *            submitted ontology-network pairs
+	 */
+	void close(Collection<SubmittedOntology> submittedOntologies) {
+		submittedOntologies.forEach(submitted -> {
+			try {
+				submitted.checkpoint.close();
 			} catch (IOException e) {
-				throw new UncheckedIOException(e);
+				logger.warning("Checkpoint of '" + submitted.ontPair.getOntologyName() + "' cannot be closed: "
+						+ e.getMessage());
 			}
 		});
-		return ret;
 	}
 
 	/**
-	 * Returns the list of ontology-network pairs.
+	 * Tells whether the ontology session of the given ontology-network pair
+	 * is restored from a snapshot, which happens if snapshots are used and
+	 * the file of the ontology is known.
+	 * 
+	 * @param conf
+	 *            configuration
+	 * @param ontPair
+	 *            ontology-network pair
+	 * @return <code>true</code> if and only if the ontology session of the
+	 *         given ontology-network pair is restored from a snapshot
+	 */
+	boolean isUsingSnapshot(MultiProcessorConfiguration conf, OntologyAndNetwork ontPair) {
+		return conf.isUsingSnapshots() && ontPair.getOntologyFile().isPresent();
+	}
+
+	/**
+	 * Returns the ontology session of the given ontology-network pair. If
+	 * snapshots are used and the file of the ontology is known, the session
+	 * is restored from its snapshot, which is refreshed when the file has
+	 * changed.
+	 * 
+	 * @param conf
+	 *            configuration
+	 * @param ontPair
+	 *            ontology-network pair
+	 * @return the ontology session of the given ontology-network pair
+	 */
+	OntologySession createSession(MultiProcessorConfiguration conf, OntologyAndNetwork ontPair) {
+		if (isUsingSnapshot(conf, ontPair)) {
+			return new OntologySnapshot(conf.getSnapshotDirectory()).getSession(ontPair.getOntologyFile().get(),
+					ontPair::getOntology);
+		} else {
+			return new OntologySession(ontPair.getOntology());
+		}
+	}
+
+	/**
+	 * Returns the list of ontology-network pairs. The files are not read: each
+	 * pair reads its ontology and Bayesian network when they are requested,
+	 * and keeps the file of its ontology, so that the ontology session is
+	 * restored from the snapshot of the file (see {@link OntologySnapshot}).
 	 * 
 	 * @param ontologyDirectory
 	 *            ontology directory
@@ -218,46 +583,32 @@ public class MultiProcessorCore {
 			String bayesianNetworkDirectory) {
 		Objects.requireNonNull(ontologyDirectory);
 		Objects.requireNonNull(bayesianNetworkDirectory);
-		try {
-			List<OntologyAndNetwork> ret = new ArrayList<>();
-			if (!ontologyDirectory.isEmpty() && !bayesianNetworkDirectory.isEmpty()) {
-				File file = new File(ontologyDirectory);
-				File[] files = file.listFiles();
-				Arrays.sort(files);
-
-				for (int index = 0; index < files.length; index++) {
-
-					String fileName = files[index].getName();
-					if (fileName.endsWith(OWL_EXTENSION)) {
-						String ontologyName = fileName.substring(0, fileName.length() - OWL_EXTENSION.length());
+		List<OntologyAndNetwork> ret = new ArrayList<>();
+		if (!ontologyDirectory.isEmpty() && !bayesianNetworkDirectory.isEmpty()) {
+			File file = new File(ontologyDirectory);
+			File[] files = file.listFiles();
+			Arrays.sort(files);
 
-						File ontologyFile = new File(ontologyDirectory + FILE_SEPARATOR + ontologyName + OWL_EXTENSION);
-						File bayesianNetworkFile = new File(
-								bayesianNetworkDirectory + FILE_SEPARATOR + ontologyName + PL_EXTENSION);
+			for (int index = 0; index < files.length; index++) {
 
-						OWLOntology owlOntology = ProcessorConfigurationImpl
-								.readOntology(new FileInputStream(ontologyFile));
+				String fileName = files[index].getName();
+				if (fileName.endsWith(OWL_EXTENSION)) {
+					String ontologyName = fileName.substring(0, fileName.length() - OWL_EXTENSION.length());
 
-						String bayesianNetwork = "";
-						if (bayesianNetworkFile.exists()) {
-							bayesianNetwork = ProcessorConfigurationImpl.read(new FileReader(bayesianNetworkFile));
-						}
+					File ontologyFile = new File(ontologyDirectory + FILE_SEPARATOR + ontologyName + OWL_EXTENSION);
+					File bayesianNetworkFile = new File(
+							bayesianNetworkDirectory + FILE_SEPARATOR + ontologyName + PL_EXTENSION);
 
-						ret.add(new OntologyAndNetwork(ontologyName, owlOntology, bayesianNetwork));
-					}
+					ret.add(new OntologyAndNetwork(ontologyName, ontologyFile, bayesianNetworkFile));
 				}
 			}
-			return ret;
-
-		} catch (IOException e) {
-			throw new RuntimeException(e);
-		} catch (OWLOntologyCreationException e) {
-			throw new RuntimeException(e);
 		}
+		return ret;
 	}
 
 	/**
-	 * Stores the results.
+	 * Stores the results. Each result file is replaced atomically, so that
+	 * the results of a resumed run are not appended twice.
 	 * 
 	 * @param conf
 	 *            configuration
@@ -275,10 +626,7 @@ public class MultiProcessorCore {
 		for (OntologyAndNetwork ontNet : ontologyList) {
 			String result = resultIt.next();
 			String fileName = outputDirectory + FILE_SEPARATOR + ontNet.getOntologyName() + CSV_EXTENSION;
-			FileWriter fileWriter = new FileWriter(ResourceUtil.ensurePath(fileName), true);
-			fileWriter.write(result);
-			fileWriter.flush();
-			fileWriter.close();
+			ResourceUtil.replaceAtomically(new File(fileName), result);
 		}
 	}
 
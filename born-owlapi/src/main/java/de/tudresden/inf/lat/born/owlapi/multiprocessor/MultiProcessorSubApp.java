@@ -6,6 +6,8 @@ import java.util.List;
 import java.util.Objects;
 
 import de.tudresden.inf.lat.born.core.term.SubApp;
+import de.tudresden.inf.lat.born.problog.engine.CompiledProgramCache;
+import de.tudresden.inf.lat.born.problog.engine.NativeInferenceEngine;
 import de.tudresden.inf.lat.jproblog.JProblog;
 
 /**
@@ -20,21 +22,57 @@ import de.tudresden.inf.lat.jproblog.JProblog;
 public class MultiProcessorSubApp implements SubApp {
 
 	static final String LOGGING_OPTION = "--log";
+	static final String THREADS_OPTION = "--threads=";
+	static final String CACHE_OPTION = "--cache=";
+	static final String BATCH_OPTION = "--batch=";
+	static final String LOADED_OPTION = "--loaded=";
+	static final String NATIVE_OPTION = "--native";
+	static final String RESUME_OPTION = "--resume";
+	static final String NO_SNAPSHOT_OPTION = "--no-snapshot";
+	static final String SNAPSHOT_DIRECTORY_OPTION = "--snapshot-dir=";
+	static final String GOAL_DIRECTED_OPTION = "--goal-directed";
 	public static final String COMMAND = "experiment";
 	static final String HELP = ""
-			+ "\nParameters: [--log] <directory of ontologies> <directory of Bayesian networks> <number of queries> <seed> <directory of results> [<ProbLog directory>]"
+			+ "\nParameters: [--log] [--threads=<n>] [--batch=<n>] [--loaded=<n>] [--cache=<file>] [--native] [--resume] [--no-snapshot] [--snapshot-dir=<dir>] [--goal-directed] <directory of ontologies> <directory of Bayesian networks> <number of queries> <seed> <directory of results> [<ProbLog directory>]"
 			+ "\n"
 			+ "\n  <directory of ontologies>         : directory of probabilistic ontology files, only '.owl' files are read"
 			+ "\n  <directory of Bayesian networks>  : directory of Bayesian network files, the file names must coincide with the ontology files, and only '.pl' files are read"
 			+ "\n  <number of queries>               : number of queries to generate"
 			+ "\n  <seed>                            : seed used by the pseudorandom number generator"
 			+ "\n  <directory of results>            : directory to write the output files, each output file has the ontology name and a '.csv' extension"
-			+ "\n" + "\n Option:" + "\n   --log                            : shows log" + "\n" + "\nExamples:" + "\n"
+			+ "\n" + "\n Options:" + "\n   --log                            : shows log"
+			+ "\n   --threads=<n>                    : number of threads used to process the queries, by default 1"
+			+ "\n   --batch=<n>                      : maximum number of queries evaluated together with one ProbLog program, by default 1"
+			+ "\n   --loaded=<n>                     : maximum number of ontologies that are loaded at the same time, by default "
+			+ MultiProcessorCore.DEFAULT_MAX_LOADED_ONTOLOGIES
+			+ "\n   --cache=<file>                   : file to keep the query results, so that they are reused in later executions"
+			+ "\n   --native                         : uses the native inference engine instead of ProbLog, and reuses the programs compiled for Bayesian networks that only differ in their probabilities"
+			+ "\n   --resume                         : resumes an interrupted execution with the same seed and number of queries, the queries recorded in the '.checkpoint' files of the directory of results are not processed again"
+			+ "\n   --no-snapshot                    : neither reads nor writes the snapshot files of the ontologies"
+			+ "\n   --snapshot-dir=<dir>             : reads and writes the snapshot files in directory <dir> instead of next to the ontology files"
+			+ "\n   --goal-directed                  : extracts a smaller module for each query sub('A', 'B'), which only contains the axioms that can derive 'B' from 'A', and writes its size in the results"
+			+ "\n" + "\nExamples:" + "\n"
 			+ "\n Execution:" + "\n  java -jar born.jar " + COMMAND + " ontologies/ networks/ 10 127 results/" + "\n"
 			+ "\n Execution not showing log:" + "\n  java -jar born.jar " + COMMAND
 			+ " ontologies/ networks/ 10 127 results/" + "\n" //
 			+ "\n Execution showing log:" + "\n  java -jar born.jar " + COMMAND
 			+ " --log ontologies/ networks/ 10 127 results/" + "\n"
+			+ "\n Execution using 4 threads:" + "\n  java -jar born.jar " + COMMAND
+			+ " --threads=4 ontologies/ networks/ 10 127 results/" + "\n"
+			+ "\n Execution evaluating 10 queries with each ProbLog program:" + "\n  java -jar born.jar " + COMMAND
+			+ " --batch=10 ontologies/ networks/ 100 127 results/" + "\n"
+			+ "\n Execution loading only one ontology at a time:" + "\n  java -jar born.jar " + COMMAND
+			+ " --loaded=1 ontologies/ networks/ 10 127 results/" + "\n"
+			+ "\n Execution with the native inference engine:" + "\n  java -jar born.jar " + COMMAND
+			+ " --native ontologies/ networks/ 10 127 results/" + "\n"
+			+ "\n Execution resuming an interrupted execution:" + "\n  java -jar born.jar " + COMMAND
+			+ " --resume ontologies/ networks/ 10 127 results/" + "\n"
+			+ "\n Execution without snapshots:" + "\n  java -jar born.jar " + COMMAND
+			+ " --no-snapshot ontologies/ networks/ 10 127 results/" + "\n"
+			+ "\n Execution with the snapshots in another directory:" + "\n  java -jar born.jar " + COMMAND
+			+ " --snapshot-dir=snapshots/ ontologies/ networks/ 10 127 results/" + "\n"
+			+ "\n Execution with goal-directed modules:" + "\n  java -jar born.jar " + COMMAND
+			+ " --goal-directed ontologies/ networks/ 10 127 results/" + "\n"
 			+ "\nNote: this program requires an Internet connection to install ProbLog." + "\n" //
 			+ "\n";
 
@@ -44,11 +82,52 @@ public class MultiProcessorSubApp implements SubApp {
 	public MultiProcessorSubApp() {
 	}
 
+	int getNumberOfOptions(String[] args) {
+		int ret = 0;
+		while (ret < args.length && (args[ret].equals(LOGGING_OPTION) || isThreadsOption(args[ret])
+				|| isBatchOption(args[ret]) || isLoadedOption(args[ret]) || isCacheOption(args[ret])
+				|| args[ret].equals(NATIVE_OPTION) || args[ret].equals(RESUME_OPTION) || args[ret].equals(NO_SNAPSHOT_OPTION)
+				|| isSnapshotDirectoryOption(args[ret]) || args[ret].equals(GOAL_DIRECTED_OPTION))) {
+			ret++;
+		}
+		return ret;
+	}
+
+	boolean isPositiveNumberOption(String option, String arg) {
+		if (arg.startsWith(option)) {
+			try {
+				return Integer.parseInt(arg.substring(option.length())) > 0;
+			} catch (NumberFormatException e) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	boolean isThreadsOption(String arg) {
+		return isPositiveNumberOption(THREADS_OPTION, arg);
+	}
+
+	boolean isBatchOption(String arg) {
+		return isPositiveNumberOption(BATCH_OPTION, arg);
+	}
+
+	boolean isLoadedOption(String arg) {
+		return isPositiveNumberOption(LOADED_OPTION, arg);
+	}
+
+	boolean isCacheOption(String arg) {
+		return arg.startsWith(CACHE_OPTION) && arg.length() > CACHE_OPTION.length();
+	}
+
+	boolean isSnapshotDirectoryOption(String arg) {
+		return arg.startsWith(SNAPSHOT_DIRECTORY_OPTION) && arg.length() > SNAPSHOT_DIRECTORY_OPTION.length();
+	}
+
 	@Override
 	public boolean isValid(String[] args) {
 		Objects.requireNonNull(args);
-		return (((args.length == 5) && !args[0].equals(LOGGING_OPTION))
-				|| ((args.length == 6) && args[0].equals(LOGGING_OPTION)));
+		return (args.length - getNumberOfOptions(args)) == 5;
 	}
 
 	@Override
@@ -65,24 +144,46 @@ public class MultiProcessorSubApp implements SubApp {
 			MultiProcessorConfiguration conf = new MultiProcessorConfigurationImpl();
 
 			StringBuilder sb = new StringBuilder();
-			String[] newArgs = null;
-			if (args[0].equals(LOGGING_OPTION)) {
-				newArgs = new String[args.length - 1];
-				System.arraycopy(args, 1, newArgs, 0, args.length - 1);
-				conf.setShowingLog(true);
-			} else {
-				newArgs = new String[args.length];
-				System.arraycopy(args, 0, newArgs, 0, args.length);
-				conf.setShowingLog(false);
+			int numberOfOptions = getNumberOfOptions(args);
+			conf.setShowingLog(false);
+			boolean usingNativeEngine = false;
+			for (int index = 0; index < numberOfOptions; index++) {
+				if (args[index].equals(LOGGING_OPTION)) {
+					conf.setShowingLog(true);
+				} else if (args[index].equals(NATIVE_OPTION)) {
+					usingNativeEngine = true;
+				} else if (args[index].equals(RESUME_OPTION)) {
+					conf.setResuming(true);
+				} else if (args[index].equals(NO_SNAPSHOT_OPTION)) {
+					conf.setUsingSnapshots(false);
+				} else if (isSnapshotDirectoryOption(args[index])) {
+					conf.setSnapshotDirectory(args[index].substring(SNAPSHOT_DIRECTORY_OPTION.length()));
+				} else if (args[index].equals(GOAL_DIRECTED_OPTION)) {
+					conf.setGoalDirectedModules(true);
+				} else if (isCacheOption(args[index])) {
+					conf.setCacheFileName(args[index].substring(CACHE_OPTION.length()));
+				} else if (isBatchOption(args[index])) {
+					conf.setBatchSize(Integer.parseInt(args[index].substring(BATCH_OPTION.length())));
+				} else if (isLoadedOption(args[index])) {
+					conf.setMaxLoadedOntologies(Integer.parseInt(args[index].substring(LOADED_OPTION.length())));
+				} else {
+					conf.setNumberOfThreads(Integer.parseInt(args[index].substring(THREADS_OPTION.length())));
+				}
 			}
+			String[] newArgs = new String[args.length - numberOfOptions];
+			System.arraycopy(args, numberOfOptions, newArgs, 0, newArgs.length);
 
 			conf.setOntologyList(MultiProcessorCore.getOntologyAndNetworkList(newArgs[0], newArgs[1]));
 			conf.setNumberOfQueries(Integer.parseInt(newArgs[2]));
 			conf.setSeed(Integer.parseInt(newArgs[3]));
 			conf.setOutputDirectory(newArgs[4]);
 
-			JProblog queryProcessor = new JProblog();
-			conf.setQueryProcessor(queryProcessor);
+			if (usingNativeEngine) {
+				// the native inference engine is thread-safe and its cache is shared
+				conf.setInferenceEngine(new NativeInferenceEngine(new CompiledProgramCache()));
+			} else {
+				conf.setQueryProcessorSupplier(JProblog::new);
+			}
 
 			MultiProcessorCore core = new MultiProcessorCore();
 			List<String> coreResult = core.run(conf, start);
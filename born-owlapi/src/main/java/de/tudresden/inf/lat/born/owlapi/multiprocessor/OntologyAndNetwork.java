@@ -1,13 +1,29 @@
 package de.tudresden.inf.lat.born.owlapi.multiprocessor;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.util.Objects;
+import java.util.Optional;
 
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import de.tudresden.inf.lat.born.owlapi.processor.ProblogInputCreator;
+import de.tudresden.inf.lat.born.owlapi.processor.ProcessorConfigurationImpl;
+import de.tudresden.inf.lat.born.problog.type.BayesianNetwork;
 
 /**
  * An object of this class is a tuple containing an ontology name, an OWL
  * ontology, and a Bayesian network. The ontology name can be a file name, but
- * that is not mandatory.
+ * that is not mandatory. If the tuple is created from files, the OWL ontology
+ * and the Bayesian network are read when they are requested for the first
+ * time, and they can be released with {@link #release()}, so that only the
+ * tuples in use are kept in memory.
  * 
  * @author Julian Mendez
  *
@@ -15,8 +31,12 @@ import org.semanticweb.owlapi.model.OWLOntology;
 public class OntologyAndNetwork {
 
 	private final String ontologyName;
-	private final OWLOntology owlOntology;
-	private final String bayesianNetwork;
+	private final Optional<File> ontologyFile;
+	private final Optional<File> bayesianNetworkFile;
+	private Optional<OWLOntology> owlOntology;
+	private Optional<String> bayesianNetwork;
+	private Optional<BayesianNetwork> parsedBayesianNetwork = Optional.empty();
+	private boolean isBayesianNetworkParsed = false;
 
 	/**
 	 * Constructs a new ontology and Bayesian network object with an empty
@@ -39,9 +59,7 @@ public class OntologyAndNetwork {
 	 *            Bayesian network in ProbLog syntax
 	 */
 	public OntologyAndNetwork(OWLOntology owlOntology, String bayesianNetwork) {
-		this.owlOntology = Objects.requireNonNull(owlOntology);
-		this.ontologyName = owlOntology.getOntologyID().toString();
-		this.bayesianNetwork = Objects.requireNonNull(bayesianNetwork);
+		this(owlOntology.getOntologyID().toString(), owlOntology, bayesianNetwork);
 	}
 
 	/**
@@ -56,8 +74,31 @@ public class OntologyAndNetwork {
 	 */
 	public OntologyAndNetwork(String ontologyName, OWLOntology owlOntology, String bayesianNetwork) {
 		this.ontologyName = Objects.requireNonNull(ontologyName);
-		this.owlOntology = Objects.requireNonNull(owlOntology);
-		this.bayesianNetwork = Objects.requireNonNull(bayesianNetwork);
+		this.owlOntology = Optional.of(owlOntology);
+		this.bayesianNetwork = Optional.of(bayesianNetwork);
+		this.ontologyFile = Optional.empty();
+		this.bayesianNetworkFile = Optional.empty();
+	}
+
+	/**
+	 * Constructs a new ontology and Bayesian network object, whose OWL
+	 * ontology and Bayesian network are read from the given files when they
+	 * are requested. If the Bayesian network file does not exist, the Bayesian
+	 * network is empty.
+	 * 
+	 * @param ontologyName
+	 *            ontology name
+	 * @param ontologyFile
+	 *            OWL ontology file
+	 * @param bayesianNetworkFile
+	 *            Bayesian network file
+	 */
+	public OntologyAndNetwork(String ontologyName, File ontologyFile, File bayesianNetworkFile) {
+		this.ontologyName = Objects.requireNonNull(ontologyName);
+		this.ontologyFile = Optional.of(ontologyFile);
+		this.bayesianNetworkFile = Optional.of(bayesianNetworkFile);
+		this.owlOntology = Optional.empty();
+		this.bayesianNetwork = Optional.empty();
 	}
 
 	/**
@@ -70,27 +111,103 @@ public class OntologyAndNetwork {
 	}
 
 	/**
-	 * Returns the OWL ontology.
+	 * Returns the OWL ontology. If the ontology is not loaded, it is read from
+	 * its file.
 	 * 
 	 * @return the OWL ontology
 	 */
-	public OWLOntology getOntology() {
-		return this.owlOntology;
+	public synchronized OWLOntology getOntology() {
+		if (!this.owlOntology.isPresent()) {
+			try (InputStream input = new FileInputStream(this.ontologyFile.get())) {
+				this.owlOntology = Optional.of(ProcessorConfigurationImpl.readOntology(input));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			} catch (OWLOntologyCreationException e) {
+				throw new RuntimeException(e);
+			}
+		}
+		return this.owlOntology.get();
 	}
 
 	/**
-	 * Returns the Bayesian network.
+	 * Returns the file from which the OWL ontology is read, if it is known.
+	 * 
+	 * @return the file from which the OWL ontology is read, if it is known
+	 */
+	public Optional<File> getOntologyFile() {
+		return this.ontologyFile;
+	}
+
+	/**
+	 * Returns the Bayesian network. If the Bayesian network is not loaded, it
+	 * is read from its file.
 	 * 
 	 * @return the Bayesian network
 	 */
-	public String getBayesianNetwork() {
-		return this.bayesianNetwork;
+	public synchronized String getBayesianNetwork() {
+		if (!this.bayesianNetwork.isPresent()) {
+			String content = "";
+			if (this.bayesianNetworkFile.get().exists()) {
+				try (Reader reader = new FileReader(this.bayesianNetworkFile.get())) {
+					content = ProcessorConfigurationImpl.read(reader);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+			this.bayesianNetwork = Optional.of(content);
+		}
+		return this.bayesianNetwork.get();
+	}
+
+	/**
+	 * Returns the Bayesian network parsed, or an empty optional if it cannot
+	 * be parsed. The Bayesian network is parsed only once, so that the result
+	 * is shared by all the queries of the ontology.
+	 * 
+	 * @return the Bayesian network parsed, or an empty optional if it cannot
+	 *         be parsed
+	 */
+	public synchronized Optional<BayesianNetwork> getParsedBayesianNetwork() {
+		if (!this.isBayesianNetworkParsed) {
+			this.parsedBayesianNetwork = (new ProblogInputCreator()).parseBayesianNetwork(getBayesianNetwork());
+			this.isBayesianNetworkParsed = true;
+		}
+		return this.parsedBayesianNetwork;
+	}
+
+	/**
+	 * Tells whether the OWL ontology and the Bayesian network are read from
+	 * files.
+	 * 
+	 * @return <code>true</code> if and only if the OWL ontology and the
+	 *         Bayesian network are read from files
+	 */
+	public boolean isReadFromFiles() {
+		return this.ontologyFile.isPresent() && this.bayesianNetworkFile.isPresent();
+	}
+
+	/**
+	 * Releases the OWL ontology and the Bayesian network, if they are read
+	 * from files. They are read again if they are requested afterwards.
+	 */
+	public synchronized void release() {
+		if (isReadFromFiles()) {
+			this.owlOntology = Optional.empty();
+			this.bayesianNetwork = Optional.empty();
+			this.parsedBayesianNetwork = Optional.empty();
+			this.isBayesianNetworkParsed = false;
+		}
 	}
 
 	@Override
 	public int hashCode() {
-		return this.ontologyName.hashCode()
-				+ 0x1F * (this.owlOntology.hashCode() + 0x1F * this.bayesianNetwork.hashCode());
+		if (isReadFromFiles()) {
+			return this.ontologyName.hashCode() + 0x1F
+					* (this.ontologyFile.hashCode() + 0x1F * this.bayesianNetworkFile.hashCode());
+		} else {
+			return this.ontologyName.hashCode()
+					+ 0x1F * (getOntology().hashCode() + 0x1F * getBayesianNetwork().hashCode());
+		}
 	}
 
 	@Override
@@ -99,8 +216,14 @@ public class OntologyAndNetwork {
 			return true;
 		} else if (obj instanceof OntologyAndNetwork) {
 			OntologyAndNetwork other = (OntologyAndNetwork) obj;
-			return getOntologyName().equals(other.getOntologyName()) && getOntology().equals(other.getOntology())
-					&& getBayesianNetwork().equals(other.getBayesianNetwork());
+			if (isReadFromFiles() || other.isReadFromFiles()) {
+				return getOntologyName().equals(other.getOntologyName())
+						&& this.ontologyFile.equals(other.ontologyFile)
+						&& this.bayesianNetworkFile.equals(other.bayesianNetworkFile);
+			} else {
+				return getOntologyName().equals(other.getOntologyName()) && getOntology().equals(other.getOntology())
+						&& getBayesianNetwork().equals(other.getBayesianNetwork());
+			}
 		} else {
 			return false;
 		}
@@ -108,7 +231,11 @@ public class OntologyAndNetwork {
 
 	@Override
 	public String toString() {
-		return getOntologyName() + ":\n" + getBayesianNetwork() + "\n\n" + getOntology();
+		if (isReadFromFiles()) {
+			return getOntologyName() + ":\n" + this.ontologyFile.get() + "\n" + this.bayesianNetworkFile.get();
+		} else {
+			return getOntologyName() + ":\n" + getBayesianNetwork() + "\n\n" + getOntology();
+		}
 	}
 
 }
@@ -1,11 +1,16 @@
 package de.tudresden.inf.lat.born.owlapi.processor;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 
 import de.tudresden.inf.lat.born.core.rule.FormulaConstructor;
 import de.tudresden.inf.lat.born.core.term.*;
@@ -16,6 +21,7 @@ import de.tudresden.inf.lat.jcel.coreontology.axiom.GCI2Axiom;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.GCI3Axiom;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.NominalAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomVisitor;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.RI1Axiom;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.RI2Axiom;
@@ -25,7 +31,19 @@ import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
 import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
 
 /**
- * An object of this class renders a normalized integer axiom.
+ * An object of this class renders a normalized integer axiom. The terms of
+ * the entities are created only once by the formula constructor, and they are
+ * reused in all the clauses rendered by the same renderer. If the renderer has
+ * an entity symbol table, the entities are rendered with their compact
+ * symbols instead of their quoted names.
+ * <p>
+ * Role inclusions and compositions of roles are rendered as
+ * <code>ri</code> axioms. If the renderer has a role hierarchy, the role
+ * inclusions of its deterministic part are not rendered. Instead, the roles
+ * on the right-hand side of the axioms are replaced by each of their super
+ * roles, so that the completion rules only need to process the annotated
+ * role inclusions and the compositions of roles.
+ * </p>
  * 
  * @author Julian Mendez
  *
@@ -37,6 +55,10 @@ public class AxiomRenderer implements NormalizedIntegerAxiomVisitor<Set<Clause>>
 	public static final char BACKSLASH = '\\';
 
 	private final IntegerOntologyObjectFactory factory;
+	private final FormulaConstructor formulaConstructor;
+	private final Optional<EntitySymbolTable> symbolTable;
+	private final RoleHierarchy roleHierarchy;
+	private final Map<Integer, Term> entityTerms = new HashMap<>();
 
 	/**
 	 * Constructs an new axiom renderer.
@@ -45,7 +67,55 @@ public class AxiomRenderer implements NormalizedIntegerAxiomVisitor<Set<Clause>>
 	 *            ontology factory
 	 */
 	public AxiomRenderer(IntegerOntologyObjectFactory factory) {
+		this(factory, new FormulaConstructor());
+	}
+
+	/**
+	 * Constructs an new axiom renderer that creates the terms with the given
+	 * formula constructor.
+	 * 
+	 * @param factory
+	 *            ontology factory
+	 * @param formulaConstructor
+	 *            formula constructor
+	 */
+	public AxiomRenderer(IntegerOntologyObjectFactory factory, FormulaConstructor formulaConstructor) {
+		this(factory, formulaConstructor, Optional.empty(), new RoleHierarchy());
+	}
+
+	/**
+	 * Constructs an new axiom renderer that renders the entities with their
+	 * compact symbols.
+	 * 
+	 * @param factory
+	 *            ontology factory
+	 * @param symbolTable
+	 *            symbol table of the entities of the ontology factory
+	 */
+	public AxiomRenderer(IntegerOntologyObjectFactory factory, EntitySymbolTable symbolTable) {
+		this(factory, new FormulaConstructor(), Optional.of(symbolTable), new RoleHierarchy());
+	}
+
+	/**
+	 * Constructs an new axiom renderer.
+	 * 
+	 * @param factory
+	 *            ontology factory
+	 * @param formulaConstructor
+	 *            formula constructor
+	 * @param symbolTable
+	 *            symbol table of the entities of the ontology factory, if the
+	 *            entities are rendered with their compact symbols
+	 * @param roleHierarchy
+	 *            deterministic part of the role hierarchy of the rendered
+	 *            axioms
+	 */
+	public AxiomRenderer(IntegerOntologyObjectFactory factory, FormulaConstructor formulaConstructor,
+			Optional<EntitySymbolTable> symbolTable, RoleHierarchy roleHierarchy) {
 		this.factory = Objects.requireNonNull(factory);
+		this.formulaConstructor = Objects.requireNonNull(formulaConstructor);
+		this.symbolTable = Objects.requireNonNull(symbolTable);
+		this.roleHierarchy = Objects.requireNonNull(roleHierarchy);
 	}
 
 	String removeDoubleBackslash(String str) {
@@ -104,30 +174,69 @@ public class AxiomRenderer implements NormalizedIntegerAxiomVisitor<Set<Clause>>
 		return result;
 	}
 
-	Term get(int identifier) {
-		Term result = new TermImpl();
-		FormulaConstructor c = new FormulaConstructor();
+	Term getNamed(int identifier) {
+		FormulaConstructor c = this.formulaConstructor;
 		if (identifier == IntegerEntityManager.topClassId) {
-			result = c.top();
+			return c.top();
 		} else {
 			String name = this.factory.getEntityManager().getName(identifier).trim();
-			result = c.newCons(APOSTROPHE + name + APOSTROPHE);
+			return c.newCons(APOSTROPHE + name + APOSTROPHE);
+		}
+	}
+
+	Term get(int identifier) {
+		Term result = this.entityTerms.get(identifier);
+		if (Objects.isNull(result)) {
+			if (this.symbolTable.isPresent()) {
+				result = this.formulaConstructor.newCons(this.symbolTable.get().getSymbol(identifier));
+			} else {
+				result = getNamed(identifier);
+			}
+			this.entityTerms.put(identifier, result);
 		}
 
 		return result;
 	}
 
+	/**
+	 * Returns the variable of the Bayesian network given by an annotation, as
+	 * it is rendered in the body of the clause of an annotated axiom.
+	 * 
+	 * @param annotation
+	 *            annotation
+	 * @return the variable of the Bayesian network given by an annotation
+	 */
+	public String getContextVariable(IntegerAnnotation annotation) {
+		Objects.requireNonNull(annotation);
+		return removeApostrophes(getValue(getNamed(annotation.getAnnotationValue()).asString()));
+	}
+
+	/**
+	 * Returns the variables of the Bayesian network given by the annotations
+	 * of the given axioms.
+	 * 
+	 * @param axioms
+	 *            axioms
+	 * @return the variables of the Bayesian network given by the annotations
+	 *         of the given axioms
+	 */
+	public Set<String> getContextVariables(Collection<NormalizedIntegerAxiom> axioms) {
+		Objects.requireNonNull(axioms);
+		Set<String> ret = new TreeSet<>();
+		axioms.forEach(axiom -> axiom.getAnnotations().forEach(annotation -> ret.add(getContextVariable(annotation))));
+		return ret;
+	}
+
 	Clause ax(Term str, Set<IntegerAnnotation> annotations) {
 		Clause result = new ClauseImpl();
-		FormulaConstructor c = new FormulaConstructor();
+		FormulaConstructor c = this.formulaConstructor;
 		if (annotations.isEmpty()) {
 			List<Term> emptyList = Collections.emptyList();
 			result = c.rule(str, emptyList);
 
 		} else if (annotations.size() == 1) {
 			IntegerAnnotation annotation = annotations.iterator().next();
-			String value = removeApostrophes(getValue(get(annotation.getAnnotationValue()).asString()));
-			Term newCons = c.newCons(value);
+			Term newCons = c.newCons(getContextVariable(annotation));
 			List<Term> preconditions = new ArrayList<>();
 			preconditions.add(newCons);
 			result = c.rule(str, preconditions);
@@ -149,7 +258,7 @@ public class AxiomRenderer implements NormalizedIntegerAxiomVisitor<Set<Clause>>
 	 */
 	public Clause renderDeclarationOfClass(Integer classId) {
 		Objects.requireNonNull(classId);
-		FormulaConstructor c = new FormulaConstructor();
+		FormulaConstructor c = this.formulaConstructor;
 		Term a = get(classId);
 		Set<IntegerAnnotation> emptySet = Collections.emptySet();
 		Clause result = ax(c.con(a), emptySet);
@@ -166,7 +275,7 @@ public class AxiomRenderer implements NormalizedIntegerAxiomVisitor<Set<Clause>>
 	 */
 	public Clause renderDeclarationOfObjectProperty(Integer objectPropertyId) {
 		Objects.requireNonNull(objectPropertyId);
-		FormulaConstructor c = new FormulaConstructor();
+		FormulaConstructor c = this.formulaConstructor;
 		Term a = get(objectPropertyId);
 		Set<IntegerAnnotation> emptySet = Collections.emptySet();
 		Clause result = ax(c.role(a), emptySet);
@@ -183,7 +292,7 @@ public class AxiomRenderer implements NormalizedIntegerAxiomVisitor<Set<Clause>>
 	 */
 	public Clause renderDeclarationOfIndividual(Integer individualId) {
 		Objects.requireNonNull(individualId);
-		FormulaConstructor c = new FormulaConstructor();
+		FormulaConstructor c = this.formulaConstructor;
 		Term a = get(individualId);
 		Set<IntegerAnnotation> emptySet = Collections.emptySet();
 		Clause result = ax(c.indiv(a), emptySet);
@@ -200,7 +309,7 @@ public class AxiomRenderer implements NormalizedIntegerAxiomVisitor<Set<Clause>>
 	@Override
 	public Set<Clause> visit(GCI0Axiom axiom) {
 		Objects.requireNonNull(axiom);
-		FormulaConstructor c = new FormulaConstructor();
+		FormulaConstructor c = this.formulaConstructor;
 		Term a = get(axiom.getSubClass());
 		Term b = get(axiom.getSuperClass());
 
@@ -210,7 +319,7 @@ public class AxiomRenderer implements NormalizedIntegerAxiomVisitor<Set<Clause>>
 	@Override
 	public Set<Clause> visit(GCI1Axiom axiom) {
 		Objects.requireNonNull(axiom);
-		FormulaConstructor c = new FormulaConstructor();
+		FormulaConstructor c = this.formulaConstructor;
 		Term a1 = get(axiom.getLeftSubClass());
 		Term a2 = get(axiom.getRightSubClass());
 		Term b = get(axiom.getSuperClass());
@@ -221,18 +330,20 @@ public class AxiomRenderer implements NormalizedIntegerAxiomVisitor<Set<Clause>>
 	@Override
 	public Set<Clause> visit(GCI2Axiom axiom) {
 		Objects.requireNonNull(axiom);
-		FormulaConstructor c = new FormulaConstructor();
+		FormulaConstructor c = this.formulaConstructor;
 		Term a = get(axiom.getSubClass());
-		Term r = get(axiom.getPropertyInSuperClass());
 		Term b = get(axiom.getClassInSuperClass());
 
-		return Collections.singleton(ax(c.gci(a, c.exists(r, b)), axiom.getAnnotations()));
+		Set<Clause> ret = new HashSet<>();
+		this.roleHierarchy.getSuperRoles(axiom.getPropertyInSuperClass())
+				.forEach(r -> ret.add(ax(c.gci(a, c.exists(get(r), b)), axiom.getAnnotations())));
+		return ret;
 	}
 
 	@Override
 	public Set<Clause> visit(GCI3Axiom axiom) {
 		Objects.requireNonNull(axiom);
-		FormulaConstructor c = new FormulaConstructor();
+		FormulaConstructor c = this.formulaConstructor;
 		Term r = get(axiom.getPropertyInSubClass());
 		Term a = get(axiom.getClassInSubClass());
 		Term b = get(axiom.getSuperClass());
@@ -244,7 +355,7 @@ public class AxiomRenderer implements NormalizedIntegerAxiomVisitor<Set<Clause>>
 	public Set<Clause> visit(NominalAxiom axiom) {
 		Objects.requireNonNull(axiom);
 		Set<Clause> ret = new HashSet<>();
-		FormulaConstructor c = new FormulaConstructor();
+		FormulaConstructor c = this.formulaConstructor;
 		Term i = get(axiom.getIndividual());
 		Term a = get(axiom.getClassExpression());
 
@@ -259,22 +370,40 @@ public class AxiomRenderer implements NormalizedIntegerAxiomVisitor<Set<Clause>>
 		throw new UnsupportedOperationException();
 	}
 
+	Set<Clause> renderRoleInclusion(Term subRole, int superRole, Set<IntegerAnnotation> annotations) {
+		FormulaConstructor c = this.formulaConstructor;
+		Set<Clause> ret = new HashSet<>();
+		this.roleHierarchy.getSuperRoles(superRole).forEach(s -> ret.add(ax(c.ri(subRole, get(s)), annotations)));
+		return ret;
+	}
+
 	@Override
 	public Set<Clause> visit(RI1Axiom axiom) {
 		Objects.requireNonNull(axiom);
-		throw new UnsupportedOperationException();
+		FormulaConstructor c = this.formulaConstructor;
+
+		return renderRoleInclusion(c.chain(), axiom.getSuperProperty(), axiom.getAnnotations());
 	}
 
 	@Override
 	public Set<Clause> visit(RI2Axiom axiom) {
 		Objects.requireNonNull(axiom);
-		throw new UnsupportedOperationException();
+		if (this.roleHierarchy.contains(axiom)) {
+			return Collections.emptySet();
+		} else {
+			return renderRoleInclusion(get(axiom.getSubProperty()), axiom.getSuperProperty(),
+					axiom.getAnnotations());
+		}
 	}
 
 	@Override
 	public Set<Clause> visit(RI3Axiom axiom) {
 		Objects.requireNonNull(axiom);
-		throw new UnsupportedOperationException();
+		FormulaConstructor c = this.formulaConstructor;
+		Term r1 = get(axiom.getLeftSubProperty());
+		Term r2 = get(axiom.getRightSubProperty());
+
+		return renderRoleInclusion(c.chain(r1, r2), axiom.getSuperProperty(), axiom.getAnnotations());
 	}
 
 }
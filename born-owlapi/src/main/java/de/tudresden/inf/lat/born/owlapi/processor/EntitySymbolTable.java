@@ -0,0 +1,201 @@
+package de.tudresden.inf.lat.born.owlapi.processor;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+import de.tudresden.inf.lat.born.core.rule.FormulaConstructor;
+import de.tudresden.inf.lat.born.core.term.Symbol;
+import de.tudresden.inf.lat.born.problog.parser.SourceToken;
+import de.tudresden.inf.lat.born.problog.parser.TokenCreator;
+import de.tudresden.inf.lat.born.problog.parser.TokenType;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+
+/**
+ * An object of this class is a symbol table that gives a compact symbol to
+ * each entity of an ontology. The compact symbol of an entity is
+ * {@value #SYMBOL_PREFIX} followed by its identifier, for example
+ * <code>ent123</code>, except for the top class, whose symbol is
+ * {@value FormulaConstructor#TOP}. ProbLog programs that use compact symbols
+ * instead of the quoted names of the entities are much shorter for ontologies
+ * with long IRIs, and they are faster to write and to parse.
+ * <p>
+ * The symbol table translates the names of entities in a text, like a query,
+ * to compact symbols, and the compact symbols in a text, like the result of a
+ * query, back to the names of the entities. The names and the symbols are
+ * taken from the entity manager when the table is created.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class EntitySymbolTable {
+
+	/** Prefix of the compact symbols. */
+	public static final String SYMBOL_PREFIX = "ent";
+
+	private final Map<String, Integer> identifiers = new HashMap<>();
+	private final Map<Integer, String> names = new HashMap<>();
+
+	/**
+	 * Constructs a new symbol table for the entities of the given entity
+	 * manager.
+	 *
+	 * @param entityManager
+	 *            entity manager
+	 */
+	public EntitySymbolTable(IntegerEntityManager entityManager) {
+		Objects.requireNonNull(entityManager);
+		for (IntegerEntityType type : IntegerEntityType.values()) {
+			entityManager.getEntities(type, false).forEach(id -> {
+				String name = entityManager.getName(id).trim();
+				this.identifiers.put(name, id);
+				this.names.put(id, name);
+			});
+			entityManager.getEntities(type, true).forEach(id -> this.names.put(id, entityManager.getName(id).trim()));
+		}
+	}
+
+	/**
+	 * Returns the compact symbol of the entity with the given identifier.
+	 *
+	 * @param identifier
+	 *            identifier of an entity
+	 * @return the compact symbol of the entity with the given identifier
+	 */
+	public String getSymbol(int identifier) {
+		if (identifier == IntegerEntityManager.topClassId) {
+			return FormulaConstructor.TOP;
+		} else {
+			return SYMBOL_PREFIX + identifier;
+		}
+	}
+
+	/**
+	 * Returns the identifier of the entity with the given compact symbol, if
+	 * the symbol belongs to an entity of this table.
+	 *
+	 * @param symbol
+	 *            compact symbol
+	 * @return the identifier of the entity with the given compact symbol, if
+	 *         the symbol belongs to an entity of this table
+	 */
+	public Optional<Integer> getIdentifier(String symbol) {
+		Objects.requireNonNull(symbol);
+		if (symbol.length() > SYMBOL_PREFIX.length() && symbol.startsWith(SYMBOL_PREFIX)) {
+			for (int index = SYMBOL_PREFIX.length(); index < symbol.length(); index++) {
+				if (!Character.isDigit(symbol.charAt(index))) {
+					return Optional.empty();
+				}
+			}
+			try {
+				Integer identifier = Integer.parseInt(symbol.substring(SYMBOL_PREFIX.length()));
+				return this.names.containsKey(identifier) ? Optional.of(identifier) : Optional.empty();
+			} catch (NumberFormatException e) {
+				return Optional.empty();
+			}
+		} else {
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Tells whether the given string is the compact symbol of an entity of
+	 * this table.
+	 *
+	 * @param symbol
+	 *            string
+	 * @return <code>true</code> if and only if the given string is the compact
+	 *         symbol of an entity of this table
+	 */
+	public boolean isSymbol(String symbol) {
+		return getIdentifier(symbol).isPresent();
+	}
+
+	/**
+	 * Returns the name of the entity with the given identifier, if the entity
+	 * belongs to this table.
+	 *
+	 * @param identifier
+	 *            identifier of an entity
+	 * @return the name of the entity with the given identifier, if the entity
+	 *         belongs to this table
+	 */
+	public Optional<String> getName(int identifier) {
+		return Optional.ofNullable(this.names.get(identifier));
+	}
+
+	String removeApostrophes(String value) {
+		if (value.length() > 1 && value.charAt(0) == Symbol.APOSTROPHE_CHAR
+				&& value.charAt(value.length() - 1) == Symbol.APOSTROPHE_CHAR) {
+			return value.substring(1, value.length() - 1);
+		} else {
+			return value;
+		}
+	}
+
+	String replaceTokens(String text, Function<String, Optional<String>> replacement) {
+		StringBuilder sb = new StringBuilder();
+		int last = 0;
+		Iterator<SourceToken> it = (new TokenCreator()).iterator(text);
+		while (it.hasNext()) {
+			SourceToken token = it.next();
+			if (token.getType().equals(TokenType.CONSTANT) || token.getType().equals(TokenType.IDENTIFIER)) {
+				Optional<String> newValue = replacement.apply(token.getValue());
+				if (newValue.isPresent()) {
+					sb.append(text, last, token.getStart());
+					sb.append(newValue.get());
+					last = token.getEnd();
+				}
+			}
+		}
+		sb.append(text, last, text.length());
+		return sb.toString();
+	}
+
+	/**
+	 * Returns the given text, where each quoted name of an entity is replaced
+	 * by its compact symbol. Other tokens, like variables and the names that
+	 * do not belong to entities, are kept.
+	 *
+	 * @param text
+	 *            text, e.g. a query or a completion rule
+	 * @return the given text, where each quoted name of an entity is replaced
+	 *         by its compact symbol
+	 */
+	public String encode(String text) {
+		Objects.requireNonNull(text);
+		return replaceTokens(text, value -> {
+			String name = removeApostrophes(value);
+			Integer identifier = name.length() < value.length() ? this.identifiers.get(name) : null;
+			return Objects.isNull(identifier) ? Optional.empty() : Optional.of(getSymbol(identifier));
+		});
+	}
+
+	/**
+	 * Returns the given text, where each compact symbol of an entity is
+	 * replaced by the quoted name of the entity.
+	 *
+	 * @param text
+	 *            text, e.g. the result of a query or an explanation
+	 * @return the given text, where each compact symbol of an entity is
+	 *         replaced by the quoted name of the entity
+	 */
+	public String decode(String text) {
+		Objects.requireNonNull(text);
+		if (!text.contains(SYMBOL_PREFIX)) {
+			return text;
+		}
+		return replaceTokens(text, value -> getIdentifier(value)
+				.map(identifier -> Symbol.APOSTROPHE_CHAR + this.names.get(identifier) + Symbol.APOSTROPHE_CHAR));
+	}
+
+	@Override
+	public String toString() {
+		return this.identifiers.size() + " named entities, " + this.names.size() + " entities";
+	}
+
+}
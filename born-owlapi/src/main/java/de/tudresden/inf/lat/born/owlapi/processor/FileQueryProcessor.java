@@ -0,0 +1,65 @@
+package de.tudresden.inf.lat.born.owlapi.processor;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.function.Function;
+
+/**
+ * An object implementing this interface is a query processor that reads the
+ * ProbLog program from a file. When the processor uses a query processor of
+ * this kind, the ProbLog program is written directly to a file, and it is not
+ * kept in memory as a string.
+ *
+ * @author Julian Mendez
+ *
+ */
+public interface FileQueryProcessor extends Function<String, String> {
+
+	/** Prefix of the temporary files containing ProbLog programs. */
+	String TEMPORARY_FILE_PREFIX = "born";
+
+	/** Suffix of the temporary files containing ProbLog programs. */
+	String TEMPORARY_FILE_SUFFIX = ".pl";
+
+	/**
+	 * Returns the result of processing the ProbLog program stored in the given
+	 * file.
+	 *
+	 * @param programFile
+	 *            file containing a ProbLog program
+	 * @return the result of processing the ProbLog program stored in the given
+	 *         file
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	String applyToFile(File programFile) throws IOException;
+
+	/**
+	 * Returns the result of processing the given ProbLog program. The program
+	 * is written to a temporary file, which is processed and then deleted.
+	 *
+	 * @param program
+	 *            ProbLog program
+	 * @return the result of processing the given ProbLog program
+	 */
+	@Override
+	default String apply(String program) {
+		try {
+			File programFile = File.createTempFile(TEMPORARY_FILE_PREFIX, TEMPORARY_FILE_SUFFIX);
+			try {
+				try (Writer writer = new FileWriter(programFile)) {
+					writer.write(program);
+				}
+				return applyToFile(programFile);
+			} finally {
+				programFile.delete();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
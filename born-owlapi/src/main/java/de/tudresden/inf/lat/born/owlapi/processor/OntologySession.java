@@ -0,0 +1,669 @@
+package de.tudresden.inf.lat.born.owlapi.processor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+import de.tudresden.inf.lat.born.core.rule.FormulaConstructor;
+import de.tudresden.inf.lat.born.core.term.TermFactory;
+import de.tudresden.inf.lat.born.module.DefaultModuleExtractor;
+import de.tudresden.inf.lat.born.module.ModuleIndex;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NominalAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
+import de.tudresden.inf.lat.jcel.ontology.normalization.OntologyNormalizer;
+import de.tudresden.inf.lat.jcel.owlapi.translator.Translator;
+import de.tudresden.inf.lat.util.map.OptMap;
+import de.tudresden.inf.lat.util.map.OptMapImpl;
+
+/**
+ * An object of this class is an ontology session, i.e. an OWL ontology that
+ * has been translated and normalized once, and that can be used to answer many
+ * queries. The session is not modified after its construction, and therefore
+ * it can be shared by several processors. A new session for a modified
+ * ontology can be created with {@link #update(Collection, Collection)}. The
+ * ontology is translated and normalized as a whole, but the sessions created by
+ * an update translate and normalize each OWL axiom separately, and keep the
+ * normalized axioms obtained from each OWL axiom. This way, further updates
+ * only translate and normalize the added axioms. Updates of sessions created
+ * from the same session must not be executed concurrently, since they share
+ * the ontology object factory.
+ * <p>
+ * A session restored from an {@link OntologySnapshot} does not need the OWL
+ * ontology to answer queries. Its OWL ontology is only loaded when it is
+ * requested with {@link #getOntology()}, and, until then, the number of OWL
+ * axioms, the prefixes, and the classes are the ones stored in the snapshot.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class OntologySession {
+
+	private static final Logger logger = Logger.getLogger(OntologySession.class.getName());
+
+	/**
+	 * An object of this class keeps the result of translating and normalizing
+	 * one OWL axiom.
+	 */
+	static class TranslatedAxiom {
+
+		final int size;
+		final Set<NormalizedIntegerAxiom> normalizedAxioms;
+
+		TranslatedAxiom(int size, Set<NormalizedIntegerAxiom> normalizedAxioms) {
+			this.size = size;
+			this.normalizedAxioms = normalizedAxioms;
+		}
+
+	}
+
+	private final Supplier<OWLOntology> ontologyLoader;
+	private Optional<OWLOntology> owlOntology;
+	private final Map<String, String> prefixes;
+	private final int owlAxiomCount;
+	private final List<String> classNames;
+	private final IntegerOntologyObjectFactory factory;
+	private final Optional<Translator> translator;
+	private final Set<OWLAxiom> owlAxioms;
+	private final Optional<Map<OWLAxiom, TranslatedAxiom>> translatedAxioms;
+	private final Map<NormalizedIntegerAxiom, Integer> referenceCounts;
+	private final Set<NormalizedIntegerAxiom> normalizedAxioms;
+	private final Set<NormalizedIntegerAxiom> addedNormalizedAxioms;
+	private final Set<NormalizedIntegerAxiom> removedNormalizedAxioms;
+	private final ModuleIndex moduleIndex;
+	private final OptMap<String, Integer> identifiers;
+	private EntitySymbolTable entitySymbolTable;
+	private final TermFactory termFactory;
+	private final int ontologySize;
+	private final long translationTime;
+	private final long normalizationTime;
+
+	/**
+	 * Constructs a new ontology session. This translates and normalizes the
+	 * given OWL ontology.
+	 *
+	 * @param owlOntology
+	 *            OWL ontology
+	 */
+	public OntologySession(OWLOntology owlOntology) {
+		Objects.requireNonNull(owlOntology);
+		this.ontologyLoader = () -> owlOntology;
+		this.owlOntology = Optional.of(owlOntology);
+		this.prefixes = Collections.emptyMap();
+		this.owlAxiomCount = 0;
+		this.classNames = Collections.emptyList();
+		this.factory = new IntegerOntologyObjectFactoryImpl();
+		this.translator = Optional
+				.of(new Translator(owlOntology.getOWLOntologyManager().getOWLDataFactory(), this.factory));
+		this.owlAxioms = Collections.unmodifiableSet(owlOntology.getAxioms());
+		this.translatedAxioms = Optional.empty();
+		this.referenceCounts = new HashMap<>();
+
+		long translationStart = System.nanoTime();
+		logger.fine("OWL Axioms: " + this.owlAxioms);
+		Set<ComplexIntegerAxiom> axioms = this.translator.get().translateSA(this.owlAxioms);
+		logger.fine("Integer Axioms: " + axioms);
+		this.translationTime = System.nanoTime() - translationStart;
+		this.ontologySize = axioms.size();
+
+		long normalizationStart = System.nanoTime();
+		normalize(axioms).forEach(axiom -> this.referenceCounts.put(axiom, 1));
+		this.normalizedAxioms = Collections.unmodifiableSet(this.referenceCounts.keySet());
+		logger.fine("Normalized Axioms: " + this.normalizedAxioms);
+		this.normalizationTime = System.nanoTime() - normalizationStart;
+
+		this.addedNormalizedAxioms = this.normalizedAxioms;
+		this.removedNormalizedAxioms = Collections.emptySet();
+		this.identifiers = buildMapOfIdentifiers();
+		this.moduleIndex = new ModuleIndex(this.normalizedAxioms);
+		this.termFactory = new TermFactory();
+	}
+
+	/**
+	 * Constructs a new ontology session from normalized axioms that were
+	 * already computed, for example, restored from an
+	 * {@link OntologySnapshot}. Such a session cannot be updated. The OWL
+	 * ontology is loaded when it is requested for the first time.
+	 *
+	 * @param ontologyLoader
+	 *            supplier that loads the OWL ontology
+	 * @param prefixes
+	 *            map from the prefix names of the OWL ontology to their
+	 *            prefixes
+	 * @param owlAxiomCount
+	 *            number of axioms of the OWL ontology
+	 * @param classNames
+	 *            sorted IRIs of the classes in the signature of the OWL
+	 *            ontology
+	 * @param factory
+	 *            ontology object factory that contains the entities of the
+	 *            normalized axioms
+	 * @param normalizedAxioms
+	 *            normalized axioms
+	 * @param ontologySize
+	 *            number of axioms in the translated ontology
+	 * @param loadingTime
+	 *            time used to obtain the normalized axioms, which is stored as
+	 *            normalization time
+	 */
+	OntologySession(Supplier<OWLOntology> ontologyLoader, Map<String, String> prefixes, int owlAxiomCount,
+			List<String> classNames, IntegerOntologyObjectFactory factory, Set<NormalizedIntegerAxiom> normalizedAxioms,
+			int ontologySize, long loadingTime) {
+		this.ontologyLoader = Objects.requireNonNull(ontologyLoader);
+		this.owlOntology = Optional.empty();
+		this.prefixes = Collections.unmodifiableMap(Objects.requireNonNull(prefixes));
+		this.owlAxiomCount = owlAxiomCount;
+		this.classNames = Collections.unmodifiableList(Objects.requireNonNull(classNames));
+		this.factory = Objects.requireNonNull(factory);
+		this.translator = Optional.empty();
+		this.owlAxioms = Collections.emptySet();
+		this.translatedAxioms = Optional.empty();
+		this.referenceCounts = new HashMap<>();
+		normalizedAxioms.forEach(axiom -> this.referenceCounts.put(axiom, 1));
+		this.normalizedAxioms = Collections.unmodifiableSet(this.referenceCounts.keySet());
+		this.addedNormalizedAxioms = this.normalizedAxioms;
+		this.removedNormalizedAxioms = Collections.emptySet();
+		this.ontologySize = ontologySize;
+		this.translationTime = 0;
+		this.normalizationTime = loadingTime;
+		this.identifiers = buildMapOfIdentifiers();
+		this.moduleIndex = new ModuleIndex(this.normalizedAxioms);
+		this.termFactory = new TermFactory();
+	}
+
+	/**
+	 * Constructs a new ontology session that is the update of another one.
+	 *
+	 * @param previous
+	 *            previous session
+	 * @param translatedAxioms
+	 *            translated axioms
+	 * @param referenceCounts
+	 *            number of OWL axioms producing each normalized axiom
+	 * @param added
+	 *            normalized axioms that are not in the previous session
+	 * @param removed
+	 *            normalized axioms of the previous session that are not in
+	 *            this session
+	 * @param translationTime
+	 *            translation time
+	 * @param normalizationTime
+	 *            normalization time
+	 */
+	OntologySession(OntologySession previous, Map<OWLAxiom, TranslatedAxiom> translatedAxioms,
+			Map<NormalizedIntegerAxiom, Integer> referenceCounts, Set<NormalizedIntegerAxiom> added,
+			Set<NormalizedIntegerAxiom> removed, long translationTime, long normalizationTime) {
+		this.ontologyLoader = previous.ontologyLoader;
+		this.owlOntology = previous.owlOntology;
+		this.prefixes = previous.prefixes;
+		this.owlAxiomCount = previous.owlAxiomCount;
+		this.classNames = previous.classNames;
+		this.factory = previous.factory;
+		this.translator = previous.translator;
+		this.owlAxioms = Collections.unmodifiableSet(translatedAxioms.keySet());
+		this.translatedAxioms = Optional.of(translatedAxioms);
+		this.referenceCounts = referenceCounts;
+		this.normalizedAxioms = Collections.unmodifiableSet(referenceCounts.keySet());
+		this.addedNormalizedAxioms = Collections.unmodifiableSet(added);
+		this.removedNormalizedAxioms = Collections.unmodifiableSet(removed);
+		this.ontologySize = getOntologySize(translatedAxioms);
+		this.translationTime = translationTime;
+		this.normalizationTime = normalizationTime;
+		this.identifiers = buildMapOfIdentifiers();
+		this.moduleIndex = previous.moduleIndex.update(added, removed);
+		this.termFactory = previous.termFactory;
+	}
+
+	static int getOntologySize(Map<OWLAxiom, TranslatedAxiom> translatedAxioms) {
+		int ret = 0;
+		for (TranslatedAxiom translatedAxiom : translatedAxioms.values()) {
+			ret += translatedAxiom.size;
+		}
+		return ret;
+	}
+
+	Set<NormalizedIntegerAxiom> normalize(Set<ComplexIntegerAxiom> axioms) {
+		return axioms.isEmpty() ? Collections.emptySet()
+				: removeUnnecessaryAnnotations(new OntologyNormalizer().normalize(axioms, this.factory));
+	}
+
+	Map<OWLAxiom, Set<ComplexIntegerAxiom>> translate(Collection<OWLAxiom> axioms) {
+		Map<OWLAxiom, Set<ComplexIntegerAxiom>> ret = new LinkedHashMap<>();
+		axioms.forEach(axiom -> ret.put(axiom, this.translator.get().translateSA(Collections.singleton(axiom))));
+		return ret;
+	}
+
+	/**
+	 * Normalizes the given translated axioms and adds them to the given maps.
+	 *
+	 * @param axioms
+	 *            translated axioms
+	 * @param translatedAxioms
+	 *            map from OWL axioms to their translation
+	 * @param referenceCounts
+	 *            number of OWL axioms producing each normalized axiom
+	 * @param added
+	 *            set where the normalized axioms that are new are added
+	 * @param removed
+	 *            set of normalized axioms that were removed, the axioms that
+	 *            are produced again are removed from this set
+	 */
+	void addAxioms(Map<OWLAxiom, Set<ComplexIntegerAxiom>> axioms, Map<OWLAxiom, TranslatedAxiom> translatedAxioms,
+			Map<NormalizedIntegerAxiom, Integer> referenceCounts, Set<NormalizedIntegerAxiom> added,
+			Set<NormalizedIntegerAxiom> removed) {
+		axioms.forEach((axiom, complexAxioms) -> {
+			if (!translatedAxioms.containsKey(axiom)) {
+				Set<NormalizedIntegerAxiom> normalized = normalize(complexAxioms);
+				translatedAxioms.put(axiom, new TranslatedAxiom(complexAxioms.size(), normalized));
+				normalized.forEach(normalizedAxiom -> {
+					int count = referenceCounts.getOrDefault(normalizedAxiom, 0);
+					referenceCounts.put(normalizedAxiom, count + 1);
+					if (count == 0 && !removed.remove(normalizedAxiom)) {
+						added.add(normalizedAxiom);
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Returns a new ontology session for the ontology of this session, where
+	 * the given axioms have been added and removed. This session is not
+	 * modified. Only the added axioms are translated and normalized. A
+	 * normalized axiom is removed when all the OWL axioms that produced it are
+	 * removed. If this session was created from an ontology, which is
+	 * translated and normalized as a whole, the first update translates and
+	 * normalizes each OWL axiom of the ontology separately, in order to know
+	 * which normalized axioms are produced by each OWL axiom.
+	 *
+	 * @param addedAxioms
+	 *            added OWL axioms
+	 * @param removedAxioms
+	 *            removed OWL axioms
+	 * @return a new ontology session for the ontology of this session, where
+	 *         the given axioms have been added and removed
+	 * @throws UnsupportedOperationException
+	 *             if this session cannot be updated
+	 */
+	public OntologySession update(Collection<OWLAxiom> addedAxioms, Collection<OWLAxiom> removedAxioms) {
+		Objects.requireNonNull(addedAxioms);
+		Objects.requireNonNull(removedAxioms);
+		if (!isUpdatable()) {
+			throw new UnsupportedOperationException("This session was not created by translating its ontology.");
+		}
+		if (!this.translatedAxioms.isPresent()) {
+			return updateTranslatingSeparately(addedAxioms, removedAxioms);
+		}
+		Map<OWLAxiom, TranslatedAxiom> newTranslatedAxioms = new HashMap<>(this.translatedAxioms.get());
+		Map<NormalizedIntegerAxiom, Integer> newReferenceCounts = new HashMap<>(this.referenceCounts);
+		Set<NormalizedIntegerAxiom> added = new HashSet<>();
+		Set<NormalizedIntegerAxiom> removed = new HashSet<>();
+
+		removedAxioms.forEach(axiom -> {
+			TranslatedAxiom translatedAxiom = newTranslatedAxioms.remove(axiom);
+			if (Objects.nonNull(translatedAxiom)) {
+				translatedAxiom.normalizedAxioms.forEach(normalizedAxiom -> {
+					int count = newReferenceCounts.get(normalizedAxiom) - 1;
+					if (count == 0) {
+						newReferenceCounts.remove(normalizedAxiom);
+						removed.add(normalizedAxiom);
+					} else {
+						newReferenceCounts.put(normalizedAxiom, count);
+					}
+				});
+			}
+		});
+
+		long translationStart = System.nanoTime();
+		List<OWLAxiom> newAxioms = new ArrayList<>();
+		addedAxioms.forEach(axiom -> {
+			if (!newTranslatedAxioms.containsKey(axiom)) {
+				newAxioms.add(axiom);
+			}
+		});
+		Map<OWLAxiom, Set<ComplexIntegerAxiom>> axioms = translate(newAxioms);
+		long translationTime = System.nanoTime() - translationStart;
+
+		long normalizationStart = System.nanoTime();
+		addAxioms(axioms, newTranslatedAxioms, newReferenceCounts, added, removed);
+		long normalizationTime = System.nanoTime() - normalizationStart;
+
+		logger.fine("Update: " + added.size() + " normalized axioms added, " + removed.size() + " removed.");
+		return new OntologySession(this, newTranslatedAxioms, newReferenceCounts, added, removed, translationTime,
+				normalizationTime);
+	}
+
+	/**
+	 * Returns a new ontology session where the given axioms have been added
+	 * and removed, translating and normalizing each OWL axiom separately. The
+	 * added and removed normalized axioms are obtained by comparing the
+	 * normalized axioms of both sessions.
+	 *
+	 * @param addedAxioms
+	 *            added OWL axioms
+	 * @param removedAxioms
+	 *            removed OWL axioms
+	 * @return a new ontology session where the given axioms have been added
+	 *         and removed
+	 */
+	OntologySession updateTranslatingSeparately(Collection<OWLAxiom> addedAxioms,
+			Collection<OWLAxiom> removedAxioms) {
+		Set<OWLAxiom> newAxioms = new HashSet<>(this.owlAxioms);
+		newAxioms.removeAll(removedAxioms);
+		newAxioms.addAll(addedAxioms);
+
+		long translationStart = System.nanoTime();
+		Map<OWLAxiom, Set<ComplexIntegerAxiom>> axioms = translate(newAxioms);
+		long translationTime = System.nanoTime() - translationStart;
+
+		long normalizationStart = System.nanoTime();
+		Map<OWLAxiom, TranslatedAxiom> newTranslatedAxioms = new HashMap<>();
+		Map<NormalizedIntegerAxiom, Integer> newReferenceCounts = new HashMap<>();
+		addAxioms(axioms, newTranslatedAxioms, newReferenceCounts, new HashSet<>(), new HashSet<>());
+		long normalizationTime = System.nanoTime() - normalizationStart;
+
+		Set<NormalizedIntegerAxiom> added = new HashSet<>(newReferenceCounts.keySet());
+		added.removeAll(this.normalizedAxioms);
+		Set<NormalizedIntegerAxiom> removed = new HashSet<>(this.normalizedAxioms);
+		removed.removeAll(newReferenceCounts.keySet());
+
+		logger.fine("Update: " + added.size() + " normalized axioms added, " + removed.size() + " removed.");
+		return new OntologySession(this, newTranslatedAxioms, newReferenceCounts, added, removed, translationTime,
+				normalizationTime);
+	}
+
+	Set<NormalizedIntegerAxiom> removeUnnecessaryAnnotations(Set<NormalizedIntegerAxiom> axioms) {
+		Set<NormalizedIntegerAxiom> result = new HashSet<>();
+		axioms.forEach(axiom -> {
+			if (axiom instanceof NominalAxiom) {
+				NominalAxiom nominalAxiom = (NominalAxiom) axiom;
+				result.add(this.factory.getNormalizedAxiomFactory().createNominalAxiom(
+						nominalAxiom.getClassExpression(), nominalAxiom.getIndividual(), new HashSet<>()));
+			} else {
+				result.add(axiom);
+			}
+		});
+
+		return result;
+	}
+
+	OptMap<String, Integer> buildMapOfIdentifiers() {
+		OptMap<String, Integer> map = new OptMapImpl<>(new HashMap<>());
+		IntegerEntityManager entityManager = this.factory.getEntityManager();
+		entityManager.getEntities(IntegerEntityType.CLASS, false)
+				.forEach(id -> map.put(entityManager.getName(id), id));
+		entityManager.getEntities(IntegerEntityType.INDIVIDUAL, false)
+				.forEach(id -> map.put(entityManager.getName(id), id));
+		return map;
+	}
+
+	/**
+	 * Tells whether this session can be updated. This is not the case for a
+	 * session whose normalized axioms were not obtained by translating the
+	 * OWL ontology, e.g. a session restored from a snapshot.
+	 *
+	 * @return <code>true</code> if and only if this session can be updated
+	 */
+	public boolean isUpdatable() {
+		return this.translator.isPresent();
+	}
+
+	/**
+	 * Returns the OWL ontology. For a session restored from a snapshot, the
+	 * OWL ontology is loaded when it is requested for the first time.
+	 *
+	 * @return the OWL ontology
+	 */
+	public synchronized OWLOntology getOntology() {
+		if (!this.owlOntology.isPresent()) {
+			this.owlOntology = Optional.of(Objects.requireNonNull(this.ontologyLoader.get()));
+		}
+		return this.owlOntology.get();
+	}
+
+	/**
+	 * Tells whether the OWL ontology has been loaded. This is always the case
+	 * for a session that was not restored from a snapshot.
+	 *
+	 * @return <code>true</code> if and only if the OWL ontology has been
+	 *         loaded
+	 */
+	public synchronized boolean isOntologyLoaded() {
+		return this.owlOntology.isPresent();
+	}
+
+	/**
+	 * Returns the number of axioms of the OWL ontology. If the OWL ontology
+	 * has not been loaded, this is the number stored in the snapshot.
+	 *
+	 * @return the number of axioms of the OWL ontology
+	 */
+	public int getOWLAxiomCount() {
+		return isOntologyLoaded() ? getOntology().getAxiomCount() : this.owlAxiomCount;
+	}
+
+	/**
+	 * Returns a map from the prefix names of the OWL ontology to their
+	 * prefixes. If the OWL ontology has not been loaded, these are the
+	 * prefixes stored in the snapshot.
+	 *
+	 * @return a map from the prefix names of the OWL ontology to their
+	 *         prefixes
+	 */
+	public Map<String, String> getPrefixes() {
+		return isOntologyLoaded() ? ProcessorConfigurationImpl.getPrefixMap(getOntology()) : this.prefixes;
+	}
+
+	/**
+	 * Returns the IRIs of the classes in the signature of the OWL ontology,
+	 * sorted as the classes. If the OWL ontology has not been loaded, these
+	 * are the IRIs stored in the snapshot.
+	 *
+	 * @return the IRIs of the classes in the signature of the OWL ontology
+	 */
+	public List<String> getClassNames() {
+		return isOntologyLoaded() ? getClassNames(getOntology()) : this.classNames;
+	}
+
+	/**
+	 * Returns the IRIs of the classes in the signature of the given OWL
+	 * ontology, sorted as the classes.
+	 *
+	 * @param owlOntology
+	 *            OWL ontology
+	 * @return the IRIs of the classes in the signature of the given OWL
+	 *         ontology
+	 */
+	public static List<String> getClassNames(OWLOntology owlOntology) {
+		Objects.requireNonNull(owlOntology);
+		List<String> ret = new ArrayList<>();
+		(new TreeSet<>(owlOntology.getClassesInSignature()))
+				.forEach(owlClass -> ret.add(owlClass.getIRI().toString()));
+		return ret;
+	}
+
+	/**
+	 * Returns the ontology object factory used for the translation.
+	 *
+	 * @return the ontology object factory used for the translation
+	 */
+	public IntegerOntologyObjectFactory getFactory() {
+		return this.factory;
+	}
+
+	/**
+	 * Returns the normalized axioms.
+	 *
+	 * @return the normalized axioms
+	 */
+	public Set<NormalizedIntegerAxiom> getNormalizedAxioms() {
+		return this.normalizedAxioms;
+	}
+
+	/**
+	 * Returns the normalized axioms that are in this session, but not in the
+	 * session that was updated to create this one. For a session created from
+	 * an ontology, these are all the normalized axioms.
+	 *
+	 * @return the normalized axioms that are in this session, but not in the
+	 *         session that was updated to create this one
+	 */
+	public Set<NormalizedIntegerAxiom> getAddedNormalizedAxioms() {
+		return this.addedNormalizedAxioms;
+	}
+
+	/**
+	 * Returns the normalized axioms that are in the session that was updated
+	 * to create this one, but not in this session. For a session created from
+	 * an ontology, this set is empty.
+	 *
+	 * @return the normalized axioms that are in the session that was updated
+	 *         to create this one, but not in this session
+	 */
+	public Set<NormalizedIntegerAxiom> getRemovedNormalizedAxioms() {
+		return this.removedNormalizedAxioms;
+	}
+
+	/**
+	 * Returns the names of the classes of this session whose module is
+	 * different from their module in the given session. The given session
+	 * must be the session that was updated to create this one.
+	 *
+	 * @param previous
+	 *            session that was updated to create this one
+	 * @return the names of the classes of this session whose module is
+	 *         different from their module in the given session
+	 */
+	public Set<String> getClassesWithChangedModules(OntologySession previous) {
+		Objects.requireNonNull(previous);
+		IntegerEntityManager entityManager = this.factory.getEntityManager();
+		Set<Integer> classes = entityManager.getEntities(IntegerEntityType.CLASS, false);
+		DefaultModuleExtractor extractor = new DefaultModuleExtractor();
+		Set<Integer> affectedClasses = extractor.getAffectedClasses(previous.getModuleIndex(), classes,
+				this.removedNormalizedAxioms);
+		affectedClasses.addAll(extractor.getAffectedClasses(this.moduleIndex, classes, this.addedNormalizedAxioms));
+		Set<String> ret = new HashSet<>();
+		affectedClasses.forEach(classId -> ret.add(entityManager.getName(classId).trim()));
+		return ret;
+	}
+
+	/**
+	 * Returns the module index of the normalized axioms.
+	 *
+	 * @return the module index of the normalized axioms
+	 */
+	public ModuleIndex getModuleIndex() {
+		return this.moduleIndex;
+	}
+
+	/**
+	 * Returns the symbol table that gives a compact symbol to each entity of
+	 * this session. The symbol table is created when it is requested for the
+	 * first time.
+	 *
+	 * @return the symbol table that gives a compact symbol to each entity of
+	 *         this session
+	 */
+	public synchronized EntitySymbolTable getEntitySymbolTable() {
+		if (Objects.isNull(this.entitySymbolTable)) {
+			this.entitySymbolTable = new EntitySymbolTable(this.factory.getEntityManager());
+		}
+		return this.entitySymbolTable;
+	}
+
+	/**
+	 * Returns the term factory used to render the axioms of this session, so
+	 * that the terms of its entities are shared by all the ProbLog programs
+	 * created for this session. The sessions created by an update share the
+	 * term factory of the updated session.
+	 *
+	 * @return the term factory used to render the axioms of this session
+	 */
+	public TermFactory getTermFactory() {
+		return this.termFactory;
+	}
+
+	/**
+	 * Returns the identifier of the class or individual with the given name.
+	 * The name of the top class is also accepted.
+	 *
+	 * @param name
+	 *            name of a class or individual, without apostrophes
+	 * @return the identifier of the class or individual with the given name
+	 */
+	public Optional<Integer> getIdentifier(String name) {
+		Objects.requireNonNull(name);
+		if (name.equals(FormulaConstructor.TOP)) {
+			return Optional.of(IntegerEntityManager.topClassId);
+		} else {
+			return this.identifiers.get(name);
+		}
+	}
+
+	/**
+	 * Returns the number of axioms in the translated ontology.
+	 *
+	 * @return the number of axioms in the translated ontology
+	 */
+	public int getOntologySize() {
+		return this.ontologySize;
+	}
+
+	/**
+	 * Returns the number of axioms in the normalized ontology.
+	 *
+	 * @return the number of axioms in the normalized ontology
+	 */
+	public int getNormalizedOntologySize() {
+		return this.normalizedAxioms.size();
+	}
+
+	/**
+	 * Returns the time in nanoseconds used for the translation of OWL axioms
+	 * into integers. For an updated session, this is the time used to
+	 * translate the added axioms.
+	 *
+	 * @return the time in nanoseconds used for the translation of OWL axioms
+	 *         into integers
+	 */
+	public long getTranslationTime() {
+		return this.translationTime;
+	}
+
+	/**
+	 * Returns the time in nanoseconds used for the normalization of axioms.
+	 * For an updated session, this is the time used to normalize the added
+	 * axioms.
+	 *
+	 * @return the time in nanoseconds used for the normalization of axioms
+	 */
+	public long getNormalizationTime() {
+		return this.normalizationTime;
+	}
+
+	@Override
+	public String toString() {
+		return "ontology=" + (isOntologyLoaded() ? getOntology().getOntologyID() : "(not loaded)") + ", ontology size="
+				+ this.ontologySize
+				+ ", normalized ontology size=" + this.normalizedAxioms.size();
+	}
+
+}
@@ -0,0 +1,643 @@
+package de.tudresden.inf.lat.born.owlapi.processor;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import org.semanticweb.owlapi.model.OWLOntology;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.FunctObjectPropAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.GCI0Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.GCI1Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.GCI2Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.GCI3Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NominalAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomFactory;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomVisitor;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.RI1Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.RI2Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.RI3Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.RangeAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
+
+/**
+ * An object of this class reads and writes snapshots of ontology sessions. A
+ * snapshot is a compact binary file that contains the normalized integer
+ * axioms of a session, the names and types of the entities of its entity
+ * manager, and the mapping between individuals and auxiliary nominals. It
+ * also contains the number of OWL axioms, the prefixes, and the IRIs of the
+ * classes of the ontology, and the checksum of the ontology file it was
+ * created from, so that an outdated snapshot is detected and refreshed. Snapshots are read with
+ * memory-mapped I/O. They are written next to the ontology file, or in a
+ * given directory.
+ * <p>
+ * A session restored from a snapshot does not parse, translate, or normalize
+ * the OWL ontology, but it cannot be updated (see
+ * {@link OntologySession#isUpdatable()}). The OWL ontology is only parsed if
+ * the session requests it. The identifiers of the entities are restored by
+ * creating the entities again in the same order. If the restored identifiers
+ * differ from the stored ones, or the snapshot is truncated or corrupted, the
+ * snapshot is considered invalid, and it is replaced by a new one.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class OntologySnapshot {
+
+	private static final Logger logger = Logger.getLogger(OntologySnapshot.class.getName());
+
+	/** Extension of snapshot files. */
+	public static final String SNAPSHOT_EXTENSION = ".snapshot";
+
+	static final int MAGIC_NUMBER = 0x424F524E;
+	static final int FORMAT_VERSION = 3;
+	static final String CHECKSUM_ALGORITHM = "SHA-256";
+	static final String TEMPORARY_EXTENSION = ".tmp";
+	static final int NO_INDIVIDUAL = -1;
+
+	static final int FUNCT_OBJECT_PROP = 0;
+	static final int GCI0 = 1;
+	static final int GCI1 = 2;
+	static final int GCI2 = 3;
+	static final int GCI3 = 4;
+	static final int NOMINAL = 5;
+	static final int RANGE = 6;
+	static final int RI1 = 7;
+	static final int RI2 = 8;
+	static final int RI3 = 9;
+
+	/** Number of integers that encode each kind of axiom. */
+	static final int[] ENCODED_LENGTHS = { 2, 3, 4, 4, 4, 3, 3, 2, 3, 4 };
+
+	/**
+	 * An object of this class encodes a normalized axiom as an array of
+	 * integers. The first integer is the kind of axiom, and the others are
+	 * the identifiers of the entities of the axiom. Annotations are not
+	 * included.
+	 */
+	static class AxiomEncoder implements NormalizedIntegerAxiomVisitor<int[]> {
+
+		@Override
+		public int[] visit(FunctObjectPropAxiom axiom) {
+			return new int[] { FUNCT_OBJECT_PROP, axiom.getProperty() };
+		}
+
+		@Override
+		public int[] visit(GCI0Axiom axiom) {
+			return new int[] { GCI0, axiom.getSubClass(), axiom.getSuperClass() };
+		}
+
+		@Override
+		public int[] visit(GCI1Axiom axiom) {
+			return new int[] { GCI1, axiom.getLeftSubClass(), axiom.getRightSubClass(), axiom.getSuperClass() };
+		}
+
+		@Override
+		public int[] visit(GCI2Axiom axiom) {
+			return new int[] { GCI2, axiom.getSubClass(), axiom.getPropertyInSuperClass(),
+					axiom.getClassInSuperClass() };
+		}
+
+		@Override
+		public int[] visit(GCI3Axiom axiom) {
+			return new int[] { GCI3, axiom.getPropertyInSubClass(), axiom.getClassInSubClass(),
+					axiom.getSuperClass() };
+		}
+
+		@Override
+		public int[] visit(NominalAxiom axiom) {
+			return new int[] { NOMINAL, axiom.getClassExpression(), axiom.getIndividual() };
+		}
+
+		@Override
+		public int[] visit(RangeAxiom axiom) {
+			return new int[] { RANGE, axiom.getProperty(), axiom.getRange() };
+		}
+
+		@Override
+		public int[] visit(RI1Axiom axiom) {
+			return new int[] { RI1, axiom.getSuperProperty() };
+		}
+
+		@Override
+		public int[] visit(RI2Axiom axiom) {
+			return new int[] { RI2, axiom.getSubProperty(), axiom.getSuperProperty() };
+		}
+
+		@Override
+		public int[] visit(RI3Axiom axiom) {
+			return new int[] { RI3, axiom.getLeftSubProperty(), axiom.getRightSubProperty(),
+					axiom.getSuperProperty() };
+		}
+
+	}
+
+	/**
+	 * An object of this class is an entity stored in a snapshot.
+	 */
+	static class StoredEntity {
+
+		final IntegerEntityType type;
+		final boolean auxiliary;
+		final String name;
+		final int individual;
+
+		StoredEntity(IntegerEntityType type, boolean auxiliary, String name, int individual) {
+			this.type = type;
+			this.auxiliary = auxiliary;
+			this.name = name;
+			this.individual = individual;
+		}
+
+	}
+
+	private final Optional<File> directory;
+
+	/**
+	 * Constructs a new ontology snapshot manager that writes the snapshots
+	 * next to the ontology files.
+	 */
+	public OntologySnapshot() {
+		this.directory = Optional.empty();
+	}
+
+	/**
+	 * Constructs a new ontology snapshot manager that writes the snapshots in
+	 * the given directory. If the directory name is empty, the snapshots are
+	 * written next to the ontology files.
+	 *
+	 * @param directory
+	 *            directory of the snapshots, or an empty string
+	 */
+	public OntologySnapshot(String directory) {
+		Objects.requireNonNull(directory);
+		this.directory = directory.isEmpty() ? Optional.empty() : Optional.of(new File(directory));
+	}
+
+	/**
+	 * Returns the snapshot file of the given ontology file. Ontology files
+	 * with the same name share their snapshot file in a directory of
+	 * snapshots, which is then replaced whenever its checksum does not match.
+	 *
+	 * @param ontologyFile
+	 *            ontology file
+	 * @return the snapshot file of the given ontology file
+	 */
+	public File getSnapshotFile(File ontologyFile) {
+		Objects.requireNonNull(ontologyFile);
+		return this.directory.isPresent() ? new File(this.directory.get(), ontologyFile.getName() + SNAPSHOT_EXTENSION)
+				: new File(ontologyFile.getPath() + SNAPSHOT_EXTENSION);
+	}
+
+	/**
+	 * Returns the checksum of the given file.
+	 *
+	 * @param file
+	 *            file
+	 * @return the checksum of the given file
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	public byte[] getChecksum(File file) throws IOException {
+		Objects.requireNonNull(file);
+		try {
+			MessageDigest digest = MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+			byte[] buffer = new byte[0x10000];
+			try (InputStream input = Files.newInputStream(file.toPath())) {
+				int length = input.read(buffer);
+				while (length != -1) {
+					digest.update(buffer, 0, length);
+					length = input.read(buffer);
+				}
+			}
+			return digest.digest();
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Returns an ontology session for the given OWL ontology, which was read
+	 * from the given file. If the snapshot of the file exists and has the
+	 * checksum of the file, the session is restored from the snapshot.
+	 * Otherwise, the ontology is translated and normalized, and the snapshot
+	 * is written. Problems with the snapshot are logged, and do not prevent
+	 * the creation of the session.
+	 *
+	 * @param owlOntology
+	 *            OWL ontology
+	 * @param ontologyFile
+	 *            file from which the OWL ontology was read
+	 * @return an ontology session for the given OWL ontology
+	 */
+	public OntologySession getSession(OWLOntology owlOntology, File ontologyFile) {
+		Objects.requireNonNull(owlOntology);
+		Objects.requireNonNull(ontologyFile);
+		return getSession(ontologyFile, () -> owlOntology);
+	}
+
+	/**
+	 * Returns an ontology session for the OWL ontology of the given file. If
+	 * the snapshot of the file exists and has the checksum of the file, the
+	 * session is restored from the snapshot, and the OWL ontology is not
+	 * loaded unless the session requests it. Otherwise, the OWL ontology is
+	 * loaded, translated, and normalized, and the snapshot is written.
+	 * Problems with the snapshot are logged, and do not prevent the creation
+	 * of the session.
+	 *
+	 * @param ontologyFile
+	 *            ontology file
+	 * @param ontologyLoader
+	 *            supplier that loads the OWL ontology of the file
+	 * @return an ontology session for the OWL ontology of the given file
+	 */
+	public OntologySession getSession(File ontologyFile, Supplier<OWLOntology> ontologyLoader) {
+		Objects.requireNonNull(ontologyFile);
+		Objects.requireNonNull(ontologyLoader);
+		File snapshotFile = getSnapshotFile(ontologyFile);
+		Optional<byte[]> checksum = Optional.empty();
+		try {
+			checksum = Optional.of(getChecksum(ontologyFile));
+			if (snapshotFile.exists()) {
+				Optional<OntologySession> session = read(ontologyLoader, checksum.get(), snapshotFile);
+				if (session.isPresent()) {
+					logger.fine("Ontology session restored from '" + snapshotFile + "'.");
+					return session.get();
+				}
+				logger.fine("Snapshot '" + snapshotFile + "' is outdated.");
+			}
+		} catch (IOException e) {
+			logger.warning("Snapshot '" + snapshotFile + "' cannot be read: " + e.getMessage());
+		}
+
+		OntologySession ret = new OntologySession(ontologyLoader.get());
+		if (checksum.isPresent()) {
+			try {
+				write(ret, checksum.get(), snapshotFile);
+				logger.fine("Snapshot written to '" + snapshotFile + "'.");
+			} catch (IOException e) {
+				logger.warning("Snapshot '" + snapshotFile + "' cannot be written: " + e.getMessage());
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Writes a snapshot of the given ontology session. The snapshot is first
+	 * written to a temporary file, which then replaces the snapshot file. The
+	 * directory of the snapshot file is created if it does not exist.
+	 *
+	 * @param session
+	 *            ontology session
+	 * @param checksum
+	 *            checksum of the ontology file
+	 * @param snapshotFile
+	 *            snapshot file
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	public void write(OntologySession session, byte[] checksum, File snapshotFile) throws IOException {
+		Objects.requireNonNull(session);
+		Objects.requireNonNull(checksum);
+		Objects.requireNonNull(snapshotFile);
+		Path target = snapshotFile.toPath();
+		Path parent = target.toAbsolutePath().getParent();
+		if (Objects.nonNull(parent)) {
+			Files.createDirectories(parent);
+		}
+		Path temporary = new File(snapshotFile.getPath() + TEMPORARY_EXTENSION).toPath();
+		try (OutputStream output = Files.newOutputStream(temporary)) {
+			write(session, checksum, new DataOutputStream(new BufferedOutputStream(output)));
+		}
+		Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	void write(OntologySession session, byte[] checksum, DataOutputStream output) throws IOException {
+		output.writeInt(MAGIC_NUMBER);
+		output.writeInt(FORMAT_VERSION);
+		output.writeInt(checksum.length);
+		output.write(checksum);
+		output.writeInt(session.getOntologySize());
+		output.writeInt(session.getOWLAxiomCount());
+		Map<String, String> prefixes = session.getPrefixes();
+		output.writeInt(prefixes.size());
+		for (Map.Entry<String, String> entry : prefixes.entrySet()) {
+			writeString(output, entry.getKey());
+			writeString(output, entry.getValue());
+		}
+		List<String> classNames = session.getClassNames();
+		output.writeInt(classNames.size());
+		for (String className : classNames) {
+			writeString(output, className);
+		}
+
+		Map<Integer, StoredEntity> entities = getEntities(session.getFactory().getEntityManager());
+		output.writeInt(entities.size());
+		for (Map.Entry<Integer, StoredEntity> entry : entities.entrySet()) {
+			StoredEntity entity = entry.getValue();
+			output.writeInt(entry.getKey());
+			output.writeInt(entity.type.ordinal());
+			output.writeBoolean(entity.auxiliary);
+			output.writeInt(entity.individual);
+			writeString(output, entity.name);
+		}
+
+		AxiomEncoder encoder = new AxiomEncoder();
+		Set<NormalizedIntegerAxiom> axioms = session.getNormalizedAxioms();
+		output.writeInt(axioms.size());
+		for (NormalizedIntegerAxiom axiom : axioms) {
+			int[] encoded = axiom.accept(encoder);
+			output.writeInt(encoded.length);
+			for (int value : encoded) {
+				output.writeInt(value);
+			}
+			Set<IntegerAnnotation> annotations = axiom.getAnnotations();
+			output.writeInt(annotations.size());
+			for (IntegerAnnotation annotation : annotations) {
+				output.writeInt(annotation.getAnnotationProperty());
+				output.writeInt(annotation.getAnnotationValue());
+			}
+		}
+		output.flush();
+	}
+
+	void writeString(DataOutputStream output, String str) throws IOException {
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	/**
+	 * Returns the entities of the given entity manager, sorted by identifier.
+	 *
+	 * @param entityManager
+	 *            entity manager
+	 * @return the entities of the given entity manager, sorted by identifier
+	 */
+	Map<Integer, StoredEntity> getEntities(IntegerEntityManager entityManager) {
+		Map<Integer, Integer> individuals = new TreeMap<>();
+		entityManager.getAuxiliaryNominals().forEach(auxiliaryNominal -> entityManager
+				.getIndividual(auxiliaryNominal).ifPresent(individual -> individuals.put(auxiliaryNominal, individual)));
+
+		Map<Integer, StoredEntity> ret = new TreeMap<>();
+		for (IntegerEntityType type : IntegerEntityType.values()) {
+			for (boolean auxiliary : Arrays.asList(false, true)) {
+				entityManager.getEntities(type, auxiliary)
+						.forEach(id -> ret.put(id, new StoredEntity(type, auxiliary, entityManager.getName(id),
+								individuals.getOrDefault(id, NO_INDIVIDUAL))));
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the ontology session stored in the given snapshot file, or an
+	 * empty optional if the snapshot was not created from a file with the
+	 * given checksum.
+	 *
+	 * @param owlOntology
+	 *            OWL ontology of the session
+	 * @param checksum
+	 *            checksum of the ontology file
+	 * @param snapshotFile
+	 *            snapshot file
+	 * @return the ontology session stored in the given snapshot file, or an
+	 *         empty optional if the snapshot was not created from a file with
+	 *         the given checksum
+	 * @throws IOException
+	 *             if something goes wrong with I/O, or the snapshot is invalid
+	 */
+	public Optional<OntologySession> read(OWLOntology owlOntology, byte[] checksum, File snapshotFile)
+			throws IOException {
+		Objects.requireNonNull(owlOntology);
+		return read(() -> owlOntology, checksum, snapshotFile);
+	}
+
+	/**
+	 * Returns the ontology session stored in the given snapshot file, or an
+	 * empty optional if the snapshot was not created from a file with the
+	 * given checksum. The OWL ontology of the session is loaded when the
+	 * session requests it.
+	 *
+	 * @param ontologyLoader
+	 *            supplier that loads the OWL ontology of the session
+	 * @param checksum
+	 *            checksum of the ontology file
+	 * @param snapshotFile
+	 *            snapshot file
+	 * @return the ontology session stored in the given snapshot file, or an
+	 *         empty optional if the snapshot was not created from a file with
+	 *         the given checksum
+	 * @throws IOException
+	 *             if something goes wrong with I/O, or the snapshot is invalid
+	 */
+	public Optional<OntologySession> read(Supplier<OWLOntology> ontologyLoader, byte[] checksum, File snapshotFile)
+			throws IOException {
+		Objects.requireNonNull(ontologyLoader);
+		Objects.requireNonNull(checksum);
+		Objects.requireNonNull(snapshotFile);
+		long start = System.nanoTime();
+		try (FileChannel channel = FileChannel.open(snapshotFile.toPath(), StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return read(ontologyLoader, checksum, buffer, start);
+		} catch (RuntimeException e) {
+			throw new IOException("Invalid snapshot: '" + snapshotFile + "'.", e);
+		}
+	}
+
+	Optional<OntologySession> read(Supplier<OWLOntology> ontologyLoader, byte[] checksum, ByteBuffer buffer,
+			long start) throws IOException {
+		if (buffer.remaining() < 2 * Integer.BYTES || buffer.getInt() != MAGIC_NUMBER
+				|| buffer.getInt() != FORMAT_VERSION) {
+			return Optional.empty();
+		}
+		byte[] storedChecksum = new byte[readLength(buffer, 1)];
+		buffer.get(storedChecksum);
+		if (!Arrays.equals(checksum, storedChecksum)) {
+			return Optional.empty();
+		}
+		int ontologySize = buffer.getInt();
+		int owlAxiomCount = buffer.getInt();
+		Map<String, String> prefixes = new TreeMap<>();
+		int numberOfPrefixes = readLength(buffer, 2 * Integer.BYTES);
+		for (int index = 0; index < numberOfPrefixes; index++) {
+			String prefixName = readString(buffer);
+			prefixes.put(prefixName, readString(buffer));
+		}
+		List<String> classNames = new ArrayList<>();
+		int numberOfClasses = readLength(buffer, Integer.BYTES);
+		for (int index = 0; index < numberOfClasses; index++) {
+			classNames.add(readString(buffer));
+		}
+
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+		IntegerEntityManager entityManager = factory.getEntityManager();
+		Set<Integer> predefinedEntities = getEntities(entityManager).keySet();
+		List<IntegerEntityType> types = Arrays.asList(IntegerEntityType.values());
+		int numberOfEntities = readLength(buffer, 3 * Integer.BYTES + 1);
+		for (int index = 0; index < numberOfEntities; index++) {
+			int id = buffer.getInt();
+			restoreEntity(entityManager, predefinedEntities, id, readEntity(buffer, types));
+		}
+
+		NormalizedIntegerAxiomFactory axiomFactory = factory.getNormalizedAxiomFactory();
+		Set<NormalizedIntegerAxiom> axioms = new HashSet<>();
+		int numberOfAxioms = readLength(buffer, 2 * Integer.BYTES);
+		for (int index = 0; index < numberOfAxioms; index++) {
+			int[] encoded = new int[readLength(buffer, Integer.BYTES)];
+			for (int position = 0; position < encoded.length; position++) {
+				encoded[position] = buffer.getInt();
+			}
+			Set<IntegerAnnotation> annotations = new HashSet<>();
+			int numberOfAnnotations = readLength(buffer, 2 * Integer.BYTES);
+			for (int position = 0; position < numberOfAnnotations; position++) {
+				annotations.add(new IntegerAnnotation(buffer.getInt(), buffer.getInt()));
+			}
+			axioms.add(decode(axiomFactory, encoded, annotations));
+		}
+
+		if (buffer.hasRemaining()) {
+			throw new IOException("Unexpected data after the last axiom.");
+		}
+
+		return Optional.of(new OntologySession(ontologyLoader, prefixes, owlAxiomCount, classNames, factory, axioms,
+				ontologySize, System.nanoTime() - start));
+	}
+
+	/**
+	 * Reads a length, and checks that the buffer has enough bytes for that
+	 * number of elements.
+	 *
+	 * @param buffer
+	 *            buffer
+	 * @param minimumElementSize
+	 *            minimum number of bytes of each element
+	 * @return the length
+	 * @throws IOException
+	 *             if the length is negative or exceeds the remaining bytes
+	 */
+	int readLength(ByteBuffer buffer, int minimumElementSize) throws IOException {
+		int ret = buffer.getInt();
+		if (ret < 0 || ((long) ret) * minimumElementSize > buffer.remaining()) {
+			throw new IOException("Invalid length: " + ret + ".");
+		}
+		return ret;
+	}
+
+	StoredEntity readEntity(ByteBuffer buffer, List<IntegerEntityType> types) throws IOException {
+		int typeIndex = buffer.getInt();
+		if (typeIndex < 0 || typeIndex >= types.size()) {
+			throw new IOException("Unknown type of entity: " + typeIndex + ".");
+		}
+		IntegerEntityType type = types.get(typeIndex);
+		boolean auxiliary = buffer.get() != 0;
+		int individual = buffer.getInt();
+		String name = readString(buffer);
+		return new StoredEntity(type, auxiliary, name, individual);
+	}
+
+	String readString(ByteBuffer buffer) throws IOException {
+		byte[] bytes = new byte[readLength(buffer, 1)];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Creates a stored entity in the given entity manager, and checks that it
+	 * gets the stored identifier.
+	 *
+	 * @param entityManager
+	 *            entity manager
+	 * @param predefinedEntities
+	 *            entities that the entity manager has when it is created
+	 * @param id
+	 *            stored identifier
+	 * @param entity
+	 *            stored entity
+	 * @throws IOException
+	 *             if the entity gets a different identifier or name
+	 */
+	void restoreEntity(IntegerEntityManager entityManager, Set<Integer> predefinedEntities, int id,
+			StoredEntity entity) throws IOException {
+		int restoredId = id;
+		if (!predefinedEntities.contains(id)) {
+			if (entity.individual != NO_INDIVIDUAL) {
+				restoredId = entityManager.createOrGetClassIdForIndividual(entity.individual);
+			} else if (entity.auxiliary) {
+				restoredId = entityManager.createAnonymousEntity(entity.type, true);
+			} else {
+				restoredId = entityManager.createNamedEntity(entity.type, entity.name, false);
+			}
+		}
+		if (restoredId != id || !entityManager.getName(restoredId).equals(entity.name)) {
+			throw new IOException("Entity '" + entity.name + "' (" + id + ") cannot be restored.");
+		}
+	}
+
+	NormalizedIntegerAxiom decode(NormalizedIntegerAxiomFactory axiomFactory, int[] encoded,
+			Set<IntegerAnnotation> annotations) throws IOException {
+		if (encoded.length == 0 || encoded[0] < 0 || encoded[0] >= ENCODED_LENGTHS.length
+				|| encoded.length != ENCODED_LENGTHS[encoded[0]]) {
+			throw new IOException("Invalid encoded axiom: " + Arrays.toString(encoded) + ".");
+		}
+		switch (encoded[0]) {
+		case FUNCT_OBJECT_PROP:
+			return axiomFactory.createFunctObjectPropAxiom(encoded[1], annotations);
+		case GCI0:
+			return axiomFactory.createGCI0Axiom(encoded[1], encoded[2], annotations);
+		case GCI1:
+			return axiomFactory.createGCI1Axiom(encoded[1], encoded[2], encoded[3], annotations);
+		case GCI2:
+			return axiomFactory.createGCI2Axiom(encoded[1], encoded[2], encoded[3], annotations);
+		case GCI3:
+			return axiomFactory.createGCI3Axiom(encoded[1], encoded[2], encoded[3], annotations);
+		case NOMINAL:
+			return axiomFactory.createNominalAxiom(encoded[1], encoded[2], annotations);
+		case RANGE:
+			return axiomFactory.createRangeAxiom(encoded[1], encoded[2], annotations);
+		case RI1:
+			return axiomFactory.createRI1Axiom(encoded[1], annotations);
+		case RI2:
+			return axiomFactory.createRI2Axiom(encoded[1], encoded[2], annotations);
+		case RI3:
+			return axiomFactory.createRI3Axiom(encoded[1], encoded[2], encoded[3], annotations);
+		default:
+			throw new IOException("Unknown kind of axiom: " + encoded[0] + ".");
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "format version=" + FORMAT_VERSION;
+	}
+
+}
@@ -0,0 +1,305 @@
+package de.tudresden.inf.lat.born.owlapi.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import de.tudresden.inf.lat.born.core.rule.FormulaConstructor;
+import de.tudresden.inf.lat.born.core.term.Clause;
+import de.tudresden.inf.lat.born.core.term.Symbol;
+import de.tudresden.inf.lat.born.module.DefaultModuleExtractor;
+import de.tudresden.inf.lat.born.module.Module;
+import de.tudresden.inf.lat.born.problog.engine.InferenceEngine;
+import de.tudresden.inf.lat.born.problog.parser.TokenCreator;
+import de.tudresden.inf.lat.born.problog.parser.TokenType;
+import de.tudresden.inf.lat.born.problog.type.BayesianNetwork;
+import de.tudresden.inf.lat.born.problog.type.ProblogProgram;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+
+/**
+ * An object of this class classifies a probabilistic ontology. For each class,
+ * it asks for the probabilities of all its subsumers with a single query of the
+ * form <code>query(sub('A', X)).</code>, and the queries of many classes are
+ * evaluated together in one ProbLog program. The result is a
+ * {@link ProbabilisticTaxonomy}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class ProbabilisticClassifier {
+
+	private static final Logger logger = Logger.getLogger(ProbabilisticClassifier.class.getName());
+
+	/** Default number of classes whose queries are evaluated together. */
+	public static final int DEFAULT_BATCH_SIZE = Integer.MAX_VALUE;
+
+	static final String SUPERCLASS_VARIABLE = "X";
+
+	private final OntologySession session;
+	private final String bayesianNetwork;
+	private final Optional<BayesianNetwork> parsedBayesianNetwork;
+	private final Optional<InferenceEngine> inferenceEngine;
+	private final Optional<Function<String, String>> queryProcessor;
+	private final int batchSize;
+
+	/**
+	 * Constructs a new probabilistic classifier that evaluates the queries of
+	 * all classes in a single ProbLog program.
+	 *
+	 * @param session
+	 *            ontology session
+	 * @param bayesianNetwork
+	 *            Bayesian network
+	 * @param queryProcessor
+	 *            query processor
+	 */
+	public ProbabilisticClassifier(OntologySession session, String bayesianNetwork,
+			Function<String, String> queryProcessor) {
+		this(session, bayesianNetwork, queryProcessor, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Constructs a new probabilistic classifier.
+	 *
+	 * @param session
+	 *            ontology session
+	 * @param bayesianNetwork
+	 *            Bayesian network
+	 * @param queryProcessor
+	 *            query processor
+	 * @param batchSize
+	 *            maximum number of classes whose queries are evaluated in the
+	 *            same ProbLog program
+	 */
+	public ProbabilisticClassifier(OntologySession session, String bayesianNetwork,
+			Function<String, String> queryProcessor, int batchSize) {
+		this(session, bayesianNetwork, Optional.empty(), Optional.of(queryProcessor), batchSize);
+	}
+
+	/**
+	 * Constructs a new probabilistic classifier that evaluates the queries of
+	 * all classes in a single ProbLog program, which is evaluated with the
+	 * given inference engine.
+	 *
+	 * @param session
+	 *            ontology session
+	 * @param bayesianNetwork
+	 *            Bayesian network
+	 * @param inferenceEngine
+	 *            inference engine
+	 */
+	public ProbabilisticClassifier(OntologySession session, String bayesianNetwork,
+			InferenceEngine inferenceEngine) {
+		this(session, bayesianNetwork, inferenceEngine, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Constructs a new probabilistic classifier whose ProbLog programs are
+	 * evaluated with the given inference engine.
+	 *
+	 * @param session
+	 *            ontology session
+	 * @param bayesianNetwork
+	 *            Bayesian network
+	 * @param inferenceEngine
+	 *            inference engine
+	 * @param batchSize
+	 *            maximum number of classes whose queries are evaluated in the
+	 *            same ProbLog program
+	 */
+	public ProbabilisticClassifier(OntologySession session, String bayesianNetwork, InferenceEngine inferenceEngine,
+			int batchSize) {
+		this(session, bayesianNetwork, Optional.of(inferenceEngine), Optional.empty(), batchSize);
+	}
+
+	ProbabilisticClassifier(OntologySession session, String bayesianNetwork,
+			Optional<InferenceEngine> inferenceEngine, Optional<Function<String, String>> queryProcessor,
+			int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Invalid batch size: '" + batchSize + "'.");
+		}
+		this.session = Objects.requireNonNull(session);
+		this.bayesianNetwork = Objects.requireNonNull(bayesianNetwork);
+		this.parsedBayesianNetwork = (new ProblogInputCreator()).parseBayesianNetwork(bayesianNetwork);
+		this.inferenceEngine = Objects.requireNonNull(inferenceEngine);
+		this.queryProcessor = Objects.requireNonNull(queryProcessor);
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Returns the identifiers of the named classes of the ontology, excluding
+	 * the top and bottom classes.
+	 *
+	 * @return the identifiers of the named classes of the ontology
+	 */
+	List<Integer> getClassIdentifiers() {
+		return this.session.getFactory().getEntityManager().getEntities(IntegerEntityType.CLASS, false).stream()
+				.filter(id -> id != IntegerEntityManager.topClassId && id != IntegerEntityManager.bottomClassId)
+				.sorted().collect(Collectors.toList());
+	}
+
+	String getName(int classId) {
+		return this.session.getFactory().getEntityManager().getName(classId).trim();
+	}
+
+	/**
+	 * Returns a ProbLog program that asks for the subsumers of each of the
+	 * given classes. The ontology part of the program is the module of all the
+	 * given classes.
+	 *
+	 * @param batch
+	 *            class identifiers
+	 * @return a ProbLog program that asks for the subsumers of each of the
+	 *         given classes
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	ProblogProgram createProblogProgram(List<Integer> batch) throws IOException {
+		ProblogInputCreator creator = new ProblogInputCreator();
+		Module module = (new DefaultModuleExtractor()).extractModule(this.session.getModuleIndex(),
+				new TreeSet<>(batch));
+
+		ProblogProgram program = new ProblogProgram();
+		program.getData().setOntology(creator.getClauses(this.session.getFactory(), module));
+		program.getData().setCompletionRules(creator.getDefaultCompletionRules());
+		creator.setBayesianNetwork(program, this.bayesianNetwork, this.parsedBayesianNetwork,
+				(new AxiomRenderer(this.session.getFactory())).getContextVariables(module.getAxioms()));
+
+		FormulaConstructor c = new FormulaConstructor();
+		List<Clause> queries = new ArrayList<>();
+		batch.forEach(classId -> queries.add(c.query(c.sub(
+				c.newCons(AxiomRenderer.APOSTROPHE + getName(classId) + AxiomRenderer.APOSTROPHE),
+				c.newVar(SUPERCLASS_VARIABLE)))));
+		program.getData().setQueries(queries);
+		return program;
+	}
+
+	/**
+	 * Adds the subsumptions found in the given result of a query processor to
+	 * the given map. Each line of the result has the form
+	 * <code>sub('A','B'):	p</code>, where <i>p</i> is a probability.
+	 *
+	 * @param result
+	 *            result of a query processor
+	 * @param superClasses
+	 *            map from class names to maps from superclass names to
+	 *            probabilities
+	 */
+	void parseResult(String result, Map<String, Map<String, Double>> superClasses) {
+		ProblogInputCreator creator = new ProblogInputCreator();
+		TokenCreator tokenCreator = new TokenCreator();
+		new BufferedReader(new StringReader(result)).lines().map(String::trim).forEach(line -> {
+			int pos = line.lastIndexOf(Symbol.COLON_CHAR);
+			if (pos > 0) {
+				List<String> list = tokenCreator.stream(line.subSequence(0, pos))
+						.filter(token -> token.getType().equals(TokenType.IDENTIFIER)
+								|| token.getType().equals(TokenType.CONSTANT))
+						.map(token -> creator.removeApostrophes(token.getValue())).collect(Collectors.toList());
+				if (list.size() == 3 && list.get(0).equals(FormulaConstructor.SUB)) {
+					Optional<Integer> subClass = this.session.getIdentifier(list.get(1));
+					Optional<Integer> superClass = this.session.getIdentifier(list.get(2));
+					if (subClass.isPresent() && superClass.isPresent()) {
+						try {
+							double probability = Double.parseDouble(line.substring(pos + 1).trim());
+							superClasses.computeIfAbsent(getName(subClass.get()), key -> new HashMap<>())
+									.put(getName(superClass.get()), probability);
+						} catch (NumberFormatException e) {
+							logger.warning("Invalid probability in line: '" + line + "'.");
+						}
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Classifies the ontology and returns the probabilistic taxonomy.
+	 *
+	 * @param executionResult
+	 *            execution result, where the ProbLog reasoning time is
+	 *            accumulated
+	 * @return the probabilistic taxonomy
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	public ProbabilisticTaxonomy classify(ProcessorExecutionResult executionResult) throws IOException {
+		Objects.requireNonNull(executionResult);
+		return classify(getClassIdentifiers(), new HashMap<>(), executionResult);
+	}
+
+	/**
+	 * Returns a probabilistic taxonomy that contains the subsumers of the
+	 * given taxonomy, except for the outdated classes and for the classes that
+	 * are not in the given taxonomy, which are classified again. This is used
+	 * after an update of the ontology session, where the outdated classes are
+	 * the classes whose module has changed.
+	 *
+	 * @param taxonomy
+	 *            previous taxonomy
+	 * @param outdatedClasses
+	 *            names of the classes that need to be classified again
+	 * @param executionResult
+	 *            execution result, where the ProbLog reasoning time is
+	 *            accumulated
+	 * @return a probabilistic taxonomy where only the outdated classes and new
+	 *         classes have been classified
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	public ProbabilisticTaxonomy update(ProbabilisticTaxonomy taxonomy, Set<String> outdatedClasses,
+			ProcessorExecutionResult executionResult) throws IOException {
+		Objects.requireNonNull(taxonomy);
+		Objects.requireNonNull(outdatedClasses);
+		Objects.requireNonNull(executionResult);
+		List<Integer> classIds = new ArrayList<>();
+		Map<String, Map<String, Double>> superClasses = new HashMap<>();
+		getClassIdentifiers().forEach(classId -> {
+			String name = getName(classId);
+			if (outdatedClasses.contains(name) || !taxonomy.getClasses().contains(name)) {
+				classIds.add(classId);
+			} else {
+				superClasses.put(name, new HashMap<>(taxonomy.getSuperClassProbabilities(name)));
+			}
+		});
+		logger.fine("Reclassifying " + classIds.size() + " classes.");
+		return classify(classIds, superClasses, executionResult);
+	}
+
+	ProbabilisticTaxonomy classify(List<Integer> classIds, Map<String, Map<String, Double>> superClasses,
+			ProcessorExecutionResult executionResult) throws IOException {
+		Set<String> classes = new TreeSet<>();
+		getClassIdentifiers().forEach(classId -> classes.add(getName(classId)));
+
+		ProcessorCore processor = new ProcessorCore();
+		long problogReasoningTime = 0;
+		for (int start = 0; start < classIds.size(); start += this.batchSize) {
+			List<Integer> batch = classIds.subList(start, (int) Math.min(classIds.size(), (long) start + this.batchSize));
+			ProblogProgram program = createProblogProgram(batch);
+			logger.fine("Classifying " + batch.size() + " classes with " + program.getData().getOntology().size()
+					+ " ontology clauses.");
+			String result = processor.process(this.inferenceEngine, this.queryProcessor, program, executionResult);
+			problogReasoningTime += executionResult.getProblogReasoningTime();
+			parseResult(result, superClasses);
+		}
+		executionResult.setProblogReasoningTime(problogReasoningTime);
+		return new ProbabilisticTaxonomy(classes, superClasses);
+	}
+
+	@Override
+	public String toString() {
+		return "session=" + this.session + ", batchSize=" + this.batchSize;
+	}
+
+}
@@ -0,0 +1,80 @@
+package de.tudresden.inf.lat.born.owlapi.processor;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * An object of this class is an individual together with the probability of
+ * being an instance of a class. Individuals are identified by their names.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class ProbabilisticInstance {
+
+	/**
+	 * Comparator that sorts by decreasing probability, and then by name.
+	 */
+	public static final Comparator<ProbabilisticInstance> BY_DECREASING_PROBABILITY = Comparator
+			.comparingDouble(ProbabilisticInstance::getProbability).reversed()
+			.thenComparing(ProbabilisticInstance::getIndividual);
+
+	private final String individual;
+	private final double probability;
+
+	/**
+	 * Constructs a new probabilistic instance.
+	 *
+	 * @param individual
+	 *            name of the individual
+	 * @param probability
+	 *            probability of the individual being an instance of the class
+	 */
+	public ProbabilisticInstance(String individual, double probability) {
+		this.individual = Objects.requireNonNull(individual);
+		this.probability = probability;
+	}
+
+	/**
+	 * Returns the name of the individual.
+	 *
+	 * @return the name of the individual
+	 */
+	public String getIndividual() {
+		return this.individual;
+	}
+
+	/**
+	 * Returns the probability of the individual being an instance of the
+	 * class.
+	 *
+	 * @return the probability of the individual being an instance of the
+	 *         class
+	 */
+	public double getProbability() {
+		return this.probability;
+	}
+
+	@Override
+	public int hashCode() {
+		return this.individual.hashCode() + 0x1F * Double.hashCode(this.probability);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		} else if (!(obj instanceof ProbabilisticInstance)) {
+			return false;
+		} else {
+			ProbabilisticInstance other = (ProbabilisticInstance) obj;
+			return this.individual.equals(other.individual) && this.probability == other.probability;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return this.individual + "\t" + this.probability;
+	}
+
+}
@@ -0,0 +1,306 @@
+package de.tudresden.inf.lat.born.owlapi.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+
+import de.tudresden.inf.lat.born.core.rule.FormulaConstructor;
+import de.tudresden.inf.lat.born.core.term.Symbol;
+import de.tudresden.inf.lat.born.module.DefaultModuleExtractor;
+import de.tudresden.inf.lat.born.module.Module;
+import de.tudresden.inf.lat.born.problog.engine.InferenceEngine;
+import de.tudresden.inf.lat.born.problog.parser.TokenCreator;
+import de.tudresden.inf.lat.born.problog.parser.TokenType;
+import de.tudresden.inf.lat.born.problog.type.BayesianNetwork;
+import de.tudresden.inf.lat.born.problog.type.ProblogProgram;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+
+/**
+ * An object of this class retrieves all the instances of a class, with their
+ * probabilities. It asks for all the instances with a single query of the
+ * form <code>query(inst(X, 'A')).</code>, evaluated in one ProbLog program
+ * whose ontology is the module of the class and of all the individuals of the
+ * ontology. A class expression that is not a named class is replaced by a
+ * fresh class that is a superclass of it.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class ProbabilisticInstanceRetriever {
+
+	private static final Logger logger = Logger.getLogger(ProbabilisticInstanceRetriever.class.getName());
+
+	/** Name of the fresh class used for class expressions. */
+	public static final String QUERY_CLASS_NAME = "http://lat.inf.tu-dresden.de/born#QueryClass";
+
+	static final String INDIVIDUAL_VARIABLE = "X";
+
+	private final OntologySession session;
+	private final String bayesianNetwork;
+	private final Optional<BayesianNetwork> parsedBayesianNetwork;
+	private final Optional<InferenceEngine> inferenceEngine;
+	private final Optional<Function<String, String>> queryProcessor;
+	private OntologySession updatableSession;
+
+	/**
+	 * Constructs a new probabilistic instance retriever.
+	 *
+	 * @param session
+	 *            ontology session
+	 * @param bayesianNetwork
+	 *            Bayesian network
+	 * @param queryProcessor
+	 *            query processor
+	 */
+	public ProbabilisticInstanceRetriever(OntologySession session, String bayesianNetwork,
+			Function<String, String> queryProcessor) {
+		this(session, bayesianNetwork, Optional.empty(), Optional.of(queryProcessor));
+	}
+
+	/**
+	 * Constructs a new probabilistic instance retriever whose ProbLog programs
+	 * are evaluated with the given inference engine.
+	 *
+	 * @param session
+	 *            ontology session
+	 * @param bayesianNetwork
+	 *            Bayesian network
+	 * @param inferenceEngine
+	 *            inference engine
+	 */
+	public ProbabilisticInstanceRetriever(OntologySession session, String bayesianNetwork,
+			InferenceEngine inferenceEngine) {
+		this(session, bayesianNetwork, Optional.of(inferenceEngine), Optional.empty());
+	}
+
+	ProbabilisticInstanceRetriever(OntologySession session, String bayesianNetwork,
+			Optional<InferenceEngine> inferenceEngine, Optional<Function<String, String>> queryProcessor) {
+		this.session = Objects.requireNonNull(session);
+		this.bayesianNetwork = Objects.requireNonNull(bayesianNetwork);
+		this.parsedBayesianNetwork = (new ProblogInputCreator()).parseBayesianNetwork(bayesianNetwork);
+		this.inferenceEngine = Objects.requireNonNull(inferenceEngine);
+		this.queryProcessor = Objects.requireNonNull(queryProcessor);
+	}
+
+	/**
+	 * Returns an ontology session that can be updated and that has the
+	 * ontology of the session of this retriever. If the session of this
+	 * retriever cannot be updated, e.g. because it was restored from a
+	 * snapshot, the ontology is translated again when this method is called
+	 * for the first time.
+	 *
+	 * @return an ontology session that can be updated and that has the
+	 *         ontology of the session of this retriever
+	 */
+	synchronized OntologySession getUpdatableSession() {
+		if (Objects.isNull(this.updatableSession)) {
+			if (this.session.isUpdatable()) {
+				this.updatableSession = this.session;
+			} else {
+				logger.fine("Translating the ontology again, because its session cannot be updated.");
+				this.updatableSession = new OntologySession(this.session.getOntology());
+			}
+		}
+		return this.updatableSession;
+	}
+
+	/**
+	 * Returns the identifiers of the individuals of the ontology.
+	 *
+	 * @param session
+	 *            ontology session
+	 * @return the identifiers of the individuals of the ontology
+	 */
+	Set<Integer> getIndividualIdentifiers(OntologySession session) {
+		return new TreeSet<>(session.getFactory().getEntityManager().getEntities(IntegerEntityType.INDIVIDUAL, false));
+	}
+
+	/**
+	 * Returns a ProbLog program that asks for all the instances of the given
+	 * class. The ontology part of the program is the module of the class and
+	 * of all the individuals.
+	 *
+	 * @param session
+	 *            ontology session
+	 * @param classId
+	 *            class identifier
+	 * @return a ProbLog program that asks for all the instances of the given
+	 *         class
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	ProblogProgram createProblogProgram(OntologySession session, int classId) throws IOException {
+		ProblogInputCreator creator = new ProblogInputCreator();
+		Set<Integer> entities = getIndividualIdentifiers(session);
+		entities.add(classId);
+		Module module = (new DefaultModuleExtractor()).extractModule(session.getModuleIndex(),
+				creator.getSetOfClasses(session.getFactory(), entities));
+
+		ProblogProgram program = new ProblogProgram();
+		program.getData().setOntology(creator.getClauses(session.getFactory(), module));
+		program.getData().setCompletionRules(creator.getDefaultCompletionRules());
+		creator.setBayesianNetwork(program, this.bayesianNetwork, this.parsedBayesianNetwork,
+				(new AxiomRenderer(session.getFactory())).getContextVariables(module.getAxioms()));
+
+		FormulaConstructor c = new FormulaConstructor();
+		String className = session.getFactory().getEntityManager().getName(classId).trim();
+		program.getData().setQueries(Collections.singletonList(c.query(c.inst(c.newVar(INDIVIDUAL_VARIABLE),
+				c.newCons(AxiomRenderer.APOSTROPHE + className + AxiomRenderer.APOSTROPHE)))));
+		return program;
+	}
+
+	/**
+	 * Returns the instances found in the given result of a query processor.
+	 * Each line of the result has the form <code>inst('a','A'):	p</code>,
+	 * where <i>p</i> is a probability.
+	 *
+	 * @param result
+	 *            result of a query processor
+	 * @return the instances found in the given result of a query processor
+	 */
+	List<ProbabilisticInstance> parseResult(String result) {
+		ProblogInputCreator creator = new ProblogInputCreator();
+		TokenCreator tokenCreator = new TokenCreator();
+		List<ProbabilisticInstance> ret = new ArrayList<>();
+		new BufferedReader(new StringReader(result)).lines().map(String::trim).forEach(line -> {
+			int pos = line.lastIndexOf(Symbol.COLON_CHAR);
+			if (pos > 0) {
+				List<String> list = tokenCreator.stream(line.subSequence(0, pos))
+						.filter(token -> token.getType().equals(TokenType.IDENTIFIER)
+								|| token.getType().equals(TokenType.CONSTANT))
+						.map(token -> creator.removeApostrophes(token.getValue())).collect(Collectors.toList());
+				if (list.size() == 3 && list.get(0).equals(FormulaConstructor.INST)) {
+					try {
+						double probability = Double.parseDouble(line.substring(pos + 1).trim());
+						ret.add(new ProbabilisticInstance(list.get(1), probability));
+					} catch (NumberFormatException e) {
+						logger.warning("Invalid probability in line: '" + line + "'.");
+					}
+				}
+			}
+		});
+		return ret;
+	}
+
+	/**
+	 * Returns the instances of the given class whose probability is at least
+	 * the given threshold, sorted by decreasing probability. Individuals that
+	 * are not instances of the class are not returned.
+	 *
+	 * @param className
+	 *            name of a class
+	 * @param threshold
+	 *            minimum probability of the returned instances
+	 * @param executionResult
+	 *            execution result, where the ProbLog reasoning time and the
+	 *            result are stored
+	 * @return the instances of the given class whose probability is at least
+	 *         the given threshold, sorted by decreasing probability
+	 * @throws IllegalArgumentException
+	 *             if the class is unknown, or the threshold is not between 0
+	 *             and 1
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	public Stream<ProbabilisticInstance> retrieve(String className, double threshold,
+			ProcessorExecutionResult executionResult) throws IOException {
+		Objects.requireNonNull(className);
+		Objects.requireNonNull(executionResult);
+		return retrieve(this.session, className, threshold, executionResult);
+	}
+
+	/**
+	 * Returns the instances of the given class expression whose probability
+	 * is at least the given threshold, sorted by decreasing probability. If
+	 * the class expression is not a named class, the instances are the ones
+	 * of a fresh class that is a superclass of the class expression, which is
+	 * only added to a copy of the ontology session. If the ontology session
+	 * cannot be updated, the ontology is translated again.
+	 *
+	 * @param classExpression
+	 *            class expression
+	 * @param threshold
+	 *            minimum probability of the returned instances
+	 * @param executionResult
+	 *            execution result, where the ProbLog reasoning time and the
+	 *            result are stored
+	 * @return the instances of the given class expression whose probability
+	 *         is at least the given threshold, sorted by decreasing
+	 *         probability
+	 * @throws IllegalArgumentException
+	 *             if the threshold is not between 0 and 1, or the ontology
+	 *             already contains the fresh class
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	public Stream<ProbabilisticInstance> retrieve(OWLClassExpression classExpression, double threshold,
+			ProcessorExecutionResult executionResult) throws IOException {
+		Objects.requireNonNull(classExpression);
+		Objects.requireNonNull(executionResult);
+		if (!classExpression.isAnonymous()) {
+			return retrieve(this.session, classExpression.asOWLClass().getIRI().toString(), threshold,
+					executionResult);
+		} else {
+			OWLDataFactory dataFactory = this.session.getOntology().getOWLOntologyManager().getOWLDataFactory();
+			OWLClass queryClass = dataFactory.getOWLClass(IRI.create(QUERY_CLASS_NAME));
+			if (this.session.getOntology().containsClassInSignature(queryClass.getIRI())) {
+				throw new IllegalArgumentException(
+						"The ontology already contains the class '" + QUERY_CLASS_NAME + "'.");
+			}
+			OntologySession extendedSession = getUpdatableSession().update(
+					Collections.singleton(dataFactory.getOWLSubClassOfAxiom(classExpression, queryClass)),
+					Collections.emptySet());
+			return retrieve(extendedSession, QUERY_CLASS_NAME, threshold, executionResult);
+		}
+	}
+
+	Stream<ProbabilisticInstance> retrieve(OntologySession session, String className, double threshold,
+			ProcessorExecutionResult executionResult) throws IOException {
+		if (!(threshold >= 0 && threshold <= 1)) {
+			throw new IllegalArgumentException("Invalid threshold: '" + threshold + "'.");
+		}
+		Optional<Integer> classId = session.getIdentifier(className);
+		if (!classId.isPresent()) {
+			throw new IllegalArgumentException("Unknown class: '" + className + "'.");
+		}
+
+		ProblogProgram program = createProblogProgram(session, classId.get());
+		logger.fine("Retrieving instances of '" + className + "' with " + program.getData().getOntology().size()
+				+ " ontology clauses.");
+
+		String result = (new ProcessorCore()).process(this.inferenceEngine, this.queryProcessor, program,
+				executionResult);
+		executionResult.setResult(result);
+
+		List<ProbabilisticInstance> instances = parseResult(result);
+		Collections.sort(instances, ProbabilisticInstance.BY_DECREASING_PROBABILITY);
+		int end = 0;
+		while (end < instances.size() && instances.get(end).getProbability() >= threshold
+				&& instances.get(end).getProbability() > 0) {
+			end++;
+		}
+		return instances.subList(0, end).stream();
+	}
+
+	@Override
+	public String toString() {
+		return "session=" + this.session;
+	}
+
+}
@@ -0,0 +1,226 @@
+package de.tudresden.inf.lat.born.owlapi.processor;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An object of this class is a probabilistic taxonomy. It contains, for each
+ * pair of classes, the probability that the first class is subsumed by the
+ * second class. Classes are identified by their names. Pairs that are not
+ * stored have probability 0, and each class is subsumed by itself with
+ * probability 1.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class ProbabilisticTaxonomy {
+
+	private final Set<String> classes;
+	private final Map<String, Map<String, Double>> superClasses;
+	private final Map<String, Map<String, Double>> subClasses;
+
+	/**
+	 * Constructs a new probabilistic taxonomy.
+	 *
+	 * @param classes
+	 *            names of the classes
+	 * @param superClasses
+	 *            map that associates to each class name a map from the names
+	 *            of its superclasses to the probability of each subsumption
+	 */
+	public ProbabilisticTaxonomy(Set<String> classes, Map<String, Map<String, Double>> superClasses) {
+		Objects.requireNonNull(classes);
+		Objects.requireNonNull(superClasses);
+		this.classes = Collections.unmodifiableSet(new TreeSet<>(classes));
+		Map<String, Map<String, Double>> superClassMap = new HashMap<>();
+		Map<String, Map<String, Double>> subClassMap = new HashMap<>();
+		superClasses.forEach((subClass, map) -> map.forEach((superClass, probability) -> {
+			if (this.classes.contains(subClass) && this.classes.contains(superClass)
+					&& !subClass.equals(superClass) && probability > 0) {
+				superClassMap.computeIfAbsent(subClass, key -> new HashMap<>()).put(superClass, probability);
+				subClassMap.computeIfAbsent(superClass, key -> new HashMap<>()).put(subClass, probability);
+			}
+		}));
+		this.superClasses = superClassMap;
+		this.subClasses = subClassMap;
+	}
+
+	/**
+	 * Returns the names of the classes in the taxonomy.
+	 *
+	 * @return the names of the classes in the taxonomy
+	 */
+	public Set<String> getClasses() {
+		return this.classes;
+	}
+
+	/**
+	 * Returns the probability that a class is subsumed by another class.
+	 *
+	 * @param subClass
+	 *            name of the subclass
+	 * @param superClass
+	 *            name of the superclass
+	 * @return the probability that a class is subsumed by another class
+	 */
+	public double getProbability(String subClass, String superClass) {
+		Objects.requireNonNull(subClass);
+		Objects.requireNonNull(superClass);
+		if (subClass.equals(superClass)) {
+			return 1;
+		} else {
+			return this.superClasses.getOrDefault(subClass, Collections.emptyMap()).getOrDefault(superClass, 0.0);
+		}
+	}
+
+	/**
+	 * Returns a map from the names of the superclasses of a class to the
+	 * probability of each subsumption. Only the subsumptions with positive
+	 * probability are included.
+	 *
+	 * @param cls
+	 *            name of a class
+	 * @return a map from the names of the superclasses of a class to the
+	 *         probability of each subsumption
+	 */
+	public Map<String, Double> getSuperClassProbabilities(String cls) {
+		Objects.requireNonNull(cls);
+		return Collections.unmodifiableMap(this.superClasses.getOrDefault(cls, Collections.emptyMap()));
+	}
+
+	Set<String> filter(Map<String, Map<String, Double>> map, String cls, double threshold) {
+		Set<String> result = new TreeSet<>();
+		map.getOrDefault(cls, Collections.emptyMap()).forEach((other, probability) -> {
+			if (probability >= threshold) {
+				result.add(other);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Returns the names of the superclasses of a class, i.e. of the classes
+	 * that subsume it with probability at least the given threshold. The class
+	 * itself is not included.
+	 *
+	 * @param cls
+	 *            name of a class
+	 * @param threshold
+	 *            minimum probability
+	 * @return the names of the superclasses of a class
+	 */
+	public Set<String> getSuperClasses(String cls, double threshold) {
+		Objects.requireNonNull(cls);
+		return filter(this.superClasses, cls, threshold);
+	}
+
+	/**
+	 * Returns the names of the subclasses of a class, i.e. of the classes that
+	 * are subsumed by it with probability at least the given threshold. The
+	 * class itself is not included.
+	 *
+	 * @param cls
+	 *            name of a class
+	 * @param threshold
+	 *            minimum probability
+	 * @return the names of the subclasses of a class
+	 */
+	public Set<String> getSubClasses(String cls, double threshold) {
+		Objects.requireNonNull(cls);
+		return filter(this.subClasses, cls, threshold);
+	}
+
+	/**
+	 * Returns the names of the classes that are equivalent to a class with the
+	 * given threshold. The class itself is included.
+	 *
+	 * @param cls
+	 *            name of a class
+	 * @param threshold
+	 *            minimum probability
+	 * @return the names of the classes that are equivalent to a class
+	 */
+	public Set<String> getEquivalentClasses(String cls, double threshold) {
+		Objects.requireNonNull(cls);
+		Set<String> result = getSuperClasses(cls, threshold);
+		result.retainAll(getSubClasses(cls, threshold));
+		result.add(cls);
+		return result;
+	}
+
+	Set<String> getDirect(Set<String> related, boolean superClassesWanted, double threshold) {
+		Set<String> result = new TreeSet<>();
+		related.forEach(candidate -> {
+			boolean direct = related.stream().noneMatch(other -> {
+				boolean between = superClassesWanted ? getProbability(other, candidate) >= threshold
+						: getProbability(candidate, other) >= threshold;
+				boolean equivalent = getProbability(other, candidate) >= threshold
+						&& getProbability(candidate, other) >= threshold;
+				return between && !equivalent;
+			});
+			if (direct) {
+				result.add(candidate);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Returns the names of the direct superclasses of a class with the given
+	 * threshold. Equivalent classes are excluded.
+	 *
+	 * @param cls
+	 *            name of a class
+	 * @param threshold
+	 *            minimum probability
+	 * @return the names of the direct superclasses of a class
+	 */
+	public Set<String> getDirectSuperClasses(String cls, double threshold) {
+		Set<String> superClasses = getSuperClasses(cls, threshold);
+		superClasses.removeAll(getEquivalentClasses(cls, threshold));
+		return getDirect(superClasses, true, threshold);
+	}
+
+	/**
+	 * Returns the names of the direct subclasses of a class with the given
+	 * threshold. Equivalent classes are excluded.
+	 *
+	 * @param cls
+	 *            name of a class
+	 * @param threshold
+	 *            minimum probability
+	 * @return the names of the direct subclasses of a class
+	 */
+	public Set<String> getDirectSubClasses(String cls, double threshold) {
+		Set<String> subClasses = getSubClasses(cls, threshold);
+		subClasses.removeAll(getEquivalentClasses(cls, threshold));
+		return getDirect(subClasses, false, threshold);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.classes.hashCode() + 0x1F * this.superClasses.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		} else if (!(obj instanceof ProbabilisticTaxonomy)) {
+			return false;
+		} else {
+			ProbabilisticTaxonomy other = (ProbabilisticTaxonomy) obj;
+			return this.classes.equals(other.classes) && this.superClasses.equals(other.superClasses);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return this.superClasses.toString();
+	}
+
+}
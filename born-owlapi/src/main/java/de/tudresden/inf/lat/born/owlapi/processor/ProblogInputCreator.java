@@ -1,5 +1,6 @@
 package de.tudresden.inf.lat.born.owlapi.processor;
 
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -14,10 +15,10 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -33,6 +34,9 @@ import de.tudresden.inf.lat.born.core.rule.CR1Rule;
 import de.tudresden.inf.lat.born.core.rule.CR2Rule;
 import de.tudresden.inf.lat.born.core.rule.CR3Rule;
 import de.tudresden.inf.lat.born.core.rule.CR4Rule;
+import de.tudresden.inf.lat.born.core.rule.CR5Rule;
+import de.tudresden.inf.lat.born.core.rule.CR6Rule;
+import de.tudresden.inf.lat.born.core.rule.CR7Rule;
 import de.tudresden.inf.lat.born.core.rule.CompletionRule;
 import de.tudresden.inf.lat.born.core.rule.EmptyRule;
 import de.tudresden.inf.lat.born.core.rule.FR1Rule;
@@ -44,23 +48,23 @@ import de.tudresden.inf.lat.born.core.rule.RR2Rule;
 import de.tudresden.inf.lat.born.core.rule.TR1Rule;
 import de.tudresden.inf.lat.born.core.rule.TR2Rule;
 import de.tudresden.inf.lat.born.core.rule.TR3Rule;
+import de.tudresden.inf.lat.born.core.rule.TR4Rule;
 import de.tudresden.inf.lat.born.core.term.Clause;
+import de.tudresden.inf.lat.born.core.term.ProbClause;
 import de.tudresden.inf.lat.born.core.term.Symbol;
+import de.tudresden.inf.lat.born.core.term.Term;
 import de.tudresden.inf.lat.born.module.DefaultModuleExtractor;
 import de.tudresden.inf.lat.born.module.Module;
-import de.tudresden.inf.lat.born.problog.parser.Token;
+import de.tudresden.inf.lat.born.problog.parser.ParseException;
+import de.tudresden.inf.lat.born.problog.engine.Presaturator;
+import de.tudresden.inf.lat.born.problog.parser.ProblogParser;
 import de.tudresden.inf.lat.born.problog.parser.TokenCreator;
 import de.tudresden.inf.lat.born.problog.parser.TokenType;
+import de.tudresden.inf.lat.born.problog.type.BayesianNetwork;
 import de.tudresden.inf.lat.born.problog.type.ProblogProgram;
-import de.tudresden.inf.lat.jcel.coreontology.axiom.NominalAxiom;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
-import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
 import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
-import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
 import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
-import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
-import de.tudresden.inf.lat.jcel.ontology.normalization.OntologyNormalizer;
-import de.tudresden.inf.lat.jcel.owlapi.translator.Translator;
 import de.tudresden.inf.lat.util.map.OptMap;
 import de.tudresden.inf.lat.util.map.OptMapImpl;
 
@@ -77,6 +81,10 @@ public class ProblogInputCreator {
 	static final String NUMBER_OF_AXIOMS_MSG = "  Number of axioms: ";
 	static final String NUMBER_OF_NORM_AXIOMS_MSG = "  Number of normalized axioms: ";
 	static final String NUMBER_OF_AXIOMS_IN_MODULE = "  Number of axioms in module: ";
+	static final String NUMBER_OF_AXIOMS_IN_GOAL_DIRECTED_MODULE = "  Number of axioms in goal-directed module: ";
+	static final String NUMBER_OF_PRESATURATED_CLAUSES_MSG = "  Number of clauses after presaturation: ";
+	static final String NUMBER_OF_RETAINED_NETWORK_CLAUSES_MSG = "  Number of retained clauses of the Bayesian network: ";
+	static final String NUMBER_OF_DROPPED_NETWORK_CLAUSES_MSG = "  Number of dropped clauses of the Bayesian network: ";
 
 	static final String RULES_TO_INTERPRET_QUERIES_MSG = " Rules to interpret the queries";
 	static final String RULES_TO_PROCESS_INDIVIDUALS_MSG = " Rules to process individuals";
@@ -84,22 +92,151 @@ public class ProblogInputCreator {
 	static final String EL_COMPLETION_RULES_MSG = " EL complettion rules";
 	static final String RULES_TO_AVOID_EMPTY_PREDICATES_OF_ENTITIES_MSG = " Rules to avoid empty predicates of entities";
 
+	static final String ANONYMOUS_VARIABLE = "" + Symbol.UNDERSCORE_CHAR;
+
+	static final List<CompletionRule> DEFAULT_COMPLETION_RULES = createDefaultCompletionRules();
+
+	private final boolean compactEntityNames;
+	private final boolean presaturating;
+	private final boolean goalDirectedModules;
+
+	/**
+	 * Constructs a new ProbLog input creator that renders the entities with
+	 * their quoted names.
+	 */
+	public ProblogInputCreator() {
+		this(false);
+	}
+
+	/**
+	 * Constructs a new ProbLog input creator. If the entity names are
+	 * compact, the entities are rendered with the compact symbols of the
+	 * {@link EntitySymbolTable} of the ontology session, and the names of
+	 * entities in the queries and in the additional completion rules are
+	 * replaced by their compact symbols. The results obtained with such a
+	 * program can be translated back with
+	 * {@link EntitySymbolTable#decode(String)}.
+	 * 
+	 * @param compactEntityNames
+	 *            <code>true</code> if and only if the entities are rendered
+	 *            with their compact symbols
+	 */
+	public ProblogInputCreator(boolean compactEntityNames) {
+		this(compactEntityNames, false);
+	}
+
+	/**
+	 * Constructs a new ProbLog input creator. If the entity names are
+	 * compact, the entities are rendered with the compact symbols of the
+	 * {@link EntitySymbolTable} of the ontology session. If the creator is
+	 * presaturating, the axioms of the module without context are saturated
+	 * by a {@link Presaturator}, and the program only contains the derived
+	 * subsumptions that can be used to answer the queries and the axioms that
+	 * can be applied to a subsumption that depends on a context. The
+	 * presaturation is only applied to programs with the default completion
+	 * rules and without additional completion rules.
+	 * 
+	 * @param compactEntityNames
+	 *            <code>true</code> if and only if the entities are rendered
+	 *            with their compact symbols
+	 * @param presaturating
+	 *            <code>true</code> if and only if the axioms without context
+	 *            are saturated before creating the program
+	 */
+	public ProblogInputCreator(boolean compactEntityNames, boolean presaturating) {
+		this(compactEntityNames, presaturating, false);
+	}
+
+	/**
+	 * Constructs a new ProbLog input creator. If the entity names are
+	 * compact, the entities are rendered with the compact symbols of the
+	 * {@link EntitySymbolTable} of the ontology session. If the creator is
+	 * presaturating, the axioms of the module without context are saturated
+	 * by a {@link Presaturator}. If the creator uses goal-directed modules and
+	 * every query has the form <code>sub(A, B)</code> for two classes
+	 * <code>A</code> and <code>B</code>, the program only contains the axioms
+	 * that can take part in the derivation of <code>B</code> from
+	 * <code>A</code>.
+	 * 
+	 * @param compactEntityNames
+	 *            <code>true</code> if and only if the entities are rendered
+	 *            with their compact symbols
+	 * @param presaturating
+	 *            <code>true</code> if and only if the axioms without context
+	 *            are saturated before creating the program
+	 * @param goalDirectedModules
+	 *            <code>true</code> if and only if goal-directed modules are
+	 *            extracted for the subsumption queries
+	 */
+	public ProblogInputCreator(boolean compactEntityNames, boolean presaturating, boolean goalDirectedModules) {
+		this.compactEntityNames = compactEntityNames;
+		this.presaturating = presaturating;
+		this.goalDirectedModules = goalDirectedModules;
+	}
+
+	/**
+	 * Tells whether the entities are rendered with their compact symbols.
+	 * 
+	 * @return <code>true</code> if and only if the entities are rendered with
+	 *         their compact symbols
+	 */
+	public boolean hasCompactEntityNames() {
+		return this.compactEntityNames;
+	}
+
+	/**
+	 * Tells whether the axioms without context are saturated before creating
+	 * the program.
+	 * 
+	 * @return <code>true</code> if and only if the axioms without context are
+	 *         saturated before creating the program
+	 */
+	public boolean isPresaturating() {
+		return this.presaturating;
+	}
+
+	/**
+	 * Tells whether goal-directed modules are extracted for the subsumption
+	 * queries.
+	 * 
+	 * @return <code>true</code> if and only if goal-directed modules are
+	 *         extracted for the subsumption queries
+	 */
+	public boolean hasGoalDirectedModules() {
+		return this.goalDirectedModules;
+	}
+
+	/**
+	 * Returns the identifiers and constants found in the given text. These
+	 * are, for example, the context variables used in additional completion
+	 * rules.
+	 * 
+	 * @param reader
+	 *            reader
+	 * @return the identifiers and constants found in the given text
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	Set<String> parseSymbols(Reader reader) throws IOException {
+		return (new TokenCreator()).stream(reader).filter(
+				token -> (token.getType().equals(TokenType.IDENTIFIER) || token.getType().equals(TokenType.CONSTANT)))
+				.map(token -> token.getValue()).collect(Collectors.toCollection(TreeSet::new));
+	}
+
 	Set<String> parseRelevantSymbols(Reader reader) throws IOException {
 		Set<String> result = new TreeSet<>();
-		TokenCreator c = new TokenCreator();
-		List<Token> tokens = c.createTokens(reader);
-		List<String> list = tokens.stream().filter(
+		List<String> list = (new TokenCreator()).stream(reader).filter(
 				token -> (token.getType().equals(TokenType.IDENTIFIER) || token.getType().equals(TokenType.CONSTANT)))
 				.map(token -> token.getValue()).collect(Collectors.toList());
 
-		if (list.get(0).equals(FormulaConstructor.QUERY)) {
+		if (!list.isEmpty() && list.get(0).equals(FormulaConstructor.QUERY)) {
 			list.remove(FormulaConstructor.QUERY);
-			if (list.get(0).equals(FormulaConstructor.SUB)) {
+			if (!list.isEmpty() && list.get(0).equals(FormulaConstructor.SUB)) {
 				list.remove(FormulaConstructor.SUB);
 				if (!list.isEmpty()) {
 					result.add(list.iterator().next());
 				}
-			} else if (list.get(0).equals(FormulaConstructor.INST)) {
+			} else if (!list.isEmpty() && list.get(0).equals(FormulaConstructor.INST)) {
 				list.remove(FormulaConstructor.INST);
 				if (list.size() > 2) {
 					result.add(list.get(1));
@@ -112,12 +249,7 @@ public class ProblogInputCreator {
 		return result;
 	}
 
-	/**
-	 * Returns the default list of completion rules.
-	 * 
-	 * @return the default list of completion rules
-	 */
-	public List<CompletionRule> getDefaultCompletionRules() {
+	static List<CompletionRule> createDefaultCompletionRules() {
 		List<CompletionRule> result = new ArrayList<>();
 		result.add(new EmptyRule());
 		result.add(new EmptyRule(RULES_TO_INTERPRET_QUERIES_MSG));
@@ -139,27 +271,62 @@ public class ProblogInputCreator {
 		result.add(new CR2Rule());
 		result.add(new CR3Rule());
 		result.add(new CR4Rule());
+		result.add(new CR5Rule());
+		result.add(new CR6Rule());
+		result.add(new CR7Rule());
 		result.add(new EmptyRule());
 		result.add(new EmptyRule(RULES_TO_AVOID_EMPTY_PREDICATES_OF_ENTITIES_MSG));
 		result.add(new TR1Rule());
 		result.add(new TR2Rule());
 		result.add(new TR3Rule());
+		result.add(new TR4Rule());
 
-		return result;
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Returns the default list of completion rules.
+	 * 
+	 * @return the default list of completion rules
+	 */
+	public List<CompletionRule> getDefaultCompletionRules() {
+		return new ArrayList<>(DEFAULT_COMPLETION_RULES);
+	}
+
+	/**
+	 * Tells whether the given text contains exactly the default completion
+	 * rules, ignoring white space. This is the case when the completion rules
+	 * are shown as text, for example, in a text editor.
+	 * 
+	 * @param completionRules
+	 *            completion rules as text
+	 * @return <code>true</code> if and only if the given text contains exactly
+	 *         the default completion rules
+	 */
+	public boolean isDefaultCompletionRules(String completionRules) {
+		Objects.requireNonNull(completionRules);
+		String defaultCompletionRules = (new ProblogProgram()).asStringWithTabs(DEFAULT_COMPLETION_RULES);
+		return removeWhiteSpace(defaultCompletionRules).equals(removeWhiteSpace(completionRules));
+	}
+
+	String removeWhiteSpace(String text) {
+		return text.replaceAll("\\s", "");
 	}
 
 	void write(Writer output, ProblogProgram program) throws IOException {
 		Objects.requireNonNull(output);
 		Objects.requireNonNull(program);
-		BufferedWriter writer = new BufferedWriter(output);
-		writer.write(program.asString());
-		writer.flush();
-		writer.close();
+		try (BufferedWriter writer = new BufferedWriter(output)) {
+			program.write(writer);
+		}
 	}
 
 	List<Clause> getDeclarations(IntegerOntologyObjectFactory factory, Module module) {
+		return getDeclarations(new AxiomRenderer(factory), factory, module);
+	}
+
+	List<Clause> getDeclarations(AxiomRenderer renderer, IntegerOntologyObjectFactory factory, Module module) {
 		List<Clause> result = new ArrayList<>();
-		AxiomRenderer renderer = new AxiomRenderer(factory);
 
 		Set<Integer> classes = new TreeSet<>();
 		Set<Integer> objectProperties = new TreeSet<>();
@@ -190,9 +357,14 @@ public class ProblogInputCreator {
 	}
 
 	List<Clause> getClauses(IntegerOntologyObjectFactory factory, Module module) throws IOException {
+		return getClauses(new AxiomRenderer(factory, new FormulaConstructor(), Optional.empty(),
+				new RoleHierarchy(module.getAxioms())), factory, module);
+	}
+
+	List<Clause> getClauses(AxiomRenderer renderer, IntegerOntologyObjectFactory factory, Module module)
+			throws IOException {
 		List<Clause> result = new ArrayList<>();
-		AxiomRenderer renderer = new AxiomRenderer(factory);
-		result.addAll(getDeclarations(factory, module));
+		result.addAll(getDeclarations(renderer, factory, module));
 
 		module.getAxioms().forEach(axiom -> {
 			Set<Clause> clauses = axiom.accept(renderer);
@@ -216,28 +388,10 @@ public class ProblogInputCreator {
 		return result;
 	}
 
-	Optional<Integer> getId(OptMap<String, Integer> map, String symbolStr0) {
-		Optional<Integer> result = Optional.empty();
-		String symbolStr = removeApostrophes(symbolStr0);
-		if (symbolStr.equals(FormulaConstructor.TOP)) {
-			result = Optional.of(IntegerEntityManager.topClassId);
-		} else {
-			result = map.get(symbolStr);
-		}
-
-		return result;
-	}
-
-	Set<Integer> getSetOfEntities(IntegerOntologyObjectFactory factory, Set<String> symbolStrSet) {
+	Set<Integer> getSetOfEntities(OntologySession session, Set<String> symbolStrSet) {
 		Set<Integer> result = new TreeSet<>();
-		OptMap<String, Integer> map = new OptMapImpl<>(new TreeMap<>());
-		factory.getEntityManager().getEntities(IntegerEntityType.CLASS, false)
-				.forEach(id -> map.put(factory.getEntityManager().getName(id), id));
-		factory.getEntityManager().getEntities(IntegerEntityType.INDIVIDUAL, false)
-				.forEach(id -> map.put(factory.getEntityManager().getName(id), id));
-
 		symbolStrSet.forEach(symbolStr -> {
-			Optional<Integer> optId = getId(map, symbolStr);
+			Optional<Integer> optId = session.getIdentifier(removeApostrophes(symbolStr));
 			if (optId.isPresent()) {
 				result.add(optId.get());
 			}
@@ -246,6 +400,124 @@ public class ProblogInputCreator {
 		return result;
 	}
 
+	Optional<Integer> getClassIdentifier(OntologySession session, Term term) {
+		if (term.getType().equals(Term.Type.ATOM)) {
+			Optional<Integer> optId = session.getIdentifier(removeApostrophes(term.getName()));
+			if (optId.isPresent()
+					&& session.getFactory().getEntityManager().getType(optId.get()).equals(IntegerEntityType.CLASS)) {
+				return optId;
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Returns the union of the goal-directed modules of the given queries, if
+	 * every query has the form <code>sub(A, B)</code> for two classes
+	 * <code>A</code> and <code>B</code>.
+	 * 
+	 * @param moduleExtractor
+	 *            module extractor
+	 * @param session
+	 *            ontology session
+	 * @param expandedQueries
+	 *            queries with expanded prefixes
+	 * @return the union of the goal-directed modules of the given queries, if
+	 *         every query has the form <code>sub(A, B)</code> for two classes
+	 *         <code>A</code> and <code>B</code>
+	 */
+	Optional<Module> extractGoalDirectedModule(DefaultModuleExtractor moduleExtractor, OntologySession session,
+			List<String> expandedQueries) {
+		Set<Integer> entities = new TreeSet<>();
+		Set<NormalizedIntegerAxiom> axioms = new HashSet<>();
+		for (String expandedQuery : expandedQueries) {
+			List<ProbClause> clauses;
+			try {
+				clauses = (new ProblogParser()).parse(expandedQuery);
+			} catch (ParseException e) {
+				return Optional.empty();
+			}
+			if (clauses.isEmpty()) {
+				return Optional.empty();
+			}
+			for (Clause clause : clauses) {
+				Term head = clause.getHead();
+				if (!clause.getBody().isEmpty() || !head.getName().equals(FormulaConstructor.QUERY)
+						|| head.getArguments().size() != 1) {
+					return Optional.empty();
+				}
+				Term query = head.getArguments().get(0);
+				if (!query.getName().equals(FormulaConstructor.SUB) || query.getArguments().size() != 2) {
+					return Optional.empty();
+				}
+				Optional<Integer> subClass = getClassIdentifier(session, query.getArguments().get(0));
+				Optional<Integer> superClass = getClassIdentifier(session, query.getArguments().get(1));
+				if (!subClass.isPresent() || !superClass.isPresent()) {
+					return Optional.empty();
+				}
+				Module module = moduleExtractor.extractModule(session.getModuleIndex(), subClass.get(),
+						superClass.get());
+				entities.addAll(module.getEntities());
+				axioms.addAll(module.getAxioms());
+			}
+		}
+		return Optional.of(new Module(entities, axioms));
+	}
+
+	/**
+	 * Returns the terms of the subclasses asked in the given queries, if
+	 * every query has the form <code>sub(A, X)</code>, <code>inst(a, X)</code>,
+	 * or <code>inst(R, a, X)</code> for a class or individual <code>A</code>
+	 * or <code>a</code>. The terms are rendered by the given renderer.
+	 * 
+	 * @param renderer
+	 *            axiom renderer of the program
+	 * @param session
+	 *            ontology session
+	 * @param expandedQueries
+	 *            queries with expanded prefixes
+	 * @return the terms of the subclasses asked in the given queries, if
+	 *         every query asks for the subsumers or the instances of a class
+	 *         or individual
+	 */
+	Optional<Set<Term>> getQueriedSubClasses(AxiomRenderer renderer, OntologySession session,
+			List<String> expandedQueries) {
+		Set<Term> ret = new HashSet<>();
+		for (String expandedQuery : expandedQueries) {
+			List<ProbClause> clauses;
+			try {
+				clauses = (new ProblogParser()).parse(expandedQuery);
+			} catch (ParseException e) {
+				return Optional.empty();
+			}
+			for (Clause clause : clauses) {
+				Term head = clause.getHead();
+				if (!clause.getBody().isEmpty() || !head.getName().equals(FormulaConstructor.QUERY)
+						|| head.getArguments().size() != 1) {
+					return Optional.empty();
+				}
+				Term query = head.getArguments().get(0);
+				int position;
+				if ((query.getName().equals(FormulaConstructor.SUB) || query.getName().equals(FormulaConstructor.INST))
+						&& query.getArguments().size() == 2) {
+					position = 0;
+				} else if (query.getName().equals(FormulaConstructor.INST) && query.getArguments().size() == 3) {
+					position = 1;
+				} else {
+					return Optional.empty();
+				}
+				Term subClass = query.getArguments().get(position);
+				Optional<Integer> optId = subClass.getType().equals(Term.Type.ATOM)
+						? session.getIdentifier(removeApostrophes(subClass.getName())) : Optional.empty();
+				if (!optId.isPresent()) {
+					return Optional.empty();
+				}
+				ret.add(renderer.get(optId.get()));
+			}
+		}
+		return Optional.of(ret);
+	}
+
 	Set<Integer> getSetOfClasses(IntegerOntologyObjectFactory factory, Set<Integer> setOfEntities) {
 		Set<Integer> result = new TreeSet<>();
 		setOfEntities.forEach(entity -> {
@@ -263,22 +535,6 @@ public class ProblogInputCreator {
 		return result;
 	}
 
-	Set<NormalizedIntegerAxiom> removeUnnecessaryAnnotations(Set<NormalizedIntegerAxiom> axioms,
-			IntegerOntologyObjectFactory factory) {
-		Set<NormalizedIntegerAxiom> result = new HashSet<>();
-		axioms.forEach(axiom -> {
-			if (axiom instanceof NominalAxiom) {
-				NominalAxiom nominalAxiom = (NominalAxiom) axiom;
-				result.add(factory.getNormalizedAxiomFactory().createNominalAxiom(nominalAxiom.getClassExpression(),
-						nominalAxiom.getIndividual(), new HashSet<>()));
-			} else {
-				result.add(axiom);
-			}
-		});
-
-		return result;
-	}
-
 	List<String> orderByLongestFirst(Collection<String> oldList) {
 		List<String> result = new ArrayList<>();
 		result.addAll(oldList);
@@ -322,11 +578,26 @@ public class ProblogInputCreator {
 	public String expandPrefixes(OWLOntology ontology, String text) {
 		Objects.requireNonNull(ontology);
 		Objects.requireNonNull(text);
-		PrefixDocumentFormat prefixes = ProcessorConfigurationImpl.getPrefixes(ontology);
+		return expandPrefixes(ProcessorConfigurationImpl.getPrefixMap(ontology), text);
+	}
+
+	/**
+	 * Returns the given text with its prefixes expanded. The prefixes are
+	 * given as a map from prefix names to prefixes.
+	 * 
+	 * @param prefixes
+	 *            map from prefix names to prefixes
+	 * @param text
+	 *            text
+	 * @return the given text with its prefixes expanded
+	 */
+	public String expandPrefixes(Map<String, String> prefixes, String text) {
+		Objects.requireNonNull(prefixes);
+		Objects.requireNonNull(text);
 		OptMap<String, String> prefixNames = new OptMapImpl<>(new HashMap<>());
-		prefixes.getPrefixNames().forEach(prefixName -> {
+		prefixes.forEach((prefixName, prefix) -> {
 			if (prefixName.length() > 1) {
-				prefixNames.put(prefixName, prefixes.getIRI(prefixName).toString());
+				prefixNames.put(prefixName, prefix);
 			}
 		});
 		return replaceAll(prefixNames, text);
@@ -382,54 +653,219 @@ public class ProblogInputCreator {
 	public String createProblogFile(boolean useOfDefaultCompletionRules, String additionalCompletionRules,
 			OWLOntology owlOntology, String bayesianNetwork, String query, OutputStream resultOutputStream,
 			ProcessorExecutionResult executionResult) throws IOException, OWLOntologyCreationException {
-		Objects.requireNonNull(additionalCompletionRules);
 		Objects.requireNonNull(owlOntology);
-		Objects.requireNonNull(bayesianNetwork);
-		Objects.requireNonNull(query);
+		return createProblogFile(useOfDefaultCompletionRules, additionalCompletionRules,
+				new OntologySession(owlOntology), bayesianNetwork, query, resultOutputStream, executionResult);
+	}
+
+	/**
+	 * Returns a ProbLog program with the given parameters. The ontology is
+	 * taken from an ontology session, which is already translated and
+	 * normalized and indexed, and therefore only the module extraction is
+	 * executed for the query.
+	 * 
+	 * @param useOfDefaultCompletionRules
+	 *            <code>true</code> if and only if the default completion rules
+	 *            are used
+	 * @param additionalCompletionRules
+	 *            addition completion rules
+	 * @param session
+	 *            ontology session
+	 * @param bayesianNetwork
+	 *            Bayesian network
+	 * @param query
+	 *            query
+	 * @param resultOutputStream
+	 *            output stream for the result
+	 * @param executionResult
+	 *            result of the processor execution
+	 * @return a ProbLog program with the given parameters
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 */
+	public String createProblogFile(boolean useOfDefaultCompletionRules, String additionalCompletionRules,
+			OntologySession session, String bayesianNetwork, String query, OutputStream resultOutputStream,
+			ProcessorExecutionResult executionResult) throws IOException {
 		Objects.requireNonNull(resultOutputStream);
+		return createProblogFile(useOfDefaultCompletionRules, additionalCompletionRules, session, bayesianNetwork,
+				query, new OutputStreamWriter(resultOutputStream), executionResult);
+	}
+
+	/**
+	 * Returns a ProbLog program with the given parameters. The ProbLog program
+	 * is written to the given writer clause by clause, which is closed
+	 * afterwards.
+	 * 
+	 * @param useOfDefaultCompletionRules
+	 *            <code>true</code> if and only if the default completion rules
+	 *            are used
+	 * @param additionalCompletionRules
+	 *            addition completion rules
+	 * @param session
+	 *            ontology session
+	 * @param bayesianNetwork
+	 *            Bayesian network
+	 * @param query
+	 *            query
+	 * @param resultWriter
+	 *            writer for the result
+	 * @param executionResult
+	 *            result of the processor execution
+	 * @return a ProbLog program with the given parameters
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 */
+	public String createProblogFile(boolean useOfDefaultCompletionRules, String additionalCompletionRules,
+			OntologySession session, String bayesianNetwork, String query, Writer resultWriter,
+			ProcessorExecutionResult executionResult) throws IOException {
+		Objects.requireNonNull(resultWriter);
 		StringBuffer sbuf = new StringBuffer();
+		ProblogProgram program = createProblogProgram(useOfDefaultCompletionRules, additionalCompletionRules,
+				session, bayesianNetwork, query, executionResult, sbuf);
+		write(resultWriter, program);
+		return sbuf.toString();
+	}
+
+	/**
+	 * Returns a ProbLog program with the given parameters, without writing
+	 * it.
+	 * 
+	 * @param useOfDefaultCompletionRules
+	 *            <code>true</code> if and only if the default completion rules
+	 *            are used
+	 * @param additionalCompletionRules
+	 *            addition completion rules
+	 * @param session
+	 *            ontology session
+	 * @param bayesianNetwork
+	 *            Bayesian network
+	 * @param query
+	 *            query
+	 * @param executionResult
+	 *            result of the processor execution
+	 * @param sbuf
+	 *            string buffer to append information about the sizes
+	 * @return a ProbLog program with the given parameters
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 */
+	public ProblogProgram createProblogProgram(boolean useOfDefaultCompletionRules, String additionalCompletionRules,
+			OntologySession session, String bayesianNetwork, String query, ProcessorExecutionResult executionResult,
+			StringBuffer sbuf) throws IOException {
+		Objects.requireNonNull(query);
+		return createProblogProgram(useOfDefaultCompletionRules, additionalCompletionRules, session, bayesianNetwork,
+				Collections.singletonList(query), executionResult, sbuf);
+	}
+
+	/**
+	 * Returns a ProbLog program with the given parameters and several
+	 * queries, without writing it. The ontology part of the program is the
+	 * union of the modules of all the queries, so that all the queries are
+	 * evaluated with a single execution of ProbLog.
+	 * 
+	 * @param useOfDefaultCompletionRules
+	 *            <code>true</code> if and only if the default completion rules
+	 *            are used
+	 * @param additionalCompletionRules
+	 *            addition completion rules
+	 * @param session
+	 *            ontology session
+	 * @param bayesianNetwork
+	 *            Bayesian network
+	 * @param queries
+	 *            queries
+	 * @param executionResult
+	 *            result of the processor execution
+	 * @param sbuf
+	 *            string buffer to append information about the sizes
+	 * @return a ProbLog program with the given parameters
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 */
+	ProblogProgram createProblogProgram(boolean useOfDefaultCompletionRules, String additionalCompletionRules,
+			OntologySession session, String bayesianNetwork, List<String> queries,
+			ProcessorExecutionResult executionResult, StringBuffer sbuf) throws IOException {
+		Objects.requireNonNull(bayesianNetwork);
+		return createProblogProgram(useOfDefaultCompletionRules, additionalCompletionRules, session, bayesianNetwork,
+				parseBayesianNetwork(bayesianNetwork), queries, executionResult, sbuf);
+	}
+
+	/**
+	 * Returns a ProbLog program with the given parameters and several
+	 * queries, without writing it. If the parsed Bayesian network is present,
+	 * it is pruned, so that the program only includes the clauses of the
+	 * context variables in the annotations of the module axioms, the queries,
+	 * and the additional completion rules, together with their ancestors. The
+	 * numbers of retained and dropped clauses are stored in the execution
+	 * result. Otherwise, the Bayesian network is included as it is.
+	 * 
+	 * @param useOfDefaultCompletionRules
+	 *            <code>true</code> if and only if the default completion rules
+	 *            are used
+	 * @param additionalCompletionRules
+	 *            addition completion rules
+	 * @param session
+	 *            ontology session
+	 * @param bayesianNetwork
+	 *            Bayesian network
+	 * @param parsedBayesianNetwork
+	 *            the same Bayesian network already parsed, if it could be
+	 *            parsed
+	 * @param queries
+	 *            queries
+	 * @param executionResult
+	 *            result of the processor execution
+	 * @param sbuf
+	 *            string buffer to append information about the sizes
+	 * @return a ProbLog program with the given parameters
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 */
+	ProblogProgram createProblogProgram(boolean useOfDefaultCompletionRules, String additionalCompletionRules,
+			OntologySession session, String bayesianNetwork, Optional<BayesianNetwork> parsedBayesianNetwork,
+			List<String> queries, ProcessorExecutionResult executionResult, StringBuffer sbuf) throws IOException {
+		Objects.requireNonNull(additionalCompletionRules);
+		Objects.requireNonNull(session);
+		Objects.requireNonNull(bayesianNetwork);
+		Objects.requireNonNull(parsedBayesianNetwork);
+		Objects.requireNonNull(queries);
+		Objects.requireNonNull(sbuf);
 		sbuf.append(Symbol.NEW_LINE_CHAR);
 
-		sbuf.append(NUMBER_OF_OWL_AXIOMS_MSG + owlOntology.getAxiomCount());
+		sbuf.append(NUMBER_OF_OWL_AXIOMS_MSG + session.getOWLAxiomCount());
 		sbuf.append(Symbol.NEW_LINE_CHAR);
 
 		ProblogProgram program = new ProblogProgram();
-		String expandedQuery = expandPrefixes(owlOntology, query);
-		program.setQueryListAddendum(expandedQuery);
-
-		Set<String> relevantSymbols = parseRelevantSymbols(new StringReader(expandedQuery));
+		Optional<EntitySymbolTable> symbolTable = this.compactEntityNames
+				? Optional.of(session.getEntitySymbolTable()) : Optional.empty();
+		List<String> expandedQueries = new ArrayList<>();
+		queries.forEach(query -> expandedQueries.add(expandPrefixes(session.getPrefixes(), query)));
+		String queryList = String.join("" + Symbol.NEW_LINE_CHAR, expandedQueries);
+		program.setQueryListAddendum(symbolTable.isPresent() ? symbolTable.get().encode(queryList) : queryList);
 
-		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
-
-		long translationStart = System.nanoTime();
-		logger.fine("OWL Axioms: " + owlOntology.getAxioms());
+		Set<String> relevantSymbols = new TreeSet<>();
+		for (String expandedQuery : expandedQueries) {
+			relevantSymbols.addAll(parseRelevantSymbols(new StringReader(expandedQuery)));
+		}
 
-		Translator translator = new Translator(owlOntology.getOWLOntologyManager().getOWLDataFactory(), factory);
-		Set<ComplexIntegerAxiom> axioms = translator.translateSA(owlOntology.getAxioms());
-		logger.fine("Integer Axioms: " + axioms);
+		IntegerOntologyObjectFactory factory = session.getFactory();
 
-		executionResult.setTranslationTime(System.nanoTime() - translationStart);
-		executionResult.setOntologySize(axioms.size());
-		sbuf.append(NUMBER_OF_AXIOMS_MSG + axioms.size());
+		executionResult.setTranslationTime(session.getTranslationTime());
+		executionResult.setOntologySize(session.getOntologySize());
+		sbuf.append(NUMBER_OF_AXIOMS_MSG + session.getOntologySize());
 		sbuf.append(Symbol.NEW_LINE_CHAR);
 
-		long normalizationStart = System.nanoTime();
-		OntologyNormalizer normalizer = new OntologyNormalizer();
-		Set<NormalizedIntegerAxiom> normalizedAxioms = removeUnnecessaryAnnotations(
-				normalizer.normalize(axioms, factory), factory);
-		logger.fine("Normalized Axioms: " + normalizedAxioms);
-
-		executionResult.setNormalizationTime(System.nanoTime() - normalizationStart);
-		executionResult.setNormalizedOntologySize(normalizedAxioms.size());
-		sbuf.append(NUMBER_OF_NORM_AXIOMS_MSG + normalizedAxioms.size());
+		executionResult.setNormalizationTime(session.getNormalizationTime());
+		executionResult.setNormalizedOntologySize(session.getNormalizedOntologySize());
+		sbuf.append(NUMBER_OF_NORM_AXIOMS_MSG + session.getNormalizedOntologySize());
 		sbuf.append(Symbol.NEW_LINE_CHAR);
 
 		long moduleExtractionStart = System.nanoTime();
 		DefaultModuleExtractor moduleExtractor = new DefaultModuleExtractor();
-		Set<Integer> setOfEntities = getSetOfEntities(factory, relevantSymbols);
+		Set<Integer> setOfEntities = getSetOfEntities(session, relevantSymbols);
 		Set<Integer> setOfClasses = getSetOfClasses(factory, setOfEntities);
 
-		Module module = moduleExtractor.extractModule(normalizedAxioms, setOfClasses);
+		Module module = moduleExtractor.extractModule(session.getModuleIndex(), setOfClasses);
 		logger.fine("Module entities: " + module.getEntities());
 		logger.fine("Module axioms: " + module.getAxioms());
 
@@ -438,7 +874,31 @@ public class ProblogInputCreator {
 		sbuf.append(NUMBER_OF_AXIOMS_IN_MODULE + module.getAxioms().size());
 		sbuf.append(Symbol.NEW_LINE_CHAR);
 
-		List<Clause> clauses = getClauses(factory, module);
+		if (this.goalDirectedModules) {
+			long goalDirectedModuleExtractionStart = System.nanoTime();
+			Optional<Module> goalDirectedModule = extractGoalDirectedModule(moduleExtractor, session,
+					expandedQueries);
+			if (goalDirectedModule.isPresent()) {
+				module = goalDirectedModule.get();
+				logger.fine("Goal-directed module axioms: " + module.getAxioms());
+				executionResult.setModuleExtractionTime(executionResult.getModuleExtractionTime()
+						+ System.nanoTime() - goalDirectedModuleExtractionStart);
+				executionResult.setGoalDirectedModuleSize(module.getAxioms().size());
+				sbuf.append(NUMBER_OF_AXIOMS_IN_GOAL_DIRECTED_MODULE + module.getAxioms().size());
+				sbuf.append(Symbol.NEW_LINE_CHAR);
+			}
+		}
+
+		AxiomRenderer renderer = new AxiomRenderer(factory, new FormulaConstructor(session.getTermFactory()),
+				symbolTable, new RoleHierarchy(module.getAxioms()));
+		List<Clause> clauses = getClauses(renderer, factory, module);
+		if (this.presaturating && useOfDefaultCompletionRules && additionalCompletionRules.trim().isEmpty()) {
+			Optional<Set<Term>> queriedSubClasses = getQueriedSubClasses(renderer, session, expandedQueries);
+			clauses = queriedSubClasses.isPresent() ? (new Presaturator()).apply(clauses, queriedSubClasses.get())
+					: (new Presaturator()).apply(clauses);
+			sbuf.append(NUMBER_OF_PRESATURATED_CLAUSES_MSG + clauses.size());
+			sbuf.append(Symbol.NEW_LINE_CHAR);
+		}
 		program.getData().setOntology(clauses);
 		logger.fine("Ontology: " + program.getData().getOntology());
 
@@ -449,15 +909,185 @@ public class ProblogInputCreator {
 		}
 		logger.fine("Completion Rules: " + program.getData().getCompletionRules());
 
-		program.setAdditionalCompletionRulesAsText(additionalCompletionRules);
+		program.setAdditionalCompletionRulesAsText(symbolTable.isPresent()
+				? symbolTable.get().encode(additionalCompletionRules) : additionalCompletionRules);
 		logger.fine("Additional Completion Rules: " + program.getAdditionalCompletionRulesAsText());
 
-		program.setBayesianNetworkAddendum(bayesianNetwork);
-		logger.fine("Bayesian Network: " + program.getBayesianNetworkAddendum());
+		Set<String> usedSymbols = renderer.getContextVariables(module.getAxioms());
+		if (symbolTable.isPresent()) {
+			usedSymbols.forEach(contextVariable -> {
+				if (symbolTable.get().isSymbol(contextVariable)) {
+					throw new IllegalArgumentException("Context variable '" + contextVariable
+							+ "' cannot be used with compact entity names, because it is a compact symbol.");
+				}
+			});
+		}
+		usedSymbols.addAll(relevantSymbols);
+		usedSymbols.addAll(parseSymbols(new StringReader(additionalCompletionRules)));
+		setBayesianNetwork(program, bayesianNetwork, parsedBayesianNetwork, usedSymbols);
+		if (parsedBayesianNetwork.isPresent()) {
+			int retained = program.getData().getBayesianNetwork().size();
+			int dropped = parsedBayesianNetwork.get().getClauses().size() - retained;
+			executionResult.setRetainedNetworkClauses(retained);
+			executionResult.setDroppedNetworkClauses(dropped);
+			sbuf.append(NUMBER_OF_RETAINED_NETWORK_CLAUSES_MSG + retained);
+			sbuf.append(Symbol.NEW_LINE_CHAR);
+			sbuf.append(NUMBER_OF_DROPPED_NETWORK_CLAUSES_MSG + dropped);
+			sbuf.append(Symbol.NEW_LINE_CHAR);
+		}
+		logger.fine("Bayesian Network: " + program.getData().getBayesianNetwork() + " "
+				+ program.getBayesianNetworkAddendum());
 
-		write(new OutputStreamWriter(resultOutputStream), program);
+		return program;
+	}
 
-		return sbuf.toString();
+	/**
+	 * Returns the given Bayesian network parsed, or an empty optional if it
+	 * cannot be parsed. A Bayesian network that cannot be parsed can still be
+	 * included as text in a ProbLog program.
+	 * 
+	 * @param bayesianNetwork
+	 *            Bayesian network
+	 * @return the given Bayesian network parsed, or an empty optional if it
+	 *         cannot be parsed
+	 */
+	public Optional<BayesianNetwork> parseBayesianNetwork(String bayesianNetwork) {
+		Objects.requireNonNull(bayesianNetwork);
+		try {
+			return Optional.of((new ProblogParser()).parseBayesianNetwork(bayesianNetwork));
+		} catch (ParseException e) {
+			logger.fine("The Bayesian network is used without parsing it: " + e.getMessage());
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Sets the Bayesian network of the given ProbLog program. If the parsed
+	 * Bayesian network is present, it is pruned, so that only the clauses of
+	 * the variables among the given symbols and their ancestors are included.
+	 * The used symbols are usually the context variables in the annotations of
+	 * the module axioms, and the symbols of the queries. If the parsed
+	 * Bayesian network is not present, the Bayesian network is included as
+	 * text.
+	 * 
+	 * @param program
+	 *            ProbLog program
+	 * @param bayesianNetwork
+	 *            Bayesian network
+	 * @param parsedBayesianNetwork
+	 *            the same Bayesian network already parsed, if it could be
+	 *            parsed
+	 * @param usedSymbols
+	 *            symbols used in the ProbLog program
+	 */
+	void setBayesianNetwork(ProblogProgram program, String bayesianNetwork,
+			Optional<BayesianNetwork> parsedBayesianNetwork, Set<String> usedSymbols) {
+		if (parsedBayesianNetwork.isPresent()) {
+			program.getData().setBayesianNetwork(parsedBayesianNetwork.get().getRelevantClauses(usedSymbols));
+			program.setBayesianNetworkAddendum("");
+		} else {
+			program.getData().setBayesianNetwork(Collections.emptyList());
+			program.setBayesianNetworkAddendum(bayesianNetwork);
+		}
+	}
+
+	List<String> getTokenValues(String text) {
+		return (new TokenCreator()).stream(text).filter(token -> token.length() > 0).map(token -> token.getValue())
+				.collect(Collectors.toList());
+	}
+
+	boolean isVariable(String tokenValue) {
+		return tokenValue.equals(ANONYMOUS_VARIABLE) || Character.isUpperCase(tokenValue.charAt(0));
+	}
+
+	/**
+	 * Returns the token values of the term asked in the given query. For
+	 * example, the pattern of <code>query(sub('A', X)).</code> is the list of
+	 * the token values of <code>sub('A', X)</code>. The name of an anonymous
+	 * variable is removed, so that each variable is a single token value.
+	 * 
+	 * @param query
+	 *            query
+	 * @return the token values of the term asked in the given query
+	 */
+	List<String> getQueryPattern(String query) {
+		List<String> tokens = getTokenValues(query.trim());
+		if (!tokens.isEmpty() && tokens.get(tokens.size() - 1).equals("" + Symbol.POINT_CHAR)) {
+			tokens.remove(tokens.size() - 1);
+		}
+		if (tokens.size() > 2 && tokens.get(0).equals(FormulaConstructor.QUERY)
+				&& tokens.get(1).equals("" + Symbol.PAR_A_CHAR)
+				&& tokens.get(tokens.size() - 1).equals("" + Symbol.PAR_B_CHAR)) {
+			tokens = tokens.subList(2, tokens.size() - 1);
+		}
+		List<String> result = new ArrayList<>();
+		for (int index = 0; index < tokens.size(); index++) {
+			String token = tokens.get(index);
+			result.add(token);
+			if (token.equals(ANONYMOUS_VARIABLE) && index + 1 < tokens.size()
+					&& Character.isLetterOrDigit(tokens.get(index + 1).charAt(0))) {
+				index++;
+			}
+		}
+		return result;
+	}
+
+	boolean matches(List<String> pattern, List<String> tokens) {
+		if (pattern.size() != tokens.size()) {
+			return false;
+		}
+		Map<String, String> bindings = new HashMap<>();
+		for (int index = 0; index < pattern.size(); index++) {
+			String expected = pattern.get(index);
+			String actual = tokens.get(index);
+			if (isVariable(expected)) {
+				if (!expected.equals(ANONYMOUS_VARIABLE)) {
+					String bound = bindings.putIfAbsent(expected, actual);
+					if (Objects.nonNull(bound) && !bound.equals(actual)) {
+						return false;
+					}
+				}
+			} else if (!expected.equals(actual)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Splits the result of a ProbLog program with several queries. Each line
+	 * of the result has the form <code>term:	probability</code>, and it is
+	 * assigned to each query whose term matches it. The terms are compared
+	 * token by token, and a variable in a query matches any token, provided
+	 * that all the occurrences of a named variable match the same token. For
+	 * example, <code>sub(X, X)</code> matches <code>sub(a, a)</code>, but not
+	 * <code>sub(a, b)</code>.
+	 * 
+	 * @param queries
+	 *            queries, with their prefixes expanded
+	 * @param result
+	 *            result of the ProbLog program
+	 * @return the result of each query, in the same order as the queries
+	 */
+	public List<String> splitResult(List<String> queries, String result) {
+		Objects.requireNonNull(queries);
+		Objects.requireNonNull(result);
+		List<List<String>> patterns = queries.stream().map(this::getQueryPattern).collect(Collectors.toList());
+		List<StringBuilder> results = new ArrayList<>();
+		queries.forEach(query -> results.add(new StringBuilder()));
+		new BufferedReader(new StringReader(result)).lines().map(String::trim).forEach(line -> {
+			int pos = line.lastIndexOf(Symbol.COLON_CHAR);
+			if (pos > 0) {
+				List<String> tokens = getTokenValues(line.substring(0, pos));
+				for (int index = 0; index < patterns.size(); index++) {
+					if (matches(patterns.get(index), tokens)) {
+						results.get(index).append(line);
+						results.get(index).append(Symbol.NEW_LINE_CHAR);
+					}
+				}
+			}
+		});
+		return results.stream().map(StringBuilder::toString).collect(Collectors.toList());
 	}
 
 }
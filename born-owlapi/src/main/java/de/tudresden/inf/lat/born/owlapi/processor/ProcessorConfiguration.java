@@ -1,9 +1,13 @@
 package de.tudresden.inf.lat.born.owlapi.processor;
 
+import java.util.Optional;
 import java.util.function.Function;
 
 import org.semanticweb.owlapi.model.OWLOntology;
 
+import de.tudresden.inf.lat.born.problog.engine.InferenceEngine;
+import de.tudresden.inf.lat.born.problog.type.BayesianNetwork;
+
 /**
  * This interface models the configuration of a processor.
  * 
@@ -73,6 +77,27 @@ public interface ProcessorConfiguration {
 	 */
 	void setBayesianNetwork(String bayesianNetwork);
 
+	/**
+	 * Returns the Bayesian network parsed, or an empty optional if it cannot
+	 * be parsed. The Bayesian network is parsed only once, and the result is
+	 * immutable and can be shared.
+	 * 
+	 * @return the Bayesian network parsed, or an empty optional if it cannot
+	 *         be parsed
+	 */
+	Optional<BayesianNetwork> getParsedBayesianNetwork();
+
+	/**
+	 * Sets the parsed Bayesian network, which must be the Bayesian network of
+	 * this configuration already parsed. This avoids parsing again a
+	 * Bayesian network shared by several configurations. The parsed Bayesian
+	 * network is discarded when the Bayesian network is set.
+	 * 
+	 * @param parsedBayesianNetwork
+	 *            parsed Bayesian network
+	 */
+	void setParsedBayesianNetwork(Optional<BayesianNetwork> parsedBayesianNetwork);
+
 	/**
 	 * Returns the query.
 	 * 
@@ -118,6 +143,25 @@ public interface ProcessorConfiguration {
 	 */
 	void setQueryProcessor(Function<String, String> queryProcessor);
 
+	/**
+	 * Returns the inference engine, if the ProbLog programs are evaluated
+	 * with an inference engine instead of being written and processed with
+	 * the query processor.
+	 * 
+	 * @return the inference engine, if the ProbLog programs are evaluated
+	 *         with an inference engine
+	 */
+	Optional<InferenceEngine> getInferenceEngine();
+
+	/**
+	 * Sets the inference engine. If the inference engine is set, the ProbLog
+	 * programs are evaluated with it, and the query processor is not used.
+	 * 
+	 * @param inferenceEngine
+	 *            the inference engine
+	 */
+	void setInferenceEngine(InferenceEngine inferenceEngine);
+
 	/**
 	 * Tells whether the log is showing.
 	 * 
@@ -133,4 +177,132 @@ public interface ProcessorConfiguration {
 	 */
 	void setShowingLog(boolean showingLog);
 
+	/**
+	 * Returns the maximum number of explanations computed for each answer, or
+	 * 0 if no explanations are computed.
+	 * 
+	 * @return the maximum number of explanations computed for each answer
+	 */
+	int getNumberOfExplanations();
+
+	/**
+	 * Sets the maximum number of explanations computed for each answer. An
+	 * explanation is a context of the Bayesian network, with its probability,
+	 * and the axioms that entail the answer in that context. If the number is
+	 * 1, only the most probable explanation is computed.
+	 * 
+	 * @param numberOfExplanations
+	 *            maximum number of explanations computed for each answer, or
+	 *            0 if no explanations are computed
+	 */
+	void setNumberOfExplanations(int numberOfExplanations);
+
+	/**
+	 * Tells whether the entities are rendered in the ProbLog program with
+	 * compact symbols instead of their quoted names.
+	 * 
+	 * @return <code>true</code> if and only if the entities are rendered with
+	 *         compact symbols
+	 */
+	boolean hasCompactEntityNames();
+
+	/**
+	 * Sets whether the entities are rendered in the ProbLog program with
+	 * compact symbols instead of their quoted names. The names in the query
+	 * are replaced by the compact symbols, and the compact symbols in the
+	 * result are replaced back by the names, so that the result is the same.
+	 * 
+	 * @param compactEntityNames
+	 *            <code>true</code> if and only if the entities are rendered
+	 *            with compact symbols
+	 */
+	void setCompactEntityNames(boolean compactEntityNames);
+
+	/**
+	 * Tells whether the axioms without context are saturated before creating
+	 * the ProbLog program.
+	 * 
+	 * @return <code>true</code> if and only if the axioms without context are
+	 *         saturated before creating the ProbLog program
+	 */
+	boolean isPresaturating();
+
+	/**
+	 * Sets whether the axioms without context are saturated before creating
+	 * the ProbLog program, so that the program only contains the derived
+	 * subsumptions and the axioms that interact with the axioms with context.
+	 * The result is the same. The presaturation is not applied when
+	 * explanations are requested, so that the explanations contain all the
+	 * axioms.
+	 * 
+	 * @param presaturating
+	 *            <code>true</code> if and only if the axioms without context
+	 *            are saturated before creating the ProbLog program
+	 */
+	void setPresaturating(boolean presaturating);
+
+	/**
+	 * Tells whether goal-directed modules are extracted for the subsumption
+	 * queries.
+	 * 
+	 * @return <code>true</code> if and only if goal-directed modules are
+	 *         extracted for the subsumption queries
+	 */
+	boolean hasGoalDirectedModules();
+
+	/**
+	 * Sets whether goal-directed modules are extracted for the subsumption
+	 * queries. If every query has the form <code>sub(A, B)</code> for two
+	 * classes <code>A</code> and <code>B</code>, the module only contains the
+	 * axioms that can take part in the derivation of <code>B</code> from
+	 * <code>A</code>. Otherwise, the usual module is extracted.
+	 * 
+	 * @param goalDirectedModules
+	 *            <code>true</code> if and only if goal-directed modules are
+	 *            extracted for the subsumption queries
+	 */
+	void setGoalDirectedModules(boolean goalDirectedModules);
+
+
+	/**
+	 * Tells whether the ontology session is restored from a snapshot of the
+	 * ontology file, and the snapshot is written when it does not exist or
+	 * is outdated.
+	 * 
+	 * @return <code>true</code> if and only if snapshots of the ontology
+	 *         files are used
+	 */
+	boolean isUsingSnapshots();
+
+	/**
+	 * Sets whether the ontology session is restored from a snapshot of the
+	 * ontology file, and the snapshot is written when it does not exist or
+	 * is outdated. Snapshots are used by default.
+	 * 
+	 * @param usingSnapshots
+	 *            <code>true</code> if and only if snapshots of the ontology
+	 *            files are used
+	 */
+	void setUsingSnapshots(boolean usingSnapshots);
+
+	/**
+	 * Returns the directory where the snapshots are written, or an empty
+	 * string if they are written next to the ontology files.
+	 * 
+	 * @return the directory where the snapshots are written, or an empty
+	 *         string if they are written next to the ontology files
+	 */
+	String getSnapshotDirectory();
+
+	/**
+	 * Sets the directory where the snapshots are written. If the directory
+	 * is an empty string, which is the default, the snapshots are written
+	 * next to the ontology files.
+	 * 
+	 * @param snapshotDirectory
+	 *            directory where the snapshots are written, or an empty
+	 *            string
+	 */
+	void setSnapshotDirectory(String snapshotDirectory);
+
 }
@@ -6,16 +6,23 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.Writer;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.function.Function;
 
 import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.formats.PrefixDocumentFormat;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 
 import de.tudresden.inf.lat.born.core.term.Symbol;
+import de.tudresden.inf.lat.born.problog.engine.InferenceEngine;
+import de.tudresden.inf.lat.born.problog.type.BayesianNetwork;
 
 /**
  * 
@@ -28,10 +35,19 @@ public class ProcessorConfigurationImpl implements ProcessorConfiguration {
 	private String completionRules = "";
 	private OWLOntology ontology;
 	private String bayesianNetwork = "";
+	private Optional<BayesianNetwork> parsedBayesianNetwork = Optional.empty();
+	private boolean isBayesianNetworkParsed = false;
 	private String query = "";
 	private String outputFileName = "";
 	private Function<String, String> queryProcessor = null;
+	private Optional<InferenceEngine> inferenceEngine = Optional.empty();
 	private boolean showingLog = true;
+	private int numberOfExplanations = 0;
+	private boolean compactEntityNames = false;
+	private boolean presaturating = false;
+	private boolean goalDirectedModules = false;
+	private boolean usingSnapshots = true;
+	private String snapshotDirectory = "";
 
 	/**
 	 * Constructs a new processor configuration.
@@ -83,6 +99,23 @@ public class ProcessorConfigurationImpl implements ProcessorConfiguration {
 	@Override
 	public void setBayesianNetwork(String bayesianNetwork) {
 		this.bayesianNetwork = Objects.requireNonNull(bayesianNetwork);
+		this.parsedBayesianNetwork = Optional.empty();
+		this.isBayesianNetworkParsed = false;
+	}
+
+	@Override
+	public Optional<BayesianNetwork> getParsedBayesianNetwork() {
+		if (!this.isBayesianNetworkParsed) {
+			this.parsedBayesianNetwork = (new ProblogInputCreator()).parseBayesianNetwork(this.bayesianNetwork);
+			this.isBayesianNetworkParsed = true;
+		}
+		return this.parsedBayesianNetwork;
+	}
+
+	@Override
+	public void setParsedBayesianNetwork(Optional<BayesianNetwork> parsedBayesianNetwork) {
+		this.parsedBayesianNetwork = Objects.requireNonNull(parsedBayesianNetwork);
+		this.isBayesianNetworkParsed = true;
 	}
 
 	@Override
@@ -115,6 +148,16 @@ public class ProcessorConfigurationImpl implements ProcessorConfiguration {
 		this.queryProcessor = Objects.requireNonNull(queryProcessor);
 	}
 
+	@Override
+	public Optional<InferenceEngine> getInferenceEngine() {
+		return inferenceEngine;
+	}
+
+	@Override
+	public void setInferenceEngine(InferenceEngine inferenceEngine) {
+		this.inferenceEngine = Optional.of(inferenceEngine);
+	}
+
 	@Override
 	public boolean isShowingLog() {
 		return showingLog;
@@ -125,6 +168,69 @@ public class ProcessorConfigurationImpl implements ProcessorConfiguration {
 		this.showingLog = showingLog;
 	}
 
+	@Override
+	public int getNumberOfExplanations() {
+		return this.numberOfExplanations;
+	}
+
+	@Override
+	public void setNumberOfExplanations(int numberOfExplanations) {
+		if (numberOfExplanations < 0) {
+			throw new IllegalArgumentException("Invalid number of explanations: '" + numberOfExplanations + "'.");
+		}
+		this.numberOfExplanations = numberOfExplanations;
+	}
+
+	@Override
+	public boolean hasCompactEntityNames() {
+		return this.compactEntityNames;
+	}
+
+	@Override
+	public void setCompactEntityNames(boolean compactEntityNames) {
+		this.compactEntityNames = compactEntityNames;
+	}
+
+	@Override
+	public boolean isPresaturating() {
+		return this.presaturating;
+	}
+
+	@Override
+	public void setPresaturating(boolean presaturating) {
+		this.presaturating = presaturating;
+	}
+
+	@Override
+	public boolean hasGoalDirectedModules() {
+		return this.goalDirectedModules;
+	}
+
+	@Override
+	public void setGoalDirectedModules(boolean goalDirectedModules) {
+		this.goalDirectedModules = goalDirectedModules;
+	}
+
+	@Override
+	public boolean isUsingSnapshots() {
+		return this.usingSnapshots;
+	}
+
+	@Override
+	public void setUsingSnapshots(boolean usingSnapshots) {
+		this.usingSnapshots = usingSnapshots;
+	}
+
+	@Override
+	public String getSnapshotDirectory() {
+		return this.snapshotDirectory;
+	}
+
+	@Override
+	public void setSnapshotDirectory(String snapshotDirectory) {
+		this.snapshotDirectory = Objects.requireNonNull(snapshotDirectory);
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj) {
@@ -138,8 +244,15 @@ public class ProcessorConfigurationImpl implements ProcessorConfiguration {
 					&& getOntology().equals(other.getOntology())
 					&& getBayesianNetwork().equals(other.getBayesianNetwork()) && getQuery().equals(other.getQuery())
 					&& getOutputFileName().equals(other.getOutputFileName())
-					&& getQueryProcessor().equals(other.getQueryProcessor())
-					&& (isShowingLog() == other.isShowingLog());
+					&& Objects.equals(getQueryProcessor(), other.getQueryProcessor())
+					&& getInferenceEngine().equals(other.getInferenceEngine())
+					&& (isShowingLog() == other.isShowingLog())
+					&& (getNumberOfExplanations() == other.getNumberOfExplanations())
+					&& (hasCompactEntityNames() == other.hasCompactEntityNames())
+					&& (isPresaturating() == other.isPresaturating())
+					&& (hasGoalDirectedModules() == other.hasGoalDirectedModules())
+					&& (isUsingSnapshots() == other.isUsingSnapshots())
+					&& getSnapshotDirectory().equals(other.getSnapshotDirectory());
 		}
 	}
 
@@ -151,15 +264,24 @@ public class ProcessorConfigurationImpl implements ProcessorConfiguration {
 								0x1F * (this.bayesianNetwork.hashCode() + //
 										0x1F * (this.query.hashCode() + //
 												0x1F * (this.outputFileName.hashCode() + //
-														0x1F * (this.queryProcessor.hashCode() + //
-																0x1F * (this.showingLog ? 1 : 0)))))));
+														0x1F * (Objects.hashCode(this.queryProcessor) + //
+																0x1F * ((this.showingLog ? 1 : 0) + //
+																		0x1F * (this.numberOfExplanations + //
+																				0x1F * ((this.compactEntityNames ? 1 : 0) + //
+																						0x1F * ((this.presaturating ? 1 : 0) + //
+																								0x1F * ((this.goalDirectedModules ? 1 : 0) + //
+																										0x1F * ((this.usingSnapshots ? 1 : 0) + //
+																											0x1F * (this.snapshotDirectory.hashCode() + //
+																													0x1F * this.inferenceEngine.hashCode())))))))))))));
 	}
 
 	@Override
 	public String toString() {
 		return this.hasDefaultCompletionRules + "  " + this.completionRules + " " + this.ontology + " "
 				+ this.bayesianNetwork + " " + this.query + " " + this.outputFileName + " " + this.queryProcessor + " "
-				+ this.showingLog;
+				+ this.showingLog + " " + this.numberOfExplanations + " " + this.compactEntityNames + " "
+				+ this.presaturating + " " + this.goalDirectedModules + " " + this.usingSnapshots + " "
+				+ this.snapshotDirectory + " " + this.inferenceEngine;
 	}
 
 	/**
@@ -233,4 +355,24 @@ public class ProcessorConfigurationImpl implements ProcessorConfiguration {
 		return manager.getOntologyFormat(ontology).asPrefixOWLOntologyFormat();
 	}
 
+	/**
+	 * Returns a map from the prefix names of the given ontology to their
+	 * prefixes. The map is empty if the format of the ontology does not have
+	 * prefixes.
+	 * 
+	 * @param ontology
+	 *            ontology
+	 * @return a map from the prefix names of the given ontology to their
+	 *         prefixes
+	 */
+	public static Map<String, String> getPrefixMap(OWLOntology ontology) {
+		Objects.requireNonNull(ontology);
+		OWLDocumentFormat format = ontology.getOWLOntologyManager().getOntologyFormat(ontology);
+		if (Objects.isNull(format) || !format.isPrefixOWLOntologyFormat()) {
+			return Collections.emptyMap();
+		}
+		return Collections
+				.unmodifiableMap(new TreeMap<>(format.asPrefixOWLOntologyFormat().getPrefixName2PrefixMap()));
+	}
+
 }
@@ -1,17 +1,26 @@
 package de.tudresden.inf.lat.born.owlapi.processor;
 
 import java.io.BufferedReader;
-import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Reader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Function;
 
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 
 import de.tudresden.inf.lat.born.core.term.Symbol;
+import de.tudresden.inf.lat.born.problog.engine.InferenceEngine;
+import de.tudresden.inf.lat.born.problog.engine.NativeInferenceEngine;
+import de.tudresden.inf.lat.born.problog.type.ProblogProgram;
 
 /**
  * An object of this class processes an OWL ontology, produces a ProbLog file,
@@ -23,11 +32,24 @@ import de.tudresden.inf.lat.born.core.term.Symbol;
 public class ProcessorCore {
 
 	private boolean isShowingLog = false;
+	private final Optional<QueryResultCache> queryResultCache;
 
 	/**
 	 * Constructs a new processor.
 	 */
 	public ProcessorCore() {
+		this.queryResultCache = Optional.empty();
+	}
+
+	/**
+	 * Constructs a new processor that uses a query result cache. The same
+	 * cache can be shared by several processors.
+	 * 
+	 * @param queryResultCache
+	 *            query result cache
+	 */
+	public ProcessorCore(QueryResultCache queryResultCache) {
+		this.queryResultCache = Optional.of(queryResultCache);
 	}
 
 	/**
@@ -110,6 +132,217 @@ public class ProcessorCore {
 		return result;
 	}
 
+	/**
+	 * Writes the given ProbLog program, processes it with the given query
+	 * processor, and returns the result. If the query processor is a
+	 * {@link FileQueryProcessor}, the program is written directly to a
+	 * temporary file, which is deleted after processing it. Otherwise, the
+	 * program is written to a string.
+	 * 
+	 * @param queryProcessor
+	 *            query processor
+	 * @param program
+	 *            ProbLog program
+	 * @param executionResult
+	 *            execution result
+	 * @return the result of processing the ProbLog program
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	String process(Function<String, String> queryProcessor, ProblogProgram program,
+			ProcessorExecutionResult executionResult) throws IOException {
+		ProblogInputCreator instance = new ProblogInputCreator();
+		String result = "";
+		if (queryProcessor instanceof FileQueryProcessor) {
+			File inputForProblog = File.createTempFile(FileQueryProcessor.TEMPORARY_FILE_PREFIX,
+					FileQueryProcessor.TEMPORARY_FILE_SUFFIX);
+			try {
+				instance.write(new FileWriter(inputForProblog), program);
+
+				long queryProcessingStart = System.nanoTime();
+				result = ((FileQueryProcessor) queryProcessor).applyToFile(inputForProblog);
+				executionResult.setProblogReasoningTime(System.nanoTime() - queryProcessingStart);
+			} finally {
+				inputForProblog.delete();
+			}
+
+		} else {
+			StringWriter inputForProblog = new StringWriter();
+			instance.write(inputForProblog, program);
+
+			long queryProcessingStart = System.nanoTime();
+			result = queryProcessor.apply(inputForProblog.toString());
+			executionResult.setProblogReasoningTime(System.nanoTime() - queryProcessingStart);
+		}
+		return result;
+	}
+
+	/**
+	 * Evaluates the given ProbLog program with the given inference engine,
+	 * without writing it, and returns the result.
+	 * 
+	 * @param inferenceEngine
+	 *            inference engine
+	 * @param program
+	 *            ProbLog program
+	 * @param executionResult
+	 *            execution result
+	 * @return the result of evaluating the ProbLog program
+	 */
+	String evaluate(InferenceEngine inferenceEngine, ProblogProgram program,
+			ProcessorExecutionResult executionResult) {
+		long queryProcessingStart = System.nanoTime();
+		String result = inferenceEngine.evaluate(program);
+		executionResult.setProblogReasoningTime(System.nanoTime() - queryProcessingStart);
+		return result;
+	}
+
+	/**
+	 * Returns the result of the given ProbLog program. If the inference engine
+	 * is present, the program is evaluated with it. Otherwise, the program is
+	 * written and processed with the query processor.
+	 * 
+	 * @param inferenceEngine
+	 *            inference engine, if the program is evaluated without
+	 *            writing it
+	 * @param queryProcessor
+	 *            query processor, used if the inference engine is not present
+	 * @param program
+	 *            ProbLog program
+	 * @param executionResult
+	 *            execution result
+	 * @return the result of the given ProbLog program
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	String process(Optional<InferenceEngine> inferenceEngine, Optional<Function<String, String>> queryProcessor,
+			ProblogProgram program, ProcessorExecutionResult executionResult) throws IOException {
+		if (inferenceEngine.isPresent()) {
+			return evaluate(inferenceEngine.get(), program, executionResult);
+		} else if (queryProcessor.isPresent()) {
+			return process(queryProcessor.get(), program, executionResult);
+		} else {
+			throw new IllegalStateException("There is neither an inference engine nor a query processor.");
+		}
+	}
+
+	/**
+	 * Returns the most probable explanations of each answer of the given
+	 * ProbLog program, computed by the native inference engine. For each
+	 * answer, there is a line <code>answer:</code> followed by the
+	 * explanations in decreasing order of probability, and each explanation
+	 * is a line <code>probability\tcontext</code> followed by the axioms of
+	 * its justification. Explanations are only computed for programs created
+	 * with the default completion rules. The given program is not modified.
+	 * 
+	 * @param program
+	 *            ProbLog program
+	 * @param useOfDefaultCompletionRules
+	 *            <code>true</code> if the program was created with the
+	 *            default completion rules
+	 * @param numberOfExplanations
+	 *            maximum number of explanations of each answer
+	 * @return the most probable explanations of each answer
+	 * @throws UnsupportedOperationException
+	 *             if the program was not created with the default completion
+	 *             rules, or it has additional completion rules
+	 */
+	String explain(ProblogProgram program, boolean useOfDefaultCompletionRules, int numberOfExplanations) {
+		Objects.requireNonNull(program);
+		if (!useOfDefaultCompletionRules) {
+			throw new UnsupportedOperationException(
+					"Explanations can only be computed with the default completion rules.");
+		}
+		StringBuilder sb = new StringBuilder();
+		(new NativeInferenceEngine()).explain(program, numberOfExplanations).forEach((answer, explanations) -> {
+			sb.append(answer);
+			sb.append(Symbol.COLON_CHAR);
+			sb.append(Symbol.NEW_LINE_CHAR);
+			explanations.forEach(explanation -> sb.append(explanation.asString()));
+		});
+		return sb.toString();
+	}
+
+	/**
+	 * Returns the given text with the compact symbols of the entities
+	 * replaced by their names, if the given ProbLog input creator renders the
+	 * entities with compact symbols. Otherwise, the text is returned as it is.
+	 * 
+	 * @param creator
+	 *            ProbLog input creator that created the program
+	 * @param session
+	 *            ontology session
+	 * @param text
+	 *            text, e.g. a result or an explanation
+	 * @return the given text with the compact symbols of the entities
+	 *         replaced by their names
+	 */
+	String decode(ProblogInputCreator creator, OntologySession session, String text) {
+		if (creator.hasCompactEntityNames()) {
+			return session.getEntitySymbolTable().decode(text);
+		} else {
+			return text;
+		}
+	}
+
+	/**
+	 * Returns the result of the given ProbLog program. If there is a query
+	 * result cache, the result is taken from the cache when possible, and
+	 * stored in the cache otherwise.
+	 * 
+	 * @param conf
+	 *            configuration that gives the inference engine or the query
+	 *            processor
+	 * @param program
+	 *            ProbLog program
+	 * @param start
+	 *            starting point measured in nanoseconds
+	 * @param executionResult
+	 *            execution result
+	 * @return the result of the given ProbLog program
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	String processOrGetCached(ProcessorConfiguration conf, ProblogProgram program, long start,
+			ProcessorExecutionResult executionResult) throws IOException {
+		String result = "";
+		if (this.queryResultCache.isPresent()) {
+			QueryResultCache cache = this.queryResultCache.get();
+			String key = cache.getKey(program);
+			Optional<String> cachedResult = cache.get(key);
+			if (cachedResult.isPresent()) {
+				log("Use cached result.", start);
+				result = cachedResult.get();
+			} else {
+				result = process(conf.getInferenceEngine(), Optional.ofNullable(conf.getQueryProcessor()), program,
+						executionResult);
+				cache.put(key, result);
+			}
+			executionResult.setCacheHits(cache.getHits());
+			executionResult.setCacheMisses(cache.getMisses());
+
+		} else {
+			result = process(conf.getInferenceEngine(), Optional.ofNullable(conf.getQueryProcessor()), program,
+					executionResult);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a ProbLog input creator for the given configuration. The
+	 * ontology is presaturated only if no explanations are requested, because
+	 * the explanations are computed from the derivations that presaturation
+	 * replaces by facts.
+	 * 
+	 * @param conf
+	 *            configuration
+	 * @return a ProbLog input creator for the given configuration
+	 */
+	ProblogInputCreator createProblogInputCreator(ProcessorConfiguration conf) {
+		return new ProblogInputCreator(conf.hasCompactEntityNames(),
+				conf.isPresaturating() && conf.getNumberOfExplanations() == 0, conf.hasGoalDirectedModules());
+	}
+
 	/**
 	 * Runs the processor with the given configuration.
 	 * 
@@ -124,28 +357,58 @@ public class ProcessorCore {
 		long processorStart = System.nanoTime();
 		Objects.requireNonNull(conf);
 		Objects.requireNonNull(executionResult);
+		log("Start. Each row shows nanoseconds from start and task that is starting.", start);
+		log("Translate and normalize ontology.", start);
+		run(conf, new OntologySession(conf.getOntology()), start, executionResult);
+		executionResult.setTotalTime(System.nanoTime() - processorStart);
+	}
+
+	/**
+	 * Runs the processor with the given configuration, using an ontology
+	 * session instead of the ontology of the configuration. The ontology
+	 * session can be reused to process several queries on the same ontology.
+	 * 
+	 * @param conf
+	 *            configuration
+	 * @param session
+	 *            ontology session
+	 * @param start
+	 *            starting point measured in nanoseconds
+	 * @param executionResult
+	 *            execution result
+	 */
+	public void run(ProcessorConfiguration conf, OntologySession session, long start,
+			ProcessorExecutionResult executionResult) {
+		long processorStart = System.nanoTime();
+		Objects.requireNonNull(conf);
+		Objects.requireNonNull(session);
+		Objects.requireNonNull(executionResult);
 		StringBuilder sb = new StringBuilder();
 		try {
-			log("Start. Each row shows nanoseconds from start and task that is starting.", start);
-
-			Function<String, String> queryProcessor = conf.getQueryProcessor();
+			log("Create ProbLog file.", start);
+			StringBuffer info = new StringBuffer();
+			ProblogInputCreator instance = createProblogInputCreator(conf);
+			ProblogProgram program = instance.createProblogProgram(conf.hasDefaultCompletionRules(),
+					conf.getAdditionalCompletionRules(), session, conf.getBayesianNetwork(),
+					conf.getParsedBayesianNetwork(), Collections.singletonList(conf.getQuery()), executionResult,
+					info);
+			log(info.toString(), start);
 
-			ByteArrayOutputStream inputForProblogByteArray = new ByteArrayOutputStream();
-			String info = createProblogFile(start, conf.hasDefaultCompletionRules(),
-					conf.getAdditionalCompletionRules(), conf.getOntology(), conf.getBayesianNetwork(), conf.getQuery(),
-					executionResult, inputForProblogByteArray);
-			log(info, start);
+			String result = decode(instance, session,
+					processOrGetCached(conf, program, start, executionResult));
 
-			long queryProcessingStart = System.nanoTime();
-			String inputForProblog = new String(inputForProblogByteArray.toByteArray());
-			String result = queryProcessor.apply(inputForProblog);
-			executionResult.setProblogReasoningTime(System.nanoTime() - queryProcessingStart);
+			if (conf.getNumberOfExplanations() > 0) {
+				log("Compute explanations.", start);
+				executionResult
+						.setExplanations(decode(instance, session,
+								explain(program, conf.hasDefaultCompletionRules(), conf.getNumberOfExplanations())));
+			}
 
 			log("End and show results.", start);
 
 			sb.append(result);
 
-		} catch (IOException | OWLOntologyCreationException e) {
+		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
 
@@ -153,4 +416,79 @@ public class ProcessorCore {
 		executionResult.setTotalTime(System.nanoTime() - processorStart);
 	}
 
+	/**
+	 * Runs the processor with the given configuration for several queries.
+	 * The queries are evaluated together with a single ProbLog program, whose
+	 * ontology is the union of the modules of the queries. The query of the
+	 * configuration is not used. The times and sizes of each execution result
+	 * are the ones of the whole batch.
+	 * 
+	 * @param conf
+	 *            configuration
+	 * @param session
+	 *            ontology session
+	 * @param queries
+	 *            queries
+	 * @param start
+	 *            starting point measured in nanoseconds
+	 * @return the execution result of each query, in the same order as the
+	 *         queries
+	 */
+	public List<ProcessorExecutionResult> run(ProcessorConfiguration conf, OntologySession session,
+			List<String> queries, long start) {
+		long processorStart = System.nanoTime();
+		Objects.requireNonNull(conf);
+		Objects.requireNonNull(session);
+		Objects.requireNonNull(queries);
+		List<ProcessorExecutionResult> ret = new ArrayList<>();
+		try {
+			ProblogInputCreator instance = createProblogInputCreator(conf);
+			ProcessorExecutionResult batchResult = new ProcessorExecutionResultImpl();
+
+			log("Create ProbLog file with " + queries.size() + " queries.", start);
+			StringBuffer info = new StringBuffer();
+			ProblogProgram program = instance.createProblogProgram(conf.hasDefaultCompletionRules(),
+					conf.getAdditionalCompletionRules(), session, conf.getBayesianNetwork(),
+					conf.getParsedBayesianNetwork(), queries, batchResult, info);
+			log(info.toString(), start);
+
+			String result = decode(instance, session,
+					processOrGetCached(conf, program, start, batchResult));
+
+			log("End and split results.", start);
+			List<String> results = null;
+			if (queries.size() == 1) {
+				results = Collections.singletonList(result);
+			} else {
+				List<String> expandedQueries = new ArrayList<>();
+				queries.forEach(query -> expandedQueries.add(instance.expandPrefixes(session.getPrefixes(), query)));
+				results = instance.splitResult(expandedQueries, result);
+			}
+
+			long totalTime = System.nanoTime() - processorStart;
+			results.forEach(currentResult -> {
+				ProcessorExecutionResult executionResult = new ProcessorExecutionResultImpl();
+				executionResult.setTranslationTime(batchResult.getTranslationTime());
+				executionResult.setNormalizationTime(batchResult.getNormalizationTime());
+				executionResult.setModuleExtractionTime(batchResult.getModuleExtractionTime());
+				executionResult.setProblogReasoningTime(batchResult.getProblogReasoningTime());
+				executionResult.setTotalTime(totalTime);
+				executionResult.setOntologySize(batchResult.getOntologySize());
+				executionResult.setNormalizedOntologySize(batchResult.getNormalizedOntologySize());
+				executionResult.setModuleSize(batchResult.getModuleSize());
+				executionResult.setGoalDirectedModuleSize(batchResult.getGoalDirectedModuleSize());
+				executionResult.setRetainedNetworkClauses(batchResult.getRetainedNetworkClauses());
+				executionResult.setDroppedNetworkClauses(batchResult.getDroppedNetworkClauses());
+				executionResult.setCacheHits(batchResult.getCacheHits());
+				executionResult.setCacheMisses(batchResult.getCacheMisses());
+				executionResult.setResult(currentResult);
+				ret.add(executionResult);
+			});
+
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		return ret;
+	}
+
 }
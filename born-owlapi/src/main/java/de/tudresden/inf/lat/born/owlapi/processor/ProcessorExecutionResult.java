@@ -130,6 +130,98 @@ public interface ProcessorExecutionResult {
 	 */
 	void setModuleSize(int moduleSize);
 
+	/**
+	 * Returns the number of axioms in the goal-directed module, or -1 if no
+	 * goal-directed module was extracted.
+	 * 
+	 * @return the number of axioms in the goal-directed module, or -1 if no
+	 *         goal-directed module was extracted
+	 */
+	int getGoalDirectedModuleSize();
+
+	/**
+	 * Sets the goal-directed module size.
+	 * 
+	 * @param goalDirectedModuleSize
+	 *            goal-directed module size
+	 */
+	void setGoalDirectedModuleSize(int goalDirectedModuleSize);
+
+	/**
+	 * Returns the number of clauses of the Bayesian network that are included
+	 * in the ProbLog program, or -1 if the Bayesian network was not pruned.
+	 * 
+	 * @return the number of clauses of the Bayesian network that are included
+	 *         in the ProbLog program, or -1 if the Bayesian network was not
+	 *         pruned
+	 */
+	int getRetainedNetworkClauses();
+
+	/**
+	 * Sets the number of clauses of the Bayesian network that are included in
+	 * the ProbLog program.
+	 * 
+	 * @param retainedNetworkClauses
+	 *            number of clauses of the Bayesian network that are included
+	 *            in the ProbLog program
+	 */
+	void setRetainedNetworkClauses(int retainedNetworkClauses);
+
+	/**
+	 * Returns the number of clauses of the Bayesian network that are not
+	 * included in the ProbLog program, or -1 if the Bayesian network was not
+	 * pruned.
+	 * 
+	 * @return the number of clauses of the Bayesian network that are not
+	 *         included in the ProbLog program, or -1 if the Bayesian network
+	 *         was not pruned
+	 */
+	int getDroppedNetworkClauses();
+
+	/**
+	 * Sets the number of clauses of the Bayesian network that are not included
+	 * in the ProbLog program.
+	 * 
+	 * @param droppedNetworkClauses
+	 *            number of clauses of the Bayesian network that are not
+	 *            included in the ProbLog program
+	 */
+	void setDroppedNetworkClauses(int droppedNetworkClauses);
+
+	/**
+	 * Returns the number of hits of the query result cache, or -1 if no cache
+	 * was used.
+	 * 
+	 * @return the number of hits of the query result cache, or -1 if no cache
+	 *         was used
+	 */
+	long getCacheHits();
+
+	/**
+	 * Sets the number of hits of the query result cache.
+	 * 
+	 * @param cacheHits
+	 *            number of hits of the query result cache
+	 */
+	void setCacheHits(long cacheHits);
+
+	/**
+	 * Returns the number of misses of the query result cache, or -1 if no
+	 * cache was used.
+	 * 
+	 * @return the number of misses of the query result cache, or -1 if no
+	 *         cache was used
+	 */
+	long getCacheMisses();
+
+	/**
+	 * Sets the number of misses of the query result cache.
+	 * 
+	 * @param cacheMisses
+	 *            number of misses of the query result cache
+	 */
+	void setCacheMisses(long cacheMisses);
+
 	/**
 	 * Returns the results of the processing.
 	 * 
@@ -145,4 +237,20 @@ public interface ProcessorExecutionResult {
 	 */
 	void setResult(String result);
 
+	/**
+	 * Returns the explanations of the answers, or an empty string if no
+	 * explanations were computed.
+	 * 
+	 * @return the explanations of the answers
+	 */
+	String getExplanations();
+
+	/**
+	 * Sets the explanations of the answers.
+	 * 
+	 * @param explanations
+	 *            explanations of the answers
+	 */
+	void setExplanations(String explanations);
+
 }
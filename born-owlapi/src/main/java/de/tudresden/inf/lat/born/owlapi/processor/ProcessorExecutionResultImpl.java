@@ -16,7 +16,13 @@ public class ProcessorExecutionResultImpl implements ProcessorExecutionResult {
 	private int normalizedOntologySize = -1;
 	private int ontologySize = -1;
 	private int moduleSize = -1;
+	private int goalDirectedModuleSize = -1;
+	private int retainedNetworkClauses = -1;
+	private int droppedNetworkClauses = -1;
+	private long cacheHits = -1;
+	private long cacheMisses = -1;
 	private String result = "";
+	private String explanations = "";
 
 	/**
 	 * Constructs a new processor execution result.
@@ -104,6 +110,56 @@ public class ProcessorExecutionResultImpl implements ProcessorExecutionResult {
 		this.moduleSize = moduleSize;
 	}
 
+	@Override
+	public int getGoalDirectedModuleSize() {
+		return this.goalDirectedModuleSize;
+	}
+
+	@Override
+	public void setGoalDirectedModuleSize(int goalDirectedModuleSize) {
+		this.goalDirectedModuleSize = goalDirectedModuleSize;
+	}
+
+	@Override
+	public int getRetainedNetworkClauses() {
+		return this.retainedNetworkClauses;
+	}
+
+	@Override
+	public void setRetainedNetworkClauses(int retainedNetworkClauses) {
+		this.retainedNetworkClauses = retainedNetworkClauses;
+	}
+
+	@Override
+	public int getDroppedNetworkClauses() {
+		return this.droppedNetworkClauses;
+	}
+
+	@Override
+	public void setDroppedNetworkClauses(int droppedNetworkClauses) {
+		this.droppedNetworkClauses = droppedNetworkClauses;
+	}
+
+	@Override
+	public long getCacheHits() {
+		return this.cacheHits;
+	}
+
+	@Override
+	public void setCacheHits(long cacheHits) {
+		this.cacheHits = cacheHits;
+	}
+
+	@Override
+	public long getCacheMisses() {
+		return this.cacheMisses;
+	}
+
+	@Override
+	public void setCacheMisses(long cacheMisses) {
+		this.cacheMisses = cacheMisses;
+	}
+
 	@Override
 	public String getResult() {
 		return this.result;
@@ -114,6 +170,16 @@ public class ProcessorExecutionResultImpl implements ProcessorExecutionResult {
 		this.result = result;
 	}
 
+	@Override
+	public String getExplanations() {
+		return this.explanations;
+	}
+
+	@Override
+	public void setExplanations(String explanations) {
+		this.explanations = explanations;
+	}
+
 	@Override
 	public int hashCode() {
 		return (int) (this.translationTime //
@@ -124,7 +190,14 @@ public class ProcessorExecutionResultImpl implements ProcessorExecutionResult {
 												+ 0x1F * (this.ontologySize //
 														+ 0x1F * (this.normalizedOntologySize //
 																+ 0x1F * (this.moduleSize //
-																		+ 0x1F * this.result.hashCode()))))))));
+																		+ 0x1F * (this.goalDirectedModuleSize //
+																				+ 0x1F * (this.retainedNetworkClauses //
+																						+ 0x1F * (this.droppedNetworkClauses //
+																								+ 0x1F * (this.cacheHits //
+																										+ 0x1F * (this.cacheMisses //
+																												+ 0x1F * (this.result.hashCode()
+																														+ 0x1F * this.explanations
+																																.hashCode()))))))))))))));
 	}
 
 	@Override
@@ -141,7 +214,13 @@ public class ProcessorExecutionResultImpl implements ProcessorExecutionResult {
 					&& (getProblogReasoningTime() == other.getProblogReasoningTime())
 					&& (getTotalTime() == other.getTotalTime()) && (getOntologySize() == other.getOntologySize())
 					&& (getNormalizedOntologySize() == other.getNormalizedOntologySize())
-					&& (getModuleSize() == other.getModuleSize()) && (getResult().equals(other.getResult()));
+					&& (getModuleSize() == other.getModuleSize())
+					&& (getGoalDirectedModuleSize() == other.getGoalDirectedModuleSize())
+					&& (getRetainedNetworkClauses() == other.getRetainedNetworkClauses())
+					&& (getDroppedNetworkClauses() == other.getDroppedNetworkClauses())
+					&& (getCacheHits() == other.getCacheHits())
+					&& (getCacheMisses() == other.getCacheMisses()) && (getResult().equals(other.getResult()))
+					&& getExplanations().equals(other.getExplanations());
 		}
 	}
 
@@ -164,6 +243,16 @@ public class ProcessorExecutionResultImpl implements ProcessorExecutionResult {
 		sb.append("" + normalizedOntologySize);
 		sb.append(" , module_size=");
 		sb.append("" + moduleSize);
+		sb.append(" , goal_directed_module_size=");
+		sb.append("" + goalDirectedModuleSize);
+		sb.append(" , retained_network_clauses=");
+		sb.append("" + retainedNetworkClauses);
+		sb.append(" , dropped_network_clauses=");
+		sb.append("" + droppedNetworkClauses);
+		sb.append(" , cache_hits=");
+		sb.append("" + cacheHits);
+		sb.append(" , cache_misses=");
+		sb.append("" + cacheMisses);
 		sb.append(" , result=\"");
 		sb.append("\" ] ");
 		return sb.toString();
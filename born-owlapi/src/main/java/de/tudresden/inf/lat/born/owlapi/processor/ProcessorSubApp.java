@@ -1,14 +1,21 @@
 package de.tudresden.inf.lat.born.owlapi.processor;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
+import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 
 import de.tudresden.inf.lat.born.core.term.SubApp;
+import de.tudresden.inf.lat.born.core.term.Symbol;
+import de.tudresden.inf.lat.born.problog.engine.NativeInferenceEngine;
 import de.tudresden.inf.lat.jproblog.JProblog;
 
 /**
@@ -23,20 +30,58 @@ import de.tudresden.inf.lat.jproblog.JProblog;
 public class ProcessorSubApp implements SubApp {
 
 	static final String LOGGING_OPTION = "--log";
+	static final String NATIVE_OPTION = "--native";
+	static final String EXPLANATION_OPTION_PREFIX = "--explain=";
+	static final String COMPACT_OPTION = "--compact";
+	static final String PRESATURATION_OPTION = "--presaturate";
+	static final String GOAL_DIRECTED_OPTION = "--goal-directed";
+	static final String NO_SNAPSHOT_OPTION = "--no-snapshot";
+	static final String SNAPSHOT_DIRECTORY_OPTION_PREFIX = "--snapshot-dir=";
 	public static final String COMMAND = "get";
 	static final String HELP = ""
-			+ "\nParameters: [--log] <ontology file> <Bayesian network file> <query file> <output file> [<ProbLog directory>]"
+			+ "\nParameters: [--log] [--native] [--explain=<k>] [--compact] [--presaturate] [--goal-directed] [--no-snapshot] [--snapshot-dir=<dir>] <ontology file> <Bayesian network file> <query file> <output file> [<ProbLog directory>]"
 			+ "\n"
 			+ "\n  <ontology file>          : file name of the probabilistic ontology, i.e. the OWL file with annotations"
 			+ "\n  <Bayesian network file>  : file name of the Bayesian network"
 			+ "\n  <query file>             : file name of the query"
 			+ "\n  <output file>            : file name of the output"
-			+ "\n  <ProbLog directory>      : (optional) directory where ProbLog is installed" + "\n" + "\n Option:"
-			+ "\n   --log                   : shows log" + "\n" + "\nExamples:" + "\n" + "\n Execution:"
+			+ "\n  <ProbLog directory>      : (optional) directory where ProbLog is installed" + "\n"
+			+ "\n  The translated and normalized ontology is stored in the snapshot file <ontology file>"
+			+ OntologySnapshot.SNAPSHOT_EXTENSION + "\n  and reused while the ontology file does not change, without parsing the ontology file."
+			+ "\n" + "\n Option:"
+			+ "\n   --log                   : shows log"
+			+ "\n   --native                : uses the native inference engine instead of ProbLog"
+			+ "\n   --explain=<k>           : shows the <k> most probable contexts of each answer, with the axioms"
+			+ "\n                             that entail the answer in each context (1 for the most probable one)"
+			+ "\n   --compact               : writes the entities in the ProbLog program with short symbols instead"
+			+ "\n                             of their IRIs, which is faster for ontologies with long IRIs"
+			+ "\n   --presaturate           : saturates the axioms without context before running ProbLog, which is"
+			+ "\n                             faster for ontologies where most of the axioms do not have a context"
+			+ "\n   --goal-directed         : extracts a smaller module for queries like sub('A', 'B'), which only"
+			+ "\n                             contains the axioms that can derive 'B' from 'A'"
+			+ "\n   --no-snapshot           : neither reads nor writes the snapshot file of the ontology"
+			+ "\n   --snapshot-dir=<dir>    : reads and writes the snapshot file in directory <dir> instead of next"
+			+ "\n                             to the ontology file"
+			+ "\n"
+			+ "\nExamples:" + "\n" + "\n Execution:"
 			+ "\n  java -jar born.jar " + COMMAND + " ontology.owl network.pl query.pl output.pl" + "\n"
 			+ "\n Execution not showing log:" + "\n  java -jar born.jar " + COMMAND
 			+ " ontology.owl network.pl query.pl output.pl" + "\n" + "\n Execution showing log:"
 			+ "\n  java -jar born.jar " + COMMAND + " --log ontology.owl network.pl query.pl output.pl" + "\n"
+			+ "\n Execution with the native inference engine:" + "\n  java -jar born.jar " + COMMAND
+			+ " --native ontology.owl network.pl query.pl output.pl" + "\n"
+			+ "\n Execution showing the 3 most probable explanations:" + "\n  java -jar born.jar " + COMMAND
+			+ " --explain=3 ontology.owl network.pl query.pl output.pl" + "\n"
+			+ "\n Execution with short symbols for the entities:" + "\n  java -jar born.jar " + COMMAND
+			+ " --compact ontology.owl network.pl query.pl output.pl" + "\n"
+			+ "\n Execution with presaturation of the axioms without context:" + "\n  java -jar born.jar " + COMMAND
+			+ " --presaturate ontology.owl network.pl query.pl output.pl" + "\n"
+			+ "\n Execution with goal-directed modules:" + "\n  java -jar born.jar " + COMMAND
+			+ " --goal-directed ontology.owl network.pl query.pl output.pl" + "\n"
+			+ "\n Execution without snapshot:" + "\n  java -jar born.jar " + COMMAND
+			+ " --no-snapshot ontology.owl network.pl query.pl output.pl" + "\n"
+			+ "\n Execution with the snapshot in another directory:" + "\n  java -jar born.jar " + COMMAND
+			+ " --snapshot-dir=snapshots/ ontology.owl network.pl query.pl output.pl" + "\n"
 			+ "\n Example of Bayesian network:" + "\n  0.58::x1." + "\n  0.35::x2." + "\n" + "\n Example of query:"
 			+ "\n  query(sub('A', 'C'))." + "\n" + "\n" + "\n"
 			+ "\nNote: this program requires an Internet connection to install ProbLog." + "\n" //
@@ -50,11 +95,89 @@ public class ProcessorSubApp implements SubApp {
 	public ProcessorSubApp() {
 	}
 
+	boolean isOption(String arg) {
+		return arg.equals(LOGGING_OPTION) || arg.equals(NATIVE_OPTION) || arg.startsWith(EXPLANATION_OPTION_PREFIX)
+				|| arg.equals(COMPACT_OPTION) || arg.equals(PRESATURATION_OPTION)
+				|| arg.equals(GOAL_DIRECTED_OPTION) || arg.equals(NO_SNAPSHOT_OPTION)
+				|| (arg.startsWith(SNAPSHOT_DIRECTORY_OPTION_PREFIX)
+						&& arg.length() > SNAPSHOT_DIRECTORY_OPTION_PREFIX.length());
+	}
+
+	/**
+	 * Returns the directory of the snapshots given by the options, or an
+	 * empty string if the snapshots are written next to the ontology files.
+	 * 
+	 * @param options
+	 *            options
+	 * @return the directory of the snapshots given by the options
+	 */
+	String getSnapshotDirectory(List<String> options) {
+		String ret = "";
+		for (String option : options) {
+			if (option.startsWith(SNAPSHOT_DIRECTORY_OPTION_PREFIX)) {
+				ret = option.substring(SNAPSHOT_DIRECTORY_OPTION_PREFIX.length());
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the OWL ontology read from the given file.
+	 * 
+	 * @param file
+	 *            ontology file
+	 * @return the OWL ontology read from the given file
+	 */
+	OWLOntology readOntology(File file) {
+		try (InputStream input = new FileInputStream(file)) {
+			return ProcessorConfigurationImpl.readOntology(input);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (OWLOntologyCreationException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Returns the number of explanations given by the options, or 0 if no
+	 * explanations are requested.
+	 * 
+	 * @param options
+	 *            options
+	 * @return the number of explanations given by the options
+	 * @throws IllegalArgumentException
+	 *             if the number of explanations is not a positive number
+	 */
+	int getNumberOfExplanations(List<String> options) {
+		int ret = 0;
+		for (String option : options) {
+			if (option.startsWith(EXPLANATION_OPTION_PREFIX)) {
+				String value = option.substring(EXPLANATION_OPTION_PREFIX.length());
+				try {
+					ret = Integer.parseInt(value);
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("Invalid number of explanations: '" + value + "'.", e);
+				}
+				if (ret < 1) {
+					throw new IllegalArgumentException("Invalid number of explanations: '" + value + "'.");
+				}
+			}
+		}
+		return ret;
+	}
+
+	int countOptions(String[] args) {
+		int ret = 0;
+		while (ret < args.length && isOption(args[ret])) {
+			ret++;
+		}
+		return ret;
+	}
+
 	@Override
 	public boolean isValid(String[] args) {
 		Objects.requireNonNull(args);
-		return (((args.length == 4) && !args[0].equals(LOGGING_OPTION))
-				|| ((args.length == 5) && args[0].equals(LOGGING_OPTION)));
+		return (args.length - countOptions(args)) == 4;
 	}
 
 	@Override
@@ -70,35 +193,46 @@ public class ProcessorSubApp implements SubApp {
 			ProcessorConfiguration conf = new ProcessorConfigurationImpl();
 
 			StringBuffer sbuf = new StringBuffer();
-			String[] newArgs = null;
-			if (args[0].equals(LOGGING_OPTION)) {
-				newArgs = new String[args.length - 1];
-				System.arraycopy(args, 1, newArgs, 0, args.length - 1);
-				conf.setShowingLog(true);
-			} else {
-				newArgs = new String[args.length];
-				System.arraycopy(args, 0, newArgs, 0, args.length);
-				conf.setShowingLog(false);
-			}
+			int numberOfOptions = countOptions(args);
+			List<String> options = Arrays.asList(args).subList(0, numberOfOptions);
+			String[] newArgs = new String[args.length - numberOfOptions];
+			System.arraycopy(args, numberOfOptions, newArgs, 0, newArgs.length);
+			conf.setShowingLog(options.contains(LOGGING_OPTION));
+			conf.setNumberOfExplanations(getNumberOfExplanations(options));
+			conf.setCompactEntityNames(options.contains(COMPACT_OPTION));
+			conf.setPresaturating(options.contains(PRESATURATION_OPTION));
+			conf.setGoalDirectedModules(options.contains(GOAL_DIRECTED_OPTION));
+			conf.setUsingSnapshots(!options.contains(NO_SNAPSHOT_OPTION));
+			conf.setSnapshotDirectory(getSnapshotDirectory(options));
 
 			try {
-				conf.setOntology(ProcessorConfigurationImpl.readOntology(new FileInputStream(newArgs[0])));
 				conf.setBayesianNetwork(ProcessorConfigurationImpl.read(new FileReader(newArgs[1])));
 				conf.setQuery(ProcessorConfigurationImpl.read(new FileReader(newArgs[2])));
 			} catch (IOException e) {
 				throw new UncheckedIOException(e);
-			} catch (OWLOntologyCreationException e) {
-				throw new RuntimeException(e);
 			}
 			conf.setOutputFileName(newArgs[3]);
 
-			JProblog queryProcessor = new JProblog();
-			conf.setQueryProcessor(queryProcessor);
+			if (options.contains(NATIVE_OPTION)) {
+				conf.setInferenceEngine(new NativeInferenceEngine());
+			} else {
+				conf.setQueryProcessor(new JProblog());
+			}
 
 			ProcessorCore core = new ProcessorCore();
 			ProcessorExecutionResult executionResult = new ProcessorExecutionResultImpl();
-			core.run(conf, start, executionResult);
+			File ontologyFile = new File(newArgs[0]);
+			// with a valid snapshot, the ontology file is not parsed
+			OntologySession session = conf.isUsingSnapshots()
+					? new OntologySnapshot(conf.getSnapshotDirectory()).getSession(ontologyFile,
+							() -> readOntology(ontologyFile))
+					: new OntologySession(readOntology(ontologyFile));
+			core.run(conf, session, start, executionResult);
 			sbuf.append(executionResult.getResult());
+			if (!executionResult.getExplanations().isEmpty()) {
+				sbuf.append(Symbol.NEW_LINE_CHAR);
+				sbuf.append(executionResult.getExplanations());
+			}
 
 			return sbuf.toString();
 		} else {
@@ -0,0 +1,267 @@
+package de.tudresden.inf.lat.born.owlapi.processor;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+
+import de.tudresden.inf.lat.born.core.term.Clause;
+import de.tudresden.inf.lat.born.core.term.Symbol;
+import de.tudresden.inf.lat.born.problog.type.ProblogProgram;
+
+/**
+ * An object of this class is a cache of query results. Each result is stored
+ * with a key computed from the ProbLog program that produced it, i.e. from the
+ * completion rules, the clauses of the module, the Bayesian network and the
+ * query. When the cache is full, the least recently used result is removed.
+ * The cache can be shared by several threads.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class QueryResultCache {
+
+	/** Default maximum number of results stored in the cache. */
+	public static final int DEFAULT_CAPACITY = 0x1000;
+
+	static final String DIGEST_ALGORITHM = "SHA-256";
+	static final String SECTION_SEPARATOR = "" + Symbol.NEW_LINE_CHAR + Symbol.PERCENT_CHAR + Symbol.NEW_LINE_CHAR;
+	static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private final int capacity;
+	private final Map<String, String> map;
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * Constructs a new query result cache with the default capacity.
+	 */
+	public QueryResultCache() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructs a new query result cache.
+	 *
+	 * @param capacity
+	 *            maximum number of results stored in the cache
+	 */
+	public QueryResultCache(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Invalid capacity: '" + capacity + "'.");
+		}
+		this.capacity = capacity;
+		this.map = new LinkedHashMap<String, String>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = -3151720375486497823L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+				return size() > QueryResultCache.this.capacity;
+			}
+
+		};
+	}
+
+	/**
+	 * Returns the key of the given ProbLog program. The key does not depend on
+	 * the order of the ontology clauses.
+	 *
+	 * @param program
+	 *            ProbLog program
+	 * @return the key of the given ProbLog program
+	 */
+	public String getKey(ProblogProgram program) {
+		Objects.requireNonNull(program);
+		try {
+			MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+			OutputStream discard = new OutputStream() {
+
+				@Override
+				public void write(int b) {
+				}
+
+				@Override
+				public void write(byte[] b, int off, int len) {
+				}
+
+			};
+			Writer writer = new BufferedWriter(
+					new OutputStreamWriter(new DigestOutputStream(discard, digest), StandardCharsets.UTF_8));
+
+			for (Clause clause : program.getData().getCompletionRules()) {
+				clause.appendTo(writer);
+			}
+			writer.append(program.getAdditionalCompletionRulesAsText());
+			writer.append(SECTION_SEPARATOR);
+
+			List<String> ontology = new ArrayList<>();
+			program.getData().getOntology().forEach(clause -> ontology.add(clause.asString()));
+			Collections.sort(ontology);
+			for (String clause : ontology) {
+				writer.append(clause);
+			}
+			writer.append(SECTION_SEPARATOR);
+
+			for (Clause clause : program.getData().getBayesianNetwork()) {
+				clause.appendTo(writer);
+			}
+			writer.append(program.getBayesianNetworkAddendum().trim());
+			writer.append(SECTION_SEPARATOR);
+
+			for (Clause clause : program.getData().getQueries()) {
+				clause.appendTo(writer);
+			}
+			writer.append(program.getQueryListAddendum().trim());
+			writer.close();
+
+			return toHexString(digest.digest());
+
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	String toHexString(byte[] bytes) {
+		char[] ret = new char[bytes.length * 2];
+		for (int index = 0; index < bytes.length; index++) {
+			ret[2 * index] = HEX_DIGITS[(bytes[index] >> 4) & 0xF];
+			ret[2 * index + 1] = HEX_DIGITS[bytes[index] & 0xF];
+		}
+		return new String(ret);
+	}
+
+	/**
+	 * Returns the result stored with the given key, if present, and counts a
+	 * hit or a miss.
+	 *
+	 * @param key
+	 *            key
+	 * @return the result stored with the given key, if present
+	 */
+	public synchronized Optional<String> get(String key) {
+		Objects.requireNonNull(key);
+		String value = this.map.get(key);
+		if (Objects.isNull(value)) {
+			this.misses++;
+			return Optional.empty();
+		} else {
+			this.hits++;
+			return Optional.of(value);
+		}
+	}
+
+	/**
+	 * Stores a result with the given key.
+	 *
+	 * @param key
+	 *            key
+	 * @param result
+	 *            result
+	 */
+	public synchronized void put(String key, String result) {
+		Objects.requireNonNull(key);
+		Objects.requireNonNull(result);
+		this.map.put(key, result);
+	}
+
+	/**
+	 * Returns the maximum number of results stored in the cache.
+	 *
+	 * @return the maximum number of results stored in the cache
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Returns the number of results stored in the cache.
+	 *
+	 * @return the number of results stored in the cache
+	 */
+	public synchronized int size() {
+		return this.map.size();
+	}
+
+	/**
+	 * Returns the number of times that a result was found in the cache.
+	 *
+	 * @return the number of times that a result was found in the cache
+	 */
+	public synchronized long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * Returns the number of times that a result was not found in the cache.
+	 *
+	 * @return the number of times that a result was not found in the cache
+	 */
+	public synchronized long getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * Adds the results stored in the given file to the cache, if the file
+	 * exists.
+	 *
+	 * @param file
+	 *            file
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	public synchronized void load(File file) throws IOException {
+		Objects.requireNonNull(file);
+		if (file.exists()) {
+			Properties properties = new Properties();
+			InputStream input = new FileInputStream(file);
+			properties.load(input);
+			input.close();
+			properties.stringPropertyNames().forEach(key -> this.map.put(key, properties.getProperty(key)));
+		}
+	}
+
+	/**
+	 * Stores the results of the cache in the given file.
+	 *
+	 * @param file
+	 *            file
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	public synchronized void store(File file) throws IOException {
+		Objects.requireNonNull(file);
+		Properties properties = new Properties();
+		this.map.forEach((key, value) -> properties.setProperty(key, value));
+		OutputStream output = new FileOutputStream(file);
+		properties.store(output, getClass().getSimpleName());
+		output.close();
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "size=" + this.map.size() + ", capacity=" + this.capacity + ", hits=" + this.hits + ", misses="
+				+ this.misses;
+	}
+
+}
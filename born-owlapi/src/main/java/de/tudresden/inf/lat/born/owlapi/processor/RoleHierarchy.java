@@ -0,0 +1,106 @@
+package de.tudresden.inf.lat.born.owlapi.processor;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.RI2Axiom;
+
+/**
+ * An object of this class is the deterministic part of the role hierarchy of
+ * a set of normalized axioms, i.e. the reflexive and transitive closure of the
+ * role inclusions <code>r \u2291 s</code> that do not have annotations. The
+ * closure is computed in Java, so that these role inclusions are not rendered
+ * as ProbLog clauses. Instead, each existential restriction and each role
+ * inclusion on the right-hand side of an axiom is rendered for all the super
+ * roles of its role. The super roles of each role are computed when they are
+ * requested for the first time.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class RoleHierarchy {
+
+	private final Map<Integer, Set<Integer>> directSuperRoles = new HashMap<>();
+	private final Map<Integer, Set<Integer>> superRoles = new HashMap<>();
+
+	/**
+	 * Constructs an empty role hierarchy, where each role only has itself as
+	 * super role.
+	 */
+	public RoleHierarchy() {
+	}
+
+	/**
+	 * Constructs the role hierarchy of the given axioms.
+	 *
+	 * @param axioms
+	 *            normalized axioms
+	 */
+	public RoleHierarchy(Collection<NormalizedIntegerAxiom> axioms) {
+		Objects.requireNonNull(axioms);
+		axioms.forEach(axiom -> {
+			if (axiom instanceof RI2Axiom && axiom.getAnnotations().isEmpty()) {
+				RI2Axiom roleInclusion = (RI2Axiom) axiom;
+				this.directSuperRoles.computeIfAbsent(roleInclusion.getSubProperty(), key -> new TreeSet<>())
+						.add(roleInclusion.getSuperProperty());
+			}
+		});
+	}
+
+	/**
+	 * Returns the super roles of the given role, including the role itself.
+	 *
+	 * @param role
+	 *            role
+	 * @return the super roles of the given role, including the role itself
+	 */
+	public synchronized Set<Integer> getSuperRoles(int role) {
+		Set<Integer> ret = this.superRoles.get(role);
+		if (Objects.isNull(ret)) {
+			Set<Integer> visited = new TreeSet<>();
+			Deque<Integer> toVisit = new ArrayDeque<>();
+			visited.add(role);
+			toVisit.add(role);
+			while (!toVisit.isEmpty()) {
+				int current = toVisit.poll();
+				this.directSuperRoles.getOrDefault(current, Collections.emptySet()).forEach(superRole -> {
+					if (visited.add(superRole)) {
+						toVisit.add(superRole);
+					}
+				});
+			}
+			ret = Collections.unmodifiableSet(visited);
+			this.superRoles.put(role, ret);
+		}
+		return ret;
+	}
+
+	/**
+	 * Tells whether the given role inclusion belongs to the deterministic part
+	 * of this role hierarchy, and therefore does not need to be rendered.
+	 *
+	 * @param axiom
+	 *            role inclusion
+	 * @return <code>true</code> if and only if the given role inclusion
+	 *         belongs to the deterministic part of this role hierarchy
+	 */
+	public boolean contains(RI2Axiom axiom) {
+		Objects.requireNonNull(axiom);
+		return axiom.getAnnotations().isEmpty() && this.directSuperRoles
+				.getOrDefault(axiom.getSubProperty(), Collections.emptySet()).contains(axiom.getSuperProperty());
+	}
+
+	@Override
+	public String toString() {
+		return this.directSuperRoles.toString();
+	}
+
+}
@@ -0,0 +1,214 @@
+package de.tudresden.inf.lat.born.problog.engine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An object of this class manages reduced ordered binary decision diagrams
+ * (BDDs) over Boolean variables identified by non-negative integers. Each
+ * diagram is represented by the identifier of its root node. Since equivalent
+ * diagrams share the same nodes, two formulas are equivalent if and only if
+ * their identifiers are equal.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class BinaryDecisionDiagram {
+
+	/** Identifier of the diagram that is always false. */
+	public static final int FALSE = 0;
+
+	/** Identifier of the diagram that is always true. */
+	public static final int TRUE = 1;
+
+	static final int TERMINAL_VARIABLE = Integer.MAX_VALUE;
+
+	private final List<int[]> nodes = new ArrayList<>();
+	private final Map<Integer, Map<Long, Integer>> uniqueTable = new HashMap<>();
+	private final Map<Long, Integer> andCache = new HashMap<>();
+	private final Map<Long, Integer> orCache = new HashMap<>();
+	private final Map<Integer, Integer> notCache = new HashMap<>();
+
+	/**
+	 * Constructs a new binary decision diagram manager.
+	 */
+	public BinaryDecisionDiagram() {
+		this.nodes.add(new int[] { TERMINAL_VARIABLE, FALSE, FALSE });
+		this.nodes.add(new int[] { TERMINAL_VARIABLE, TRUE, TRUE });
+	}
+
+	static long pair(int first, int second) {
+		return (((long) first) << 32) | (second & 0xFFFFFFFFL);
+	}
+
+	int getVariable(int node) {
+		return this.nodes.get(node)[0];
+	}
+
+	int getLow(int node) {
+		return this.nodes.get(node)[1];
+	}
+
+	int getHigh(int node) {
+		return this.nodes.get(node)[2];
+	}
+
+	int makeNode(int variable, int low, int high) {
+		if (low == high) {
+			return low;
+		}
+		Map<Long, Integer> table = this.uniqueTable.computeIfAbsent(variable, key -> new HashMap<>());
+		return table.computeIfAbsent(pair(low, high), key -> {
+			this.nodes.add(new int[] { variable, low, high });
+			return this.nodes.size() - 1;
+		});
+	}
+
+	/**
+	 * Returns the diagram of the given variable.
+	 *
+	 * @param variable
+	 *            variable, which is a non-negative integer
+	 * @return the diagram of the given variable
+	 */
+	public int variable(int variable) {
+		if (variable < 0 || variable == TERMINAL_VARIABLE) {
+			throw new IllegalArgumentException("Invalid variable: " + variable + ".");
+		}
+		return makeNode(variable, FALSE, TRUE);
+	}
+
+	/**
+	 * Returns the negation of the given diagram.
+	 *
+	 * @param node
+	 *            diagram
+	 * @return the negation of the given diagram
+	 */
+	public int not(int node) {
+		if (node == FALSE) {
+			return TRUE;
+		} else if (node == TRUE) {
+			return FALSE;
+		}
+		Integer cached = this.notCache.get(node);
+		if (Objects.nonNull(cached)) {
+			return cached;
+		}
+		int ret = makeNode(getVariable(node), not(getLow(node)), not(getHigh(node)));
+		this.notCache.put(node, ret);
+		return ret;
+	}
+
+	/**
+	 * Returns the conjunction of the given diagrams.
+	 *
+	 * @param first
+	 *            first diagram
+	 * @param second
+	 *            second diagram
+	 * @return the conjunction of the given diagrams
+	 */
+	public int and(int first, int second) {
+		if (first == FALSE || second == FALSE) {
+			return FALSE;
+		} else if (first == TRUE || first == second) {
+			return second;
+		} else if (second == TRUE) {
+			return first;
+		}
+		return apply(true, Math.min(first, second), Math.max(first, second));
+	}
+
+	/**
+	 * Returns the disjunction of the given diagrams.
+	 *
+	 * @param first
+	 *            first diagram
+	 * @param second
+	 *            second diagram
+	 * @return the disjunction of the given diagrams
+	 */
+	public int or(int first, int second) {
+		if (first == TRUE || second == TRUE) {
+			return TRUE;
+		} else if (first == FALSE || first == second) {
+			return second;
+		} else if (second == FALSE) {
+			return first;
+		}
+		return apply(false, Math.min(first, second), Math.max(first, second));
+	}
+
+	int apply(boolean isConjunction, int first, int second) {
+		Map<Long, Integer> cache = isConjunction ? this.andCache : this.orCache;
+		long key = pair(first, second);
+		Integer cached = cache.get(key);
+		if (Objects.nonNull(cached)) {
+			return cached;
+		}
+		int firstVariable = getVariable(first);
+		int secondVariable = getVariable(second);
+		int variable = Math.min(firstVariable, secondVariable);
+		int firstLow = (firstVariable == variable) ? getLow(first) : first;
+		int firstHigh = (firstVariable == variable) ? getHigh(first) : first;
+		int secondLow = (secondVariable == variable) ? getLow(second) : second;
+		int secondHigh = (secondVariable == variable) ? getHigh(second) : second;
+		int low = isConjunction ? and(firstLow, secondLow) : or(firstLow, secondLow);
+		int high = isConjunction ? and(firstHigh, secondHigh) : or(firstHigh, secondHigh);
+		int ret = makeNode(variable, low, high);
+		cache.put(key, ret);
+		return ret;
+	}
+
+	/**
+	 * Returns the probability that the given diagram is true, where each
+	 * variable is true independently with the given probability.
+	 *
+	 * @param node
+	 *            diagram
+	 * @param probabilities
+	 *            probabilities of the variables, indexed by variable
+	 * @return the probability that the given diagram is true
+	 */
+	public double getProbability(int node, double[] probabilities) {
+		Objects.requireNonNull(probabilities);
+		return getProbability(node, probabilities, new HashMap<>());
+	}
+
+	double getProbability(int node, double[] probabilities, Map<Integer, Double> cache) {
+		if (node == FALSE) {
+			return 0;
+		} else if (node == TRUE) {
+			return 1;
+		}
+		Double cached = cache.get(node);
+		if (Objects.nonNull(cached)) {
+			return cached;
+		}
+		double probability = probabilities[getVariable(node)];
+		double ret = (1 - probability) * getProbability(getLow(node), probabilities, cache)
+				+ probability * getProbability(getHigh(node), probabilities, cache);
+		cache.put(node, ret);
+		return ret;
+	}
+
+	/**
+	 * Returns the number of nodes created by this manager, including the two
+	 * terminal nodes.
+	 *
+	 * @return the number of nodes created by this manager
+	 */
+	public int size() {
+		return this.nodes.size();
+	}
+
+	@Override
+	public String toString() {
+		return "nodes=" + size();
+	}
+
+}
@@ -0,0 +1,185 @@
+package de.tudresden.inf.lat.born.problog.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import de.tudresden.inf.lat.born.core.term.ProbClause;
+import de.tudresden.inf.lat.born.core.term.ProbClauseImpl;
+import de.tudresden.inf.lat.born.core.term.Symbol;
+
+/**
+ * An object of this class is a ProbLog program compiled by the
+ * {@link NativeInferenceEngine}. It keeps the binary decision diagram of each
+ * answer, conditioned on the evidence, so that the answers can be evaluated
+ * again for other probabilities of the clauses of the Bayesian network. Each
+ * evaluation takes time linear in the size of the diagrams.
+ * <p>
+ * A Bayesian network can be used to evaluate a compiled program if it has the
+ * same clauses as the Bayesian network of the compiled program, possibly with
+ * other probabilities. A clause without probability cannot be replaced by a
+ * probabilistic clause, nor vice versa. The evaluation does not modify this
+ * object, so that it can be shared by several threads.
+ * </p>
+ *
+ * @author Julian Mendez
+ *
+ */
+public class CompiledProgram {
+
+	private final BinaryDecisionDiagram bdd;
+	private final List<ProbClause> network;
+	private final double[] probabilities;
+	private final int evidence;
+	private final List<String> answers;
+	private final int[] labels;
+
+	/**
+	 * Constructs a new compiled program.
+	 *
+	 * @param bdd
+	 *            binary decision diagram manager
+	 * @param network
+	 *            clauses of the Bayesian network, including evidence
+	 * @param probabilities
+	 *            probabilities of the choices of the Bayesian network
+	 * @param evidence
+	 *            diagram of the evidence
+	 * @param answers
+	 *            answers
+	 * @param labels
+	 *            diagrams of the answers conjoined with the evidence
+	 */
+	CompiledProgram(BinaryDecisionDiagram bdd, List<ProbClause> network, double[] probabilities, int evidence,
+			List<String> answers, List<Integer> labels) {
+		Objects.requireNonNull(probabilities);
+		Objects.requireNonNull(labels);
+		if (answers.size() != labels.size()) {
+			throw new IllegalArgumentException("Answers and labels have different sizes.");
+		}
+		this.bdd = Objects.requireNonNull(bdd);
+		this.network = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(network)));
+		this.probabilities = probabilities.clone();
+		this.evidence = evidence;
+		this.answers = Collections.unmodifiableList(new ArrayList<>(answers));
+		this.labels = labels.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * Returns the answers of the queries, in the order of the result.
+	 *
+	 * @return the answers of the queries
+	 */
+	public List<String> getAnswers() {
+		return this.answers;
+	}
+
+	/**
+	 * Returns the number of nodes of the binary decision diagrams.
+	 *
+	 * @return the number of nodes of the binary decision diagrams
+	 */
+	public int size() {
+		return this.bdd.size();
+	}
+
+	/**
+	 * Tells whether the given Bayesian network can be used to evaluate this
+	 * compiled program.
+	 *
+	 * @param network
+	 *            clauses of a Bayesian network, including evidence
+	 * @return <code>true</code> if and only if the given Bayesian network can
+	 *         be used to evaluate this compiled program
+	 */
+	public boolean isCompatible(List<ProbClause> network) {
+		Objects.requireNonNull(network);
+		if (network.size() != this.network.size()) {
+			return false;
+		}
+		for (int index = 0; index < network.size(); index++) {
+			ProbClause clause = network.get(index);
+			ProbClause compiledClause = this.network.get(index);
+			if (!clause.getHead().equals(compiledClause.getHead())
+					|| !clause.getBody().equals(compiledClause.getBody())
+					|| isCertain(clause) != isCertain(compiledClause)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	boolean isCertain(ProbClause clause) {
+		return clause.getProbability().equals(ProbClauseImpl.CERTAIN);
+	}
+
+	/**
+	 * Returns the probabilities of the choices given by the given Bayesian
+	 * network.
+	 *
+	 * @param network
+	 *            clauses of a Bayesian network, including evidence
+	 * @return the probabilities of the choices given by the given Bayesian
+	 *         network
+	 * @throws IllegalArgumentException
+	 *             if the Bayesian network is not compatible
+	 */
+	double[] getProbabilities(List<ProbClause> network) {
+		if (!isCompatible(network)) {
+			throw new IllegalArgumentException("The Bayesian network is not compatible with the compiled program.");
+		}
+		return network.stream().filter(clause -> !isCertain(clause)).mapToDouble(NetworkCompiler::parseProbability)
+				.toArray();
+	}
+
+	/**
+	 * Returns the result of this compiled program with the probabilities of
+	 * its own Bayesian network.
+	 *
+	 * @return the result of this compiled program
+	 */
+	public String evaluate() {
+		return evaluate(this.probabilities);
+	}
+
+	/**
+	 * Returns the result of this compiled program with the probabilities of
+	 * the given Bayesian network.
+	 *
+	 * @param network
+	 *            clauses of a Bayesian network, including evidence
+	 * @return the result of this compiled program with the probabilities of
+	 *         the given Bayesian network
+	 * @throws IllegalArgumentException
+	 *             if the Bayesian network is not compatible
+	 */
+	public String evaluate(List<ProbClause> network) {
+		return evaluate(getProbabilities(network));
+	}
+
+	String evaluate(double[] probabilities) {
+		Map<Integer, Double> cache = new HashMap<>();
+		double evidenceProbability = this.bdd.getProbability(this.evidence, probabilities, cache);
+		if (evidenceProbability == 0) {
+			throw new IllegalArgumentException("The evidence has probability 0.");
+		}
+		StringBuilder sb = new StringBuilder();
+		for (int index = 0; index < this.labels.length; index++) {
+			sb.append(this.answers.get(index));
+			sb.append(Symbol.COLON_CHAR);
+			sb.append(Symbol.TAB_CHAR);
+			sb.append(this.bdd.getProbability(this.labels[index], probabilities, cache) / evidenceProbability);
+			sb.append(Symbol.NEW_LINE_CHAR);
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public String toString() {
+		return "answers=" + this.answers.size() + ", nodes=" + size();
+	}
+
+}
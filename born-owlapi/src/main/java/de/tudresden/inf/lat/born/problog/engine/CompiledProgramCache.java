@@ -0,0 +1,215 @@
+package de.tudresden.inf.lat.born.problog.engine;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import de.tudresden.inf.lat.born.core.term.Clause;
+import de.tudresden.inf.lat.born.core.term.ProbClause;
+import de.tudresden.inf.lat.born.core.term.ProbClauseImpl;
+import de.tudresden.inf.lat.born.core.term.Symbol;
+import de.tudresden.inf.lat.born.problog.type.ProblogProgram;
+
+/**
+ * An object of this class is a cache of compiled programs. Each compiled
+ * program is stored with a key computed from the logical part of the ProbLog
+ * program, i.e. from the completion rules, the clauses of the module, the
+ * clauses of the Bayesian network without their probabilities, and the
+ * queries. Thus, programs that only differ in the probabilities of the
+ * Bayesian network have the same key. When the cache is full, the least
+ * recently used compiled program is removed. The cache can be shared by
+ * several threads.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class CompiledProgramCache {
+
+	/** Default maximum number of compiled programs stored in the cache. */
+	public static final int DEFAULT_CAPACITY = 0x100;
+
+	static final String DIGEST_ALGORITHM = "SHA-256";
+	static final String SECTION_SEPARATOR = "" + Symbol.NEW_LINE_CHAR + Symbol.PERCENT_CHAR + Symbol.NEW_LINE_CHAR;
+	static final String CHOICE_MARK = "" + Symbol.COLON_COLON;
+	static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private final int capacity;
+	private final Map<String, CompiledProgram> map;
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * Constructs a new cache of compiled programs with the default capacity.
+	 */
+	public CompiledProgramCache() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructs a new cache of compiled programs.
+	 *
+	 * @param capacity
+	 *            maximum number of compiled programs stored in the cache
+	 */
+	public CompiledProgramCache(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Invalid capacity: '" + capacity + "'.");
+		}
+		this.capacity = capacity;
+		this.map = new LinkedHashMap<String, CompiledProgram>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 2958209917541235043L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CompiledProgram> eldest) {
+				return size() > CompiledProgramCache.this.capacity;
+			}
+
+		};
+	}
+
+	/**
+	 * Returns the key of the given ProbLog program, whose Bayesian network is
+	 * given by the given clauses. The key does not depend on the order of the
+	 * ontology clauses, nor on the probabilities of the Bayesian network.
+	 *
+	 * @param program
+	 *            ProbLog program
+	 * @param network
+	 *            clauses of the Bayesian network, including evidence
+	 * @return the key of the given ProbLog program
+	 */
+	public String getKey(ProblogProgram program, List<ProbClause> network) {
+		Objects.requireNonNull(program);
+		Objects.requireNonNull(network);
+		StringBuilder sb = new StringBuilder();
+		program.getData().getCompletionRules().forEach(clause -> sb.append(clause.asString()));
+		sb.append(program.getAdditionalCompletionRulesAsText());
+		sb.append(SECTION_SEPARATOR);
+
+		List<String> ontology = new ArrayList<>();
+		program.getData().getOntology().forEach(clause -> ontology.add(clause.asString()));
+		Collections.sort(ontology);
+		ontology.forEach(sb::append);
+		sb.append(SECTION_SEPARATOR);
+
+		network.forEach(clause -> {
+			if (!clause.getProbability().equals(ProbClauseImpl.CERTAIN)) {
+				sb.append(CHOICE_MARK);
+			}
+			sb.append(clause.getHead().asString());
+			clause.getBody().forEach(term -> {
+				sb.append(Symbol.COMMA_CHAR);
+				sb.append(term.asString());
+			});
+			sb.append(Symbol.NEW_LINE_CHAR);
+		});
+		sb.append(SECTION_SEPARATOR);
+
+		program.getData().getQueries().forEach(clause -> sb.append(clause.asString()));
+		sb.append(program.getQueryListAddendum().trim());
+
+		try {
+			MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+			return toHexString(digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	String toHexString(byte[] bytes) {
+		char[] ret = new char[bytes.length * 2];
+		for (int index = 0; index < bytes.length; index++) {
+			ret[2 * index] = HEX_DIGITS[(bytes[index] >> 4) & 0xF];
+			ret[2 * index + 1] = HEX_DIGITS[bytes[index] & 0xF];
+		}
+		return new String(ret);
+	}
+
+	/**
+	 * Returns the compiled program stored with the given key, if present, and
+	 * counts a hit or a miss.
+	 *
+	 * @param key
+	 *            key
+	 * @return the compiled program stored with the given key, if present
+	 */
+	public synchronized Optional<CompiledProgram> get(String key) {
+		Objects.requireNonNull(key);
+		CompiledProgram value = this.map.get(key);
+		if (Objects.isNull(value)) {
+			this.misses++;
+			return Optional.empty();
+		} else {
+			this.hits++;
+			return Optional.of(value);
+		}
+	}
+
+	/**
+	 * Stores a compiled program with the given key.
+	 *
+	 * @param key
+	 *            key
+	 * @param compiledProgram
+	 *            compiled program
+	 */
+	public synchronized void put(String key, CompiledProgram compiledProgram) {
+		Objects.requireNonNull(key);
+		Objects.requireNonNull(compiledProgram);
+		this.map.put(key, compiledProgram);
+	}
+
+	/**
+	 * Returns the maximum number of compiled programs stored in the cache.
+	 *
+	 * @return the maximum number of compiled programs stored in the cache
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Returns the number of compiled programs stored in the cache.
+	 *
+	 * @return the number of compiled programs stored in the cache
+	 */
+	public synchronized int size() {
+		return this.map.size();
+	}
+
+	/**
+	 * Returns the number of times that a compiled program was found in the
+	 * cache.
+	 *
+	 * @return the number of times that a compiled program was found in the
+	 *         cache
+	 */
+	public synchronized long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * Returns the number of times that a compiled program was not found in
+	 * the cache.
+	 *
+	 * @return the number of times that a compiled program was not found in
+	 *         the cache
+	 */
+	public synchronized long getMisses() {
+		return this.misses;
+	}
+
+	@Override
+	public String toString() {
+		return "capacity=" + this.capacity + ", size=" + size() + ", hits=" + getHits() + ", misses=" + getMisses();
+	}
+
+}
@@ -0,0 +1,131 @@
+package de.tudresden.inf.lat.born.problog.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import de.tudresden.inf.lat.born.core.term.Symbol;
+
+/**
+ * An object of this class is an explanation of an answer. It contains a
+ * context, i.e. an assignment of the variables of the Bayesian network under
+ * which the answer holds, the probability of the context given the evidence,
+ * and a justification, i.e. a minimal set of axioms that entail the answer in
+ * that context.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class Explanation {
+
+	static final String SEPARATOR = Symbol.COMMA_CHAR + " ";
+
+	private final Map<String, Boolean> context;
+	private final double probability;
+	private final List<String> justification;
+
+	/**
+	 * Constructs a new explanation.
+	 *
+	 * @param context
+	 *            assignment of the variables of the Bayesian network, in the
+	 *            order of the network
+	 * @param probability
+	 *            probability of the context given the evidence
+	 * @param justification
+	 *            axioms that entail the answer in the context
+	 */
+	public Explanation(Map<String, Boolean> context, double probability, List<String> justification) {
+		this.context = Collections.unmodifiableMap(new LinkedHashMap<>(Objects.requireNonNull(context)));
+		this.probability = probability;
+		this.justification = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(justification)));
+	}
+
+	/**
+	 * Returns the context, i.e. the assignment of the variables of the
+	 * Bayesian network.
+	 *
+	 * @return the context
+	 */
+	public Map<String, Boolean> getContext() {
+		return this.context;
+	}
+
+	/**
+	 * Returns the probability of the context given the evidence.
+	 *
+	 * @return the probability of the context given the evidence
+	 */
+	public double getProbability() {
+		return this.probability;
+	}
+
+	/**
+	 * Returns the axioms that entail the answer in the context.
+	 *
+	 * @return the axioms that entail the answer in the context
+	 */
+	public List<String> getJustification() {
+		return this.justification;
+	}
+
+	/**
+	 * Returns the context as a list of literals, where a false variable
+	 * <code>x</code> is written <code>\+x</code>.
+	 *
+	 * @return the context as a list of literals
+	 */
+	public String getContextAsString() {
+		return this.context.entrySet().stream()
+				.map(entry -> (entry.getValue() ? "" : Symbol.NEGATION_SYMBOL) + entry.getKey())
+				.collect(Collectors.joining(SEPARATOR));
+	}
+
+	/**
+	 * Returns a line <code>probability\tcontext</code> followed by a line for
+	 * each axiom of the justification, indented with a tab.
+	 *
+	 * @return a string representation of this explanation
+	 */
+	public String asString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(this.probability);
+		sb.append(Symbol.TAB_CHAR);
+		sb.append(getContextAsString());
+		sb.append(Symbol.NEW_LINE_CHAR);
+		this.justification.forEach(axiom -> {
+			sb.append(Symbol.TAB_CHAR);
+			sb.append(axiom);
+			sb.append(Symbol.NEW_LINE_CHAR);
+		});
+		return sb.toString();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		} else if (!(obj instanceof Explanation)) {
+			return false;
+		} else {
+			Explanation other = (Explanation) obj;
+			return getContext().equals(other.getContext()) && (getProbability() == other.getProbability())
+					&& getJustification().equals(other.getJustification());
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return this.context.hashCode() + 0x1F * (Double.hashCode(this.probability) + 0x1F * this.justification.hashCode());
+	}
+
+	@Override
+	public String toString() {
+		return asString();
+	}
+
+}
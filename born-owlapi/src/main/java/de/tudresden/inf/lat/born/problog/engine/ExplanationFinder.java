@@ -0,0 +1,406 @@
+package de.tudresden.inf.lat.born.problog.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+
+import de.tudresden.inf.lat.born.core.rule.FormulaConstructor;
+import de.tudresden.inf.lat.born.core.term.Clause;
+import de.tudresden.inf.lat.born.core.term.ProbClause;
+import de.tudresden.inf.lat.born.core.term.ProbClauseImpl;
+import de.tudresden.inf.lat.born.core.term.Symbol;
+import de.tudresden.inf.lat.born.core.term.Term;
+import de.tudresden.inf.lat.born.problog.type.BayesianNetwork;
+
+/**
+ * An object of this class finds the most probable contexts of the answers of
+ * a ProbLog program created by BORN. The completion of the module is labeled
+ * with binary decision diagrams over the variables of the Bayesian network,
+ * which are numbered so that every variable comes after its parents. The
+ * contexts of an answer are then found by a best-first search over partial
+ * assignments of the variables that the answer depends on, in the order of
+ * the network. The probability of a partial assignment is the product of the
+ * conditional probabilities of its variables given their parents, and it is
+ * an upper bound of the probability of any of its extensions. Assignments
+ * under which the answer or the evidence is false are discarded as soon as
+ * the label becomes false, so that the worlds are not enumerated.
+ * <p>
+ * The conditional probability of a variable given its parents is the
+ * probability that at least one clause defining the variable, whose body is
+ * true, is chosen. Variables that are not defined by any clause are false.
+ * </p>
+ *
+ * @author Julian Mendez
+ *
+ */
+class ExplanationFinder {
+
+	/**
+	 * A partial assignment of the variables that an answer depends on.
+	 */
+	static class PartialContext {
+
+		final boolean[] values;
+		final int depth;
+		final double probability;
+		final int node;
+		final long sequence;
+
+		PartialContext(boolean[] values, int depth, double probability, int node, long sequence) {
+			this.values = values;
+			this.depth = depth;
+			this.probability = probability;
+			this.node = node;
+			this.sequence = sequence;
+		}
+
+	}
+
+	private final NativeInferenceEngine engine;
+	private final BinaryDecisionDiagram bdd = new BinaryDecisionDiagram();
+	private final List<Clause> ontology;
+	private final Map<String, List<ProbClause>> definitions = new HashMap<>();
+	private final List<Term> evidence = new ArrayList<>();
+	private final List<String> variables = new ArrayList<>();
+	private final Map<String, Integer> index = new HashMap<>();
+	private final Set<String> visiting = new HashSet<>();
+	private final LabeledCompletion completion;
+	private final int evidenceLabel;
+	private final double evidenceProbability;
+
+	/**
+	 * Constructs a new explanation finder.
+	 *
+	 * @param engine
+	 *            native inference engine
+	 * @param ontology
+	 *            clauses of the module
+	 * @param clauses
+	 *            clauses of the Bayesian network, including evidence
+	 * @throws IllegalArgumentException
+	 *             if the evidence has probability 0
+	 */
+	ExplanationFinder(NativeInferenceEngine engine, List<Clause> ontology, List<ProbClause> clauses) {
+		this.engine = Objects.requireNonNull(engine);
+		this.ontology = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(ontology)));
+		Objects.requireNonNull(clauses).forEach(clause -> {
+			if (clause.getHead().getName().equals(BayesianNetwork.EVIDENCE)) {
+				this.evidence.add(clause.getHead());
+			} else {
+				this.definitions.computeIfAbsent(BayesianNetwork.getVariableName(clause.getHead()),
+						key -> new ArrayList<>()).add(clause);
+			}
+		});
+
+		BinaryDecisionDiagram networkBdd = new BinaryDecisionDiagram();
+		NetworkCompiler network = new NetworkCompiler(networkBdd, clauses);
+		this.evidenceProbability = networkBdd.getProbability(network.getEvidence(), network.getProbabilities());
+		if (this.evidenceProbability == 0) {
+			throw new IllegalArgumentException("The evidence has probability 0.");
+		}
+		this.evidenceLabel = getEvidence();
+
+		this.completion = new LabeledCompletion(this.bdd);
+		this.ontology
+				.forEach(clause -> engine.addOntologyClause(this.completion, this.bdd, this::getLiteral, clause));
+		this.completion.saturate();
+	}
+
+	/**
+	 * Returns the number of the given variable. The parents of a variable are
+	 * numbered before the variable.
+	 *
+	 * @param variable
+	 *            variable name, without apostrophes
+	 * @return the number of the given variable
+	 * @throws IllegalArgumentException
+	 *             if the variable depends on itself
+	 */
+	int getIndex(String variable) {
+		Integer ret = this.index.get(variable);
+		if (Objects.nonNull(ret)) {
+			return ret;
+		}
+		if (!this.visiting.add(variable)) {
+			throw new IllegalArgumentException("Cyclic definition of variable: '" + variable + "'.");
+		}
+		getParents(variable).forEach(this::getIndex);
+		this.visiting.remove(variable);
+		this.index.put(variable, this.variables.size());
+		this.variables.add(variable);
+		return this.variables.size() - 1;
+	}
+
+	Set<String> getParents(String variable) {
+		Set<String> ret = new TreeSet<>();
+		this.definitions.getOrDefault(variable, Collections.emptyList())
+				.forEach(clause -> clause.getBody().stream().map(BayesianNetwork::getVariableName)
+						.filter(name -> !isConstant(name)).forEach(ret::add));
+		return ret;
+	}
+
+	boolean isConstant(String name) {
+		return name.equals(NetworkCompiler.TRUE) || name.equals(NetworkCompiler.FALSE);
+	}
+
+	boolean isNegated(Term literal) {
+		return literal.getName().startsWith(Symbol.NEGATION_SYMBOL);
+	}
+
+	/**
+	 * Returns the diagram of the given literal over the variables of the
+	 * Bayesian network.
+	 *
+	 * @param literal
+	 *            literal
+	 * @return the diagram of the given literal
+	 */
+	int getLiteral(Term literal) {
+		String name = BayesianNetwork.getVariableName(literal);
+		int formula = name.equals(NetworkCompiler.TRUE) ? BinaryDecisionDiagram.TRUE
+				: (name.equals(NetworkCompiler.FALSE) ? BinaryDecisionDiagram.FALSE
+						: this.bdd.variable(getIndex(name)));
+		return isNegated(literal) ? this.bdd.not(formula) : formula;
+	}
+
+	int getEvidence() {
+		int ret = BinaryDecisionDiagram.TRUE;
+		for (Term head : this.evidence) {
+			List<Term> arguments = head.getArguments();
+			if (arguments.isEmpty() || arguments.size() > 2) {
+				throw new IllegalArgumentException("Invalid evidence: '" + head.asString() + "'.");
+			}
+			int formula = getLiteral(arguments.get(0));
+			if (arguments.size() == 2 && arguments.get(1).getName().equals(NetworkCompiler.FALSE)) {
+				formula = this.bdd.not(formula);
+			}
+			ret = this.bdd.and(ret, formula);
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the variables of the given diagram and their ancestors, in the
+	 * order of their numbers.
+	 *
+	 * @param node
+	 *            diagram
+	 * @return the variables of the given diagram and their ancestors
+	 */
+	List<String> getRelevantVariables(int node) {
+		Set<Integer> relevant = new TreeSet<>();
+		Set<Integer> visited = new HashSet<>();
+		List<Integer> toVisit = new ArrayList<>();
+		toVisit.add(node);
+		while (!toVisit.isEmpty()) {
+			int current = toVisit.remove(toVisit.size() - 1);
+			if (current != BinaryDecisionDiagram.FALSE && current != BinaryDecisionDiagram.TRUE
+					&& visited.add(current)) {
+				addWithAncestors(relevant, this.variables.get(this.bdd.getVariable(current)));
+				toVisit.add(this.bdd.getLow(current));
+				toVisit.add(this.bdd.getHigh(current));
+			}
+		}
+		List<String> ret = new ArrayList<>();
+		relevant.forEach(number -> ret.add(this.variables.get(number)));
+		return ret;
+	}
+
+	void addWithAncestors(Set<Integer> relevant, String variable) {
+		if (relevant.add(getIndex(variable))) {
+			getParents(variable).forEach(parent -> addWithAncestors(relevant, parent));
+		}
+	}
+
+	boolean holds(Term literal, Map<String, Integer> position, boolean[] values) {
+		String name = BayesianNetwork.getVariableName(literal);
+		boolean value;
+		if (isConstant(name)) {
+			value = name.equals(NetworkCompiler.TRUE);
+		} else {
+			Integer pos = position.get(name);
+			value = Objects.nonNull(pos) && values[pos];
+		}
+		return isNegated(literal) ? !value : value;
+	}
+
+	/**
+	 * Returns the probability that the given variable is true, given the
+	 * values of its parents.
+	 *
+	 * @param variable
+	 *            variable
+	 * @param position
+	 *            position of each assigned variable
+	 * @param values
+	 *            values of the assigned variables
+	 * @return the probability that the given variable is true, given the
+	 *         values of its parents
+	 */
+	double getConditionalProbability(String variable, Map<String, Integer> position, boolean[] values) {
+		double ret = 1;
+		for (ProbClause clause : this.definitions.getOrDefault(variable, Collections.emptyList())) {
+			if (clause.getBody().stream().allMatch(literal -> holds(literal, position, values))) {
+				double probability = clause.getProbability().equals(ProbClauseImpl.CERTAIN) ? 1
+						: NetworkCompiler.parseProbability(clause);
+				ret = ret * (1 - probability);
+			}
+		}
+		return 1 - ret;
+	}
+
+	int restrict(int node, String variable, boolean value) {
+		if (node == BinaryDecisionDiagram.FALSE || node == BinaryDecisionDiagram.TRUE
+				|| this.bdd.getVariable(node) != getIndex(variable)) {
+			return node;
+		} else {
+			return value ? this.bdd.getHigh(node) : this.bdd.getLow(node);
+		}
+	}
+
+	/**
+	 * Returns the answers of the given query, in the order of the result.
+	 *
+	 * @param query
+	 *            query
+	 * @return the answers of the given query
+	 */
+	Set<String> getAnswers(Term query) {
+		return this.engine.getAnswers(this.completion, this.bdd, this::getLiteral, query).keySet();
+	}
+
+	/**
+	 * Returns the most probable explanations of the given answer of the given
+	 * query, in decreasing order of probability.
+	 *
+	 * @param query
+	 *            query
+	 * @param answer
+	 *            answer of the query, as written in the result
+	 * @param numberOfExplanations
+	 *            maximum number of explanations
+	 * @return the most probable explanations of the given answer
+	 */
+	List<Explanation> getExplanations(Term query, String answer, int numberOfExplanations) {
+		int label = this.engine.getAnswers(this.completion, this.bdd, this::getLiteral, query)
+				.getOrDefault(answer, BinaryDecisionDiagram.FALSE);
+		int target = this.bdd.and(label, this.evidenceLabel);
+		List<String> order = getRelevantVariables(target);
+		Map<String, Integer> position = new HashMap<>();
+		order.forEach(variable -> position.put(variable, position.size()));
+
+		List<Explanation> ret = new ArrayList<>();
+		PriorityQueue<PartialContext> queue = new PriorityQueue<>(
+				Comparator.<PartialContext> comparingDouble(context -> -context.probability)
+						.thenComparingLong(context -> context.sequence));
+		long sequence = 0;
+		if (target != BinaryDecisionDiagram.FALSE) {
+			queue.add(new PartialContext(new boolean[order.size()], 0, 1, target, sequence++));
+		}
+		while (!queue.isEmpty() && ret.size() < numberOfExplanations) {
+			PartialContext current = queue.poll();
+			if (current.depth == order.size()) {
+				ret.add(createExplanation(query, answer, order, current));
+			} else {
+				String variable = order.get(current.depth);
+				double probability = getConditionalProbability(variable, position, current.values);
+				for (boolean value : new boolean[] { true, false }) {
+					double factor = value ? probability : 1 - probability;
+					int node = restrict(current.node, variable, value);
+					if (factor > 0 && node != BinaryDecisionDiagram.FALSE) {
+						boolean[] values = current.values.clone();
+						values[current.depth] = value;
+						queue.add(new PartialContext(values, current.depth + 1, current.probability * factor, node,
+								sequence++));
+					}
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Tells whether the given clause is an axiom of the module, i.e. a
+	 * <code>gci</code> or a <code>ri</code>, and not a declaration.
+	 *
+	 * @param clause
+	 *            clause of the module
+	 * @return <code>true</code> if and only if the given clause is an axiom of
+	 *         the module
+	 */
+	static boolean isAxiom(Clause clause) {
+		String functor = clause.getHead().getName();
+		return functor.equals(FormulaConstructor.GCI) || functor.equals(FormulaConstructor.RI);
+	}
+
+	Explanation createExplanation(Term query, String answer, List<String> order, PartialContext context) {
+		Map<String, Boolean> assignment = new LinkedHashMap<>();
+		Map<String, Integer> position = new HashMap<>();
+		for (int index = 0; index < order.size(); index++) {
+			assignment.put(order.get(index), context.values[index]);
+			position.put(order.get(index), index);
+		}
+		List<Clause> axioms = new ArrayList<>();
+		this.ontology.stream().filter(clause -> isAxiom(clause)
+				&& clause.getBody().stream().allMatch(literal -> holds(literal, position, context.values)))
+				.forEach(axioms::add);
+		List<String> justification = new ArrayList<>();
+		getJustification(query, answer, axioms).forEach(clause -> justification.add(clause.asString().trim()));
+		return new Explanation(assignment, context.probability / this.evidenceProbability, justification);
+	}
+
+	/**
+	 * Returns a minimal subset of the given axioms that entails the given
+	 * answer, obtained by removing one axiom at a time. The declarations of
+	 * the module are always kept.
+	 *
+	 * @param query
+	 *            query
+	 * @param answer
+	 *            answer of the query, as written in the result
+	 * @param axioms
+	 *            axioms that entail the answer
+	 * @return a minimal subset of the given axioms that entails the given
+	 *         answer
+	 */
+	List<Clause> getJustification(Term query, String answer, List<Clause> axioms) {
+		if (query.getArguments().isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<Clause> ret = new ArrayList<>(axioms);
+		int index = 0;
+		while (index < ret.size()) {
+			List<Clause> candidate = new ArrayList<>(ret);
+			candidate.remove(index);
+			if (isEntailed(query, answer, candidate)) {
+				ret = candidate;
+			} else {
+				index++;
+			}
+		}
+		return ret;
+	}
+
+	boolean isEntailed(Term query, String answer, List<Clause> axioms) {
+		BinaryDecisionDiagram plainBdd = new BinaryDecisionDiagram();
+		LabeledCompletion plainCompletion = new LabeledCompletion(plainBdd);
+		this.ontology.stream().filter(clause -> !isAxiom(clause))
+				.forEach(clause -> this.engine.addOntologyClause(plainCompletion, plainBdd,
+						literal -> BinaryDecisionDiagram.TRUE, clause));
+		axioms.forEach(clause -> this.engine.addOntologyClause(plainCompletion, plainBdd,
+				literal -> BinaryDecisionDiagram.TRUE, clause));
+		plainCompletion.saturate();
+		return this.engine.getAnswers(plainCompletion, plainBdd, literal -> BinaryDecisionDiagram.TRUE, query)
+				.getOrDefault(answer, BinaryDecisionDiagram.FALSE) == BinaryDecisionDiagram.TRUE;
+	}
+
+}
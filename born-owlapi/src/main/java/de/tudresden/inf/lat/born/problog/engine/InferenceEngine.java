@@ -0,0 +1,28 @@
+package de.tudresden.inf.lat.born.problog.engine;
+
+import de.tudresden.inf.lat.born.problog.type.ProblogProgram;
+
+/**
+ * An object implementing this interface is an inference engine that evaluates
+ * ProbLog programs directly, without reading them as text. When the processor
+ * uses an inference engine, the ProbLog program is not written.
+ * <p>
+ * The result has the same format as the result of ProbLog, i.e. a line
+ * <code>query:\tprobability</code> for each answer of each query.
+ * </p>
+ *
+ * @author Julian Mendez
+ *
+ */
+public interface InferenceEngine {
+
+	/**
+	 * Returns the result of evaluating the given ProbLog program.
+	 *
+	 * @param program
+	 *            ProbLog program
+	 * @return the result of evaluating the given ProbLog program
+	 */
+	String evaluate(ProblogProgram program);
+
+}
@@ -0,0 +1,366 @@
+package de.tudresden.inf.lat.born.problog.engine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import de.tudresden.inf.lat.born.core.rule.FormulaConstructor;
+import de.tudresden.inf.lat.born.core.term.Term;
+
+/**
+ * An object of this class computes the EL completion given by the completion
+ * rules BR-1 to BR-3 and CR-1 to CR-7. Each derived subsumption
+ * <code>subx(X, C)</code> has a label, which is the binary decision diagram
+ * of the condition on the Bayesian network under which the subsumption is
+ * derived. The label of a derived subsumption is the disjunction of the
+ * conjunctions of the labels of the premises of all its derivations, and the
+ * labels are propagated until they do not change anymore.
+ *
+ * @author Julian Mendez
+ *
+ */
+class LabeledCompletion {
+
+	/**
+	 * An object of this class is an axiom <code>gci(A, B)</code> or
+	 * <code>ri(chain(R, S), T)</code> with the label of its context.
+	 */
+	static class LabeledAxiom {
+
+		final Term left;
+		final Term right;
+		final int label;
+
+		LabeledAxiom(Term left, Term right, int label) {
+			this.left = left;
+			this.right = right;
+			this.label = label;
+		}
+
+	}
+
+	private final BinaryDecisionDiagram bdd;
+	private final Set<Term> concepts = new HashSet<>();
+	private final Set<Term> individuals = new HashSet<>();
+	private final Set<Term> roles = new HashSet<>();
+	private final Map<Term, Map<Term, Integer>> axiomsByLeft = new HashMap<>();
+	private final Map<Term, List<LabeledAxiom>> conjunctionsByOperand = new HashMap<>();
+	private final Map<Term, List<LabeledAxiom>> existentialsByRole = new HashMap<>();
+	private final Map<Term, List<LabeledAxiom>> existentialsByFiller = new HashMap<>();
+	private final Map<Term, Map<Term, Integer>> roleInclusionsByLeft = new HashMap<>();
+	private final Map<Term, List<LabeledAxiom>> chainsByFirstRole = new HashMap<>();
+	private final Map<Term, List<LabeledAxiom>> chainsBySecondRole = new HashMap<>();
+	private final Map<Term, Integer> reflexiveRoles = new HashMap<>();
+	private final Map<Term, Map<Term, Integer>> subsumers = new HashMap<>();
+	private final Map<Term, Set<Term>> predecessors = new HashMap<>();
+	private final Deque<Term[]> toVisit = new ArrayDeque<>();
+	private final FormulaConstructor formulaConstructor = new FormulaConstructor();
+	private final Term top = this.formulaConstructor.top();
+
+	/**
+	 * Constructs a new labeled completion.
+	 *
+	 * @param bdd
+	 *            binary decision diagram manager
+	 */
+	LabeledCompletion(BinaryDecisionDiagram bdd) {
+		this.bdd = Objects.requireNonNull(bdd);
+	}
+
+	static boolean isCompound(Term term, String functor) {
+		return term.getName().equals(functor) && term.getArguments().size() == 2;
+	}
+
+	/**
+	 * Returns the concepts, which are the terms declared with
+	 * <code>con</code>.
+	 *
+	 * @return the concepts
+	 */
+	Set<Term> getConcepts() {
+		return Collections.unmodifiableSet(this.concepts);
+	}
+
+	/**
+	 * Returns the individuals, which are the terms declared with
+	 * <code>indiv</code>.
+	 *
+	 * @return the individuals
+	 */
+	Set<Term> getIndividuals() {
+		return Collections.unmodifiableSet(this.individuals);
+	}
+
+	/**
+	 * Returns the roles, which are the terms declared with <code>role</code>.
+	 *
+	 * @return the roles
+	 */
+	Set<Term> getRoles() {
+		return Collections.unmodifiableSet(this.roles);
+	}
+
+	boolean isConi(Term term) {
+		return this.concepts.contains(term) || this.individuals.contains(term);
+	}
+
+	/**
+	 * Adds a declaration of a concept, an individual, or a role.
+	 *
+	 * @param functor
+	 *            one of <code>con</code>, <code>indiv</code>, and
+	 *            <code>role</code>
+	 * @param term
+	 *            declared term
+	 */
+	void addDeclaration(String functor, Term term) {
+		if (functor.equals(FormulaConstructor.CON)) {
+			this.concepts.add(term);
+		} else if (functor.equals(FormulaConstructor.INDIV)) {
+			this.individuals.add(term);
+		} else if (functor.equals(FormulaConstructor.ROLE)) {
+			this.roles.add(term);
+		} else {
+			throw new IllegalArgumentException("Unknown declaration: '" + functor + "'.");
+		}
+	}
+
+	/**
+	 * Adds an axiom <code>gci(A, B)</code> with the given label.
+	 *
+	 * @param left
+	 *            left-hand side
+	 * @param right
+	 *            right-hand side
+	 * @param label
+	 *            label
+	 */
+	void addAxiom(Term left, Term right, int label) {
+		if (label == BinaryDecisionDiagram.FALSE) {
+			return;
+		}
+		LabeledAxiom axiom = new LabeledAxiom(left, right, label);
+		if (isCompound(left, FormulaConstructor.AND)) {
+			this.conjunctionsByOperand.computeIfAbsent(left.getArguments().get(0), key -> new ArrayList<>()).add(axiom);
+			if (!left.getArguments().get(0).equals(left.getArguments().get(1))) {
+				this.conjunctionsByOperand.computeIfAbsent(left.getArguments().get(1), key -> new ArrayList<>())
+						.add(axiom);
+			}
+		} else if (isCompound(left, FormulaConstructor.EXISTS)) {
+			this.existentialsByRole.computeIfAbsent(left.getArguments().get(0), key -> new ArrayList<>()).add(axiom);
+			this.existentialsByFiller.computeIfAbsent(left.getArguments().get(1), key -> new ArrayList<>())
+					.add(axiom);
+		} else {
+			this.axiomsByLeft.computeIfAbsent(left, key -> new HashMap<>()).merge(right, label, this.bdd::or);
+		}
+	}
+
+	/**
+	 * Adds an axiom <code>ri(R, S)</code> with the given label. The left-hand
+	 * side can be a role, a composition of two roles
+	 * <code>chain(R1, R2)</code>, or the empty composition of roles
+	 * <code>chain</code>.
+	 *
+	 * @param left
+	 *            left-hand side
+	 * @param right
+	 *            right-hand side
+	 * @param label
+	 *            label
+	 */
+	void addRoleInclusion(Term left, Term right, int label) {
+		if (label == BinaryDecisionDiagram.FALSE) {
+			return;
+		}
+		if (isCompound(left, FormulaConstructor.CHAIN)) {
+			LabeledAxiom axiom = new LabeledAxiom(left, right, label);
+			this.chainsByFirstRole.computeIfAbsent(left.getArguments().get(0), key -> new ArrayList<>()).add(axiom);
+			this.chainsBySecondRole.computeIfAbsent(left.getArguments().get(1), key -> new ArrayList<>()).add(axiom);
+		} else if (left.getName().equals(FormulaConstructor.CHAIN) && left.getArguments().isEmpty()) {
+			this.reflexiveRoles.merge(right, label, this.bdd::or);
+		} else {
+			this.roleInclusionsByLeft.computeIfAbsent(left, key -> new HashMap<>()).merge(right, label, this.bdd::or);
+		}
+	}
+
+	/**
+	 * Adds a subsumption <code>subx(X, C)</code> that holds in every context,
+	 * for example one derived before by a presaturation.
+	 *
+	 * @param subClass
+	 *            term <code>X</code>
+	 * @param superClass
+	 *            term <code>C</code>
+	 */
+	void addSubsumption(Term subClass, Term superClass) {
+		add(subClass, superClass, BinaryDecisionDiagram.TRUE);
+	}
+
+	/**
+	 * Returns the label of <code>subx(X, C)</code>.
+	 *
+	 * @param subClass
+	 *            term <code>X</code>
+	 * @param superClass
+	 *            term <code>C</code>
+	 * @return the label of <code>subx(X, C)</code>
+	 */
+	int get(Term subClass, Term superClass) {
+		if (isConi(subClass)) {
+			return this.subsumers.getOrDefault(subClass, Collections.emptyMap()).getOrDefault(superClass,
+					BinaryDecisionDiagram.FALSE);
+		} else {
+			// only rule BR-3 applies to terms that are not concepts or
+			// individuals
+			return this.axiomsByLeft.getOrDefault(subClass, Collections.emptyMap()).getOrDefault(superClass,
+					BinaryDecisionDiagram.FALSE);
+		}
+	}
+
+	/**
+	 * Returns the terms <code>C</code> such that <code>subx(X, C)</code> has
+	 * been derived, for a concept or individual <code>X</code>.
+	 *
+	 * @param subClass
+	 *            term <code>X</code>
+	 * @return the terms <code>C</code> such that <code>subx(X, C)</code> has
+	 *         been derived
+	 */
+	Set<Term> getSubsumers(Term subClass) {
+		return Collections.unmodifiableSet(this.subsumers.getOrDefault(subClass, Collections.emptyMap()).keySet());
+	}
+
+	void add(Term subClass, Term superClass, int label) {
+		if (label == BinaryDecisionDiagram.FALSE) {
+			return;
+		}
+		Map<Term, Integer> map = this.subsumers.computeIfAbsent(subClass, key -> new HashMap<>());
+		int old = map.getOrDefault(superClass, BinaryDecisionDiagram.FALSE);
+		int current = this.bdd.or(old, label);
+		if (current != old) {
+			map.put(superClass, current);
+			if (old == BinaryDecisionDiagram.FALSE && isCompound(superClass, FormulaConstructor.EXISTS)) {
+				this.predecessors.computeIfAbsent(superClass, key -> new HashSet<>()).add(subClass);
+			}
+			this.toVisit.add(new Term[] { subClass, superClass });
+		}
+	}
+
+	/**
+	 * Computes the completion.
+	 */
+	void saturate() {
+		Set<Term> coniSet = new HashSet<>(this.concepts);
+		coniSet.addAll(this.individuals);
+		coniSet.forEach(x -> {
+			add(x, x, BinaryDecisionDiagram.TRUE);
+			add(x, this.top, BinaryDecisionDiagram.TRUE);
+			this.axiomsByLeft.getOrDefault(x, Collections.emptyMap()).forEach((b, label) -> add(x, b, label));
+
+			// CR-7
+			this.reflexiveRoles.forEach((r, label) -> {
+				if (this.roles.contains(r)) {
+					add(x, this.formulaConstructor.exists(r, x), label);
+				}
+			});
+		});
+		while (!this.toVisit.isEmpty()) {
+			Term[] pair = this.toVisit.poll();
+			apply(pair[0], pair[1]);
+		}
+	}
+
+	void apply(Term x, Term c) {
+		int label = get(x, c);
+		if (isConi(c)) {
+			applyToConi(x, c, label);
+		} else if (isCompound(c, FormulaConstructor.EXISTS)) {
+			applyToExistential(x, c, label);
+		}
+	}
+
+	void applyToConi(Term x, Term a, int label) {
+		// CR-1 and CR-3
+		this.axiomsByLeft.getOrDefault(a, Collections.emptyMap()).forEach((b, axiomLabel) -> {
+			if (isConi(b) || (isCompound(b, FormulaConstructor.EXISTS) && this.roles.contains(b.getArguments().get(0))
+					&& isConi(b.getArguments().get(1)))) {
+				add(x, b, this.bdd.and(label, axiomLabel));
+			}
+		});
+
+		// CR-2
+		this.conjunctionsByOperand.getOrDefault(a, Collections.emptyList()).forEach(axiom -> {
+			Term a1 = axiom.left.getArguments().get(0);
+			Term a2 = axiom.left.getArguments().get(1);
+			if (isConi(a1) && isConi(a2) && isConi(axiom.right)) {
+				add(x, axiom.right, this.bdd.and(axiom.label, this.bdd.and(get(x, a1), get(x, a2))));
+			}
+		});
+
+		// CR-4, where x is the filler of an existential restriction
+		this.existentialsByFiller.getOrDefault(a, Collections.emptyList()).forEach(axiom -> {
+			Term r = axiom.left.getArguments().get(0);
+			if (this.roles.contains(r) && isConi(axiom.right)) {
+				Term existential = this.formulaConstructor.exists(r, x);
+				new ArrayList<>(this.predecessors.getOrDefault(existential, Collections.emptySet()))
+						.forEach(predecessor -> add(predecessor, axiom.right,
+								this.bdd.and(axiom.label, this.bdd.and(get(predecessor, existential), label))));
+			}
+		});
+	}
+
+	void applyToExistential(Term x, Term existential, int label) {
+		// CR-4, where x is the subclass of an existential restriction
+		Term r = existential.getArguments().get(0);
+		Term y = existential.getArguments().get(1);
+		if (this.roles.contains(r) && isConi(y)) {
+			this.existentialsByRole.getOrDefault(r, Collections.emptyList()).forEach(axiom -> {
+				Term a = axiom.left.getArguments().get(1);
+				if (isConi(a) && isConi(axiom.right)) {
+					add(x, axiom.right, this.bdd.and(axiom.label, this.bdd.and(label, get(y, a))));
+				}
+			});
+
+			// CR-5
+			this.roleInclusionsByLeft.getOrDefault(r, Collections.emptyMap()).forEach((s, axiomLabel) -> {
+				if (this.roles.contains(s)) {
+					add(x, this.formulaConstructor.exists(s, y), this.bdd.and(label, axiomLabel));
+				}
+			});
+
+			// CR-6, where r is the first role of the composition
+			this.chainsByFirstRole.getOrDefault(r, Collections.emptyList()).forEach(axiom -> {
+				Term s = axiom.left.getArguments().get(1);
+				if (this.roles.contains(s) && this.roles.contains(axiom.right)) {
+					new ArrayList<>(getSubsumers(y)).forEach(e -> {
+						if (isCompound(e, FormulaConstructor.EXISTS) && e.getArguments().get(0).equals(s)
+								&& isConi(e.getArguments().get(1))) {
+							add(x, this.formulaConstructor.exists(axiom.right, e.getArguments().get(1)),
+									this.bdd.and(axiom.label, this.bdd.and(label, get(y, e))));
+						}
+					});
+				}
+			});
+
+			// CR-6, where r is the second role of the composition
+			this.chainsBySecondRole.getOrDefault(r, Collections.emptyList()).forEach(axiom -> {
+				Term q = axiom.left.getArguments().get(0);
+				if (this.roles.contains(q) && this.roles.contains(axiom.right)) {
+					Term first = this.formulaConstructor.exists(q, x);
+					Term derived = this.formulaConstructor.exists(axiom.right, y);
+					new ArrayList<>(this.predecessors.getOrDefault(first, Collections.emptySet()))
+							.forEach(predecessor -> add(predecessor, derived,
+									this.bdd.and(axiom.label, this.bdd.and(get(predecessor, first), label))));
+				}
+			});
+		}
+	}
+
+}
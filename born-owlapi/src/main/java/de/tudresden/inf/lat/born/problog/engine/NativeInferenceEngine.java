@@ -0,0 +1,381 @@
+package de.tudresden.inf.lat.born.problog.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+import de.tudresden.inf.lat.born.core.rule.FormulaConstructor;
+import de.tudresden.inf.lat.born.core.term.Clause;
+import de.tudresden.inf.lat.born.core.term.ProbClause;
+import de.tudresden.inf.lat.born.core.term.Symbol;
+import de.tudresden.inf.lat.born.core.term.Term;
+import de.tudresden.inf.lat.born.problog.parser.ProblogParser;
+import de.tudresden.inf.lat.born.problog.type.BayesianNetwork;
+import de.tudresden.inf.lat.born.problog.type.ProblogProgram;
+import de.tudresden.inf.lat.born.problog.type.ProblogProgramData;
+
+/**
+ * An object of this class is an inference engine that evaluates the ProbLog
+ * programs created by BORN in Java. It computes the EL completion of the
+ * ontology, where each derived subsumption is labeled with the condition on
+ * the Bayesian network under which it holds, and then computes the exact
+ * probability of the label of each answer, compiled as a binary decision
+ * diagram.
+ * <p>
+ * Only programs with the default completion rules are accepted. The accepted
+ * queries are <code>sub(X, B)</code>, <code>inst(X, B)</code>,
+ * <code>inst(R, X, B)</code>, where the arguments can be variables, and the
+ * variables of the Bayesian network.
+ * </p>
+ *
+ * @author Julian Mendez
+ *
+ */
+public class NativeInferenceEngine implements InferenceEngine {
+
+	private final Optional<CompiledProgramCache> compiledProgramCache;
+
+	/**
+	 * Constructs a new native inference engine.
+	 */
+	public NativeInferenceEngine() {
+		this.compiledProgramCache = Optional.empty();
+	}
+
+	/**
+	 * Constructs a new native inference engine that reuses compiled programs.
+	 * A program that only differs from a compiled program in the
+	 * probabilities of the Bayesian network is not compiled again, but
+	 * evaluated with the new probabilities. The same cache can be shared by
+	 * several inference engines.
+	 *
+	 * @param compiledProgramCache
+	 *            cache of compiled programs
+	 */
+	public NativeInferenceEngine(CompiledProgramCache compiledProgramCache) {
+		this.compiledProgramCache = Optional.of(compiledProgramCache);
+	}
+
+	/**
+	 * Returns the cache of compiled programs, if this engine reuses compiled
+	 * programs.
+	 *
+	 * @return the cache of compiled programs, if this engine reuses compiled
+	 *         programs
+	 */
+	public Optional<CompiledProgramCache> getCompiledProgramCache() {
+		return this.compiledProgramCache;
+	}
+
+	@Override
+	public String evaluate(ProblogProgram program) {
+		Objects.requireNonNull(program);
+		if (this.compiledProgramCache.isPresent()) {
+			CompiledProgramCache cache = this.compiledProgramCache.get();
+			List<ProbClause> network = new ArrayList<>();
+			readDirectives(program, network, new ArrayList<>());
+			String key = cache.getKey(program, network);
+			Optional<CompiledProgram> compiledProgram = cache.get(key);
+			if (compiledProgram.isPresent()) {
+				return compiledProgram.get().evaluate(network);
+			} else {
+				CompiledProgram newCompiledProgram = compile(program);
+				cache.put(key, newCompiledProgram);
+				return newCompiledProgram.evaluate();
+			}
+		} else {
+			return compile(program).evaluate();
+		}
+	}
+
+	/**
+	 * Adds the clauses of the Bayesian network of the given program,
+	 * including evidence, and the queries of the given program to the given
+	 * lists.
+	 *
+	 * @param program
+	 *            ProbLog program
+	 * @param network
+	 *            list to add the clauses of the Bayesian network
+	 * @param queries
+	 *            list to add the queries
+	 */
+	void readDirectives(ProblogProgram program, List<ProbClause> network, List<Term> queries) {
+		ProblogProgramData data = program.getData();
+		ProblogParser parser = new ProblogParser();
+		network.addAll(data.getBayesianNetwork());
+		parser.parse(program.getBayesianNetworkAddendum()).forEach(clause -> {
+			if (clause.getHead().getName().equals(FormulaConstructor.QUERY)) {
+				queries.add(getQuery(clause));
+			} else {
+				network.add(clause);
+			}
+		});
+		data.getQueries().forEach(clause -> queries.add(getQuery(clause)));
+		parser.parse(program.getQueryListAddendum()).forEach(clause -> {
+			if (clause.getHead().getName().equals(BayesianNetwork.EVIDENCE)) {
+				network.add(clause);
+			} else {
+				queries.add(getQuery(clause));
+			}
+		});
+	}
+
+	/**
+	 * Compiles the given ProbLog program. The compiled program can be
+	 * evaluated for other probabilities of the Bayesian network without
+	 * computing the completion again.
+	 *
+	 * @param program
+	 *            ProbLog program
+	 * @return the compiled program
+	 * @throws UnsupportedOperationException
+	 *             if the program does not use the default completion rules,
+	 *             or contains unsupported clauses or queries
+	 */
+	public CompiledProgram compile(ProblogProgram program) {
+		Objects.requireNonNull(program);
+		ProblogProgramData data = program.getData();
+		checkCompletionRules(program);
+		List<ProbClause> networkClauses = new ArrayList<>();
+		List<Term> queries = new ArrayList<>();
+		readDirectives(program, networkClauses, queries);
+
+		BinaryDecisionDiagram bdd = new BinaryDecisionDiagram();
+		NetworkCompiler network = new NetworkCompiler(bdd, networkClauses);
+		LabeledCompletion completion = new LabeledCompletion(bdd);
+		data.getOntology().forEach(clause -> addOntologyClause(completion, bdd, network::getLiteral, clause));
+		completion.saturate();
+
+		int evidence = network.getEvidence();
+		List<String> answers = new ArrayList<>();
+		List<Integer> labels = new ArrayList<>();
+		queries.forEach(query -> getAnswers(completion, bdd, network::getLiteral, query).forEach((answer, label) -> {
+			answers.add(answer);
+			labels.add(bdd.and(label, evidence));
+		}));
+		return new CompiledProgram(bdd, network.getClauses(), network.getProbabilities(), evidence, answers,
+				labels);
+	}
+
+	/**
+	 * Returns the most probable explanations of each answer of the given
+	 * ProbLog program. An explanation is a context, i.e. an assignment of the
+	 * variables of the Bayesian network under which the answer holds, with
+	 * its probability given the evidence, and a minimal set of axioms of the
+	 * module that entail the answer in that context. The first explanation of
+	 * an answer is its most probable explanation. An answer that cannot be
+	 * derived has no explanations.
+	 *
+	 * @param program
+	 *            ProbLog program
+	 * @param numberOfExplanations
+	 *            maximum number of explanations of each answer
+	 * @return the most probable explanations of each answer, in the order of
+	 *         the result
+	 * @throws IllegalArgumentException
+	 *             if the number of explanations is not positive
+	 * @throws UnsupportedOperationException
+	 *             if the program does not use the default completion rules,
+	 *             or contains unsupported clauses or queries
+	 */
+	public Map<String, List<Explanation>> explain(ProblogProgram program, int numberOfExplanations) {
+		Objects.requireNonNull(program);
+		if (numberOfExplanations < 1) {
+			throw new IllegalArgumentException("Invalid number of explanations: '" + numberOfExplanations + "'.");
+		}
+		checkCompletionRules(program);
+		List<ProbClause> networkClauses = new ArrayList<>();
+		List<Term> queries = new ArrayList<>();
+		readDirectives(program, networkClauses, queries);
+
+		ExplanationFinder finder = new ExplanationFinder(this, program.getData().getOntology(), networkClauses);
+		Map<String, List<Explanation>> ret = new LinkedHashMap<>();
+		queries.forEach(query -> finder.getAnswers(query)
+				.forEach(answer -> ret.put(answer, finder.getExplanations(query, answer, numberOfExplanations))));
+		return ret;
+	}
+
+	void checkCompletionRules(ProblogProgram program) {
+		if (program.getData().getCompletionRules().isEmpty()
+				|| !program.getAdditionalCompletionRulesAsText().trim().isEmpty()) {
+			throw new UnsupportedOperationException(
+					"The native inference engine only supports the default completion rules.");
+		}
+	}
+
+	Term getQuery(Clause clause) {
+		Term head = clause.getHead();
+		if (!head.getName().equals(FormulaConstructor.QUERY) || head.getArguments().size() != 1
+				|| !clause.getBody().isEmpty()) {
+			throw new UnsupportedOperationException("Unsupported clause: '" + clause.asString().trim() + "'.");
+		}
+		return head.getArguments().get(0);
+	}
+
+	/**
+	 * Adds a clause of the module to the given completion. The label of an
+	 * axiom is the conjunction of the labels of the literals of its body.
+	 *
+	 * @param completion
+	 *            labeled completion
+	 * @param bdd
+	 *            binary decision diagram manager
+	 * @param literals
+	 *            function that returns the label of a literal of the Bayesian
+	 *            network
+	 * @param clause
+	 *            clause of the module
+	 */
+	void addOntologyClause(LabeledCompletion completion, BinaryDecisionDiagram bdd, ToIntFunction<Term> literals,
+			Clause clause) {
+		Term head = clause.getHead();
+		String functor = head.getName();
+		if ((functor.equals(FormulaConstructor.CON) || functor.equals(FormulaConstructor.INDIV)
+				|| functor.equals(FormulaConstructor.ROLE)) && head.getArguments().size() == 1) {
+			completion.addDeclaration(functor, head.getArguments().get(0));
+		} else if ((functor.equals(FormulaConstructor.GCI) || functor.equals(FormulaConstructor.RI))
+				&& head.getArguments().size() == 2) {
+			int label = BinaryDecisionDiagram.TRUE;
+			for (Term literal : clause.getBody()) {
+				label = bdd.and(label, literals.applyAsInt(literal));
+			}
+			if (functor.equals(FormulaConstructor.GCI)) {
+				completion.addAxiom(head.getArguments().get(0), head.getArguments().get(1), label);
+			} else {
+				completion.addRoleInclusion(head.getArguments().get(0), head.getArguments().get(1), label);
+			}
+		} else if (functor.equals(FormulaConstructor.SUBX) && head.getArguments().size() == 2
+				&& clause.getBody().isEmpty()) {
+			completion.addSubsumption(head.getArguments().get(0), head.getArguments().get(1));
+		} else {
+			throw new UnsupportedOperationException("Unsupported clause: '" + clause.asString().trim() + "'.");
+		}
+	}
+
+	boolean isVariable(Term term) {
+		return term.getType().equals(Term.Type.VARIABLE);
+	}
+
+	Collection<Term> getCandidates(Term argument, Collection<Term> terms) {
+		if (isVariable(argument)) {
+			return terms;
+		} else if (terms.contains(argument)) {
+			return Collections.singleton(argument);
+		} else {
+			return Collections.emptySet();
+		}
+	}
+
+	/**
+	 * Tells whether the given ground arguments are an instance of the
+	 * arguments of the given pattern. A variable that occurs more than once
+	 * must have the same value in every occurrence.
+	 *
+	 * @param pattern
+	 *            pattern
+	 * @param arguments
+	 *            ground arguments
+	 * @return <code>true</code> if and only if the given ground arguments are
+	 *         an instance of the arguments of the given pattern
+	 */
+	boolean matches(Term pattern, List<Term> arguments) {
+		Map<String, Term> binding = new HashMap<>();
+		for (int index = 0; index < arguments.size(); index++) {
+			Term expected = pattern.getArguments().get(index);
+			Term actual = arguments.get(index);
+			if (isVariable(expected) && !expected.getName().startsWith("" + Symbol.UNDERSCORE_CHAR)) {
+				Term previous = binding.putIfAbsent(expected.getName(), actual);
+				if (Objects.nonNull(previous) && !previous.equals(actual)) {
+					return false;
+				}
+			} else if (!isVariable(expected) && !expected.equals(actual)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	String render(String functor, List<Term> arguments) {
+		return functor + Symbol.PAR_A_CHAR
+				+ arguments.stream().map(Term::asString).collect(Collectors.joining("" + Symbol.COMMA_CHAR))
+				+ Symbol.PAR_B_CHAR;
+	}
+
+	void addAnswer(Map<String, Integer> answers, Term pattern, List<Term> arguments, int label,
+			BinaryDecisionDiagram bdd) {
+		if (label != BinaryDecisionDiagram.FALSE && matches(pattern, arguments)) {
+			answers.merge(render(pattern.getName(), arguments), label, bdd::or);
+		}
+	}
+
+	/**
+	 * Returns the answers of the given query, with their labels. The answers
+	 * are sorted, and a ground query always has an answer, which is false if
+	 * it cannot be derived.
+	 *
+	 * @param completion
+	 *            labeled completion
+	 * @param bdd
+	 *            binary decision diagram manager
+	 * @param literals
+	 *            function that returns the label of a literal of the Bayesian
+	 *            network
+	 * @param query
+	 *            query
+	 * @return the answers of the given query, with their labels
+	 */
+	Map<String, Integer> getAnswers(LabeledCompletion completion, BinaryDecisionDiagram bdd,
+			ToIntFunction<Term> literals, Term query) {
+		Map<String, Integer> ret = new TreeMap<>();
+		String functor = query.getName();
+		List<Term> args = query.getArguments();
+		boolean isGround = args.stream().noneMatch(this::isVariable);
+		if (functor.equals(FormulaConstructor.SUB) && args.size() == 2) {
+			// FR-1
+			getCandidates(args.get(0), completion.getConcepts()).forEach(x -> getCandidates(args.get(1),
+					completion.getSubsumers(x)).stream().filter(b -> completion.getConcepts().contains(b))
+							.forEach(b -> addAnswer(ret, query, Arrays.asList(x, b), completion.get(x, b), bdd)));
+
+		} else if (functor.equals(FormulaConstructor.INST) && args.size() == 2) {
+			// FR-2
+			getCandidates(args.get(0), completion.getIndividuals()).forEach(x -> getCandidates(args.get(1),
+					completion.getSubsumers(x)).stream().filter(b -> completion.getConcepts().contains(b))
+							.forEach(b -> addAnswer(ret, query, Arrays.asList(x, b), completion.get(x, b), bdd)));
+
+		} else if (functor.equals(FormulaConstructor.INST) && args.size() == 3) {
+			// FR-3
+			getCandidates(args.get(1), completion.getIndividuals()).forEach(x -> completion.getSubsumers(x).stream()
+					.filter(c -> LabeledCompletion.isCompound(c, FormulaConstructor.EXISTS)
+							&& completion.getRoles().contains(c.getArguments().get(0)))
+					.forEach(c -> {
+						Term r = c.getArguments().get(0);
+						Term a = c.getArguments().get(1);
+						getCandidates(args.get(2), completion.getIndividuals())
+								.forEach(b -> addAnswer(ret, query, Arrays.asList(r, x, b),
+										bdd.and(completion.get(x, c), completion.get(a, b)), bdd));
+					}));
+
+		} else if (args.isEmpty()) {
+			ret.put(query.asString(), literals.applyAsInt(query));
+
+		} else {
+			throw new UnsupportedOperationException("Unsupported query: '" + query.asString() + "'.");
+		}
+		if (isGround && ret.isEmpty()) {
+			ret.put(render(functor, args), BinaryDecisionDiagram.FALSE);
+		}
+		return ret;
+	}
+
+}
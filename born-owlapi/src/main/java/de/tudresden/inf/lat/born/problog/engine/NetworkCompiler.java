@@ -0,0 +1,195 @@
+package de.tudresden.inf.lat.born.problog.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import de.tudresden.inf.lat.born.core.term.ProbClause;
+import de.tudresden.inf.lat.born.core.term.ProbClauseImpl;
+import de.tudresden.inf.lat.born.core.term.Symbol;
+import de.tudresden.inf.lat.born.core.term.Term;
+import de.tudresden.inf.lat.born.problog.type.BayesianNetwork;
+
+/**
+ * An object of this class compiles the variables of a Bayesian network into
+ * binary decision diagrams. Each probabilistic clause <code>p::x :- b.</code>
+ * is an independent choice that is true with probability <code>p</code>, and
+ * the diagram of a variable is the disjunction of the conjunctions of the
+ * choices and the bodies of the clauses that define it. Variables that are not
+ * defined by any clause are false.
+ *
+ * @author Julian Mendez
+ *
+ */
+class NetworkCompiler {
+
+	static final String TRUE = "true";
+	static final String FALSE = "false";
+
+	private final BinaryDecisionDiagram bdd;
+	private final List<ProbClause> clauses;
+	private final Map<String, List<ProbClause>> definitions = new HashMap<>();
+	private final Map<ProbClause, Integer> choices = new IdentityHashMap<>();
+	private final List<Double> probabilities = new ArrayList<>();
+	private final List<Term> evidence = new ArrayList<>();
+	private final Map<String, Integer> formulas = new HashMap<>();
+	private final Set<String> visiting = new HashSet<>();
+
+	/**
+	 * Constructs a new network compiler. The choices are numbered in the order
+	 * of the clauses, so that the variables of the diagrams follow the order of
+	 * the Bayesian network.
+	 *
+	 * @param bdd
+	 *            binary decision diagram manager
+	 * @param clauses
+	 *            clauses of the Bayesian network, including evidence
+	 */
+	NetworkCompiler(BinaryDecisionDiagram bdd, List<ProbClause> clauses) {
+		this.bdd = Objects.requireNonNull(bdd);
+		this.clauses = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(clauses)));
+		this.clauses.forEach(clause -> {
+			if (clause.getHead().getName().equals(BayesianNetwork.EVIDENCE)) {
+				this.evidence.add(clause.getHead());
+			} else {
+				this.definitions.computeIfAbsent(BayesianNetwork.getVariableName(clause.getHead()),
+						key -> new ArrayList<>()).add(clause);
+				if (!clause.getProbability().equals(ProbClauseImpl.CERTAIN)) {
+					this.choices.put(clause, this.probabilities.size());
+					this.probabilities.add(parseProbability(clause));
+				}
+			}
+		});
+	}
+
+	/**
+	 * Returns the probability of the given clause.
+	 *
+	 * @param clause
+	 *            clause
+	 * @return the probability of the given clause
+	 * @throws IllegalArgumentException
+	 *             if the probability is not a number between 0 and 1
+	 */
+	static double parseProbability(ProbClause clause) {
+		try {
+			double ret = Double.parseDouble(clause.getProbability());
+			if (ret < 0 || ret > 1) {
+				throw new IllegalArgumentException("Invalid probability in clause: '" + clause.asString() + "'.");
+			}
+			return ret;
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid probability in clause: '" + clause.asString() + "'.", e);
+		}
+	}
+
+	/**
+	 * Returns the clauses of the Bayesian network, including evidence.
+	 *
+	 * @return the clauses of the Bayesian network
+	 */
+	List<ProbClause> getClauses() {
+		return this.clauses;
+	}
+
+	/**
+	 * Returns the binary decision diagram manager.
+	 *
+	 * @return the binary decision diagram manager
+	 */
+	BinaryDecisionDiagram getBinaryDecisionDiagram() {
+		return this.bdd;
+	}
+
+	/**
+	 * Returns the probabilities of the choices, indexed by the variables of
+	 * the diagrams.
+	 *
+	 * @return the probabilities of the choices
+	 */
+	double[] getProbabilities() {
+		return this.probabilities.stream().mapToDouble(Double::doubleValue).toArray();
+	}
+
+	/**
+	 * Returns the diagram of the given variable.
+	 *
+	 * @param variable
+	 *            variable name, without apostrophes
+	 * @return the diagram of the given variable
+	 * @throws IllegalArgumentException
+	 *             if the variable depends on itself
+	 */
+	int getFormula(String variable) {
+		Objects.requireNonNull(variable);
+		Integer cached = this.formulas.get(variable);
+		if (Objects.nonNull(cached)) {
+			return cached;
+		}
+		if (!this.visiting.add(variable)) {
+			throw new IllegalArgumentException("Cyclic definition of variable: '" + variable + "'.");
+		}
+		int ret = BinaryDecisionDiagram.FALSE;
+		for (ProbClause clause : this.definitions.getOrDefault(variable, Collections.emptyList())) {
+			Integer choice = this.choices.get(clause);
+			int formula = Objects.isNull(choice) ? BinaryDecisionDiagram.TRUE : this.bdd.variable(choice);
+			for (Term literal : clause.getBody()) {
+				formula = this.bdd.and(formula, getLiteral(literal));
+			}
+			ret = this.bdd.or(ret, formula);
+		}
+		this.visiting.remove(variable);
+		this.formulas.put(variable, ret);
+		return ret;
+	}
+
+	boolean isNegated(Term literal) {
+		return literal.getName().startsWith(Symbol.NEGATION_SYMBOL);
+	}
+
+	/**
+	 * Returns the diagram of the given literal, which is a variable or a
+	 * negated variable.
+	 *
+	 * @param literal
+	 *            literal
+	 * @return the diagram of the given literal
+	 */
+	int getLiteral(Term literal) {
+		Objects.requireNonNull(literal);
+		String name = BayesianNetwork.getVariableName(literal);
+		int formula = name.equals(TRUE) ? BinaryDecisionDiagram.TRUE
+				: (name.equals(FALSE) ? BinaryDecisionDiagram.FALSE : getFormula(name));
+		return isNegated(literal) ? this.bdd.not(formula) : formula;
+	}
+
+	/**
+	 * Returns the diagram of the conjunction of the evidence. An evidence
+	 * <code>evidence(x, false)</code> is the same as
+	 * <code>evidence(\+x)</code>.
+	 *
+	 * @return the diagram of the conjunction of the evidence
+	 */
+	int getEvidence() {
+		int ret = BinaryDecisionDiagram.TRUE;
+		for (Term head : this.evidence) {
+			List<Term> arguments = head.getArguments();
+			if (arguments.isEmpty() || arguments.size() > 2) {
+				throw new IllegalArgumentException("Invalid evidence: '" + head.asString() + "'.");
+			}
+			int formula = getLiteral(arguments.get(0));
+			if (arguments.size() == 2 && arguments.get(1).getName().equals(FALSE)) {
+				formula = this.bdd.not(formula);
+			}
+			ret = this.bdd.and(ret, formula);
+		}
+		return ret;
+	}
+
+}
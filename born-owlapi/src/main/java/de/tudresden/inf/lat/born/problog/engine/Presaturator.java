@@ -0,0 +1,269 @@
+package de.tudresden.inf.lat.born.problog.engine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import de.tudresden.inf.lat.born.core.rule.FormulaConstructor;
+import de.tudresden.inf.lat.born.core.term.Clause;
+import de.tudresden.inf.lat.born.core.term.Term;
+
+/**
+ * An object of this class compresses the ontology of a ProbLog program
+ * created by BORN before it is evaluated. The axioms without context, i.e.
+ * the <code>gci</code> and <code>ri</code> clauses with an empty body, are
+ * saturated in Java with the completion rules, and the derived subsumptions
+ * are added as facts <code>subx(X, C)</code>. Then, only the axioms with
+ * context and the axioms without context that can be applied to a
+ * subsumption that depends on a context are kept. These are found by
+ * following, from the right-hand side of each axiom with context, the axioms
+ * without context whose left-hand side contains a concept or a role that has
+ * been reached.
+ * <p>
+ * The compressed ontology has the same answers as the original one for the
+ * default completion rules. For ontologies where most of the axioms do not
+ * have a context, the program evaluated by ProbLog is much smaller, because
+ * the subsumptions that do not depend on a context are not derived again.
+ * </p>
+ * <p>
+ * If the subclasses asked in the queries are known, the facts
+ * <code>subx(X, C)</code> are only added for the terms <code>X</code> that
+ * the completion rules can use to answer them. These are the asked
+ * subclasses, the premises of the axioms with context, the fillers of the
+ * existential restrictions on the right-hand side of the kept axioms, and
+ * the fillers of the existential restrictions that subsume any of these
+ * terms. Otherwise, the facts are added for all the declared concepts and
+ * individuals, which are <i>n</i>&middot;(<i>n</i> - 1) / 2 facts for a chain
+ * of <i>n</i> concepts.
+ * </p>
+ *
+ * @author Julian Mendez
+ *
+ */
+public class Presaturator {
+
+	private final NativeInferenceEngine engine = new NativeInferenceEngine();
+	private final FormulaConstructor formulaConstructor = new FormulaConstructor();
+
+	/**
+	 * Constructs a new presaturator.
+	 */
+	public Presaturator() {
+	}
+
+	static boolean isDeclaration(Clause clause) {
+		Term head = clause.getHead();
+		String functor = head.getName();
+		return (functor.equals(FormulaConstructor.CON) || functor.equals(FormulaConstructor.INDIV)
+				|| functor.equals(FormulaConstructor.ROLE)) && head.getArguments().size() == 1;
+	}
+
+	static boolean isAxiom(Clause clause) {
+		return ExplanationFinder.isAxiom(clause) && clause.getHead().getArguments().size() == 2;
+	}
+
+	/**
+	 * Returns the concepts and roles whose subsumptions can make the given
+	 * axiom applicable.
+	 *
+	 * @param axiom
+	 *            <code>gci</code> or <code>ri</code> clause
+	 * @return the concepts and roles whose subsumptions can make the given
+	 *         axiom applicable
+	 */
+	List<Term> getPremises(Clause axiom) {
+		Term left = axiom.getHead().getArguments().get(0);
+		if (LabeledCompletion.isCompound(left, FormulaConstructor.AND)
+				|| LabeledCompletion.isCompound(left, FormulaConstructor.EXISTS)
+				|| LabeledCompletion.isCompound(left, FormulaConstructor.CHAIN)) {
+			return left.getArguments();
+		} else if (left.getName().equals(FormulaConstructor.CHAIN) && left.getArguments().isEmpty()) {
+			return Collections.emptyList();
+		} else {
+			return Collections.singletonList(left);
+		}
+	}
+
+	/**
+	 * Returns the concept or role of the subsumptions derived with the given
+	 * axiom.
+	 *
+	 * @param axiom
+	 *            <code>gci</code> or <code>ri</code> clause
+	 * @return the concept or role of the subsumptions derived with the given
+	 *         axiom
+	 */
+	Term getConclusion(Clause axiom) {
+		Term right = axiom.getHead().getArguments().get(1);
+		if (LabeledCompletion.isCompound(right, FormulaConstructor.EXISTS)) {
+			return right.getArguments().get(0);
+		} else {
+			return right;
+		}
+	}
+
+	/**
+	 * Returns the subclasses whose derived subsumptions can be used to answer
+	 * the queries, i.e. the asked subclasses, the premises of the axioms with
+	 * context, and the fillers of the existential restrictions reached from
+	 * them or from the right-hand side of the kept axioms.
+	 *
+	 * @param completion
+	 *            saturated completion of the axioms without context
+	 * @param queriedSubClasses
+	 *            subclasses asked in the queries
+	 * @param keptAxioms
+	 *            kept axioms
+	 * @return the subclasses whose derived subsumptions can be used to answer
+	 *         the queries
+	 */
+	Set<Term> getRelevantSubClasses(LabeledCompletion completion, Collection<Term> queriedSubClasses,
+			Set<Clause> keptAxioms) {
+		Set<Term> ret = new HashSet<>();
+		Deque<Term> toVisit = new ArrayDeque<>();
+		queriedSubClasses.forEach(term -> {
+			if (ret.add(term)) {
+				toVisit.add(term);
+			}
+		});
+		keptAxioms.forEach(axiom -> {
+			if (!axiom.getBody().isEmpty()) {
+				getPremises(axiom).forEach(premise -> {
+					if (ret.add(premise)) {
+						toVisit.add(premise);
+					}
+				});
+			}
+			Term right = axiom.getHead().getArguments().get(1);
+			if (LabeledCompletion.isCompound(right, FormulaConstructor.EXISTS)
+					&& ret.add(right.getArguments().get(1))) {
+				toVisit.add(right.getArguments().get(1));
+			}
+		});
+
+		while (!toVisit.isEmpty()) {
+			completion.getSubsumers(toVisit.poll()).forEach(c -> {
+				if (LabeledCompletion.isCompound(c, FormulaConstructor.EXISTS) && ret.add(c.getArguments().get(1))) {
+					toVisit.add(c.getArguments().get(1));
+				}
+			});
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the given ontology compressed, with the derived subsumptions of
+	 * all the declared concepts and individuals. The declarations are kept.
+	 * If the ontology contains clauses that are neither declarations nor
+	 * axioms, it is returned without changes.
+	 *
+	 * @param ontology
+	 *            clauses of the ontology of a ProbLog program
+	 * @return the given ontology compressed
+	 */
+	public List<Clause> apply(List<Clause> ontology) {
+		Objects.requireNonNull(ontology);
+		List<Term> declaredSubClasses = new ArrayList<>();
+		ontology.forEach(clause -> {
+			if (isDeclaration(clause) && !clause.getHead().getName().equals(FormulaConstructor.ROLE)) {
+				declaredSubClasses.add(clause.getHead().getArguments().get(0));
+			}
+		});
+		return apply(ontology, declaredSubClasses);
+	}
+
+	/**
+	 * Returns the given ontology compressed, with the derived subsumptions
+	 * that can be used to answer queries whose subclasses are the given
+	 * terms. For example, the subclass of <code>sub(A, X)</code> is
+	 * <code>A</code>, and the subclass of <code>inst(a, X)</code> is
+	 * <code>a</code>. The declarations are kept. If the ontology contains
+	 * clauses that are neither declarations nor axioms, it is returned
+	 * without changes.
+	 *
+	 * @param ontology
+	 *            clauses of the ontology of a ProbLog program
+	 * @param queriedSubClasses
+	 *            concepts and individuals asked as subclasses in the queries
+	 * @return the given ontology compressed
+	 */
+	public List<Clause> apply(List<Clause> ontology, Collection<Term> queriedSubClasses) {
+		Objects.requireNonNull(ontology);
+		Objects.requireNonNull(queriedSubClasses);
+		if (!ontology.stream().allMatch(clause -> isDeclaration(clause) || isAxiom(clause))) {
+			return ontology;
+		}
+
+		BinaryDecisionDiagram bdd = new BinaryDecisionDiagram();
+		LabeledCompletion completion = new LabeledCompletion(bdd);
+		Map<Term, List<Clause>> axiomsByPremise = new HashMap<>();
+		Set<Clause> keptAxioms = new HashSet<>();
+		Set<Term> reached = new HashSet<>();
+		Deque<Term> toVisit = new ArrayDeque<>();
+		ontology.forEach(clause -> {
+			if (isDeclaration(clause) || clause.getBody().isEmpty()) {
+				this.engine.addOntologyClause(completion, bdd, literal -> BinaryDecisionDiagram.TRUE, clause);
+				if (!isDeclaration(clause)) {
+					getPremises(clause).forEach(
+							premise -> axiomsByPremise.computeIfAbsent(premise, key -> new ArrayList<>()).add(clause));
+				}
+			} else {
+				keptAxioms.add(clause);
+				if (reached.add(getConclusion(clause))) {
+					toVisit.add(getConclusion(clause));
+				}
+			}
+		});
+		completion.saturate();
+
+		while (!toVisit.isEmpty()) {
+			Term term = toVisit.poll();
+			axiomsByPremise.getOrDefault(term, Collections.emptyList()).forEach(axiom -> {
+				if (keptAxioms.add(axiom) && reached.add(getConclusion(axiom))) {
+					toVisit.add(getConclusion(axiom));
+				}
+			});
+		}
+
+		List<Clause> ret = new ArrayList<>();
+		Set<Term> subClasses = new LinkedHashSet<>();
+		ontology.forEach(clause -> {
+			if (isDeclaration(clause)) {
+				ret.add(clause);
+				if (!clause.getHead().getName().equals(FormulaConstructor.ROLE)) {
+					subClasses.add(clause.getHead().getArguments().get(0));
+				}
+			} else if (keptAxioms.contains(clause)) {
+				ret.add(clause);
+			}
+		});
+
+		Set<Term> relevantSubClasses = getRelevantSubClasses(completion, queriedSubClasses, keptAxioms);
+		subClasses.retainAll(relevantSubClasses);
+
+		Term top = this.formulaConstructor.top();
+		List<Term> emptyList = Collections.emptyList();
+		subClasses.forEach(x -> {
+			Map<String, Term> superClasses = new TreeMap<>();
+			completion.getSubsumers(x).forEach(c -> {
+				if (!c.equals(x) && !c.equals(top)) {
+					superClasses.put(c.asString(), c);
+				}
+			});
+			superClasses.values()
+					.forEach(c -> ret.add(this.formulaConstructor.rule(this.formulaConstructor.subx(x, c), emptyList)));
+		});
+		return ret;
+	}
+
+}
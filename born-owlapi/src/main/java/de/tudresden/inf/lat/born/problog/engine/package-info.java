@@ -0,0 +1,5 @@
+/**
+ * This package contains interfaces and classes to evaluate ProbLog programs
+ * without an external ProbLog installation.
+ */
+package de.tudresden.inf.lat.born.problog.engine;
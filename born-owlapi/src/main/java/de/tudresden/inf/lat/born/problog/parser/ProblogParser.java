@@ -0,0 +1,230 @@
+package de.tudresden.inf.lat.born.problog.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import de.tudresden.inf.lat.born.core.term.ProbClause;
+import de.tudresden.inf.lat.born.core.term.ProbClauseImpl;
+import de.tudresden.inf.lat.born.core.term.Symbol;
+import de.tudresden.inf.lat.born.core.term.Term;
+import de.tudresden.inf.lat.born.core.term.TermImpl;
+import de.tudresden.inf.lat.born.problog.type.BayesianNetwork;
+
+/**
+ * An object of this class parses ProbLog clauses, as the ones of a Bayesian
+ * network. The accepted clauses are facts and rules, optionally preceded by a
+ * probability of the form <code>p::</code>. The terms can be atoms, numbers,
+ * variables, and compound terms, and the literals in the body of a rule and
+ * the arguments of a compound term can be negated with <code>\+</code>. Other
+ * ProbLog constructs, like annotated disjunctions and infix operators, are not
+ * accepted.
+ * <p>
+ * A negated atom is parsed as an atom whose name starts with <code>\+</code>,
+ * and a negated compound term is parsed as a compound term with functor
+ * <code>\+</code>.
+ * </p>
+ *
+ * @author Julian Mendez
+ *
+ */
+public class ProblogParser {
+
+	static final char EXPONENT_CHAR = 'e';
+	static final char EXPONENT_UPPER_CASE_CHAR = 'E';
+
+	/**
+	 * Constructs a new ProbLog parser.
+	 */
+	public ProblogParser() {
+	}
+
+	/**
+	 * Returns the clauses of the given text. A clause without probability has
+	 * probability {@link ProbClauseImpl#CERTAIN}.
+	 *
+	 * @param text
+	 *            text
+	 * @return the clauses of the given text
+	 * @throws ParseException
+	 *             if the text cannot be parsed
+	 */
+	public List<ProbClause> parse(CharSequence text) {
+		Objects.requireNonNull(text);
+		List<ProbClause> ret = new ArrayList<>();
+		TokenCursor cursor = new TokenCursor((new TokenCreator()).iterator(text));
+		while (cursor.hasNext()) {
+			ret.add(parseClause(cursor));
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the clauses read from the given reader.
+	 *
+	 * @param reader
+	 *            reader
+	 * @return the clauses read from the given reader
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 * @throws ParseException
+	 *             if the text cannot be parsed
+	 */
+	public List<ProbClause> parse(Reader reader) throws IOException {
+		Objects.requireNonNull(reader);
+		return parse(TokenLexer.read(reader));
+	}
+
+	/**
+	 * Returns the Bayesian network given by the clauses of the given text.
+	 *
+	 * @param text
+	 *            text
+	 * @return the Bayesian network given by the clauses of the given text
+	 * @throws ParseException
+	 *             if the text cannot be parsed
+	 */
+	public BayesianNetwork parseBayesianNetwork(CharSequence text) {
+		return new BayesianNetwork(parse(text));
+	}
+
+	boolean startsWithDigit(SourceToken token) {
+		return token.length() > 0 && Character.isDigit(token.charAt(0));
+	}
+
+	boolean isNamePart(SourceToken token) {
+		return token.length() > 0
+				&& (Character.isLetterOrDigit(token.charAt(0)) || token.hasValue(Symbol.UNDERSCORE_CHAR));
+	}
+
+	boolean isVariable(String name) {
+		char first = name.charAt(0);
+		return Character.isUpperCase(first) || first == Symbol.UNDERSCORE_CHAR;
+	}
+
+	ProbClause parseClause(TokenCursor cursor) {
+		String probability = ProbClauseImpl.CERTAIN;
+		if (startsWithDigit(cursor.peek())) {
+			probability = parseNumber(cursor);
+			SourceToken token = cursor.expect(Symbol.COLON_CHAR);
+			if (!cursor.isAdjacent(0) || !cursor.isNext(Symbol.COLON_CHAR)) {
+				throw new ParseException("Expected '" + Symbol.COLON_COLON + "'. ", token);
+			}
+			cursor.next();
+		}
+		Term head = parseTerm(cursor);
+		List<Term> body = new ArrayList<>();
+		if (cursor.isNext(Symbol.IF_SYMBOL)) {
+			cursor.next();
+			body.add(parseLiteral(cursor));
+			while (cursor.isNext(Symbol.COMMA_CHAR)) {
+				cursor.next();
+				body.add(parseLiteral(cursor));
+			}
+		}
+		cursor.expect(Symbol.POINT_CHAR);
+		return new ProbClauseImpl(head, body, probability);
+	}
+
+	/**
+	 * Returns a number. The lexer splits a number like <code>0.5e-3</code> in
+	 * several tokens, which are joined if there are no blanks between them.
+	 *
+	 * @param cursor
+	 *            token cursor
+	 * @return a number
+	 */
+	String parseNumber(TokenCursor cursor) {
+		SourceToken first = cursor.next();
+		StringBuilder sb = new StringBuilder(first.getValue());
+		if (cursor.isAt(0, Symbol.POINT_CHAR) && cursor.isAdjacent(0) && cursor.isAdjacent(1)
+				&& startsWithDigit(cursor.peek(1))) {
+			sb.append(cursor.next().getValue());
+			sb.append(cursor.next().getValue());
+		}
+		char last = sb.charAt(sb.length() - 1);
+		if ((last == EXPONENT_CHAR || last == EXPONENT_UPPER_CASE_CHAR)
+				&& (cursor.isAt(0, Symbol.PLUS_CHAR) || cursor.isAt(0, Symbol.HYPHEN_CHAR)) && cursor.isAdjacent(0)
+				&& cursor.isAdjacent(1) && startsWithDigit(cursor.peek(1))) {
+			sb.append(cursor.next().getValue());
+			sb.append(cursor.next().getValue());
+		}
+		String ret = sb.toString();
+		try {
+			Double.parseDouble(ret);
+		} catch (NumberFormatException e) {
+			throw new ParseException("Invalid number: '" + ret + "'. ", first);
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns a name, which is either a quoted atom or a sequence of letters,
+	 * digits, and underscores starting with a letter or an underscore.
+	 *
+	 * @param cursor
+	 *            token cursor
+	 * @return a name
+	 */
+	String parseName(TokenCursor cursor) {
+		SourceToken first = cursor.next();
+		if (first.length() > 0 && first.charAt(0) == Symbol.APOSTROPHE_CHAR) {
+			if (first.length() < 2 || first.charAt(first.length() - 1) != Symbol.APOSTROPHE_CHAR) {
+				throw new ParseException("Unterminated quoted atom. ", first);
+			}
+			return first.getValue();
+		} else if (isNamePart(first) && !startsWithDigit(first)) {
+			StringBuilder sb = new StringBuilder(first.getValue());
+			while (cursor.hasNext() && cursor.isAdjacent(0) && isNamePart(cursor.peek())) {
+				sb.append(cursor.next().getValue());
+			}
+			return sb.toString();
+		} else {
+			throw new ParseException("Expected a term. ", first);
+		}
+	}
+
+	Term parseTerm(TokenCursor cursor) {
+		if (startsWithDigit(cursor.peek())) {
+			return new TermImpl(parseNumber(cursor));
+		}
+		String name = parseName(cursor);
+		if (isVariable(name)) {
+			return new TermImpl(name);
+		} else if (cursor.isNext(Symbol.PAR_A_CHAR) && cursor.isAdjacent(0)) {
+			cursor.next();
+			List<Term> arguments = new ArrayList<>();
+			arguments.add(parseLiteral(cursor));
+			while (cursor.isNext(Symbol.COMMA_CHAR)) {
+				cursor.next();
+				arguments.add(parseLiteral(cursor));
+			}
+			cursor.expect(Symbol.PAR_B_CHAR);
+			return new TermImpl(name, arguments);
+		} else {
+			return new TermImpl(name);
+		}
+	}
+
+	Term parseLiteral(TokenCursor cursor) {
+		if (cursor.isNext(Symbol.BACKSLASH_CHAR)) {
+			SourceToken token = cursor.next();
+			if (!cursor.isAdjacent(0) || !cursor.isNext(Symbol.PLUS_CHAR)) {
+				throw new ParseException("Expected '" + Symbol.NEGATION_SYMBOL + "'. ", token);
+			}
+			cursor.next();
+			Term term = parseTerm(cursor);
+			if (term.getType().equals(Term.Type.ATOM)) {
+				return new TermImpl(Symbol.NEGATION_SYMBOL + term.getName());
+			} else {
+				return new TermImpl(Symbol.NEGATION_SYMBOL, Collections.singletonList(term));
+			}
+		} else {
+			return parseTerm(cursor);
+		}
+	}
+
+}
@@ -0,0 +1,168 @@
+package de.tudresden.inf.lat.born.problog.parser;
+
+import java.util.Objects;
+
+/**
+ * An object of this class is a token that refers to a fragment of the source
+ * text, given by its start and end offsets. The value of the token is only
+ * created as a string when it is requested.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class SourceToken implements Token {
+
+	private final CharSequence source;
+	private final int start;
+	private final int end;
+	private final TokenType tokenType;
+	private final int lineNumber;
+	private String tokenValue;
+
+	/**
+	 * Constructs a new source token.
+	 *
+	 * @param source
+	 *            source text
+	 * @param start
+	 *            offset of the first character of the token
+	 * @param end
+	 *            offset after the last character of the token
+	 * @param tokenType
+	 *            type of the token
+	 * @param lineNumber
+	 *            line number
+	 */
+	public SourceToken(CharSequence source, int start, int end, TokenType tokenType, int lineNumber) {
+		this.source = Objects.requireNonNull(source);
+		this.tokenType = Objects.requireNonNull(tokenType);
+		if (start < 0 || start > end || end > source.length()) {
+			throw new IndexOutOfBoundsException("Invalid token bounds: '" + start + "', '" + end + "'.");
+		}
+		this.start = start;
+		this.end = end;
+		this.lineNumber = lineNumber;
+	}
+
+	/**
+	 * Returns the offset of the first character of this token in the source
+	 * text.
+	 *
+	 * @return the offset of the first character of this token in the source
+	 *         text
+	 */
+	public int getStart() {
+		return this.start;
+	}
+
+	/**
+	 * Returns the offset after the last character of this token in the source
+	 * text.
+	 *
+	 * @return the offset after the last character of this token in the source
+	 *         text
+	 */
+	public int getEnd() {
+		return this.end;
+	}
+
+	/**
+	 * Returns the number of characters of this token.
+	 *
+	 * @return the number of characters of this token
+	 */
+	public int length() {
+		return this.end - this.start;
+	}
+
+	/**
+	 * Returns the character at the given position of this token.
+	 *
+	 * @param index
+	 *            position in this token
+	 * @return the character at the given position of this token
+	 */
+	public char charAt(int index) {
+		if (index < 0 || index >= length()) {
+			throw new IndexOutOfBoundsException("Invalid index: '" + index + "'.");
+		}
+		return this.source.charAt(this.start + index);
+	}
+
+	/**
+	 * Tells whether the value of this token is the given text. This does not
+	 * create the value of this token.
+	 *
+	 * @param text
+	 *            text
+	 * @return <code>true</code> if and only if the value of this token is the
+	 *         given text
+	 */
+	public boolean hasValue(CharSequence text) {
+		Objects.requireNonNull(text);
+		if (text.length() != length()) {
+			return false;
+		}
+		for (int index = 0; index < text.length(); index++) {
+			if (text.charAt(index) != this.source.charAt(this.start + index)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Tells whether the value of this token is the given character. This does
+	 * not create the value of this token.
+	 *
+	 * @param ch
+	 *            character
+	 * @return <code>true</code> if and only if the value of this token is the
+	 *         given character
+	 */
+	public boolean hasValue(char ch) {
+		return length() == 1 && this.source.charAt(this.start) == ch;
+	}
+
+	@Override
+	public String getValue() {
+		if (Objects.isNull(this.tokenValue)) {
+			this.tokenValue = this.source.subSequence(this.start, this.end).toString();
+		}
+		return this.tokenValue;
+	}
+
+	@Override
+	public TokenType getType() {
+		return this.tokenType;
+	}
+
+	@Override
+	public int getLineNumber() {
+		return this.lineNumber;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		} else if (!(obj instanceof Token)) {
+			return false;
+		} else {
+			Token other = (Token) obj;
+			return getType().equals(other.getType()) && (getLineNumber() == other.getLineNumber())
+					&& hasValue(other.getValue());
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return this.tokenType.hashCode() + 0x1F * (getValue().hashCode() + 0x1F * this.lineNumber);
+	}
+
+	@Override
+	public String toString() {
+		return "[" + getType().toString().toLowerCase() + ":" + getLineNumber() + "]" + getValue();
+	}
+
+}
@@ -1,96 +1,73 @@
 package de.tudresden.inf.lat.born.problog.parser;
 
-import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
-
-import de.tudresden.inf.lat.born.core.term.Symbol;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * An object of this class is creator of tokens.
- * 
+ * An object of this class is creator of tokens. Blanks and comments are not
+ * included in the tokens.
+ *
+ * @see TokenLexer
+ *
  * @author Julian Mendez
  *
  */
 public class TokenCreator {
 
-	enum Mode {
-		UNDEFINED, CODE, CONSTANT, COMMENT
+	/**
+	 * Returns an iterator over the tokens of the given text. The tokens are
+	 * read when they are requested.
+	 *
+	 * @param text
+	 *            text
+	 * @return an iterator over the tokens of the given text
+	 */
+	public Iterator<SourceToken> iterator(CharSequence text) {
+		return new TokenLexer(Objects.requireNonNull(text));
 	}
 
-	List<Token> createTokens(String str, int lineNumber) {
-		Objects.requireNonNull(str);
-		List<Token> ret = new ArrayList<>();
-		if (Objects.nonNull(str) && !str.isEmpty()) {
-			Mode mode = Mode.CODE;
-			StringBuffer token = new StringBuffer();
-			int i = 0;
-			while (i < str.length()) {
-				char ch = str.charAt(i);
-				if (Character.isLetterOrDigit(ch) && mode.equals(Mode.CODE)) {
-					token.append(ch);
-				} else if ((ch == Symbol.APOSTROPHE_CHAR) && mode.equals(Mode.CODE)) {
-					ret.add(new TokenImpl(token.toString(), lineNumber));
-					token = new StringBuffer();
-					token.append(ch);
-					mode = Mode.CONSTANT;
-
-				} else if ((ch == Symbol.APOSTROPHE_CHAR) && mode.equals(Mode.CONSTANT)) {
-					token.append(ch);
-					ret.add(new TokenImpl(token.toString(), lineNumber));
-					token = new StringBuffer();
-					mode = Mode.CODE;
-
-				} else if ((ch == Symbol.PERCENT_CHAR) && mode.equals(Mode.CODE)) {
-					ret.add(new TokenImpl(token.toString(), lineNumber));
-					token = new StringBuffer();
-					token.append(ch);
-					mode = Mode.COMMENT;
-
-				} else if (mode.equals(Mode.CODE)) {
-					ret.add(new TokenImpl(token.toString(), lineNumber));
-					token = new StringBuffer();
-					if ((ch == Symbol.COLON_CHAR) && (i < str.length() - 1)
-							&& (str.charAt(i + 1) == Symbol.HYPHEN_CHAR)) {
-						ret.add(new TokenImpl(Symbol.IF_SYMBOL, lineNumber));
-						i += 1;
-					} else {
-						ret.add(new TokenImpl("" + ch, lineNumber));
-					}
-
-				} else if (mode.equals(Mode.CONSTANT) || mode.equals(Mode.COMMENT)) {
-					token.append(ch);
-
-				} else {
-					throw new IllegalStateException("Illegal state while parsing '" + str + "' at position " + i
-							+ " of line " + lineNumber + ".");
-				}
-
-				i += 1;
-			}
-			if (!token.toString().isEmpty()) {
-				ret.add(new TokenImpl(token.toString(), lineNumber));
-			}
-		}
-		return ret;
+	/**
+	 * Returns a stream of the tokens of the given text. The tokens are read
+	 * when they are requested.
+	 *
+	 * @param text
+	 *            text
+	 * @return a stream of the tokens of the given text
+	 */
+	public Stream<SourceToken> stream(CharSequence text) {
+		return StreamSupport.stream(
+				Spliterators.spliteratorUnknownSize(iterator(text), Spliterator.ORDERED | Spliterator.NONNULL),
+				false);
 	}
 
-	List<Token> removeBlanksAndComments(List<Token> tokens) {
-		if (Objects.isNull(tokens)) {
-			return new ArrayList<>();
-		} else {
-			return tokens.stream().filter(
-					token -> (!token.getType().equals(TokenType.BLANK) && !token.getType().equals(TokenType.COMMENT)))
-					.collect(Collectors.toList());
+	/**
+	 * Returns a stream of the tokens read from the given reader.
+	 *
+	 * @param reader
+	 *            reader
+	 * @return a stream of the tokens read from the given reader
+	 */
+	public Stream<SourceToken> stream(Reader reader) {
+		Objects.requireNonNull(reader);
+		try {
+			return stream(TokenLexer.read(reader));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
 		}
 	}
 
 	/**
 	 * Returns tokens read from the given reader.
-	 * 
+	 *
 	 * @param reader
 	 *            reader
 	 * @return tokens read from the given reader
@@ -98,13 +75,7 @@ public class TokenCreator {
 	public List<Token> createTokens(Reader reader) {
 		Objects.requireNonNull(reader);
 		List<Token> ret = new ArrayList<>();
-		BufferedReader in = new BufferedReader(reader);
-		int[] lineNumber = new int[1];
-		lineNumber[0] = 0;
-		in.lines().forEach(line -> {
-			lineNumber[0] += 1;
-			ret.addAll(removeBlanksAndComments(createTokens(line, lineNumber[0])));
-		});
+		stream(reader).forEach(ret::add);
 		return ret;
 	}
 
@@ -0,0 +1,171 @@
+package de.tudresden.inf.lat.born.problog.parser;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An object of this class traverses the tokens given by an iterator, and
+ * allows looking ahead a few tokens without consuming them. It is used by the
+ * {@link ProblogParser}.
+ *
+ * @author Julian Mendez
+ *
+ */
+class TokenCursor {
+
+	private final Iterator<SourceToken> tokens;
+	private final List<SourceToken> lookahead = new ArrayList<>();
+	private SourceToken lastToken = null;
+
+	/**
+	 * Constructs a new token cursor.
+	 *
+	 * @param tokens
+	 *            iterator of tokens
+	 */
+	TokenCursor(Iterator<SourceToken> tokens) {
+		this.tokens = Objects.requireNonNull(tokens);
+	}
+
+	boolean fill(int size) {
+		while (this.lookahead.size() < size && this.tokens.hasNext()) {
+			this.lookahead.add(this.tokens.next());
+		}
+		return this.lookahead.size() >= size;
+	}
+
+	/**
+	 * Tells whether there is another token.
+	 *
+	 * @return <code>true</code> if and only if there is another token
+	 */
+	boolean hasNext() {
+		return fill(1);
+	}
+
+	/**
+	 * Returns the token at the given position, without consuming it.
+	 *
+	 * @param index
+	 *            position of the token, where 0 is the next token
+	 * @return the token at the given position
+	 * @throws ParseException
+	 *             if there is no such token
+	 */
+	SourceToken peek(int index) {
+		if (!fill(index + 1)) {
+			throw newUnexpectedEnd();
+		}
+		return this.lookahead.get(index);
+	}
+
+	/**
+	 * Returns the next token, without consuming it.
+	 *
+	 * @return the next token
+	 * @throws ParseException
+	 *             if there is no next token
+	 */
+	SourceToken peek() {
+		return peek(0);
+	}
+
+	/**
+	 * Consumes and returns the next token.
+	 *
+	 * @return the next token
+	 * @throws ParseException
+	 *             if there is no next token
+	 */
+	SourceToken next() {
+		SourceToken ret = peek();
+		this.lookahead.remove(0);
+		this.lastToken = ret;
+		return ret;
+	}
+
+	/**
+	 * Tells whether the token at the given position has the given character
+	 * as value.
+	 *
+	 * @param index
+	 *            position of the token, where 0 is the next token
+	 * @param ch
+	 *            character
+	 * @return <code>true</code> if and only if the token at the given
+	 *         position has the given character as value
+	 */
+	boolean isAt(int index, char ch) {
+		return fill(index + 1) && this.lookahead.get(index).hasValue(ch);
+	}
+
+	/**
+	 * Tells whether the next token has the given value.
+	 *
+	 * @param value
+	 *            value
+	 * @return <code>true</code> if and only if the next token has the given
+	 *         value
+	 */
+	boolean isNext(CharSequence value) {
+		return hasNext() && peek().hasValue(value);
+	}
+
+	/**
+	 * Tells whether the next token has the given character as value.
+	 *
+	 * @param ch
+	 *            character
+	 * @return <code>true</code> if and only if the next token has the given
+	 *         character as value
+	 */
+	boolean isNext(char ch) {
+		return isAt(0, ch);
+	}
+
+	/**
+	 * Tells whether the token at the given position immediately follows the
+	 * previous token in the source text, i.e. without blanks between them.
+	 *
+	 * @param index
+	 *            position of the token, where 0 is the next token
+	 * @return <code>true</code> if and only if the token at the given
+	 *         position immediately follows the previous token
+	 */
+	boolean isAdjacent(int index) {
+		if (!fill(index + 1)) {
+			return false;
+		}
+		SourceToken previous = (index == 0) ? this.lastToken : this.lookahead.get(index - 1);
+		return Objects.nonNull(previous) && previous.getEnd() == this.lookahead.get(index).getStart();
+	}
+
+	/**
+	 * Consumes the next token, which must have the given character as value.
+	 *
+	 * @param ch
+	 *            expected character
+	 * @return the consumed token
+	 * @throws ParseException
+	 *             if the next token does not have the given character as
+	 *             value
+	 */
+	SourceToken expect(char ch) {
+		SourceToken token = next();
+		if (!token.hasValue(ch)) {
+			throw new ParseException("Expected '" + ch + "'. ", token);
+		}
+		return token;
+	}
+
+	ParseException newUnexpectedEnd() {
+		if (Objects.isNull(this.lastToken)) {
+			return new ParseException("Unexpected end of text.");
+		} else {
+			return new ParseException("Unexpected end of text. ", this.lastToken);
+		}
+	}
+
+}
@@ -0,0 +1,241 @@
+package de.tudresden.inf.lat.born.problog.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import de.tudresden.inf.lat.born.core.term.Symbol;
+
+/**
+ * An object of this class reads the tokens of a ProbLog text in a single pass.
+ * The tokens are {@link SourceToken}s that refer to the source text, and
+ * blanks and comments are skipped without creating tokens. The tokens are the
+ * same as the ones produced by {@link TokenCreator#createTokens(Reader)}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class TokenLexer implements Iterator<SourceToken> {
+
+	static final int BUFFER_SIZE = 0x2000;
+	static final char CARRIAGE_RETURN_CHAR = '\r';
+
+	private final CharSequence source;
+	private final int length;
+	private int position = 0;
+	private int lineNumber = 1;
+	private SourceToken nextToken = null;
+
+	/**
+	 * Constructs a new lexer for the given text.
+	 *
+	 * @param source
+	 *            source text
+	 */
+	public TokenLexer(CharSequence source) {
+		this.source = Objects.requireNonNull(source);
+		this.length = source.length();
+	}
+
+	/**
+	 * Constructs a new lexer for the text read from the given reader. The text
+	 * is read into a single buffer, and the reader is not closed.
+	 *
+	 * @param reader
+	 *            reader
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	public TokenLexer(Reader reader) throws IOException {
+		this(read(Objects.requireNonNull(reader)));
+	}
+
+	static CharSequence read(Reader reader) throws IOException {
+		StringBuilder ret = new StringBuilder();
+		char[] buffer = new char[BUFFER_SIZE];
+		for (int count = reader.read(buffer); count != -1; count = reader.read(buffer)) {
+			ret.append(buffer, 0, count);
+		}
+		return ret;
+	}
+
+	static boolean isBlank(char ch) {
+		return ch <= Symbol.SPACE_CHAR;
+	}
+
+	static boolean isSymbol(char ch) {
+		switch (ch) {
+		case Symbol.PAR_A_CHAR:
+		case Symbol.PAR_B_CHAR:
+		case Symbol.SQB_A_CHAR:
+		case Symbol.SQB_B_CHAR:
+		case Symbol.VERT_CHAR:
+		case Symbol.COMMA_CHAR:
+		case Symbol.SEMICOLON:
+		case Symbol.POINT_CHAR:
+		case Symbol.EXCL_MARK_CHAR:
+		case Symbol.PERCENT_CHAR:
+		case Symbol.COLON_CHAR:
+		case Symbol.APOSTROPHE_CHAR:
+		case Symbol.QUOTES_CHAR:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	static boolean isIdentifier(CharSequence text, int start, int end) {
+		char first = text.charAt(start);
+		if (!Character.isLetter(first) && first != Symbol.UNDERSCORE_CHAR) {
+			return false;
+		}
+		for (int index = start + 1; index < end; index++) {
+			char ch = text.charAt(index);
+			if (!Character.isLetterOrDigit(ch) && ch != Symbol.UNDERSCORE_CHAR) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static boolean hasSpaceChar(CharSequence text, int start, int end) {
+		for (int index = start; index < end; index++) {
+			if (Character.isSpaceChar(text.charAt(index))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the type of the token given by a fragment of a text. This does
+	 * not create any object.
+	 *
+	 * @param text
+	 *            text
+	 * @param start
+	 *            offset of the first character of the token
+	 * @param end
+	 *            offset after the last character of the token
+	 * @return the type of the token given by a fragment of a text
+	 */
+	public static TokenType findType(CharSequence text, int start, int end) {
+		Objects.requireNonNull(text);
+		int trimmedStart = start;
+		while (trimmedStart < end && isBlank(text.charAt(trimmedStart))) {
+			trimmedStart++;
+		}
+		int trimmedEnd = end;
+		while (trimmedEnd > trimmedStart && isBlank(text.charAt(trimmedEnd - 1))) {
+			trimmedEnd--;
+		}
+		if (trimmedStart == trimmedEnd) {
+			return TokenType.BLANK;
+		}
+		char first = text.charAt(start);
+		char last = text.charAt(end - 1);
+		boolean quoted = trimmedEnd - trimmedStart >= 2 && first == last;
+		if (first == Symbol.PERCENT_CHAR) {
+			return TokenType.COMMENT;
+		} else if ((end - start == 1 && isSymbol(first))
+				|| (end - start == 2 && first == Symbol.COLON_CHAR && last == Symbol.HYPHEN_CHAR)) {
+			return TokenType.SYMBOL;
+		} else if (quoted && first == Symbol.QUOTES_CHAR) {
+			return TokenType.STRING;
+		} else if (isIdentifier(text, start, end)) {
+			return TokenType.IDENTIFIER;
+		} else if ((quoted && first == Symbol.APOSTROPHE_CHAR) || !hasSpaceChar(text, start, end)) {
+			return TokenType.CONSTANT;
+		} else {
+			return TokenType.UNDEFINED;
+		}
+	}
+
+	boolean isLineBreak(char ch) {
+		return ch == Symbol.NEW_LINE_CHAR || ch == CARRIAGE_RETURN_CHAR;
+	}
+
+	void skipLineBreak(char ch) {
+		this.position++;
+		if (ch == CARRIAGE_RETURN_CHAR && this.position < this.length
+				&& this.source.charAt(this.position) == Symbol.NEW_LINE_CHAR) {
+			this.position++;
+		}
+		this.lineNumber++;
+	}
+
+	SourceToken createToken(int start) {
+		return new SourceToken(this.source, start, this.position, findType(this.source, start, this.position),
+				this.lineNumber);
+	}
+
+	SourceToken readToken() {
+		while (this.position < this.length) {
+			int start = this.position;
+			char ch = this.source.charAt(start);
+			if (isLineBreak(ch)) {
+				skipLineBreak(ch);
+
+			} else if (Character.isLetterOrDigit(ch)) {
+				while (this.position < this.length && Character.isLetterOrDigit(this.source.charAt(this.position))) {
+					this.position++;
+				}
+				return createToken(start);
+
+			} else if (ch == Symbol.APOSTROPHE_CHAR) {
+				this.position++;
+				while (this.position < this.length && this.source.charAt(this.position) != Symbol.APOSTROPHE_CHAR
+						&& !isLineBreak(this.source.charAt(this.position))) {
+					this.position++;
+				}
+				if (this.position < this.length && this.source.charAt(this.position) == Symbol.APOSTROPHE_CHAR) {
+					this.position++;
+				}
+				return createToken(start);
+
+			} else if (ch == Symbol.PERCENT_CHAR) {
+				while (this.position < this.length && !isLineBreak(this.source.charAt(this.position))) {
+					this.position++;
+				}
+
+			} else if (ch == Symbol.COLON_CHAR && start + 1 < this.length
+					&& this.source.charAt(start + 1) == Symbol.HYPHEN_CHAR) {
+				this.position += 2;
+				return createToken(start);
+
+			} else {
+				this.position++;
+				if (!isBlank(ch)) {
+					return createToken(start);
+				}
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (Objects.isNull(this.nextToken)) {
+			this.nextToken = readToken();
+		}
+		return Objects.nonNull(this.nextToken);
+	}
+
+	@Override
+	public SourceToken next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		SourceToken ret = this.nextToken;
+		this.nextToken = null;
+		return ret;
+	}
+
+	@Override
+	public String toString() {
+		return "position=" + this.position + ", line=" + this.lineNumber;
+	}
+
+}
@@ -0,0 +1,215 @@
+package de.tudresden.inf.lat.born.problog.type;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import de.tudresden.inf.lat.born.core.rule.FormulaConstructor;
+import de.tudresden.inf.lat.born.core.term.ProbClause;
+import de.tudresden.inf.lat.born.core.term.Symbol;
+import de.tudresden.inf.lat.born.core.term.Term;
+
+/**
+ * An object of this class is an immutable Bayesian network given by ProbLog
+ * clauses. The variables of the network are the heads of the clauses, and the
+ * parents of a variable are the variables in the bodies of the clauses that
+ * define it. Clauses with head <code>evidence</code> or <code>query</code>
+ * are directives, which are not variables and are always relevant.
+ * <p>
+ * Since the clauses of the variables that are not ancestors of the variables
+ * used in a ProbLog program do not change the probabilities of the queries,
+ * only the clauses of the ancestral closure of the used variables need to be
+ * included in the program. The names are compared without apostrophes, so
+ * that <code>'x0'</code> and <code>x0</code> are the same variable.
+ * </p>
+ *
+ * @author Julian Mendez
+ *
+ */
+public class BayesianNetwork {
+
+	public static final String EVIDENCE = "evidence";
+
+	private final List<ProbClause> clauses;
+	private final Map<String, Set<String>> parents;
+	private final Set<String> directiveVariables;
+
+	/**
+	 * Constructs a new Bayesian network.
+	 *
+	 * @param clauses
+	 *            clauses of the Bayesian network
+	 */
+	public BayesianNetwork(List<ProbClause> clauses) {
+		Objects.requireNonNull(clauses);
+		this.clauses = Collections.unmodifiableList(new ArrayList<>(clauses));
+		Map<String, Set<String>> parentMap = new HashMap<>();
+		Set<String> directiveSet = new HashSet<>();
+		this.clauses.forEach(clause -> {
+			if (isDirective(clause)) {
+				clause.getHead().getArguments().forEach(argument -> directiveSet.add(getVariableName(argument)));
+			} else {
+				Set<String> set = parentMap.computeIfAbsent(getVariableName(clause.getHead()), key -> new HashSet<>());
+				clause.getBody().forEach(term -> set.add(getVariableName(term)));
+			}
+		});
+		parentMap.replaceAll((key, value) -> Collections.unmodifiableSet(value));
+		this.parents = Collections.unmodifiableMap(parentMap);
+		this.directiveVariables = Collections.unmodifiableSet(directiveSet);
+	}
+
+	/**
+	 * Returns the name of the variable given by a term, without negation and
+	 * without apostrophes.
+	 *
+	 * @param term
+	 *            term
+	 * @return the name of the variable given by a term
+	 */
+	public static String getVariableName(Term term) {
+		Objects.requireNonNull(term);
+		String name = term.getName();
+		if (name.equals(Symbol.NEGATION_SYMBOL) && term.getArguments().size() == 1) {
+			return getVariableName(term.getArguments().get(0));
+		} else if (name.startsWith(Symbol.NEGATION_SYMBOL)) {
+			name = name.substring(Symbol.NEGATION_SYMBOL.length()).trim();
+		}
+		return removeApostrophes(name);
+	}
+
+	static String removeApostrophes(String name) {
+		if (name.length() >= 2 && name.charAt(0) == Symbol.APOSTROPHE_CHAR
+				&& name.charAt(name.length() - 1) == Symbol.APOSTROPHE_CHAR) {
+			return name.substring(1, name.length() - 1);
+		} else {
+			return name;
+		}
+	}
+
+	boolean isDirective(ProbClause clause) {
+		String name = clause.getHead().getName();
+		return name.equals(EVIDENCE) || name.equals(FormulaConstructor.QUERY);
+	}
+
+	/**
+	 * Returns the clauses of this Bayesian network.
+	 *
+	 * @return the clauses of this Bayesian network
+	 */
+	public List<ProbClause> getClauses() {
+		return this.clauses;
+	}
+
+	/**
+	 * Returns the variables of this Bayesian network.
+	 *
+	 * @return the variables of this Bayesian network
+	 */
+	public Set<String> getVariables() {
+		return this.parents.keySet();
+	}
+
+	/**
+	 * Returns the parents of the given variable, or an empty set if it is not
+	 * a variable of this Bayesian network.
+	 *
+	 * @param variable
+	 *            variable
+	 * @return the parents of the given variable
+	 */
+	public Set<String> getParents(String variable) {
+		Objects.requireNonNull(variable);
+		return this.parents.getOrDefault(removeApostrophes(variable), Collections.emptySet());
+	}
+
+	/**
+	 * Returns the variables of this Bayesian network that are among the given
+	 * symbols or in a directive, together with all their ancestors.
+	 *
+	 * @param symbols
+	 *            symbols, which can include names that are not variables
+	 * @return the ancestral closure of the variables among the given symbols
+	 */
+	public Set<String> getAncestralClosure(Collection<String> symbols) {
+		Objects.requireNonNull(symbols);
+		Set<String> ret = new TreeSet<>();
+		Deque<String> toVisit = new ArrayDeque<>();
+		symbols.forEach(symbol -> toVisit.add(removeApostrophes(symbol)));
+		toVisit.addAll(this.directiveVariables);
+		while (!toVisit.isEmpty()) {
+			String variable = toVisit.pop();
+			if (this.parents.containsKey(variable) && ret.add(variable)) {
+				toVisit.addAll(this.parents.get(variable));
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the clauses that define the variables of the ancestral closure
+	 * of the given symbols, and the directives, in the order of this Bayesian
+	 * network.
+	 *
+	 * @param symbols
+	 *            symbols, which can include names that are not variables
+	 * @return the clauses that are relevant for the given symbols
+	 */
+	public List<ProbClause> getRelevantClauses(Collection<String> symbols) {
+		Set<String> closure = getAncestralClosure(symbols);
+		return this.clauses.stream()
+				.filter(clause -> isDirective(clause) || closure.contains(getVariableName(clause.getHead())))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Returns this Bayesian network as a string in ProbLog syntax.
+	 *
+	 * @return this Bayesian network as a string in ProbLog syntax
+	 */
+	public String asString() {
+		StringBuilder sb = new StringBuilder();
+		try {
+			for (ProbClause clause : this.clauses) {
+				clause.appendTo(sb);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		} else if (!(obj instanceof BayesianNetwork)) {
+			return false;
+		} else {
+			BayesianNetwork other = (BayesianNetwork) obj;
+			return getClauses().equals(other.getClauses());
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return this.clauses.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return asString();
+	}
+
+}
@@ -1,11 +1,12 @@
 package de.tudresden.inf.lat.born.problog.type;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Objects;
 
 import de.tudresden.inf.lat.born.core.rule.CompletionRule;
 import de.tudresden.inf.lat.born.core.term.Clause;
-import de.tudresden.inf.lat.born.core.term.ProbClause;
 import de.tudresden.inf.lat.born.core.term.Symbol;
 import de.tudresden.inf.lat.born.core.term.Term;
 
@@ -101,11 +102,11 @@ public class ProblogProgram {
 		this.queryListAddendum = Objects.requireNonNull(queryListAddendum);
 	}
 
-	String asString(List<Clause> clauses) {
+	void write(Appendable output, List<? extends Clause> clauses) throws IOException {
 		Objects.requireNonNull(clauses);
-		StringBuffer sb = new StringBuffer();
-		clauses.forEach(clause -> sb.append(clause.asString()));
-		return sb.toString();
+		for (Clause clause : clauses) {
+			clause.appendTo(output);
+		}
 	}
 
 	String asStringWithTabs(CompletionRule completionRule) {
@@ -113,7 +114,7 @@ public class ProblogProgram {
 		if (head == null || completionRule.getBody().size() <= 1) {
 			return completionRule.toString();
 		} else {
-			StringBuffer sb = new StringBuffer();
+			StringBuilder sb = new StringBuilder();
 			sb.append(head.asString());
 			sb.append(Symbol.SPACE_CHAR);
 			sb.append(Symbol.IF_SYMBOL);
@@ -146,23 +147,43 @@ public class ProblogProgram {
 	 */
 	public String asStringWithTabs(List<CompletionRule> completionRules) {
 		Objects.requireNonNull(completionRules);
-		StringBuffer sb = new StringBuffer();
+		StringBuilder sb = new StringBuilder();
 		completionRules.forEach(completionRule -> sb.append(asStringWithTabs(completionRule)));
 		return sb.toString();
 	}
 
-	String asStringC(List<CompletionRule> completionRules) {
-		Objects.requireNonNull(completionRules);
-		StringBuffer sb = new StringBuffer();
-		completionRules.forEach(completionRule -> sb.append(completionRule.asString()));
-		return sb.toString();
-	}
-
-	String asStringP(List<ProbClause> clauses) {
-		Objects.requireNonNull(clauses);
-		StringBuffer sb = new StringBuffer();
-		clauses.forEach(clause -> sb.append(clause.asString()));
-		return sb.toString();
+	/**
+	 * Writes this ProbLog program to the given output. The clauses are written
+	 * one by one, without building the whole program as a string.
+	 * 
+	 * @param output
+	 *            output
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	public void write(Appendable output) throws IOException {
+		Objects.requireNonNull(output);
+		String nl = "" + Symbol.NEW_LINE_CHAR;
+		String nlnl = "" + Symbol.NEW_LINE_CHAR + Symbol.NEW_LINE_CHAR;
+		output.append(nl);
+		output.append(TITLE_COMPLETION_RULES + nlnl);
+		write(output, this.data.getCompletionRules());
+		output.append(nl);
+		output.append(this.additionalCompletionRulesAsText);
+		output.append(nlnl);
+		output.append(TITLE_ONTOLOGY + nlnl);
+		write(output, this.data.getOntology());
+		output.append(nlnl);
+		output.append(TITLE_BAYESIAN_NETWORK + nlnl);
+		write(output, this.data.getBayesianNetwork());
+		output.append(nl);
+		output.append(this.bayesianNetworkAddendum);
+		output.append(nlnl);
+		output.append(TITLE_QUERIES + nlnl);
+		write(output, this.data.getQueries());
+		output.append(nl);
+		output.append(this.queryListAddendum);
+		output.append(nlnl);
 	}
 
 	/**
@@ -171,21 +192,12 @@ public class ProblogProgram {
 	 * @return this ProbLog program as a string
 	 */
 	public String asString() {
-		String nl = "" + Symbol.NEW_LINE_CHAR;
-		String nlnl = "" + Symbol.NEW_LINE_CHAR + Symbol.NEW_LINE_CHAR;
-		StringBuffer sb = new StringBuffer();
-		sb.append(nl);
-		sb.append(TITLE_COMPLETION_RULES + nlnl);
-		sb.append(asStringC(this.data.getCompletionRules()) + nl);
-		sb.append(this.additionalCompletionRulesAsText + nlnl);
-		sb.append(TITLE_ONTOLOGY + nlnl);
-		sb.append(asString(this.data.getOntology()) + nlnl);
-		sb.append(TITLE_BAYESIAN_NETWORK + nlnl);
-		sb.append(asStringP(this.data.getBayesianNetwork()) + nl);
-		sb.append(this.bayesianNetworkAddendum + nlnl);
-		sb.append(TITLE_QUERIES + nlnl);
-		sb.append(asString(this.data.getQueries()) + nl);
-		sb.append(this.queryListAddendum + nlnl);
+		StringBuilder sb = new StringBuilder();
+		try {
+			write(sb);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
 		return sb.toString();
 	}
 
@@ -0,0 +1,44 @@
+package de.tudresden.inf.lat.born.core.term;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This is a unit test for {@link ClauseImpl}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class ClauseImplTest {
+
+	/**
+	 * Tests equality, hash code, and string representation of facts and
+	 * rules, and that the body of a clause cannot be modified.
+	 */
+	@Test
+	public void testClause() {
+		TermFactory factory = new TermFactory();
+		Term x = factory.newVariable("X");
+		Term head = factory.newTerm("p", Arrays.asList(x));
+		Term body0 = factory.newTerm("q", Arrays.asList(x));
+		Term body1 = factory.newTerm("r", Arrays.asList(x, factory.newAtom("a")));
+
+		Clause rule = new ClauseImpl(head, Arrays.asList(body0, body1));
+		Clause other = new ClauseImpl(new TermImpl("p", Arrays.asList(new TermImpl("X"))),
+				Arrays.asList(body0, body1));
+		Assertions.assertEquals(rule, other);
+		Assertions.assertEquals(rule.hashCode(), other.hashCode());
+		Assertions.assertNotEquals(rule, new ClauseImpl(head, Arrays.asList(body1, body0)));
+		Assertions.assertEquals("p(X) :- q(X), r(X, a).\n", rule.asString());
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> rule.getBody().add(body0));
+
+		Clause fact = new ClauseImpl(factory.newAtom("a"), Collections.emptyList());
+		Assertions.assertEquals("a.\n", fact.asString());
+		Assertions.assertTrue(fact.getBody().isEmpty());
+		Assertions.assertNotEquals(fact, rule);
+	}
+
+}
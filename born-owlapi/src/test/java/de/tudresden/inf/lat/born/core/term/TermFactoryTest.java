@@ -0,0 +1,81 @@
+package de.tudresden.inf.lat.born.core.term;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.born.core.rule.FormulaConstructor;
+
+/**
+ * This is a unit test for {@link TermFactory}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class TermFactoryTest {
+
+	/**
+	 * Tests that equal atoms, variables, and compound terms created by the
+	 * same factory are the same instance.
+	 */
+	@Test
+	public void testIdentity() {
+		TermFactory instance = new TermFactory();
+		Term a = instance.newAtom("a");
+		Term x = instance.newVariable("X");
+		Assertions.assertSame(a, instance.newAtom("a"));
+		Assertions.assertSame(x, instance.newVariable("X"));
+		Assertions.assertSame(a, instance.newTerm("a", Collections.emptyList()));
+		Assertions.assertNotSame(a, instance.newAtom("b"));
+
+		Term compoundTerm = instance.newTerm("f", Arrays.asList(a, x));
+		Assertions.assertEquals(Term.Type.COMPOUND_TERM, compoundTerm.getType());
+		Assertions.assertSame(compoundTerm,
+				instance.newTerm("f", Arrays.asList(instance.newAtom("a"), instance.newVariable("X"))));
+		Assertions.assertSame(compoundTerm, instance.newTerm("f", Arrays.asList(new TermImpl("a"), new TermImpl("X"))));
+		Assertions.assertNotSame(compoundTerm, instance.newTerm("f", Arrays.asList(x, a)));
+		Assertions.assertSame(instance.newTerm("g", Arrays.asList(compoundTerm)),
+				instance.newTerm("g", Arrays.asList(instance.newTerm("f", Arrays.asList(a, x)))));
+	}
+
+	/**
+	 * Tests that terms created by different factories are equal, but not the
+	 * same instance, and that each formula constructor created without a
+	 * term factory has its own term factory.
+	 */
+	@Test
+	public void testDifferentFactories() {
+		TermFactory instance = new TermFactory();
+		TermFactory other = new TermFactory();
+		Assertions.assertEquals(instance.newAtom("a"), other.newAtom("a"));
+		Assertions.assertNotSame(instance.newAtom("a"), other.newAtom("a"));
+		Assertions.assertEquals(instance.newVariable("X"), other.newVariable("X"));
+		Assertions.assertNotSame(instance.newVariable("X"), other.newVariable("X"));
+
+		Assertions.assertNotSame(new FormulaConstructor().getTermFactory(),
+				new FormulaConstructor().getTermFactory());
+		Assertions.assertSame(instance, new FormulaConstructor(instance).getTermFactory());
+	}
+
+	/**
+	 * Tests that invalid variable names and invalid atom names are rejected.
+	 */
+	@Test
+	public void testInvalidNames() {
+		TermFactory instance = new TermFactory();
+		Assertions.assertThrows(IllegalArgumentException.class, () -> instance.newVariable("x"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> instance.newVariable("'X'"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> instance.newVariable("1"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> instance.newVariable(""));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> instance.newAtom("X"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> instance.newAtom("1"));
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> instance.newTerm("X", Arrays.asList(instance.newAtom("a"))));
+
+		Assertions.assertEquals(Term.Type.VARIABLE, instance.newVariable("_").getType());
+		Assertions.assertEquals(Term.Type.VARIABLE, instance.newVariable("_x").getType());
+	}
+
+}
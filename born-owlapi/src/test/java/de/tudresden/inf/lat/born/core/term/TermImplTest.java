@@ -0,0 +1,92 @@
+package de.tudresden.inf.lat.born.core.term;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This is a unit test for {@link TermImpl}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class TermImplTest {
+
+	/**
+	 * Tests the quick check of strings that may be numbers.
+	 */
+	@Test
+	public void testMayBeNumber() {
+		TermImpl instance = new TermImpl();
+		Assertions.assertTrue(instance.mayBeNumber("1"));
+		Assertions.assertTrue(instance.mayBeNumber("+1"));
+		Assertions.assertTrue(instance.mayBeNumber("-1"));
+		Assertions.assertTrue(instance.mayBeNumber(".5"));
+		Assertions.assertTrue(instance.mayBeNumber("NaN"));
+		Assertions.assertTrue(instance.mayBeNumber("Infinity"));
+		Assertions.assertFalse(instance.mayBeNumber("a"));
+		Assertions.assertFalse(instance.mayBeNumber("X"));
+		Assertions.assertFalse(instance.mayBeNumber("_"));
+		Assertions.assertFalse(instance.mayBeNumber("'1'"));
+	}
+
+	/**
+	 * Tests the type of terms whose names are numbers, variables, or atoms.
+	 */
+	@Test
+	public void testType() {
+		Assertions.assertEquals(Term.Type.LONG, new TermImpl("1").getType());
+		Assertions.assertEquals(Term.Type.LONG, new TermImpl("+1").getType());
+		Assertions.assertEquals(Term.Type.LONG, new TermImpl("-1").getType());
+		Assertions.assertEquals(Term.Type.DOUBLE, new TermImpl(".5").getType());
+		Assertions.assertEquals(Term.Type.DOUBLE, new TermImpl("0.5").getType());
+		Assertions.assertEquals(Term.Type.DOUBLE, new TermImpl("NaN").getType());
+		Assertions.assertEquals(Term.Type.DOUBLE, new TermImpl("Infinity").getType());
+		Assertions.assertEquals(Term.Type.DOUBLE, new TermImpl("-Infinity").getType());
+		Assertions.assertEquals(Term.Type.VARIABLE, new TermImpl("Nat").getType());
+		Assertions.assertEquals(Term.Type.VARIABLE, new TermImpl("Inf").getType());
+		Assertions.assertEquals(Term.Type.VARIABLE, new TermImpl("_").getType());
+		Assertions.assertEquals(Term.Type.ATOM, new TermImpl("a").getType());
+		Assertions.assertEquals(Term.Type.ATOM, new TermImpl("'1'").getType());
+		Assertions.assertEquals(Term.Type.ATOM, new TermImpl("a", Collections.emptyList()).getType());
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> new TermImpl("1", Arrays.asList(new TermImpl("a"))));
+	}
+
+	/**
+	 * Tests equality, hash code, and string representation.
+	 */
+	@Test
+	public void testEqualsAndAsString() {
+		Term term = new TermImpl("f", Arrays.asList(new TermImpl("a"), new TermImpl("X")));
+		Term other = new TermImpl("f", Arrays.asList(new TermImpl("a"), new TermImpl("X")));
+		Assertions.assertEquals(term, other);
+		Assertions.assertEquals(term.hashCode(), other.hashCode());
+		Assertions.assertNotEquals(term, new TermImpl("f", Arrays.asList(new TermImpl("X"), new TermImpl("a"))));
+		Assertions.assertNotEquals(new TermImpl("a"), new TermImpl("a", Arrays.asList(new TermImpl("b"))));
+		Assertions.assertEquals("f(a, X)", term.asString());
+		Assertions.assertEquals(Term.Type.INFIX_OPERATOR,
+				new TermImpl(new TermImpl("a"), "=", new TermImpl("X")).getType());
+	}
+
+	/**
+	 * Tests that appending a nested term to an output gives the same text as
+	 * its string representation.
+	 *
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	@Test
+	public void testAppendTo() throws IOException {
+		Term inner = new TermImpl("g", Arrays.asList(new TermImpl("b"), new TermImpl("Y")));
+		Term term = new TermImpl("f", Arrays.asList(new TermImpl("a"), inner));
+		StringBuilder sb = new StringBuilder();
+		term.appendTo(sb);
+		Assertions.assertEquals("f(a, g(b, Y))", sb.toString());
+		Assertions.assertEquals(term.asString(), sb.toString());
+	}
+
+}
@@ -0,0 +1,430 @@
+package de.tudresden.inf.lat.born.module;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import de.tudresden.inf.lat.born.owlapi.processor.OntologySession;
+import de.tudresden.inf.lat.born.owlapi.processor.ProblogInputCreator;
+import de.tudresden.inf.lat.born.owlapi.processor.ProcessorExecutionResult;
+import de.tudresden.inf.lat.born.owlapi.processor.ProcessorExecutionResultImpl;
+import de.tudresden.inf.lat.born.problog.engine.NativeInferenceEngine;
+import de.tudresden.inf.lat.born.problog.type.ProblogProgram;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.GCI0Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.GCI2Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.GCI3Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.RI2Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.RI3Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+
+/**
+ * This is a unit test for {@link DefaultModuleExtractor}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class DefaultModuleExtractorTest {
+
+	static final String NAMESPACE = "https://lat.inf.tu-dresden.de/systems/born/born-example#";
+
+	static final String PROBABILITY = "https://lat.inf.tu-dresden.de/systems/born#probability";
+
+	static final String NETWORK = "0.3::x1.\n";
+
+	OWLClass cls(OWLDataFactory factory, String name) {
+		return factory.getOWLClass(IRI.create(NAMESPACE + name));
+	}
+
+	OWLObjectProperty role(OWLDataFactory factory, String name) {
+		return factory.getOWLObjectProperty(IRI.create(NAMESPACE + name));
+	}
+
+	Set<OWLAnnotation> annotations(OWLDataFactory factory, String variable) {
+		return Collections.singleton(factory.getOWLAnnotation(
+				factory.getOWLAnnotationProperty(IRI.create(PROBABILITY)), factory.getOWLLiteral(variable)));
+	}
+
+	int id(OntologySession session, String name) {
+		return session.getIdentifier(NAMESPACE + name).get();
+	}
+
+	OntologySession createSession() throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory factory = manager.getOWLDataFactory();
+		Set<OWLAxiom> axioms = new HashSet<>();
+		axioms.add(factory.getOWLSubClassOfAxiom(cls(factory, "A"), cls(factory, "B")));
+		axioms.add(factory.getOWLSubClassOfAxiom(cls(factory, "B"), cls(factory, "C")));
+		axioms.add(factory.getOWLSubClassOfAxiom(cls(factory, "D"), cls(factory, "E")));
+		axioms.add(factory.getOWLSubClassOfAxiom(factory.getOWLThing(), cls(factory, "F")));
+		OWLOntology ontology = manager.createOntology(axioms);
+		return new OntologySession(ontology);
+	}
+
+	/**
+	 * Returns a session with the axioms <code>A sub exists r.B</code>,
+	 * <code>r sub s</code>, <code>r o s sub t</code> (x1),
+	 * <code>exists t.B sub C</code>, <code>D sub exists q.E</code>, and
+	 * <code>q sub p</code>.
+	 *
+	 * @return a session with role inclusions and a composition of roles
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	OntologySession createSessionWithRoles() throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory factory = manager.getOWLDataFactory();
+		Set<OWLAxiom> axioms = new HashSet<>();
+		axioms.add(factory.getOWLSubClassOfAxiom(cls(factory, "A"),
+				factory.getOWLObjectSomeValuesFrom(role(factory, "r"), cls(factory, "B"))));
+		axioms.add(factory.getOWLSubObjectPropertyOfAxiom(role(factory, "r"), role(factory, "s")));
+		axioms.add(factory.getOWLSubPropertyChainOfAxiom(Arrays.asList(role(factory, "r"), role(factory, "s")),
+				role(factory, "t"), annotations(factory, "x1")));
+		axioms.add(factory.getOWLSubClassOfAxiom(
+				factory.getOWLObjectSomeValuesFrom(role(factory, "t"), cls(factory, "B")), cls(factory, "C")));
+		axioms.add(factory.getOWLSubClassOfAxiom(cls(factory, "D"),
+				factory.getOWLObjectSomeValuesFrom(role(factory, "q"), cls(factory, "E"))));
+		axioms.add(factory.getOWLSubObjectPropertyOfAxiom(role(factory, "q"), role(factory, "p")));
+		return new OntologySession(manager.createOntology(axioms));
+	}
+
+	/**
+	 * Returns a session with the axioms <code>A sub exists r.B</code>,
+	 * <code>B sub B1</code> (x1), <code>B1 sub B2</code>,
+	 * <code>exists r.B2 sub C</code>, <code>r sub s</code>,
+	 * <code>exists s.B sub D</code>, <code>A sub exists q.E</code>, and
+	 * <code>A sub F</code>.
+	 *
+	 * @return a session to extract goal-directed modules
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	OntologySession createSessionForGoals() throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory factory = manager.getOWLDataFactory();
+		Set<OWLAxiom> axioms = new HashSet<>();
+		axioms.add(factory.getOWLSubClassOfAxiom(cls(factory, "A"),
+				factory.getOWLObjectSomeValuesFrom(role(factory, "r"), cls(factory, "B"))));
+		axioms.add(factory.getOWLSubClassOfAxiom(cls(factory, "B"), cls(factory, "B1"), annotations(factory, "x1")));
+		axioms.add(factory.getOWLSubClassOfAxiom(cls(factory, "B1"), cls(factory, "B2")));
+		axioms.add(factory.getOWLSubClassOfAxiom(
+				factory.getOWLObjectSomeValuesFrom(role(factory, "r"), cls(factory, "B2")), cls(factory, "C")));
+		axioms.add(factory.getOWLSubObjectPropertyOfAxiom(role(factory, "r"), role(factory, "s")));
+		axioms.add(factory.getOWLSubClassOfAxiom(
+				factory.getOWLObjectSomeValuesFrom(role(factory, "s"), cls(factory, "B")), cls(factory, "D")));
+		axioms.add(factory.getOWLSubClassOfAxiom(cls(factory, "A"),
+				factory.getOWLObjectSomeValuesFrom(role(factory, "q"), cls(factory, "E"))));
+		axioms.add(factory.getOWLSubClassOfAxiom(cls(factory, "A"), cls(factory, "F")));
+		return new OntologySession(manager.createOntology(axioms));
+	}
+
+	String query(String subClass, String superClass) {
+		return "query(sub('" + NAMESPACE + subClass + "', '" + NAMESPACE + superClass + "')).";
+	}
+
+	String evaluate(OntologySession session, boolean goalDirectedModules, String query,
+			ProcessorExecutionResult executionResult) throws IOException {
+		ProblogProgram program = (new ProblogInputCreator(false, false, goalDirectedModules)).createProblogProgram(
+				true, "", session, NETWORK, query, executionResult, new StringBuffer());
+		return (new NativeInferenceEngine()).evaluate(program);
+	}
+
+	long count(Module module, Class<?> type) {
+		return module.getAxioms().stream().filter(axiom -> type.isInstance(axiom)).count();
+	}
+
+	/**
+	 * Tests that a module contains the axioms reachable from the given
+	 * classes and the axioms of the top class, and nothing else.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	@Test
+	public void testExtractModule() throws OWLOntologyCreationException {
+		OntologySession session = createSession();
+		DefaultModuleExtractor instance = new DefaultModuleExtractor();
+		Module module = instance.extractModule(session.getModuleIndex(),
+				Collections.singleton(id(session, "A")));
+
+		Assertions.assertTrue(module.getEntities().contains(id(session, "A")));
+		Assertions.assertTrue(module.getEntities().contains(id(session, "B")));
+		Assertions.assertTrue(module.getEntities().contains(id(session, "C")));
+		Assertions.assertTrue(module.getEntities().contains(id(session, "F")));
+		Assertions.assertFalse(module.getEntities().contains(id(session, "D")));
+		Assertions.assertFalse(module.getEntities().contains(id(session, "E")));
+	}
+
+	/**
+	 * Returns the module of the given classes computed without an index, by
+	 * adding the axioms whose classes on the left side are reached until no
+	 * more axioms are added, as the module extractor did before having an
+	 * index.
+	 *
+	 * @param axioms
+	 *            normalized axioms
+	 * @param setOfClasses
+	 *            set of classes
+	 * @return the module of the given classes computed without an index
+	 */
+	Set<NormalizedIntegerAxiom> extractModuleWithoutIndex(Set<NormalizedIntegerAxiom> axioms,
+			Set<Integer> setOfClasses) {
+		Set<Integer> reachedClasses = new HashSet<>(setOfClasses);
+		reachedClasses.add(IntegerEntityManager.topClassId);
+		Set<Integer> reachedObjectProperties = new HashSet<>();
+		Set<NormalizedIntegerAxiom> ret = new HashSet<>();
+		int size = -1;
+		while (ret.size() > size) {
+			size = ret.size();
+			for (NormalizedIntegerAxiom axiom : axioms) {
+				DefaultIdentifierCollector collector = new DefaultIdentifierCollector(axiom);
+				boolean withoutEntitiesOnTheLeft = !collector.isRoleAxiom()
+						&& collector.getClassesOnTheLeft().isEmpty()
+						&& collector.getObjectPropertiesOnTheLeft().isEmpty();
+				boolean reached = collector.isRoleAxiom()
+						? (!Collections.disjoint(collector.getObjectPropertiesOnTheLeft(), reachedObjectProperties)
+								|| !Collections.disjoint(collector.getObjectPropertiesOnTheRight(),
+										reachedObjectProperties))
+						: !Collections.disjoint(collector.getClassesOnTheLeft(), reachedClasses);
+				if ((withoutEntitiesOnTheLeft || reached) && ret.add(axiom)) {
+					reachedClasses.addAll(collector.getClassesOnTheRight());
+					reachedObjectProperties.addAll(collector.getObjectPropertiesOnTheLeft());
+					reachedObjectProperties.addAll(collector.getObjectPropertiesOnTheRight());
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Tests that using a module index gives the same module as the extraction
+	 * without an index, for each class of the ontology.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	@Test
+	public void testExtractModuleWithIndex() throws OWLOntologyCreationException {
+		OntologySession session = createSession();
+		DefaultModuleExtractor instance = new DefaultModuleExtractor();
+		for (String name : Arrays.asList("A", "B", "C", "D", "E", "F")) {
+			Set<Integer> setOfClasses = Collections.singleton(id(session, name));
+			Module actual = instance.extractModule(session.getModuleIndex(), setOfClasses);
+			Assertions.assertEquals(extractModuleWithoutIndex(session.getNormalizedAxioms(), setOfClasses),
+					actual.getAxioms());
+		}
+
+		Module module = instance.extractModule(session.getModuleIndex(), Collections.singleton(id(session, "B")));
+		Assertions.assertEquals(2, module.getAxioms().size());
+		Assertions.assertTrue(module.getEntities().contains(id(session, "C")));
+		Assertions.assertTrue(module.getEntities().contains(id(session, "F")));
+		Assertions.assertFalse(module.getEntities().contains(id(session, "A")));
+		Assertions.assertFalse(module.getEntities().contains(id(session, "D")));
+	}
+
+	/**
+	 * Tests that an updated session has the same modules as a new session,
+	 * and that only the classes that reach the added axiom are affected.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	@Test
+	public void testUpdate() throws OWLOntologyCreationException {
+		OntologySession session = createSession();
+		OWLDataFactory factory = OWLManager.createOWLOntologyManager().getOWLDataFactory();
+		OWLAxiom axiom = factory.getOWLSubClassOfAxiom(cls(factory, "C"), cls(factory, "G"));
+		OntologySession updated = session.update(Collections.singleton(axiom), Collections.emptySet());
+
+		DefaultModuleExtractor instance = new DefaultModuleExtractor();
+		Set<Integer> setOfClasses = Collections.singleton(id(updated, "A"));
+		Module expected = instance.extractModule(updated.getNormalizedAxioms(), setOfClasses);
+		Module actual = instance.extractModule(updated.getModuleIndex(), setOfClasses);
+		Assertions.assertEquals(expected.getAxioms(), actual.getAxioms());
+		Assertions.assertTrue(actual.getEntities().contains(id(updated, "G")));
+
+		Set<String> affected = updated.getClassesWithChangedModules(session);
+		Assertions.assertTrue(affected.contains(NAMESPACE + "A"));
+		Assertions.assertTrue(affected.contains(NAMESPACE + "C"));
+		Assertions.assertFalse(affected.contains(NAMESPACE + "D"));
+		Assertions.assertFalse(affected.contains(NAMESPACE + "E"));
+	}
+
+	/**
+	 * Tests that removing an added axiom in a second update gives a session
+	 * with the normalized axioms of the original ontology, and that only the
+	 * second update changes the modules incrementally.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	@Test
+	public void testUpdateTwice() throws OWLOntologyCreationException {
+		OntologySession session = createSession();
+		Assertions.assertEquals(4, session.getOntologySize());
+		OWLDataFactory factory = OWLManager.createOWLOntologyManager().getOWLDataFactory();
+		OWLAxiom axiom = factory.getOWLSubClassOfAxiom(cls(factory, "C"), cls(factory, "G"));
+		OntologySession updated = session.update(Collections.singleton(axiom), Collections.emptySet());
+		OntologySession restored = updated.update(Collections.emptySet(), Collections.singleton(axiom));
+
+		Assertions.assertEquals(session.getNormalizedAxioms(), restored.getNormalizedAxioms());
+		Assertions.assertEquals(1, restored.getRemovedNormalizedAxioms().size());
+		Assertions.assertTrue(restored.getAddedNormalizedAxioms().isEmpty());
+		Assertions.assertEquals(session.getOntologySize(), restored.getOntologySize());
+	}
+
+	/**
+	 * Tests that the role inclusions and compositions of roles that share an
+	 * object property with an axiom of the module are added to the module,
+	 * and that the role axioms of other object properties are not.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	@Test
+	public void testExtractModuleWithRoleAxioms() throws OWLOntologyCreationException {
+		OntologySession session = createSessionWithRoles();
+		DefaultModuleExtractor instance = new DefaultModuleExtractor();
+
+		Module module = instance.extractModule(session.getModuleIndex(), Collections.singleton(id(session, "A")));
+		Assertions.assertEquals(1, count(module, RI2Axiom.class));
+		Assertions.assertEquals(1, count(module, RI3Axiom.class));
+		Assertions.assertEquals(4, module.getAxioms().size());
+		Assertions.assertTrue(module.getEntities().contains(id(session, "C")));
+		Assertions.assertFalse(module.getEntities().contains(id(session, "E")));
+
+		Module otherModule = instance.extractModule(session.getModuleIndex(),
+				Collections.singleton(id(session, "D")));
+		Assertions.assertEquals(1, count(otherModule, RI2Axiom.class));
+		Assertions.assertEquals(0, count(otherModule, RI3Axiom.class));
+		Assertions.assertEquals(2, otherModule.getAxioms().size());
+		Assertions.assertTrue(Collections.disjoint(module.getAxioms(), otherModule.getAxioms()));
+
+		for (String name : Arrays.asList("A", "B", "C", "D", "E")) {
+			Set<Integer> setOfClasses = Collections.singleton(id(session, name));
+			Assertions.assertEquals(extractModuleWithoutIndex(session.getNormalizedAxioms(), setOfClasses),
+					instance.extractModule(session.getModuleIndex(), setOfClasses).getAxioms());
+		}
+	}
+
+	/**
+	 * Tests that the goal-directed module of a subsumption whose superclass
+	 * is derived by an existential restriction on the left side contains the
+	 * axioms that derive its filler through a chain of subsumptions.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	@Test
+	public void testGoalDirectedModuleWithChainToFiller() throws OWLOntologyCreationException {
+		OntologySession session = createSessionForGoals();
+		DefaultModuleExtractor instance = new DefaultModuleExtractor();
+		Module module = instance.extractModule(session.getModuleIndex(), id(session, "A"), id(session, "C"));
+
+		Assertions.assertEquals(1, count(module, GCI3Axiom.class));
+		Assertions.assertEquals(1, count(module, GCI2Axiom.class));
+		Assertions.assertEquals(2, count(module, GCI0Axiom.class));
+		Assertions.assertEquals(0, count(module, RI2Axiom.class));
+		Assertions.assertEquals(4, module.getAxioms().size());
+		Assertions.assertTrue(module.getEntities().contains(id(session, "B1")));
+		Assertions.assertTrue(module.getEntities().contains(id(session, "B2")));
+	}
+
+	/**
+	 * Tests that the goal-directed module of a subsumption whose superclass
+	 * is derived by an existential restriction with a super role contains
+	 * the role inclusion without annotations and the axiom that derives the
+	 * existential restriction with the sub role.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	@Test
+	public void testGoalDirectedModuleWithRoleInclusion() throws OWLOntologyCreationException {
+		OntologySession session = createSessionForGoals();
+		DefaultModuleExtractor instance = new DefaultModuleExtractor();
+		Module module = instance.extractModule(session.getModuleIndex(), id(session, "A"), id(session, "D"));
+
+		Assertions.assertEquals(1, count(module, GCI3Axiom.class));
+		Assertions.assertEquals(1, count(module, GCI2Axiom.class));
+		Assertions.assertEquals(1, count(module, RI2Axiom.class));
+		Assertions.assertEquals(3, module.getAxioms().size());
+		Assertions.assertFalse(module.getEntities().contains(id(session, "B1")));
+	}
+
+	/**
+	 * Tests that the axioms of the module that cannot take part in the
+	 * derivation of the superclass, such as an existential restriction with
+	 * an object property that is not needed, are not in the goal-directed
+	 * module.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	@Test
+	public void testGoalDirectedModuleDropsUnneededAxioms() throws OWLOntologyCreationException {
+		OntologySession session = createSessionForGoals();
+		DefaultModuleExtractor instance = new DefaultModuleExtractor();
+		Module module = instance.extractModule(session.getModuleIndex(), Collections.singleton(id(session, "A")));
+		Assertions.assertEquals(8, module.getAxioms().size());
+		Assertions.assertEquals(2, count(module, GCI2Axiom.class));
+
+		for (String superClass : Arrays.asList("C", "D")) {
+			Module goalDirectedModule = instance.extractModule(session.getModuleIndex(), id(session, "A"),
+					id(session, superClass));
+			Assertions.assertTrue(module.getAxioms().containsAll(goalDirectedModule.getAxioms()));
+			Assertions.assertEquals(1, count(goalDirectedModule, GCI2Axiom.class));
+			Assertions.assertFalse(goalDirectedModule.getEntities().contains(id(session, "E")));
+			Assertions.assertFalse(goalDirectedModule.getEntities().contains(id(session, "F")));
+		}
+
+		Module unreachable = instance.extractModule(session.getModuleIndex(), id(session, "E"), id(session, "C"));
+		Assertions.assertTrue(unreachable.getAxioms().isEmpty());
+	}
+
+	/**
+	 * Tests that the answers of the queries are the same for the
+	 * goal-directed modules and for the full modules, and that the size of the
+	 * goal-directed module is recorded in the execution result.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 */
+	@Test
+	public void testGoalDirectedAnswers() throws OWLOntologyCreationException, IOException {
+		OntologySession session = createSessionForGoals();
+		for (String[] pair : new String[][] { { "A", "C" }, { "A", "D" }, { "A", "F" }, { "B", "B2" },
+				{ "B", "C" } }) {
+			String query = query(pair[0], pair[1]);
+			ProcessorExecutionResult fullResult = new ProcessorExecutionResultImpl();
+			ProcessorExecutionResult goalDirectedResult = new ProcessorExecutionResultImpl();
+			String expected = evaluate(session, false, query, fullResult);
+			String actual = evaluate(session, true, query, goalDirectedResult);
+
+			Assertions.assertEquals(expected, actual);
+			Assertions.assertEquals(-1, fullResult.getGoalDirectedModuleSize());
+			Assertions.assertTrue(goalDirectedResult.getGoalDirectedModuleSize() >= 0);
+			Assertions.assertTrue(goalDirectedResult.getGoalDirectedModuleSize() < fullResult.getModuleSize());
+		}
+		Assertions.assertTrue(evaluate(session, true, query("A", "C"), new ProcessorExecutionResultImpl())
+				.contains("0.3"));
+	}
+
+}
@@ -0,0 +1,68 @@
+package de.tudresden.inf.lat.born.owlapi.generator;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import de.tudresden.inf.lat.born.owlapi.multiprocessor.PseudorandomNumberGenerator;
+
+/**
+ * This is a unit test for {@link OntologyGeneratorCore}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class OntologyGeneratorCoreTest {
+
+	OntologyGeneratorConfiguration createConfiguration() {
+		OntologyGeneratorConfiguration conf = new OntologyGeneratorConfigurationImpl();
+		conf.setNumberOfClasses(200);
+		conf.setNumberOfRoles(3);
+		conf.setDepth(4);
+		conf.setBranching(2);
+		conf.setExistentialDensity(0.5);
+		conf.setAnnotatedFraction(0.5);
+		conf.setNumberOfVariables(8);
+		conf.setSeed(127);
+		return conf;
+	}
+
+	/**
+	 * Tests that the class hierarchy does not exceed the maximum depth.
+	 */
+	@Test
+	public void testCreateParents() {
+		OntologyGeneratorConfiguration conf = createConfiguration();
+		int[] parents = (new OntologyGeneratorCore()).createParents(conf, new PseudorandomNumberGenerator(1));
+		Assertions.assertEquals(-1, parents[0]);
+		for (int index = 1; index < parents.length; index++) {
+			int depth = 0;
+			for (int current = index; parents[current] >= 0; current = parents[current]) {
+				Assertions.assertTrue(parents[current] < current);
+				depth++;
+			}
+			Assertions.assertTrue(depth <= conf.getDepth());
+		}
+	}
+
+	/**
+	 * Tests that the same configuration produces the same ontology and the
+	 * same Bayesian network.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	@Test
+	public void testReproducibility() throws OWLOntologyCreationException {
+		OntologyGeneratorCore instance = new OntologyGeneratorCore();
+		OWLOntology ontology = instance.createOntology(createConfiguration());
+		Assertions.assertEquals(ontology.getAxioms(), instance.createOntology(createConfiguration()).getAxioms());
+		Assertions.assertEquals(200, ontology.getClassesInSignature().size());
+		Assertions.assertTrue(ontology.getAxiomCount(AxiomType.SUBCLASS_OF) >= 199);
+		Assertions.assertEquals(instance.createNetwork(createConfiguration()),
+				instance.createNetwork(createConfiguration()));
+	}
+
+}
@@ -0,0 +1,151 @@
+package de.tudresden.inf.lat.born.owlapi.multiprocessor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.born.core.term.Symbol;
+
+/**
+ * This is a unit test for {@link ExperimentCheckpoint}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class ExperimentCheckpointTest {
+
+	static final int SEED = 127;
+
+	static final int NUMBER_OF_QUERIES = 4;
+
+	static final int NUMBER_OF_COLUMNS = 3;
+
+	static final String LINE_0 = "a0\tb0\tc0";
+
+	static final String LINE_1 = "a1\tb1\tc1";
+
+	/**
+	 * Suffix of the temporary file used by
+	 * {@link de.tudresden.inf.lat.born.core.common.ResourceUtil#replaceAtomically}.
+	 */
+	static final String TEMPORARY_FILE_SUFFIX = ".part";
+
+	File createCheckpointFile() throws IOException {
+		File ret = File.createTempFile("ontology", ExperimentCheckpoint.CHECKPOINT_EXTENSION);
+		ret.deleteOnExit();
+		return ret;
+	}
+
+	ExperimentCheckpoint open(File file, boolean resuming) throws IOException {
+		return new ExperimentCheckpoint(file, SEED, NUMBER_OF_QUERIES, NUMBER_OF_COLUMNS, resuming);
+	}
+
+	void writeCheckpoint(File file) throws IOException {
+		try (ExperimentCheckpoint checkpoint = open(file, false)) {
+			checkpoint.add(0, LINE_0);
+			checkpoint.add(1, LINE_1);
+			checkpoint.flush();
+		}
+	}
+
+	/**
+	 * Tests that the completed queries are restored when resuming, and only
+	 * when resuming a run with the same seed and number of queries.
+	 *
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 */
+	@Test
+	public void testResume() throws IOException {
+		File file = createCheckpointFile();
+		writeCheckpoint(file);
+
+		try (ExperimentCheckpoint checkpoint = open(file, true)) {
+			Assertions.assertEquals(2, checkpoint.getNumberOfCompletedQueries());
+			Assertions.assertEquals(LINE_0, checkpoint.getResult(0).get());
+			Assertions.assertEquals(LINE_1, checkpoint.getResult(1).get());
+			Assertions.assertFalse(checkpoint.getResult(2).isPresent());
+			checkpoint.add(3, LINE_0);
+			checkpoint.flush();
+		}
+
+		try (ExperimentCheckpoint checkpoint = open(file, true)) {
+			Assertions.assertEquals(3, checkpoint.getNumberOfCompletedQueries());
+			Assertions.assertEquals(LINE_0, checkpoint.getResult(3).get());
+		}
+
+		try (ExperimentCheckpoint checkpoint = new ExperimentCheckpoint(file, SEED + 1, NUMBER_OF_QUERIES,
+				NUMBER_OF_COLUMNS, true)) {
+			Assertions.assertEquals(0, checkpoint.getNumberOfCompletedQueries());
+		}
+
+		writeCheckpoint(file);
+		try (ExperimentCheckpoint checkpoint = open(file, false)) {
+			Assertions.assertEquals(0, checkpoint.getNumberOfCompletedQueries());
+		}
+	}
+
+	/**
+	 * Tests that a record cut at any position, including its last field, is
+	 * discarded when resuming, while the complete records are kept.
+	 *
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 */
+	@Test
+	public void testTruncatedRecord() throws IOException {
+		File file = createCheckpointFile();
+		writeCheckpoint(file);
+		String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+		String lastRecord = ExperimentCheckpoint.toRecord(1, LINE_1);
+		int lastRecordStart = content.lastIndexOf(lastRecord);
+		Assertions.assertTrue(lastRecordStart > 0);
+
+		for (int length = lastRecordStart; length < lastRecordStart + lastRecord.length(); length++) {
+			Files.write(file.toPath(), content.substring(0, length).getBytes(StandardCharsets.UTF_8));
+			try (ExperimentCheckpoint checkpoint = open(file, true)) {
+				Assertions.assertEquals(LINE_0, checkpoint.getResult(0).get());
+				Assertions.assertFalse(checkpoint.getResult(1).isPresent());
+			}
+		}
+
+		String cutInLastField = "1\ta1\tb1\tc";
+		Assertions.assertEquals(NUMBER_OF_COLUMNS + 1, cutInLastField.split("\t").length);
+		Files.write(file.toPath(), (content.substring(0, lastRecordStart) + cutInLastField + Symbol.LINE_SEPARATOR)
+				.getBytes(StandardCharsets.UTF_8));
+		try (ExperimentCheckpoint checkpoint = open(file, true)) {
+			Assertions.assertEquals(1, checkpoint.getNumberOfCompletedQueries());
+		}
+	}
+
+	/**
+	 * Tests that resuming replaces the checkpoint file by a file that only has
+	 * the complete records, and that no temporary file is left.
+	 *
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 */
+	@Test
+	public void testAtomicReplace() throws IOException {
+		File file = createCheckpointFile();
+		File temporary = new File(file.getPath() + TEMPORARY_FILE_SUFFIX);
+		temporary.deleteOnExit();
+		writeCheckpoint(file);
+		List<String> expected = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+
+		Files.write(file.toPath(), "1\ta1".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+		Files.write(temporary.toPath(), Arrays.asList("leftover of an interrupted replacement"));
+		open(file, true).close();
+
+		Assertions.assertEquals(expected, Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+		Assertions.assertFalse(temporary.exists());
+	}
+
+}
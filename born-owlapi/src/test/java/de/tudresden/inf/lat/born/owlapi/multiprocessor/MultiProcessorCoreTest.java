@@ -0,0 +1,380 @@
+package de.tudresden.inf.lat.born.owlapi.multiprocessor;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+
+import de.tudresden.inf.lat.born.problog.engine.CompiledProgramCache;
+import de.tudresden.inf.lat.born.problog.engine.NativeInferenceEngine;
+
+/**
+ * This is a unit test for {@link MultiProcessorCore}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class MultiProcessorCoreTest {
+
+	static final String NAMESPACE = "https://lat.inf.tu-dresden.de/systems/born/born-example#";
+
+	static final String PROBABILITY = "https://lat.inf.tu-dresden.de/systems/born#probability";
+
+	static final String NETWORK = "0.3::x1.\n0.6::x2.\n";
+
+	static final int NUMBER_OF_ONTOLOGIES = MultiProcessorCore.DEFAULT_MAX_LOADED_ONTOLOGIES + 1;
+
+	static final int NUMBER_OF_QUERIES = 6;
+
+	static final int SEED = 127;
+
+	/**
+	 * Number of columns of a result line that do not depend on the execution
+	 * time.
+	 */
+	static final int NUMBER_OF_STABLE_COLUMNS = 6;
+
+	/**
+	 * An object of this class is an ontology-network pair read from files,
+	 * which keeps track of the pairs that are loaded at the same time.
+	 */
+	static class TrackedOntologyAndNetwork extends OntologyAndNetwork {
+
+		final Set<String> loadedPairs;
+		final AtomicInteger maximumLoadedPairs;
+
+		TrackedOntologyAndNetwork(String ontologyName, File ontologyFile, File bayesianNetworkFile,
+				Set<String> loadedPairs, AtomicInteger maximumLoadedPairs) {
+			super(ontologyName, ontologyFile, bayesianNetworkFile);
+			this.loadedPairs = loadedPairs;
+			this.maximumLoadedPairs = maximumLoadedPairs;
+		}
+
+		@Override
+		public OWLOntology getOntology() {
+			synchronized (this.loadedPairs) {
+				this.loadedPairs.add(getOntologyName());
+				this.maximumLoadedPairs.set(Math.max(this.maximumLoadedPairs.get(), this.loadedPairs.size()));
+			}
+			return super.getOntology();
+		}
+
+		@Override
+		public void release() {
+			synchronized (this.loadedPairs) {
+				this.loadedPairs.remove(getOntologyName());
+			}
+			super.release();
+		}
+
+	}
+
+	OWLClass cls(OWLDataFactory factory, String name) {
+		return factory.getOWLClass(IRI.create(NAMESPACE + name));
+	}
+
+	OWLAxiom subClassOf(OWLDataFactory factory, String subClass, String superClass, String variable) {
+		OWLAnnotation annotation = factory.getOWLAnnotation(factory.getOWLAnnotationProperty(IRI.create(PROBABILITY)),
+				factory.getOWLLiteral(variable));
+		return factory.getOWLSubClassOfAxiom(cls(factory, subClass), cls(factory, superClass),
+				Collections.singleton(annotation));
+	}
+
+	OWLOntology createOntology(int index) throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory factory = manager.getOWLDataFactory();
+		Set<OWLAxiom> axioms = new HashSet<>();
+		axioms.add(subClassOf(factory, "A", "B", "x1"));
+		axioms.add(subClassOf(factory, "B", "C", "x2"));
+		axioms.add(factory.getOWLSubClassOfAxiom(cls(factory, "C"), cls(factory, "D" + index)));
+		return manager.createOntology(axioms);
+	}
+
+	String getOntologyName(int index) {
+		return "ontology" + index;
+	}
+
+	List<OWLOntology> writeOntologies(File directory)
+			throws IOException, OWLOntologyCreationException, OWLOntologyStorageException {
+		List<OWLOntology> ret = new ArrayList<>();
+		for (int index = 0; index < NUMBER_OF_ONTOLOGIES; index++) {
+			OWLOntology ontology = createOntology(index);
+			File ontologyFile = new File(directory, getOntologyName(index) + MultiProcessorCore.OWL_EXTENSION);
+			try (OutputStream output = new FileOutputStream(ontologyFile)) {
+				ontology.getOWLOntologyManager().saveOntology(ontology, output);
+			}
+			Files.write(new File(directory, getOntologyName(index) + MultiProcessorCore.PL_EXTENSION).toPath(),
+					NETWORK.getBytes());
+			ret.add(ontology);
+		}
+		return ret;
+	}
+
+	MultiProcessorConfiguration createConfiguration(List<OntologyAndNetwork> ontologyList, File outputDirectory) {
+		MultiProcessorConfiguration ret = new MultiProcessorConfigurationImpl();
+		ret.setOntologyList(ontologyList);
+		ret.setNumberOfQueries(NUMBER_OF_QUERIES);
+		ret.setSeed(SEED);
+		ret.setNumberOfThreads(2);
+		ret.setBatchSize(2);
+		ret.setOutputDirectory(outputDirectory.getPath());
+		ret.setInferenceEngine(new NativeInferenceEngine(new CompiledProgramCache()));
+		ret.setShowingLog(false);
+		return ret;
+	}
+
+	List<List<String>> getStableColumns(String result) {
+		List<List<String>> ret = new ArrayList<>();
+		for (String line : result.split(MultiProcessorCore.LINE_SEPARATOR)) {
+			List<String> columns = Arrays.asList(line.split("" + MultiProcessorCore.TAB_CHAR));
+			ret.add(columns.subList(0, Math.min(NUMBER_OF_STABLE_COLUMNS, columns.size())));
+		}
+		return ret;
+	}
+
+	/**
+	 * Tests that a released ontology-network pair is read again from its
+	 * files, and that a pair that is not read from files is not released.
+	 *
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 * @throws OWLOntologyStorageException
+	 *             if something went wrong when saving the ontology
+	 */
+	@Test
+	public void testRelease() throws IOException, OWLOntologyCreationException, OWLOntologyStorageException {
+		File directory = Files.createTempDirectory("ontologies").toFile();
+		OWLOntology original = writeOntologies(directory).get(0);
+		OntologyAndNetwork instance = MultiProcessorCore.getOntologyAndNetworkList(directory.getPath(),
+				directory.getPath()).get(0);
+		Assertions.assertTrue(instance.isReadFromFiles());
+		Assertions.assertEquals(getOntologyName(0), instance.getOntologyName());
+
+		OWLOntology loaded = instance.getOntology();
+		Assertions.assertSame(loaded, instance.getOntology());
+		Assertions.assertEquals(original.getLogicalAxioms(), loaded.getLogicalAxioms());
+		Assertions.assertEquals(NETWORK, instance.getBayesianNetwork());
+		Assertions.assertTrue(instance.getParsedBayesianNetwork().isPresent());
+
+		instance.release();
+		OWLOntology reloaded = instance.getOntology();
+		Assertions.assertNotSame(loaded, reloaded);
+		Assertions.assertEquals(loaded.getAxioms(), reloaded.getAxioms());
+		Assertions.assertEquals(NETWORK, instance.getBayesianNetwork());
+		Assertions.assertTrue(instance.getParsedBayesianNetwork().isPresent());
+
+		OntologyAndNetwork inMemory = new OntologyAndNetwork(getOntologyName(0), original, NETWORK);
+		Assertions.assertFalse(inMemory.isReadFromFiles());
+		inMemory.release();
+		Assertions.assertSame(original, inMemory.getOntology());
+		Assertions.assertEquals(NETWORK, inMemory.getBayesianNetwork());
+	}
+
+	/**
+	 * Tests that the queries generated from ontologies read lazily from files
+	 * are the same as the ones generated from ontologies in memory, in the
+	 * same order.
+	 *
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 * @throws OWLOntologyStorageException
+	 *             if something went wrong when saving the ontology
+	 */
+	@Test
+	public void testGetQueries() throws IOException, OWLOntologyCreationException, OWLOntologyStorageException {
+		File directory = Files.createTempDirectory("ontologies").toFile();
+		List<OWLOntology> ontologies = writeOntologies(directory);
+		List<OntologyAndNetwork> ontologyList = MultiProcessorCore.getOntologyAndNetworkList(directory.getPath(),
+				directory.getPath());
+		Assertions.assertEquals(NUMBER_OF_ONTOLOGIES, ontologyList.size());
+
+		MultiProcessorCore instance = new MultiProcessorCore();
+		PseudorandomNumberGenerator expectedRandom = new PseudorandomNumberGenerator(SEED);
+		PseudorandomNumberGenerator random = new PseudorandomNumberGenerator(SEED);
+		for (int index = 0; index < NUMBER_OF_ONTOLOGIES; index++) {
+			List<SubsumptionQuery> expected = instance.getQueries(ontologies.get(index), NUMBER_OF_QUERIES,
+					expectedRandom);
+			OntologyAndNetwork ontPair = ontologyList.get(index);
+			Assertions.assertEquals(expected, instance.getQueries(ontPair.getOntology(), NUMBER_OF_QUERIES, random));
+			ontPair.release();
+		}
+	}
+
+	/**
+	 * Tests that running the multi processor on ontologies read lazily from
+	 * files gives the same queries and results as running it on ontologies in
+	 * memory, and that at most the maximum number of loaded ontologies of the
+	 * configuration are loaded at the same time.
+	 *
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 * @throws OWLOntologyStorageException
+	 *             if something went wrong when saving the ontology
+	 */
+	@Test
+	public void testRunWithLazyLoading()
+			throws IOException, OWLOntologyCreationException, OWLOntologyStorageException {
+		File directory = Files.createTempDirectory("ontologies").toFile();
+		List<OWLOntology> ontologies = writeOntologies(directory);
+
+		List<OntologyAndNetwork> inMemoryList = new ArrayList<>();
+		Set<String> loadedPairs = new HashSet<>();
+		AtomicInteger maximumLoadedPairs = new AtomicInteger();
+		List<OntologyAndNetwork> lazyList = new ArrayList<>();
+		for (int index = 0; index < NUMBER_OF_ONTOLOGIES; index++) {
+			String name = getOntologyName(index);
+			inMemoryList.add(new OntologyAndNetwork(name, ontologies.get(index), NETWORK));
+			lazyList.add(new TrackedOntologyAndNetwork(name,
+					new File(directory, name + MultiProcessorCore.OWL_EXTENSION),
+					new File(directory, name + MultiProcessorCore.PL_EXTENSION), loadedPairs, maximumLoadedPairs));
+		}
+
+		MultiProcessorCore instance = new MultiProcessorCore();
+		List<String> expected = instance.run(
+				createConfiguration(inMemoryList, Files.createTempDirectory("results").toFile()), System.nanoTime());
+		MultiProcessorConfiguration conf = createConfiguration(lazyList,
+				Files.createTempDirectory("results").toFile());
+		Assertions.assertEquals(MultiProcessorCore.DEFAULT_MAX_LOADED_ONTOLOGIES, conf.getMaxLoadedOntologies());
+		List<String> actual = instance.run(conf, System.nanoTime());
+
+		Assertions.assertEquals(NUMBER_OF_ONTOLOGIES, actual.size());
+		for (int index = 0; index < NUMBER_OF_ONTOLOGIES; index++) {
+			Assertions.assertEquals(getStableColumns(expected.get(index)), getStableColumns(actual.get(index)));
+		}
+		Assertions.assertTrue(maximumLoadedPairs.get() > 0);
+		Assertions.assertTrue(maximumLoadedPairs.get() <= conf.getMaxLoadedOntologies());
+		Assertions.assertTrue(loadedPairs.isEmpty());
+
+		maximumLoadedPairs.set(0);
+		MultiProcessorConfiguration oneLoadedConf = createConfiguration(lazyList,
+				Files.createTempDirectory("results").toFile());
+		oneLoadedConf.setUsingSnapshots(false);
+		oneLoadedConf.setMaxLoadedOntologies(1);
+		Assertions.assertThrows(IllegalArgumentException.class, () -> oneLoadedConf.setMaxLoadedOntologies(0));
+		List<String> oneLoadedActual = instance.run(oneLoadedConf, System.nanoTime());
+		for (int index = 0; index < NUMBER_OF_ONTOLOGIES; index++) {
+			Assertions.assertEquals(getStableColumns(expected.get(index)), getStableColumns(oneLoadedActual.get(index)));
+		}
+		Assertions.assertEquals(1, maximumLoadedPairs.get());
+		Assertions.assertTrue(loadedPairs.isEmpty());
+	}
+
+	/**
+	 * Tests that a run with the snapshots of a previous run gives the same
+	 * queries and results, without parsing the OWL ontologies.
+	 *
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 * @throws OWLOntologyStorageException
+	 *             if something went wrong when saving the ontology
+	 */
+	@Test
+	public void testRunWithSnapshots() throws IOException, OWLOntologyCreationException, OWLOntologyStorageException {
+		File directory = Files.createTempDirectory("ontologies").toFile();
+		writeOntologies(directory);
+		String snapshotDirectory = Files.createTempDirectory("snapshots").toFile().getPath();
+
+		Set<String> loadedPairs = new HashSet<>();
+		AtomicInteger maximumLoadedPairs = new AtomicInteger();
+		List<OntologyAndNetwork> ontologyList = new ArrayList<>();
+		for (int index = 0; index < NUMBER_OF_ONTOLOGIES; index++) {
+			String name = getOntologyName(index);
+			ontologyList.add(new TrackedOntologyAndNetwork(name,
+					new File(directory, name + MultiProcessorCore.OWL_EXTENSION),
+					new File(directory, name + MultiProcessorCore.PL_EXTENSION), loadedPairs, maximumLoadedPairs));
+		}
+
+		MultiProcessorCore instance = new MultiProcessorCore();
+		MultiProcessorConfiguration conf = createConfiguration(ontologyList,
+				Files.createTempDirectory("results").toFile());
+		conf.setSnapshotDirectory(snapshotDirectory);
+		List<String> expected = instance.run(conf, System.nanoTime());
+		Assertions.assertTrue(maximumLoadedPairs.get() > 0);
+
+		maximumLoadedPairs.set(0);
+		MultiProcessorConfiguration restoringConf = createConfiguration(ontologyList,
+				Files.createTempDirectory("results").toFile());
+		restoringConf.setSnapshotDirectory(snapshotDirectory);
+		List<String> actual = instance.run(restoringConf, System.nanoTime());
+
+		Assertions.assertEquals(0, maximumLoadedPairs.get());
+		Assertions.assertEquals(NUMBER_OF_ONTOLOGIES, actual.size());
+		for (int index = 0; index < NUMBER_OF_ONTOLOGIES; index++) {
+			Assertions.assertEquals(getStableColumns(expected.get(index)), getStableColumns(actual.get(index)));
+		}
+	}
+
+	/**
+	 * Tests that each result line has a column for every title of the first
+	 * line, and that the size of the goal-directed module is written only if
+	 * goal-directed modules are extracted, without changing the results.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 */
+	@Test
+	public void testRunWithGoalDirectedModules() throws OWLOntologyCreationException, IOException {
+		List<OntologyAndNetwork> ontologyList = Collections
+				.singletonList(new OntologyAndNetwork(getOntologyName(0), createOntology(0), NETWORK));
+		MultiProcessorConfiguration conf = createConfiguration(ontologyList,
+				Files.createTempDirectory("results").toFile());
+		MultiProcessorConfiguration goalDirectedConf = createConfiguration(ontologyList,
+				Files.createTempDirectory("results").toFile());
+		goalDirectedConf.setGoalDirectedModules(true);
+		Assertions.assertNotEquals(conf, goalDirectedConf);
+
+		MultiProcessorCore instance = new MultiProcessorCore();
+		String expected = instance.run(conf, System.nanoTime()).get(0);
+		String actual = instance.run(goalDirectedConf, System.nanoTime()).get(0);
+		Assertions.assertEquals(getStableColumns(expected), getStableColumns(actual));
+
+		int moduleSizeColumn = MultiProcessorCore.FIRST_LINE_LIST.indexOf("module size");
+		int goalDirectedModuleSizeColumn = MultiProcessorCore.FIRST_LINE_LIST.indexOf("goal-directed module size");
+		Assertions.assertEquals(moduleSizeColumn + 1, goalDirectedModuleSizeColumn);
+		List<String> expectedLines = Arrays.asList(expected.split(MultiProcessorCore.LINE_SEPARATOR));
+		List<String> actualLines = Arrays.asList(actual.split(MultiProcessorCore.LINE_SEPARATOR));
+		Assertions.assertEquals(NUMBER_OF_QUERIES + 1, actualLines.size());
+		for (int index = 1; index < actualLines.size(); index++) {
+			String[] expectedColumns = expectedLines.get(index).split("" + MultiProcessorCore.TAB_CHAR);
+			String[] actualColumns = actualLines.get(index).split("" + MultiProcessorCore.TAB_CHAR);
+			Assertions.assertEquals(MultiProcessorCore.FIRST_LINE.length, expectedColumns.length);
+			Assertions.assertEquals(MultiProcessorCore.FIRST_LINE.length, actualColumns.length);
+			Assertions.assertEquals("-1", expectedColumns[goalDirectedModuleSizeColumn]);
+			int goalDirectedModuleSize = Integer.parseInt(actualColumns[goalDirectedModuleSizeColumn]);
+			Assertions.assertTrue(goalDirectedModuleSize >= 0);
+			Assertions.assertTrue(goalDirectedModuleSize <= Integer.parseInt(actualColumns[moduleSizeColumn]));
+		}
+	}
+
+}
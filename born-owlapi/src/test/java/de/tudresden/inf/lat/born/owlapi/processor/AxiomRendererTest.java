@@ -0,0 +1,179 @@
+package de.tudresden.inf.lat.born.owlapi.processor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import de.tudresden.inf.lat.born.core.rule.FormulaConstructor;
+import de.tudresden.inf.lat.born.core.term.Clause;
+import de.tudresden.inf.lat.born.core.term.Term;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+
+/**
+ * This is a unit test for {@link AxiomRenderer}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class AxiomRendererTest {
+
+	static final String NAMESPACE = "https://lat.inf.tu-dresden.de/systems/born/born-example#";
+
+	static final String PROBABILITY = "https://lat.inf.tu-dresden.de/systems/born#probability";
+
+	OWLClass cls(OWLDataFactory factory, String name) {
+		return factory.getOWLClass(IRI.create(NAMESPACE + name));
+	}
+
+	OWLObjectProperty role(OWLDataFactory factory, String name) {
+		return factory.getOWLObjectProperty(IRI.create(NAMESPACE + name));
+	}
+
+	Set<OWLAnnotation> annotations(OWLDataFactory factory, String variable) {
+		return Collections.singleton(factory.getOWLAnnotation(
+				factory.getOWLAnnotationProperty(IRI.create(PROBABILITY)), factory.getOWLLiteral(variable)));
+	}
+
+	int id(OntologySession session, String name) {
+		return session.getIdentifier(NAMESPACE + name).get();
+	}
+
+	int roleId(OntologySession session, String name) {
+		IntegerEntityManager entityManager = session.getFactory().getEntityManager();
+		return entityManager.getEntities(IntegerEntityType.OBJECT_PROPERTY, false).stream()
+				.filter(id -> entityManager.getName(id).equals(NAMESPACE + name)).findFirst().get();
+	}
+
+	/**
+	 * Returns a session with the axioms <code>A sub exists r.B</code>,
+	 * <code>r sub s</code>, <code>s sub t</code>, <code>t sub u</code> (x1),
+	 * <code>r o r sub s</code> (x2), and <code>B sub C</code>.
+	 *
+	 * @return a session with role inclusions and a composition of roles
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	OntologySession createSession() throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory factory = manager.getOWLDataFactory();
+		Set<OWLAxiom> axioms = new HashSet<>();
+		axioms.add(factory.getOWLSubClassOfAxiom(cls(factory, "A"),
+				factory.getOWLObjectSomeValuesFrom(role(factory, "r"), cls(factory, "B"))));
+		axioms.add(factory.getOWLSubObjectPropertyOfAxiom(role(factory, "r"), role(factory, "s")));
+		axioms.add(factory.getOWLSubObjectPropertyOfAxiom(role(factory, "s"), role(factory, "t")));
+		axioms.add(factory.getOWLSubObjectPropertyOfAxiom(role(factory, "t"), role(factory, "u"),
+				annotations(factory, "x1")));
+		axioms.add(factory.getOWLSubPropertyChainOfAxiom(Arrays.asList(role(factory, "r"), role(factory, "r")),
+				role(factory, "s"), annotations(factory, "x2")));
+		axioms.add(factory.getOWLSubClassOfAxiom(cls(factory, "B"), cls(factory, "C")));
+		return new OntologySession(manager.createOntology(axioms));
+	}
+
+	Set<Clause> render(OntologySession session, AxiomRenderer renderer) {
+		Set<Clause> ret = new HashSet<>();
+		session.getNormalizedAxioms().forEach(axiom -> ret.addAll(axiom.accept(renderer)));
+		return ret;
+	}
+
+	/**
+	 * Tests that the existential restrictions on the right-hand side and the
+	 * super roles of annotated role axioms are expanded to all their super
+	 * roles, and that the role inclusions without annotations are not
+	 * rendered.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	@Test
+	public void testRoleExpansion() throws OWLOntologyCreationException {
+		OntologySession session = createSession();
+		FormulaConstructor c = new FormulaConstructor(session.getTermFactory());
+		AxiomRenderer instance = new AxiomRenderer(session.getFactory(), c, Optional.empty(),
+				new RoleHierarchy(session.getNormalizedAxioms()));
+		Set<Clause> clauses = render(session, instance);
+
+		Term a = instance.get(id(session, "A"));
+		Term b = instance.get(id(session, "B"));
+		Term r = instance.get(roleId(session, "r"));
+		Term s = instance.get(roleId(session, "s"));
+		Term t = instance.get(roleId(session, "t"));
+		Term u = instance.get(roleId(session, "u"));
+		List<Term> noContext = Collections.emptyList();
+		List<Term> x1 = Collections.singletonList(c.newCons("x1"));
+		List<Term> x2 = Collections.singletonList(c.newCons("x2"));
+
+		Assertions.assertTrue(clauses.contains(c.rule(c.gci(a, c.exists(r, b)), noContext)));
+		Assertions.assertTrue(clauses.contains(c.rule(c.gci(a, c.exists(s, b)), noContext)));
+		Assertions.assertTrue(clauses.contains(c.rule(c.gci(a, c.exists(t, b)), noContext)));
+		Assertions.assertFalse(clauses.contains(c.rule(c.gci(a, c.exists(u, b)), noContext)));
+
+		Assertions.assertTrue(clauses.contains(c.rule(c.ri(t, u), x1)));
+		Assertions.assertTrue(clauses.contains(c.rule(c.ri(c.chain(r, r), s), x2)));
+		Assertions.assertTrue(clauses.contains(c.rule(c.ri(c.chain(r, r), t), x2)));
+		Assertions.assertFalse(clauses.contains(c.rule(c.ri(c.chain(r, r), u), x2)));
+
+		Assertions.assertFalse(clauses.contains(c.rule(c.ri(r, s), noContext)));
+		Assertions.assertFalse(clauses.contains(c.rule(c.ri(s, t), noContext)));
+		Assertions.assertEquals(7, clauses.size());
+	}
+
+	/**
+	 * Tests that a renderer without role hierarchy renders each role
+	 * inclusion and does not expand the existential restrictions.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	@Test
+	public void testWithoutRoleHierarchy() throws OWLOntologyCreationException {
+		OntologySession session = createSession();
+		FormulaConstructor c = new FormulaConstructor(session.getTermFactory());
+		AxiomRenderer instance = new AxiomRenderer(session.getFactory(), c);
+		Set<Clause> clauses = render(session, instance);
+
+		Term a = instance.get(id(session, "A"));
+		Term b = instance.get(id(session, "B"));
+		Term r = instance.get(roleId(session, "r"));
+		Term s = instance.get(roleId(session, "s"));
+		List<Term> noContext = Collections.emptyList();
+
+		Assertions.assertTrue(clauses.contains(c.rule(c.gci(a, c.exists(r, b)), noContext)));
+		Assertions.assertFalse(clauses.contains(c.rule(c.gci(a, c.exists(s, b)), noContext)));
+		Assertions.assertTrue(clauses.contains(c.rule(c.ri(r, s), noContext)));
+		Assertions.assertEquals(6, clauses.size());
+	}
+
+	/**
+	 * Tests the context variables given by the annotations of the axioms.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	@Test
+	public void testGetContextVariables() throws OWLOntologyCreationException {
+		OntologySession session = createSession();
+		AxiomRenderer instance = new AxiomRenderer(session.getFactory(),
+				new FormulaConstructor(session.getTermFactory()), Optional.empty(),
+				new RoleHierarchy(session.getNormalizedAxioms()));
+		Assertions.assertEquals(new TreeSet<>(Arrays.asList("x1", "x2")),
+				instance.getContextVariables(session.getNormalizedAxioms()));
+	}
+
+}
@@ -0,0 +1,66 @@
+package de.tudresden.inf.lat.born.owlapi.processor;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/**
+ * This is a unit test for {@link EntitySymbolTable}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class EntitySymbolTableTest {
+
+	static final String NAMESPACE = "https://lat.inf.tu-dresden.de/systems/born/born-example#";
+
+	OWLClass cls(OWLDataFactory factory, String name) {
+		return factory.getOWLClass(IRI.create(NAMESPACE + name));
+	}
+
+	OntologySession createSession() throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory factory = manager.getOWLDataFactory();
+		Set<OWLAxiom> axioms = new HashSet<>();
+		axioms.add(factory.getOWLSubClassOfAxiom(cls(factory, "A"), cls(factory, "B")));
+		axioms.add(factory.getOWLClassAssertionAxiom(cls(factory, "A"),
+				factory.getOWLNamedIndividual(IRI.create(NAMESPACE + "a"))));
+		return new OntologySession(manager.createOntology(axioms));
+	}
+
+	/**
+	 * Tests that the names of entities in a query are replaced by compact
+	 * symbols, and that the compact symbols in a result are replaced back by
+	 * the names.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	@Test
+	public void testEncodeAndDecode() throws OWLOntologyCreationException {
+		OntologySession session = createSession();
+		EntitySymbolTable instance = session.getEntitySymbolTable();
+		int classA = session.getIdentifier(NAMESPACE + "A").get();
+		int individualA = session.getIdentifier(NAMESPACE + "a").get();
+		String symbolA = instance.getSymbol(classA);
+
+		String query = "query(sub('" + NAMESPACE + "A', X)).";
+		Assertions.assertEquals("query(sub(" + symbolA + ", X)).", instance.encode(query));
+		Assertions.assertEquals("query(sub('unknown', X)).", instance.encode("query(sub('unknown', X))."));
+
+		String result = "inst(" + instance.getSymbol(individualA) + ", " + symbolA + "):\t1\n";
+		Assertions.assertEquals("inst('" + NAMESPACE + "a', '" + NAMESPACE + "A'):\t1\n", instance.decode(result));
+		Assertions.assertTrue(instance.isSymbol(symbolA));
+		Assertions.assertFalse(instance.isSymbol("x1"));
+	}
+
+}
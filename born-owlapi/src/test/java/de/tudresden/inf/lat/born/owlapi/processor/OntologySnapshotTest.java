@@ -0,0 +1,171 @@
+package de.tudresden.inf.lat.born.owlapi.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/**
+ * This is a unit test for {@link OntologySnapshot}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class OntologySnapshotTest {
+
+	static final String NAMESPACE = "https://lat.inf.tu-dresden.de/systems/born/born-example#";
+
+	OWLClass cls(OWLDataFactory factory, String name) {
+		return factory.getOWLClass(IRI.create(NAMESPACE + name));
+	}
+
+	OWLOntology createOntology() throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory factory = manager.getOWLDataFactory();
+		Set<OWLAxiom> axioms = new HashSet<>();
+		axioms.add(factory.getOWLSubClassOfAxiom(cls(factory, "A"), cls(factory, "B")));
+		axioms.add(factory.getOWLSubClassOfAxiom(cls(factory, "B"), factory.getOWLObjectSomeValuesFrom(
+				factory.getOWLObjectProperty(IRI.create(NAMESPACE + "r")), cls(factory, "C"))));
+		axioms.add(factory.getOWLSubClassOfAxiom(
+				factory.getOWLObjectIntersectionOf(cls(factory, "C"), cls(factory, "D")), cls(factory, "E")));
+		axioms.add(factory.getOWLClassAssertionAxiom(cls(factory, "A"),
+				factory.getOWLNamedIndividual(IRI.create(NAMESPACE + "a"))));
+		return manager.createOntology(axioms);
+	}
+
+	/**
+	 * Tests that a session restored from a snapshot has the same normalized
+	 * axioms and identifiers, and that a snapshot with another checksum is
+	 * ignored.
+	 *
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	@Test
+	public void testWriteAndRead() throws IOException, OWLOntologyCreationException {
+		OWLOntology ontology = createOntology();
+		OntologySession session = new OntologySession(ontology);
+		OntologySnapshot instance = new OntologySnapshot();
+		File snapshotFile = File.createTempFile("ontology", OntologySnapshot.SNAPSHOT_EXTENSION);
+		snapshotFile.deleteOnExit();
+		byte[] checksum = new byte[] { 1, 2, 3, 4 };
+		instance.write(session, checksum, snapshotFile);
+
+		Optional<OntologySession> restored = instance.read(ontology, checksum, snapshotFile);
+		Assertions.assertTrue(restored.isPresent());
+		Assertions.assertEquals(session.getNormalizedAxioms(), restored.get().getNormalizedAxioms());
+		Assertions.assertEquals(session.getOntologySize(), restored.get().getOntologySize());
+		Assertions.assertEquals(session.getIdentifier(NAMESPACE + "E"), restored.get().getIdentifier(NAMESPACE + "E"));
+		Assertions.assertEquals(session.getIdentifier(NAMESPACE + "a"), restored.get().getIdentifier(NAMESPACE + "a"));
+		Assertions.assertTrue(session.isUpdatable());
+		Assertions.assertFalse(restored.get().isUpdatable());
+
+		Assertions.assertFalse(instance.read(ontology, new byte[] { 4, 3, 2, 1 }, snapshotFile).isPresent());
+	}
+
+	/**
+	 * Tests that a truncated or corrupted snapshot is rejected with an
+	 * {@link IOException} instead of another exception.
+	 *
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	@Test
+	public void testTruncatedSnapshot() throws IOException, OWLOntologyCreationException {
+		OWLOntology ontology = createOntology();
+		OntologySnapshot instance = new OntologySnapshot();
+		File snapshotFile = File.createTempFile("ontology", OntologySnapshot.SNAPSHOT_EXTENSION);
+		snapshotFile.deleteOnExit();
+		byte[] checksum = new byte[] { 1, 2, 3, 4 };
+		instance.write(new OntologySession(ontology), checksum, snapshotFile);
+		byte[] bytes = Files.readAllBytes(snapshotFile.toPath());
+
+		for (int length = 0; length < bytes.length; length++) {
+			Files.write(snapshotFile.toPath(), Arrays.copyOf(bytes, length));
+			if (length < 2 * Integer.BYTES) {
+				Assertions.assertFalse(instance.read(ontology, checksum, snapshotFile).isPresent());
+			} else {
+				Assertions.assertThrows(IOException.class, () -> instance.read(ontology, checksum, snapshotFile));
+			}
+		}
+
+		byte[] corrupted = Arrays.copyOf(bytes, bytes.length);
+		Arrays.fill(corrupted, 2 * Integer.BYTES, 3 * Integer.BYTES, (byte) 0xFF);
+		Files.write(snapshotFile.toPath(), corrupted);
+		Assertions.assertThrows(IOException.class, () -> instance.read(ontology, checksum, snapshotFile));
+	}
+
+	/**
+	 * Tests that a session restored from a snapshot does not load the OWL
+	 * ontology, and that a truncated snapshot is replaced.
+	 *
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	@Test
+	public void testGetSession() throws IOException, OWLOntologyCreationException {
+		OWLOntology ontology = createOntology();
+		File ontologyFile = File.createTempFile("ontology", ".owl");
+		ontologyFile.deleteOnExit();
+		Files.write(ontologyFile.toPath(), Arrays.asList("ontology"));
+		File directory = new File(Files.createTempDirectory("snapshots").toFile(), "snapshots");
+		OntologySnapshot instance = new OntologySnapshot(directory.getPath());
+		File snapshotFile = instance.getSnapshotFile(ontologyFile);
+		snapshotFile.deleteOnExit();
+		directory.deleteOnExit();
+		Assertions.assertEquals(directory, snapshotFile.getParentFile());
+
+		AtomicInteger loads = new AtomicInteger();
+		Supplier<OWLOntology> ontologyLoader = () -> {
+			loads.incrementAndGet();
+			return ontology;
+		};
+		OntologySession created = instance.getSession(ontologyFile, ontologyLoader);
+		Assertions.assertTrue(created.isUpdatable());
+		Assertions.assertTrue(snapshotFile.exists());
+		Assertions.assertEquals(1, loads.get());
+
+		OntologySession restored = instance.getSession(ontologyFile, ontologyLoader);
+		Assertions.assertFalse(restored.isUpdatable());
+		Assertions.assertFalse(restored.isOntologyLoaded());
+		Assertions.assertEquals(ontology.getAxiomCount(), restored.getOWLAxiomCount());
+		Assertions.assertEquals(created.getPrefixes(), restored.getPrefixes());
+		Assertions.assertEquals(OntologySession.getClassNames(ontology), restored.getClassNames());
+		Assertions.assertFalse(restored.getClassNames().isEmpty());
+		Assertions.assertEquals(created.getNormalizedAxioms(), restored.getNormalizedAxioms());
+		Assertions.assertEquals(1, loads.get());
+		Assertions.assertEquals(ontology, restored.getOntology());
+		Assertions.assertEquals(2, loads.get());
+
+		byte[] bytes = Files.readAllBytes(snapshotFile.toPath());
+		Files.write(snapshotFile.toPath(), Arrays.copyOf(bytes, bytes.length / 2));
+		OntologySession rebuilt = instance.getSession(ontologyFile, ontologyLoader);
+		Assertions.assertTrue(rebuilt.isUpdatable());
+		Assertions.assertEquals(3, loads.get());
+		Assertions.assertFalse(instance.getSession(ontologyFile, ontologyLoader).isUpdatable());
+		Assertions.assertEquals(3, loads.get());
+	}
+
+}
@@ -0,0 +1,154 @@
+package de.tudresden.inf.lat.born.owlapi.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import de.tudresden.inf.lat.born.problog.engine.NativeInferenceEngine;
+
+/**
+ * This is a unit test for {@link ProbabilisticInstanceRetriever}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class ProbabilisticInstanceRetrieverTest {
+
+	static final String NAMESPACE = "https://lat.inf.tu-dresden.de/systems/born/born-example#";
+
+	static final String PROBABILITY = "https://lat.inf.tu-dresden.de/systems/born#probability";
+
+	static final String NETWORK = "0.3::x1.\n0.6::x2.\n";
+
+	static final double EPSILON = 1e-9;
+
+	OWLClass cls(OWLDataFactory factory, String name) {
+		return factory.getOWLClass(IRI.create(NAMESPACE + name));
+	}
+
+	OWLAxiom subClassOf(OWLDataFactory factory, String subClass, String superClass, String variable) {
+		OWLAnnotation annotation = factory.getOWLAnnotation(factory.getOWLAnnotationProperty(IRI.create(PROBABILITY)),
+				factory.getOWLLiteral(variable));
+		return factory.getOWLSubClassOfAxiom(cls(factory, subClass), cls(factory, superClass),
+				Collections.singleton(annotation));
+	}
+
+	OWLOntology createOntology() throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory factory = manager.getOWLDataFactory();
+		Set<OWLAxiom> axioms = new HashSet<>();
+		axioms.add(subClassOf(factory, "A", "C", "x1"));
+		axioms.add(subClassOf(factory, "B", "C", "x2"));
+		axioms.add(factory.getOWLClassAssertionAxiom(cls(factory, "A"),
+				factory.getOWLNamedIndividual(IRI.create(NAMESPACE + "a"))));
+		axioms.add(factory.getOWLClassAssertionAxiom(cls(factory, "B"),
+				factory.getOWLNamedIndividual(IRI.create(NAMESPACE + "b"))));
+		return manager.createOntology(axioms);
+	}
+
+	List<String> getIndividuals(List<ProbabilisticInstance> instances) {
+		return instances.stream().map(ProbabilisticInstance::getIndividual).collect(Collectors.toList());
+	}
+
+	/**
+	 * Tests parsing the result of a query processor.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	@Test
+	public void testParseResult() throws OWLOntologyCreationException {
+		ProbabilisticInstanceRetriever instance = new ProbabilisticInstanceRetriever(
+				new OntologySession(createOntology()), NETWORK, new NativeInferenceEngine());
+		String result = "inst('" + NAMESPACE + "a','" + NAMESPACE + "C'):\t0.3\n" //
+				+ "sub('" + NAMESPACE + "A','" + NAMESPACE + "C'):\t0.3\n" //
+				+ "inst('" + NAMESPACE + "b','" + NAMESPACE + "C'):\tnot a number\n";
+		Assertions.assertEquals(Collections.singletonList(new ProbabilisticInstance(NAMESPACE + "a", 0.3)),
+				instance.parseResult(result));
+	}
+
+	/**
+	 * Tests retrieving the instances of a named class with different
+	 * thresholds.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 */
+	@Test
+	public void testRetrieve() throws OWLOntologyCreationException, IOException {
+		ProbabilisticInstanceRetriever instance = new ProbabilisticInstanceRetriever(
+				new OntologySession(createOntology()), NETWORK, new NativeInferenceEngine());
+
+		List<ProbabilisticInstance> instances = instance
+				.retrieve(NAMESPACE + "C", 0, new ProcessorExecutionResultImpl()).collect(Collectors.toList());
+		Assertions.assertEquals(Arrays.asList(NAMESPACE + "b", NAMESPACE + "a"), getIndividuals(instances));
+		Assertions.assertEquals(0.6, instances.get(0).getProbability(), EPSILON);
+		Assertions.assertEquals(0.3, instances.get(1).getProbability(), EPSILON);
+
+		Assertions.assertEquals(Collections.singletonList(NAMESPACE + "b"), getIndividuals(instance
+				.retrieve(NAMESPACE + "C", 0.5, new ProcessorExecutionResultImpl()).collect(Collectors.toList())));
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> instance.retrieve(NAMESPACE + "C", 2, new ProcessorExecutionResultImpl()));
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> instance.retrieve(NAMESPACE + "Z", 0, new ProcessorExecutionResultImpl()));
+	}
+
+	/**
+	 * Tests that the instances of a class expression are the same for a
+	 * session restored from a snapshot, which cannot be updated, and for a
+	 * session created by translating the ontology.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 */
+	@Test
+	public void testRetrieveClassExpressionWithRestoredSession() throws OWLOntologyCreationException, IOException {
+		OWLOntology ontology = createOntology();
+		OWLDataFactory factory = ontology.getOWLOntologyManager().getOWLDataFactory();
+		OWLClassExpression classExpression = factory.getOWLObjectIntersectionOf(cls(factory, "A"),
+				cls(factory, "C"));
+
+		OntologySession session = new OntologySession(ontology);
+		OntologySnapshot snapshot = new OntologySnapshot();
+		File snapshotFile = File.createTempFile("ontology", OntologySnapshot.SNAPSHOT_EXTENSION);
+		snapshotFile.deleteOnExit();
+		byte[] checksum = new byte[] { 1, 2, 3, 4 };
+		snapshot.write(session, checksum, snapshotFile);
+		Optional<OntologySession> restored = snapshot.read(ontology, checksum, snapshotFile);
+		Assertions.assertTrue(restored.isPresent());
+		Assertions.assertFalse(restored.get().isUpdatable());
+
+		List<ProbabilisticInstance> expected = (new ProbabilisticInstanceRetriever(session, NETWORK,
+				new NativeInferenceEngine())).retrieve(classExpression, 0, new ProcessorExecutionResultImpl())
+						.collect(Collectors.toList());
+		List<ProbabilisticInstance> actual = (new ProbabilisticInstanceRetriever(restored.get(), NETWORK,
+				new NativeInferenceEngine())).retrieve(classExpression, 0, new ProcessorExecutionResultImpl())
+						.collect(Collectors.toList());
+		Assertions.assertEquals(Collections.singletonList(NAMESPACE + "a"), getIndividuals(expected));
+		Assertions.assertEquals(expected, actual);
+	}
+
+}
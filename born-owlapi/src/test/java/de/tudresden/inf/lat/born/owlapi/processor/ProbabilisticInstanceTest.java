@@ -0,0 +1,47 @@
+package de.tudresden.inf.lat.born.owlapi.processor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This is a unit test for {@link ProbabilisticInstance}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class ProbabilisticInstanceTest {
+
+	/**
+	 * Tests that instances are sorted by decreasing probability, and then by
+	 * name.
+	 */
+	@Test
+	public void testByDecreasingProbability() {
+		ProbabilisticInstance a = new ProbabilisticInstance("a", 0.3);
+		ProbabilisticInstance b = new ProbabilisticInstance("b", 0.6);
+		ProbabilisticInstance c = new ProbabilisticInstance("c", 0.3);
+		List<ProbabilisticInstance> list = new ArrayList<>(Arrays.asList(c, a, b));
+		Collections.sort(list, ProbabilisticInstance.BY_DECREASING_PROBABILITY);
+		Assertions.assertEquals(Arrays.asList(b, a, c), list);
+	}
+
+	/**
+	 * Tests that instances with the same individual and probability are
+	 * equal.
+	 */
+	@Test
+	public void testEquals() {
+		ProbabilisticInstance instance = new ProbabilisticInstance("a", 0.3);
+		Assertions.assertEquals(new ProbabilisticInstance("a", 0.3), instance);
+		Assertions.assertEquals(new ProbabilisticInstance("a", 0.3).hashCode(), instance.hashCode());
+		Assertions.assertNotEquals(new ProbabilisticInstance("a", 0.4), instance);
+		Assertions.assertNotEquals(new ProbabilisticInstance("b", 0.3), instance);
+		Assertions.assertEquals("a\t0.3", instance.toString());
+	}
+
+}
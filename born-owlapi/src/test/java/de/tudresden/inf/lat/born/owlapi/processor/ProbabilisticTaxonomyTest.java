@@ -0,0 +1,62 @@
+package de.tudresden.inf.lat.born.owlapi.processor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This is a unit test for {@link ProbabilisticTaxonomy}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class ProbabilisticTaxonomyTest {
+
+	ProbabilisticTaxonomy createTaxonomy() {
+		Set<String> classes = new HashSet<>(Arrays.asList("a", "b", "c", "d"));
+		Map<String, Map<String, Double>> superClasses = new HashMap<>();
+		superClasses.put("a", new HashMap<>());
+		superClasses.get("a").put("b", 0.9);
+		superClasses.get("a").put("c", 0.8);
+		superClasses.get("a").put("d", 0.3);
+		superClasses.put("b", new HashMap<>());
+		superClasses.get("b").put("c", 0.7);
+		superClasses.put("c", new HashMap<>());
+		superClasses.get("c").put("b", 0.6);
+		return new ProbabilisticTaxonomy(classes, superClasses);
+	}
+
+	/**
+	 * Tests the superclasses and subclasses with different thresholds.
+	 */
+	@Test
+	public void testSuperClassesAndSubClasses() {
+		ProbabilisticTaxonomy instance = createTaxonomy();
+		Assertions.assertEquals(new TreeSet<>(Arrays.asList("b", "c", "d")), instance.getSuperClasses("a", 0.1));
+		Assertions.assertEquals(new TreeSet<>(Arrays.asList("b", "c")), instance.getSuperClasses("a", 0.5));
+		Assertions.assertEquals(Collections.singleton("a"), instance.getSubClasses("d", 0.3));
+		Assertions.assertEquals(Collections.emptySet(), instance.getSubClasses("d", 0.5));
+		Assertions.assertEquals(1, instance.getProbability("d", "d"));
+		Assertions.assertEquals(0, instance.getProbability("d", "a"));
+	}
+
+	/**
+	 * Tests the equivalent classes and the direct superclasses.
+	 */
+	@Test
+	public void testDirectSuperClasses() {
+		ProbabilisticTaxonomy instance = createTaxonomy();
+		Assertions.assertEquals(new TreeSet<>(Arrays.asList("b", "c")), instance.getEquivalentClasses("b", 0.5));
+		Assertions.assertEquals(new TreeSet<>(Arrays.asList("b", "c")), instance.getDirectSuperClasses("a", 0.5));
+		Assertions.assertEquals(Collections.singleton("b"), instance.getDirectSuperClasses("a", 0.65));
+		Assertions.assertEquals(Collections.singleton("a"), instance.getDirectSubClasses("c", 0.5));
+	}
+
+}
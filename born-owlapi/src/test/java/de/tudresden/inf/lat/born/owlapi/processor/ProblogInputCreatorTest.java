@@ -1,12 +1,27 @@
 package de.tudresden.inf.lat.born.owlapi.processor;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
 
+import de.tudresden.inf.lat.born.problog.type.ProblogProgram;
 import de.tudresden.inf.lat.util.map.OptMap;
 import de.tudresden.inf.lat.util.map.OptMapImpl;
 
@@ -19,6 +34,29 @@ import de.tudresden.inf.lat.util.map.OptMapImpl;
  */
 public class ProblogInputCreatorTest {
 
+	static final String NAMESPACE = "https://lat.inf.tu-dresden.de/systems/born/born-example#";
+
+	static final String PROBABILITY = "https://lat.inf.tu-dresden.de/systems/born#probability";
+
+	static final String NETWORK = "0.3::x1.\n0.4::x2.\n0.5::x3.\n0.6::x4.\n";
+
+	OWLAxiom subClassOf(OWLDataFactory factory, String subClass, String superClass, String variable) {
+		OWLAnnotation annotation = factory.getOWLAnnotation(factory.getOWLAnnotationProperty(IRI.create(PROBABILITY)),
+				factory.getOWLLiteral(variable));
+		return factory.getOWLSubClassOfAxiom(factory.getOWLClass(IRI.create(NAMESPACE + subClass)),
+				factory.getOWLClass(IRI.create(NAMESPACE + superClass)), Collections.singleton(annotation));
+	}
+
+	OntologySession createSession() throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory factory = manager.getOWLDataFactory();
+		Set<OWLAxiom> axioms = new HashSet<>();
+		axioms.add(subClassOf(factory, "A", "B", "x1"));
+		axioms.add(subClassOf(factory, "B", "C", "x2"));
+		axioms.add(subClassOf(factory, "D", "E", "x3"));
+		return new OntologySession(manager.createOntology(axioms));
+	}
+
 	/**
 	 * Tests sorting strings by its length first, and then alphabetically.
 	 */
@@ -78,4 +116,135 @@ public class ProblogInputCreatorTest {
 		}
 	}
 
+	/**
+	 * Tests splitting the result of a ProbLog program with several queries.
+	 */
+	@Test
+	public void testSplitResult() {
+		ProblogInputCreator instance = new ProblogInputCreator();
+		List<String> queries = new ArrayList<>();
+		queries.add("query(sub('http://example.org#A', 'http://example.org#B')).");
+		queries.add("query(sub('http://example.org#C', X)).");
+		queries.add("query(sub('http://example.org#D', 'http://example.org#B')).");
+		String result = "sub('http://example.org#A','http://example.org#B'):\t0.5\n" //
+				+ "sub('http://example.org#C','http://example.org#A'):\t0.25\n" //
+				+ "sub('http://example.org#C','http://example.org#B'):\t0.125\n";
+
+		List<String> expected = new ArrayList<>();
+		expected.add("sub('http://example.org#A','http://example.org#B'):\t0.5\n");
+		expected.add("sub('http://example.org#C','http://example.org#A'):\t0.25\n"
+				+ "sub('http://example.org#C','http://example.org#B'):\t0.125\n");
+		expected.add("");
+		Assertions.assertEquals(expected, instance.splitResult(queries, result));
+	}
+
+	/**
+	 * Tests that a query with a repeated variable only gets the lines where
+	 * all the occurrences of the variable have the same value.
+	 */
+	@Test
+	public void testSplitResultWithRepeatedVariable() {
+		ProblogInputCreator instance = new ProblogInputCreator();
+		List<String> queries = new ArrayList<>();
+		queries.add("query(sub(X, X)).");
+		queries.add("query(sub(X, _)).");
+		String result = "sub('http://example.org#A','http://example.org#A'):\t1\n" //
+				+ "sub('http://example.org#A','http://example.org#B'):\t0.5\n";
+
+		List<String> expected = new ArrayList<>();
+		expected.add("sub('http://example.org#A','http://example.org#A'):\t1\n");
+		expected.add("sub('http://example.org#A','http://example.org#A'):\t1\n"
+				+ "sub('http://example.org#A','http://example.org#B'):\t0.5\n");
+		Assertions.assertEquals(expected, instance.splitResult(queries, result));
+	}
+
+	/**
+	 * Tests that the Bayesian network of a program only retains the clauses
+	 * of the context variables of the module, and that the numbers of
+	 * retained and dropped clauses are stored in the execution result.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 */
+	@Test
+	public void testNetworkClauseCounts() throws OWLOntologyCreationException, IOException {
+		OntologySession session = createSession();
+		ProblogInputCreator instance = new ProblogInputCreator();
+		ProcessorExecutionResult executionResult = new ProcessorExecutionResultImpl();
+		String query = "query(sub('" + NAMESPACE + "A', '" + NAMESPACE + "C')).";
+		instance.createProblogProgram(true, "", session, NETWORK, query, executionResult, new StringBuffer());
+
+		Assertions.assertEquals(2, executionResult.getRetainedNetworkClauses());
+		Assertions.assertEquals(2, executionResult.getDroppedNetworkClauses());
+	}
+
+	/**
+	 * Tests that the Bayesian network of a program also retains the clauses
+	 * of the variables used in the additional completion rules.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 */
+	@Test
+	public void testNetworkClauseCountsWithAdditionalRules() throws OWLOntologyCreationException, IOException {
+		OntologySession session = createSession();
+		ProblogInputCreator instance = new ProblogInputCreator();
+		ProcessorExecutionResult executionResult = new ProcessorExecutionResultImpl();
+		String query = "query(sub('" + NAMESPACE + "A', '" + NAMESPACE + "C')).";
+		String additionalRules = "sub(X, Y) :- gci(X, Y), x3.\n";
+		instance.createProblogProgram(true, additionalRules, session, NETWORK, query, executionResult,
+				new StringBuffer());
+
+		Assertions.assertEquals(3, executionResult.getRetainedNetworkClauses());
+		Assertions.assertEquals(1, executionResult.getDroppedNetworkClauses());
+	}
+
+	/**
+	 * Tests collecting the symbols of additional completion rules, including
+	 * the default empty rules.
+	 *
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 */
+	@Test
+	public void testParseSymbols() throws IOException {
+		ProblogInputCreator instance = new ProblogInputCreator();
+		Assertions.assertEquals(Collections.emptySet(), instance.parseSymbols(new StringReader("")));
+		Assertions.assertEquals(new TreeSet<>(Arrays.asList("X", "Y", "gci", "sub", "x3")),
+				instance.parseSymbols(new StringReader("sub(X, Y) :- gci(X, Y), x3.\n")));
+	}
+
+	/**
+	 * Tests the relevant symbols of queries, including an empty text.
+	 *
+	 * @throws IOException
+	 *             if something went wrong with I/O
+	 */
+	@Test
+	public void testParseRelevantSymbols() throws IOException {
+		ProblogInputCreator instance = new ProblogInputCreator();
+		Assertions.assertEquals(Collections.emptySet(), instance.parseRelevantSymbols(new StringReader("")));
+		Assertions.assertEquals(Collections.emptySet(), instance.parseRelevantSymbols(new StringReader("query.")));
+		Assertions.assertEquals(Collections.singleton("a"),
+				instance.parseRelevantSymbols(new StringReader("query(sub(a, b)).")));
+	}
+
+	/**
+	 * Tests recognizing the default completion rules shown as text.
+	 */
+	@Test
+	public void testIsDefaultCompletionRules() {
+		ProblogInputCreator instance = new ProblogInputCreator();
+		String defaultCompletionRules = (new ProblogProgram())
+				.asStringWithTabs(instance.getDefaultCompletionRules());
+		Assertions.assertTrue(instance.isDefaultCompletionRules(defaultCompletionRules));
+		Assertions.assertTrue(instance.isDefaultCompletionRules(defaultCompletionRules.replace("\t", "  ")));
+		Assertions.assertFalse(instance.isDefaultCompletionRules(defaultCompletionRules + "sub(X, X) :- con(X).\n"));
+		Assertions.assertFalse(instance.isDefaultCompletionRules(""));
+	}
+
 }
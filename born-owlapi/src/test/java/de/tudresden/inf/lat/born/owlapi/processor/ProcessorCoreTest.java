@@ -0,0 +1,83 @@
+package de.tudresden.inf.lat.born.owlapi.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.born.problog.type.ProblogProgram;
+
+/**
+ * This is a unit test for {@link ProcessorCore}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class ProcessorCoreTest {
+
+	/**
+	 * Tests that a file query processor gets the program written to a
+	 * temporary file, and that the file is deleted after processing it.
+	 *
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	@Test
+	public void testProcessWithFileQueryProcessor() throws IOException {
+		ProblogProgram program = new ProblogProgram();
+		program.setQueryListAddendum("query(sub(a, b)).");
+		List<File> files = new ArrayList<>();
+		FileQueryProcessor queryProcessor = programFile -> {
+			files.add(programFile);
+			return new String(Files.readAllBytes(programFile.toPath()));
+		};
+
+		String result = (new ProcessorCore()).process(queryProcessor, program, new ProcessorExecutionResultImpl());
+
+		Assertions.assertEquals(1, files.size());
+		Assertions.assertFalse(files.get(0).exists());
+		Assertions.assertTrue(result.contains("query(sub(a, b))."));
+	}
+
+	/**
+	 * Tests that the ProbLog input creator presaturates the ontology only if
+	 * presaturation is requested and no explanations are requested. The same
+	 * creator is used for single queries and for batches of queries.
+	 */
+	@Test
+	public void testCreateProblogInputCreator() {
+		ProcessorCore instance = new ProcessorCore();
+		ProcessorConfiguration conf = new ProcessorConfigurationImpl();
+		Assertions.assertFalse(instance.createProblogInputCreator(conf).isPresaturating());
+
+		conf.setPresaturating(true);
+		Assertions.assertTrue(instance.createProblogInputCreator(conf).isPresaturating());
+
+		conf.setNumberOfExplanations(2);
+		Assertions.assertFalse(instance.createProblogInputCreator(conf).isPresaturating());
+	}
+
+	/**
+	 * Tests that explanations are not computed for a program that was not
+	 * created with the default completion rules, even if its additional
+	 * completion rules are the default ones, and that the program is not
+	 * modified.
+	 */
+	@Test
+	public void testExplainWithoutDefaultCompletionRules() {
+		String defaultCompletionRules = (new ProblogProgram())
+				.asStringWithTabs((new ProblogInputCreator()).getDefaultCompletionRules());
+		ProblogProgram program = new ProblogProgram();
+		program.setAdditionalCompletionRulesAsText(defaultCompletionRules);
+
+		Assertions.assertThrows(UnsupportedOperationException.class,
+				() -> (new ProcessorCore()).explain(program, false, 1));
+		Assertions.assertTrue(program.getData().getCompletionRules().isEmpty());
+		Assertions.assertEquals(defaultCompletionRules, program.getAdditionalCompletionRulesAsText());
+	}
+
+}
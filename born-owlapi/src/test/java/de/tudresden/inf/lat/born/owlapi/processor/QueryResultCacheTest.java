@@ -0,0 +1,75 @@
+package de.tudresden.inf.lat.born.owlapi.processor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.born.core.term.Clause;
+import de.tudresden.inf.lat.born.core.term.ClauseImpl;
+import de.tudresden.inf.lat.born.core.term.Term;
+import de.tudresden.inf.lat.born.core.term.TermImpl;
+import de.tudresden.inf.lat.born.problog.type.ProblogProgram;
+
+/**
+ * This is a unit test for {@link QueryResultCache}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class QueryResultCacheTest {
+
+	Clause gci(String subClass, String superClass) {
+		List<Term> arguments = new ArrayList<>();
+		arguments.add(new TermImpl("'" + subClass + "'"));
+		arguments.add(new TermImpl("'" + superClass + "'"));
+		return new ClauseImpl(new TermImpl("gci", arguments), Collections.emptyList());
+	}
+
+	ProblogProgram createProgram(List<Clause> ontology) {
+		ProblogProgram program = new ProblogProgram();
+		program.getData().setOntology(ontology);
+		program.setBayesianNetworkAddendum("0.7::x0.");
+		program.setQueryListAddendum("query(sub('a', 'c')).");
+		return program;
+	}
+
+	/**
+	 * Tests that the key does not depend on the order of the ontology clauses.
+	 */
+	@Test
+	public void testGetKey() {
+		QueryResultCache instance = new QueryResultCache();
+		List<Clause> ontology = new ArrayList<>();
+		ontology.add(gci("a", "b"));
+		ontology.add(gci("b", "c"));
+		String key = instance.getKey(createProgram(ontology));
+
+		Collections.reverse(ontology);
+		Assertions.assertEquals(key, instance.getKey(createProgram(ontology)));
+
+		ontology.add(gci("c", "d"));
+		Assertions.assertNotEquals(key, instance.getKey(createProgram(ontology)));
+	}
+
+	/**
+	 * Tests the eviction of the least recently used result and the counters.
+	 */
+	@Test
+	public void testGetAndPut() {
+		QueryResultCache instance = new QueryResultCache(2);
+		instance.put("a", "0.1");
+		instance.put("b", "0.2");
+		Assertions.assertEquals(Optional.of("0.1"), instance.get("a"));
+		instance.put("c", "0.3");
+		Assertions.assertEquals(Optional.empty(), instance.get("b"));
+		Assertions.assertEquals(Optional.of("0.3"), instance.get("c"));
+		Assertions.assertEquals(2, instance.size());
+		Assertions.assertEquals(2, instance.getHits());
+		Assertions.assertEquals(1, instance.getMisses());
+	}
+
+}
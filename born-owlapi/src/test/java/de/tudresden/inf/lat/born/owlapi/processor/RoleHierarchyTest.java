@@ -0,0 +1,124 @@
+package de.tudresden.inf.lat.born.owlapi.processor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.RI2Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+
+/**
+ * This is a unit test for {@link RoleHierarchy}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class RoleHierarchyTest {
+
+	static final String NAMESPACE = "https://lat.inf.tu-dresden.de/systems/born/born-example#";
+
+	static final String PROBABILITY = "https://lat.inf.tu-dresden.de/systems/born#probability";
+
+	OWLObjectProperty role(OWLDataFactory factory, String name) {
+		return factory.getOWLObjectProperty(IRI.create(NAMESPACE + name));
+	}
+
+	int roleId(OntologySession session, String name) {
+		IntegerEntityManager entityManager = session.getFactory().getEntityManager();
+		return entityManager.getEntities(IntegerEntityType.OBJECT_PROPERTY, false).stream()
+				.filter(id -> entityManager.getName(id).equals(NAMESPACE + name)).findFirst().get();
+	}
+
+	Set<Integer> roleIds(OntologySession session, String... names) {
+		return Arrays.asList(names).stream().map(name -> roleId(session, name)).collect(Collectors.toSet());
+	}
+
+	/**
+	 * Returns a session with the role inclusions <code>r sub s</code>,
+	 * <code>s sub t</code>, <code>t sub u</code> (x1), <code>v sub w</code>,
+	 * and <code>w sub v</code>.
+	 *
+	 * @return a session with role inclusions
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	OntologySession createSession() throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory factory = manager.getOWLDataFactory();
+		OWLAnnotation annotation = factory.getOWLAnnotation(factory.getOWLAnnotationProperty(IRI.create(PROBABILITY)),
+				factory.getOWLLiteral("x1"));
+		Set<OWLAxiom> axioms = new HashSet<>();
+		axioms.add(factory.getOWLSubObjectPropertyOfAxiom(role(factory, "r"), role(factory, "s")));
+		axioms.add(factory.getOWLSubObjectPropertyOfAxiom(role(factory, "s"), role(factory, "t")));
+		axioms.add(factory.getOWLSubObjectPropertyOfAxiom(role(factory, "t"), role(factory, "u"),
+				Collections.singleton(annotation)));
+		axioms.add(factory.getOWLSubObjectPropertyOfAxiom(role(factory, "v"), role(factory, "w")));
+		axioms.add(factory.getOWLSubObjectPropertyOfAxiom(role(factory, "w"), role(factory, "v")));
+		return new OntologySession(manager.createOntology(axioms));
+	}
+
+	/**
+	 * Tests that the super roles are the reflexive and transitive closure of
+	 * the role inclusions without annotations, also when they have cycles.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	@Test
+	public void testGetSuperRoles() throws OWLOntologyCreationException {
+		OntologySession session = createSession();
+		RoleHierarchy instance = new RoleHierarchy(session.getNormalizedAxioms());
+
+		Assertions.assertEquals(roleIds(session, "r", "s", "t"), instance.getSuperRoles(roleId(session, "r")));
+		Assertions.assertEquals(roleIds(session, "s", "t"), instance.getSuperRoles(roleId(session, "s")));
+		Assertions.assertEquals(roleIds(session, "t"), instance.getSuperRoles(roleId(session, "t")));
+		Assertions.assertEquals(roleIds(session, "u"), instance.getSuperRoles(roleId(session, "u")));
+		Assertions.assertEquals(roleIds(session, "v", "w"), instance.getSuperRoles(roleId(session, "v")));
+		Assertions.assertEquals(roleIds(session, "v", "w"), instance.getSuperRoles(roleId(session, "w")));
+		Assertions.assertSame(instance.getSuperRoles(roleId(session, "r")),
+				instance.getSuperRoles(roleId(session, "r")));
+
+		Assertions.assertEquals(Collections.singleton(roleId(session, "r")),
+				new RoleHierarchy().getSuperRoles(roleId(session, "r")));
+	}
+
+	/**
+	 * Tests that the role hierarchy contains exactly the role inclusions
+	 * without annotations.
+	 *
+	 * @throws OWLOntologyCreationException
+	 *             if something went wrong when creating the ontology
+	 */
+	@Test
+	public void testContains() throws OWLOntologyCreationException {
+		OntologySession session = createSession();
+		RoleHierarchy instance = new RoleHierarchy(session.getNormalizedAxioms());
+		List<RI2Axiom> roleInclusions = session.getNormalizedAxioms().stream()
+				.filter(axiom -> axiom instanceof RI2Axiom).map(axiom -> (RI2Axiom) axiom)
+				.collect(Collectors.toList());
+		Assertions.assertEquals(5, roleInclusions.size());
+
+		roleInclusions.forEach(axiom -> Assertions.assertEquals(axiom.getAnnotations().isEmpty(),
+				instance.contains(axiom)));
+		Assertions.assertTrue(roleInclusions.stream().anyMatch(axiom -> !instance.contains(axiom)
+				&& axiom.getSubProperty() == roleId(session, "t")
+				&& axiom.getSuperProperty() == roleId(session, "u")));
+		roleInclusions.forEach(axiom -> Assertions.assertFalse(new RoleHierarchy().contains(axiom)));
+	}
+
+}
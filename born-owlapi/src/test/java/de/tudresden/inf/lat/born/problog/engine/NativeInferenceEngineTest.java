@@ -0,0 +1,227 @@
+package de.tudresden.inf.lat.born.problog.engine;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.born.core.rule.BR1Rule;
+import de.tudresden.inf.lat.born.core.rule.BR2Rule;
+import de.tudresden.inf.lat.born.core.rule.BR3Rule;
+import de.tudresden.inf.lat.born.core.rule.CR1Rule;
+import de.tudresden.inf.lat.born.core.rule.CR2Rule;
+import de.tudresden.inf.lat.born.core.rule.CR3Rule;
+import de.tudresden.inf.lat.born.core.rule.CR4Rule;
+import de.tudresden.inf.lat.born.core.rule.CR5Rule;
+import de.tudresden.inf.lat.born.core.rule.CR6Rule;
+import de.tudresden.inf.lat.born.core.rule.CR7Rule;
+import de.tudresden.inf.lat.born.core.rule.FR1Rule;
+import de.tudresden.inf.lat.born.core.rule.FormulaConstructor;
+import de.tudresden.inf.lat.born.core.term.Clause;
+import de.tudresden.inf.lat.born.core.term.Term;
+import de.tudresden.inf.lat.born.problog.parser.ProblogParser;
+import de.tudresden.inf.lat.born.problog.type.ProblogProgram;
+
+/**
+ * This is a unit test for {@link NativeInferenceEngine}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class NativeInferenceEngineTest {
+
+	final String NETWORK_0 = "" + //
+			"0.5::x1." + //
+			"\n0.4::x2 :- x1." + //
+			"\n0.1::x2 :- \\+x1." + //
+			"\n0.3::x3." + //
+			"\n";
+
+	final String NETWORK_1 = "" + //
+			"0.8::x1." + //
+			"\n0.4::x2 :- x1." + //
+			"\n0.1::x2 :- \\+x1." + //
+			"\n0.6::x3." + //
+			"\n";
+
+	final double DELTA = 1e-9;
+
+	Term cons(String name) {
+		return (new FormulaConstructor()).newCons("'" + name + "'");
+	}
+
+	Clause axiom(Term left, Term right, String variable) {
+		FormulaConstructor c = new FormulaConstructor();
+		List<Term> body = (variable == null) ? Collections.emptyList()
+				: Collections.singletonList(c.newCons(variable));
+		return c.rule(c.gci(left, right), body);
+	}
+
+	/**
+	 * Returns a program with the axioms <code>A sub B</code> (x1),
+	 * <code>B sub C</code> (x2), <code>A sub exists r.D</code>,
+	 * <code>exists r.D sub E</code> (x3), and <code>B and E sub F</code>.
+	 *
+	 * @return a program
+	 */
+	ProblogProgram createProgram() {
+		FormulaConstructor c = new FormulaConstructor();
+		ProblogProgram program = new ProblogProgram();
+		program.getData().setCompletionRules(Arrays.asList(new FR1Rule(), new BR1Rule(), new BR2Rule(),
+				new BR3Rule(), new CR1Rule(), new CR2Rule(), new CR3Rule(), new CR4Rule()));
+		List<Clause> ontology = new ArrayList<>();
+		Arrays.asList("A", "B", "C", "D", "E", "F")
+				.forEach(name -> ontology.add(c.rule(c.con(cons(name)), Collections.emptyList())));
+		ontology.add(c.rule(c.role(cons("r")), Collections.emptyList()));
+		ontology.add(axiom(cons("A"), cons("B"), "x1"));
+		ontology.add(axiom(cons("B"), cons("C"), "x2"));
+		ontology.add(axiom(cons("A"), c.exists(cons("r"), cons("D")), null));
+		ontology.add(axiom(c.exists(cons("r"), cons("D")), cons("E"), "x3"));
+		ontology.add(axiom(c.and(cons("B"), cons("E")), cons("F"), null));
+		program.getData().setOntology(ontology);
+		program.getData().setBayesianNetwork((new ProblogParser()).parse(NETWORK_0));
+		return program;
+	}
+
+	Map<String, Double> parseResult(String result) {
+		Map<String, Double> ret = new TreeMap<>();
+		new BufferedReader(new StringReader(result)).lines().forEach(line -> {
+			int pos = line.lastIndexOf(':');
+			ret.put(line.substring(0, pos), Double.parseDouble(line.substring(pos + 1).trim()));
+		});
+		return ret;
+	}
+
+	/**
+	 * Test for subsumptions.
+	 */
+	@Test
+	public void testSubsumption() {
+		ProblogProgram program = createProgram();
+		program.setQueryListAddendum("query(sub('A', X)).\nquery(sub('B', 'C')).\nquery(sub('C', 'A')).");
+		Map<String, Double> result = parseResult((new NativeInferenceEngine()).evaluate(program));
+
+		Assertions.assertEquals(1, result.get("sub('A','A')"), DELTA);
+		Assertions.assertEquals(0.5, result.get("sub('A','B')"), DELTA);
+		Assertions.assertEquals(0.2, result.get("sub('A','C')"), DELTA);
+		Assertions.assertEquals(0.3, result.get("sub('A','E')"), DELTA);
+		Assertions.assertEquals(0.15, result.get("sub('A','F')"), DELTA);
+		Assertions.assertFalse(result.containsKey("sub('A','D')"));
+		Assertions.assertEquals(0.25, result.get("sub('B','C')"), DELTA);
+		Assertions.assertEquals(0, result.get("sub('C','A')"), DELTA);
+	}
+
+	/**
+	 * Test for subsumptions with evidence.
+	 */
+	@Test
+	public void testEvidence() {
+		ProblogProgram program = createProgram();
+		program.setQueryListAddendum("evidence(x2).\nquery(sub('A', 'B')).");
+		Map<String, Double> result = parseResult((new NativeInferenceEngine()).evaluate(program));
+
+		Assertions.assertEquals(0.8, result.get("sub('A','B')"), DELTA);
+	}
+
+	/**
+	 * Test for compiled programs evaluated with other probabilities.
+	 */
+	@Test
+	public void testCompiledProgram() {
+		ProblogParser parser = new ProblogParser();
+		ProblogProgram program = createProgram();
+		program.setQueryListAddendum("query(sub('A', X)).");
+		CompiledProgramCache cache = new CompiledProgramCache();
+		NativeInferenceEngine instance = new NativeInferenceEngine(cache);
+		Map<String, Double> result0 = parseResult(instance.evaluate(program));
+		Assertions.assertEquals(0.15, result0.get("sub('A','F')"), DELTA);
+
+		program.getData().setBayesianNetwork(parser.parse(NETWORK_1));
+		String expected = (new NativeInferenceEngine()).evaluate(program);
+		String actual = instance.evaluate(program);
+		Assertions.assertEquals(expected, actual);
+		Assertions.assertEquals(0.48, parseResult(actual).get("sub('A','F')"), DELTA);
+		Assertions.assertEquals(1, cache.getHits());
+		Assertions.assertEquals(1, cache.getMisses());
+
+		CompiledProgram compiledProgram = instance.compile(program);
+		Assertions.assertEquals(result0, parseResult(compiledProgram.evaluate(parser.parse(NETWORK_0))));
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> compiledProgram.evaluate(parser.parse("0.5::x1.\n0.3::x3.")));
+	}
+
+	/**
+	 * Test for most probable explanations.
+	 */
+	@Test
+	public void testExplanations() {
+		ProblogProgram program = createProgram();
+		program.setQueryListAddendum("query(sub('B', 'C')).\nquery(sub('A', 'F')).\nquery(sub('C', 'A')).");
+		Map<String, List<Explanation>> explanations = (new NativeInferenceEngine()).explain(program, 3);
+
+		List<Explanation> explanationsBC = explanations.get("sub('B','C')");
+		Assertions.assertEquals(2, explanationsBC.size());
+		Assertions.assertEquals(0.2, explanationsBC.get(0).getProbability(), DELTA);
+		Assertions.assertEquals("x1, x2", explanationsBC.get(0).getContextAsString());
+		Assertions.assertEquals(0.05, explanationsBC.get(1).getProbability(), DELTA);
+		Assertions.assertEquals("\\+x1, x2", explanationsBC.get(1).getContextAsString());
+		Assertions.assertEquals(1, explanationsBC.get(1).getJustification().size());
+
+		List<Explanation> explanationsAF = explanations.get("sub('A','F')");
+		Assertions.assertEquals(1, explanationsAF.size());
+		Assertions.assertEquals(0.15, explanationsAF.get(0).getProbability(), DELTA);
+		Assertions.assertEquals("x1, x3", explanationsAF.get(0).getContextAsString());
+		Assertions.assertEquals(4, explanationsAF.get(0).getJustification().size());
+
+		Assertions.assertTrue(explanations.get("sub('C','A')").isEmpty());
+
+		program.setQueryListAddendum("evidence(x2).\nquery(sub('A', 'B')).");
+		List<Explanation> explanationsAB = (new NativeInferenceEngine()).explain(program, 3).get("sub('A','B')");
+		Assertions.assertEquals(1, explanationsAB.size());
+		Assertions.assertEquals(0.8, explanationsAB.get(0).getProbability(), DELTA);
+	}
+
+	/**
+	 * Test for role inclusions and compositions of roles, with the axioms
+	 * <code>A sub exists r.B</code>, <code>B sub exists s.C</code>,
+	 * <code>r sub t</code> (x1), <code>t o s sub u</code>,
+	 * <code>exists u.C sub D</code> (x3), <code>chain sub v</code>, and
+	 * <code>exists v.A sub E</code>.
+	 */
+	@Test
+	public void testRoleInclusions() {
+		FormulaConstructor c = new FormulaConstructor();
+		ProblogProgram program = new ProblogProgram();
+		program.getData().setCompletionRules(Arrays.asList(new FR1Rule(), new BR1Rule(), new BR2Rule(),
+				new BR3Rule(), new CR1Rule(), new CR2Rule(), new CR3Rule(), new CR4Rule(), new CR5Rule(),
+				new CR6Rule(), new CR7Rule()));
+		List<Clause> ontology = new ArrayList<>();
+		Arrays.asList("A", "B", "C", "D", "E")
+				.forEach(name -> ontology.add(c.rule(c.con(cons(name)), Collections.emptyList())));
+		Arrays.asList("r", "s", "t", "u", "v")
+				.forEach(name -> ontology.add(c.rule(c.role(cons(name)), Collections.emptyList())));
+		ontology.add(axiom(cons("A"), c.exists(cons("r"), cons("B")), null));
+		ontology.add(axiom(cons("B"), c.exists(cons("s"), cons("C")), null));
+		ontology.add(c.rule(c.ri(cons("r"), cons("t")), Collections.singletonList(c.newCons("x1"))));
+		ontology.add(c.rule(c.ri(c.chain(cons("t"), cons("s")), cons("u")), Collections.emptyList()));
+		ontology.add(axiom(c.exists(cons("u"), cons("C")), cons("D"), "x3"));
+		ontology.add(c.rule(c.ri(c.chain(), cons("v")), Collections.emptyList()));
+		ontology.add(axiom(c.exists(cons("v"), cons("A")), cons("E"), null));
+		program.getData().setOntology(ontology);
+		program.getData().setBayesianNetwork((new ProblogParser()).parse(NETWORK_0));
+		program.setQueryListAddendum("query(sub('A', X)).");
+		Map<String, Double> result = parseResult((new NativeInferenceEngine()).evaluate(program));
+
+		Assertions.assertEquals(0.15, result.get("sub('A','D')"), DELTA);
+		Assertions.assertEquals(1, result.get("sub('A','E')"), DELTA);
+		Assertions.assertFalse(result.containsKey("sub('A','C')"));
+	}
+
+}
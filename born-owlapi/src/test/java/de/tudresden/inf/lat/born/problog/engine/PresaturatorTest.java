@@ -0,0 +1,178 @@
+package de.tudresden.inf.lat.born.problog.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.born.core.rule.BR1Rule;
+import de.tudresden.inf.lat.born.core.rule.BR2Rule;
+import de.tudresden.inf.lat.born.core.rule.BR3Rule;
+import de.tudresden.inf.lat.born.core.rule.CR1Rule;
+import de.tudresden.inf.lat.born.core.rule.CR2Rule;
+import de.tudresden.inf.lat.born.core.rule.CR3Rule;
+import de.tudresden.inf.lat.born.core.rule.CR4Rule;
+import de.tudresden.inf.lat.born.core.rule.FR1Rule;
+import de.tudresden.inf.lat.born.core.rule.FormulaConstructor;
+import de.tudresden.inf.lat.born.core.term.Clause;
+import de.tudresden.inf.lat.born.core.term.Term;
+import de.tudresden.inf.lat.born.problog.parser.ProblogParser;
+import de.tudresden.inf.lat.born.problog.type.ProblogProgram;
+
+/**
+ * This is a unit test for {@link Presaturator}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class PresaturatorTest {
+
+	Term cons(String name) {
+		return (new FormulaConstructor()).newCons("'" + name + "'");
+	}
+
+	Clause axiom(Term left, Term right, String variable) {
+		FormulaConstructor c = new FormulaConstructor();
+		List<Term> body = (variable == null) ? Collections.emptyList()
+				: Collections.singletonList(c.newCons(variable));
+		return c.rule(c.gci(left, right), body);
+	}
+
+	/**
+	 * Returns an ontology with the axioms <code>A sub B</code>,
+	 * <code>B sub C</code>, <code>C sub D</code>, <code>A sub E</code> (x1),
+	 * <code>E sub F</code>, <code>A sub exists r.A</code>, and
+	 * <code>exists r.F sub G</code>.
+	 *
+	 * @return an ontology
+	 */
+	List<Clause> createOntology() {
+		FormulaConstructor c = new FormulaConstructor();
+		List<Clause> ontology = new ArrayList<>();
+		Arrays.asList("A", "B", "C", "D", "E", "F", "G")
+				.forEach(name -> ontology.add(c.rule(c.con(cons(name)), Collections.emptyList())));
+		ontology.add(c.rule(c.role(cons("r")), Collections.emptyList()));
+		ontology.add(axiom(cons("A"), cons("B"), null));
+		ontology.add(axiom(cons("B"), cons("C"), null));
+		ontology.add(axiom(cons("C"), cons("D"), null));
+		ontology.add(axiom(cons("A"), cons("E"), "x1"));
+		ontology.add(axiom(cons("E"), cons("F"), null));
+		ontology.add(axiom(cons("A"), c.exists(cons("r"), cons("A")), null));
+		ontology.add(axiom(c.exists(cons("r"), cons("F")), cons("G"), null));
+		return ontology;
+	}
+
+	/**
+	 * Returns an ontology with the chain of axioms <code>A0 sub A1</code>,
+	 * ..., <code>A(n-2) sub A(n-1)</code>, the axiom <code>A(n-1) sub B</code>
+	 * and the axiom <code>B sub C</code> (x1).
+	 *
+	 * @param n
+	 *            length of the chain
+	 * @return an ontology with a chain of axioms
+	 */
+	List<Clause> createChain(int n) {
+		FormulaConstructor c = new FormulaConstructor();
+		List<Clause> ontology = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			ontology.add(c.rule(c.con(cons("A" + i)), Collections.emptyList()));
+		}
+		ontology.add(c.rule(c.con(cons("B")), Collections.emptyList()));
+		ontology.add(c.rule(c.con(cons("C")), Collections.emptyList()));
+		for (int i = 0; i < n - 1; i++) {
+			ontology.add(axiom(cons("A" + i), cons("A" + (i + 1)), null));
+		}
+		ontology.add(axiom(cons("A" + (n - 1)), cons("B"), null));
+		ontology.add(axiom(cons("B"), cons("C"), "x1"));
+		return ontology;
+	}
+
+	long countFacts(List<Clause> ontology) {
+		return ontology.stream().filter(clause -> clause.getHead().getName().equals(FormulaConstructor.SUBX))
+				.count();
+	}
+
+	String evaluate(List<Clause> ontology) {
+		return evaluate(ontology, "query(sub('A', X)).\nquery(sub('B', X)).");
+	}
+
+	String evaluate(List<Clause> ontology, String queries) {
+		ProblogProgram program = new ProblogProgram();
+		program.getData().setCompletionRules(Arrays.asList(new FR1Rule(), new BR1Rule(), new BR2Rule(),
+				new BR3Rule(), new CR1Rule(), new CR2Rule(), new CR3Rule(), new CR4Rule()));
+		program.getData().setOntology(ontology);
+		program.getData().setBayesianNetwork((new ProblogParser()).parse("0.4::x1.\n"));
+		program.setQueryListAddendum(queries);
+		return (new NativeInferenceEngine()).evaluate(program);
+	}
+
+	/**
+	 * Tests that only the axioms without context that interact with the
+	 * axioms with context are kept, and that the answers do not change.
+	 */
+	@Test
+	public void testApply() {
+		FormulaConstructor c = new FormulaConstructor();
+		List<Clause> ontology = createOntology();
+		List<Clause> compressed = (new Presaturator()).apply(ontology);
+
+		Assertions.assertFalse(compressed.contains(axiom(cons("B"), cons("C"), null)));
+		Assertions.assertFalse(compressed.contains(axiom(cons("A"), c.exists(cons("r"), cons("A")), null)));
+		Assertions.assertTrue(compressed.contains(axiom(cons("A"), cons("E"), "x1")));
+		Assertions.assertTrue(compressed.contains(axiom(cons("E"), cons("F"), null)));
+		Assertions.assertTrue(compressed.contains(axiom(c.exists(cons("r"), cons("F")), cons("G"), null)));
+		Assertions.assertTrue(
+				compressed.contains(c.rule(c.subx(cons("A"), cons("D")), Collections.<Term> emptyList())));
+
+		Assertions.assertEquals(evaluate(ontology), evaluate(compressed));
+	}
+
+	/**
+	 * Tests that the derived subsumptions are only added for the asked
+	 * subclasses and the terms that can be used to answer the queries, so
+	 * that the size of the compressed ontology is linear in the length of a
+	 * chain, and that the answers do not change.
+	 */
+	@Test
+	public void testApplyToChain() {
+		int n = 20;
+		List<Clause> ontology = createChain(n);
+		Presaturator instance = new Presaturator();
+
+		List<Clause> compressed = instance.apply(ontology, Collections.singleton(cons("A0")));
+		Assertions.assertEquals(n, countFacts(compressed));
+		Assertions.assertEquals((n + 2) + 1 + n, compressed.size());
+
+		List<Clause> fullyCompressed = instance.apply(ontology);
+		Assertions.assertEquals(n * (n + 1) / 2, countFacts(fullyCompressed));
+
+		String queries = "query(sub('A0', X)).";
+		Assertions.assertEquals(evaluate(ontology, queries), evaluate(compressed, queries));
+		Assertions.assertEquals(evaluate(ontology, queries), evaluate(fullyCompressed, queries));
+	}
+
+	/**
+	 * Tests that the fillers of the existential restrictions that subsume an
+	 * asked subclass get their derived subsumptions, so that the answers do
+	 * not change.
+	 */
+	@Test
+	public void testApplyWithFillers() {
+		List<Clause> ontology = createOntology();
+		List<Clause> compressed = (new Presaturator()).apply(ontology, Collections.singleton(cons("B")));
+		Assertions.assertEquals(evaluate(ontology), evaluate(compressed));
+
+		FormulaConstructor c = new FormulaConstructor();
+		List<Clause> compressedForA = (new Presaturator()).apply(ontology, Collections.singleton(cons("A")));
+		Assertions.assertTrue(
+				compressedForA.contains(c.rule(c.subx(cons("A"), cons("D")), Collections.<Term> emptyList())));
+		Assertions.assertFalse(
+				compressedForA.contains(c.rule(c.subx(cons("B"), cons("D")), Collections.<Term> emptyList())));
+		String queries = "query(sub('A', X)).";
+		Assertions.assertEquals(evaluate(ontology, queries), evaluate(compressedForA, queries));
+	}
+
+}
@@ -0,0 +1,89 @@
+package de.tudresden.inf.lat.born.problog.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.born.core.term.ProbClause;
+import de.tudresden.inf.lat.born.core.term.ProbClauseImpl;
+import de.tudresden.inf.lat.born.core.term.Term;
+import de.tudresden.inf.lat.born.core.term.TermImpl;
+import de.tudresden.inf.lat.born.problog.type.BayesianNetwork;
+
+/**
+ * This is a unit test for {@link ProblogParser}.
+ *
+ * @author Julian Mendez
+ *
+ */
+public class ProblogParserTest {
+
+	final String NETWORK_0 = "" + //
+			"% Bayesian network" + //
+			"\n0.25::x0." + //
+			"\n0.84::x1 :- x0." + //
+			"\n0.27::x1 :- \\+x0." + //
+			"\n0.77::x2 :- " + //
+			"\n   x0," + //
+			"\n   x1." + //
+			"\n0.5::x3." + //
+			"\n";
+
+	/**
+	 * Test for the clauses of network 0.
+	 */
+	@Test
+	public void testParse() {
+		List<ProbClause> expected = new ArrayList<>();
+		expected.add(new ProbClauseImpl(new TermImpl("x0"), Collections.emptyList(), "0.25"));
+		expected.add(new ProbClauseImpl(new TermImpl("x1"), Collections.singletonList(new TermImpl("x0")), "0.84"));
+		expected.add(
+				new ProbClauseImpl(new TermImpl("x1"), Collections.singletonList(new TermImpl("\\+x0")), "0.27"));
+		List<Term> body = new ArrayList<>();
+		body.add(new TermImpl("x0"));
+		body.add(new TermImpl("x1"));
+		expected.add(new ProbClauseImpl(new TermImpl("x2"), body, "0.77"));
+		expected.add(new ProbClauseImpl(new TermImpl("x3"), Collections.emptyList(), "0.5"));
+
+		ProblogParser instance = new ProblogParser();
+		List<ProbClause> actual = instance.parse(NETWORK_0);
+		Assertions.assertEquals(expected, actual);
+
+		StringBuilder sb = new StringBuilder();
+		actual.forEach(clause -> sb.append(clause.asString()));
+		Assertions.assertEquals(expected, instance.parse(sb.toString()));
+	}
+
+	/**
+	 * Test for the ancestral closure of the variables of network 0.
+	 */
+	@Test
+	public void testRelevantClauses() {
+		BayesianNetwork network = (new ProblogParser()).parseBayesianNetwork(NETWORK_0);
+		Assertions.assertEquals(new TreeSet<>(Arrays.asList("x0", "x1", "x2", "x3")), network.getVariables());
+
+		Set<String> expected = new TreeSet<>(Arrays.asList("x0", "x1"));
+		Assertions.assertEquals(expected, network.getAncestralClosure(Arrays.asList("'x1'", "sub")));
+		Assertions.assertEquals(3, network.getRelevantClauses(Collections.singleton("x1")).size());
+		Assertions.assertEquals(1, network.getRelevantClauses(Collections.singleton("x3")).size());
+		Assertions.assertTrue(network.getRelevantClauses(Collections.emptySet()).isEmpty());
+	}
+
+	/**
+	 * Test for texts that cannot be parsed.
+	 */
+	@Test
+	public void testParseException() {
+		ProblogParser instance = new ProblogParser();
+		Assertions.assertThrows(ParseException.class, () -> instance.parse("0.3::x0"));
+		Assertions.assertThrows(ParseException.class, () -> instance.parse("0.3:x0."));
+		Assertions.assertThrows(ParseException.class, () -> instance.parse("0.3::a; 0.7::b."));
+	}
+
+}
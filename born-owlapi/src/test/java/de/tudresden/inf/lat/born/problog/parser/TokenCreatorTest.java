@@ -3,6 +3,7 @@ package de.tudresden.inf.lat.born.problog.parser;
 import java.io.IOException;
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import org.junit.jupiter.api.Assertions;
@@ -91,4 +92,23 @@ public class TokenCreatorTest {
 		Assertions.assertEquals(expected, actual);
 	}
 
+	/**
+	 * Test for the offsets of the tokens of program 0.
+	 */
+	@Test
+	public void testIterator() {
+		TokenCreator instance = new TokenCreator();
+		Iterator<SourceToken> it = instance.iterator(PROGRAM_0);
+		List<Token> actual = new ArrayList<>();
+		while (it.hasNext()) {
+			SourceToken token = it.next();
+			Assertions.assertEquals(token.getValue(), PROGRAM_0.substring(token.getStart(), token.getEnd()));
+			actual.add(token);
+		}
+		Assertions.assertEquals(instance.createTokens(new StringReader(PROGRAM_0)), actual);
+		Assertions.assertEquals(16, actual.size());
+		Assertions.assertTrue(((SourceToken) actual.get(6)).hasValue(":-"));
+		Assertions.assertEquals(TokenType.CONSTANT, actual.get(13).getType());
+	}
+
 }